@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.zeebe.exporters.kafka.config.parser.RawRecordsConfigParser;
+import io.zeebe.exporters.kafka.config.raw.RawRecordsConfig;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.record.RecordHandler;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import io.zeebe.exporters.kafka.util.workload.WorkloadGenerator;
+import io.zeebe.exporters.kafka.util.workload.WorkloadProfile;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * Records shared by the benchmarks, generated with the default workload profile so that every
+ * benchmark sees the same mix of value types and payload sizes, run after run.
+ */
+final class BenchmarkRecords {
+  static final int RECORD_COUNT = 4096;
+
+  private BenchmarkRecords() {}
+
+  static RecordHandler newRecordHandler() {
+    return RecordHandler.builder(
+            new RawRecordsConfigParser().parse(new RawRecordsConfig()), new ExporterMetrics(1))
+        .build();
+  }
+
+  static Record<?>[] newRecords() {
+    final var generator = new WorkloadGenerator(new WorkloadProfile());
+    return generator.generate(RECORD_COUNT).toArray(Record[]::new);
+  }
+
+  /** @return the records as the exporter would hand them to the producer */
+  @SuppressWarnings("unchecked")
+  static ProducerRecord<RecordId, byte[]>[] newProducerRecords() {
+    final var handler = newRecordHandler();
+    final List<ProducerRecord<RecordId, byte[]>> producerRecords = new ArrayList<>();
+    for (final var record : newRecords()) {
+      producerRecords.addAll(handler.transform(record));
+    }
+
+    return producerRecords.toArray(ProducerRecord[]::new);
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks;
+
+import io.zeebe.exporters.kafka.benchmarks.report.BenchmarkScore;
+import io.zeebe.exporters.kafka.benchmarks.report.MarkdownReport;
+import io.zeebe.exporters.kafka.benchmarks.report.ScoreComparison;
+import io.zeebe.exporters.kafka.benchmarks.report.ScoreComparison.Verdict;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks, compares their scores against a baseline, and writes a markdown report of
+ * the comparison. Benchmarks are run with the GC profiler, so that allocations per operation are
+ * compared along with throughput and latency.
+ *
+ * <p>Accepts the following arguments, all of the form {@code --name=value}:
+ *
+ * <ul>
+ *   <li>{@code include}: a regular expression of the benchmarks to run
+ *   <li>{@code results}: where JMH writes the results of this run, as JSON
+ *   <li>{@code baseline}: the results of a previous run to compare against; if missing, every score
+ *       is reported as added
+ *   <li>{@code report}: where the markdown report is written
+ *   <li>{@code threshold}: the change, in percent, under which scores are considered unchanged
+ *   <li>{@code save-baseline}: if true, the results of this run replace the baseline once compared
+ *   <li>{@code fail-on-regression}: if true, exits with a non zero status if any score regressed
+ * </ul>
+ *
+ * <p>NOTE: baselines are only meaningful on the machine they were recorded on, so they're not
+ * committed; record one on the main branch before comparing a change against it.
+ */
+public final class BenchmarkRunner {
+  private BenchmarkRunner() {}
+
+  public static void main(final String[] args) throws Exception {
+    final var arguments = parseArguments(args);
+    final var results = Path.of(arguments.get("results"));
+    final var baseline = Path.of(arguments.get("baseline"));
+    final var report = Path.of(arguments.get("report"));
+    final var threshold = Double.parseDouble(arguments.getOrDefault("threshold", "5")) / 100;
+
+    Files.createDirectories(results.toAbsolutePath().getParent());
+    new Runner(
+            new OptionsBuilder()
+                .include(arguments.getOrDefault("include", ".*"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString())
+                .build())
+        .run();
+
+    final List<BenchmarkScore> baselineScores;
+    final String baselineDescription;
+    if (Files.exists(baseline)) {
+      baselineScores = BenchmarkScore.read(baseline);
+      baselineDescription = "the baseline `" + baseline + "`";
+    } else {
+      baselineScores = List.of();
+      baselineDescription = "nothing, as there is no baseline at `" + baseline + "`";
+    }
+
+    final var comparisons =
+        ScoreComparison.compare(baselineScores, BenchmarkScore.read(results), threshold);
+    Files.createDirectories(report.toAbsolutePath().getParent());
+    Files.writeString(
+        report, new MarkdownReport(comparisons, baselineDescription, threshold).render());
+    System.out.printf("Wrote benchmark report to %s%n", report);
+
+    if (Boolean.parseBoolean(arguments.get("save-baseline"))) {
+      Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+      System.out.printf("Saved results as the new baseline %s%n", baseline);
+    }
+
+    final var regressions =
+        comparisons.stream().filter(c -> c.getVerdict() == Verdict.REGRESSION).toList();
+    regressions.forEach(regression -> System.out.printf("Regression: %s%n", regression));
+    if (!regressions.isEmpty() && Boolean.parseBoolean(arguments.get("fail-on-regression"))) {
+      System.exit(1);
+    }
+  }
+
+  private static Map<String, String> parseArguments(final String[] args) {
+    final Map<String, String> arguments = new HashMap<>();
+    for (final var arg : args) {
+      final var separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException(
+            String.format("Expected argument of the form --name=value, but got '%s'", arg));
+      }
+
+      arguments.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+
+    for (final var required : List.of("results", "baseline", "report")) {
+      if (!arguments.containsKey(required)) {
+        throw new IllegalArgumentException("Missing required argument --" + required);
+      }
+    }
+
+    return arguments;
+  }
+}
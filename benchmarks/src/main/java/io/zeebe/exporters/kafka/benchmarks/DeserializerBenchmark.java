@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.zeebe.exporters.kafka.serde.RecordDeserializer;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import io.zeebe.exporters.kafka.serde.RecordIdDeserializer;
+import io.zeebe.exporters.kafka.serde.RecordIdSerializer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures how fast consumers can read back what the exporter wrote, with the serde module. */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DeserializerBenchmark {
+  private static final String TOPIC = "zeebe";
+
+  private final RecordDeserializer recordDeserializer = new RecordDeserializer();
+  private final RecordIdDeserializer recordIdDeserializer = new RecordIdDeserializer();
+  private byte[][] keys;
+  private byte[][] values;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    final var records = BenchmarkRecords.newProducerRecords();
+    keys = new byte[records.length][];
+    values = new byte[records.length][];
+
+    try (final var keySerializer = new RecordIdSerializer()) {
+      for (int i = 0; i < records.length; i++) {
+        keys[i] = keySerializer.serialize(TOPIC, records[i].key());
+        values[i] = records[i].value();
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    recordDeserializer.close();
+    recordIdDeserializer.close();
+  }
+
+  @Benchmark
+  public Record<?> deserializeRecord() {
+    final var value = values[next];
+    next = (next + 1) % values.length;
+    return recordDeserializer.deserialize(TOPIC, value);
+  }
+
+  @Benchmark
+  public RecordId deserializeRecordId() {
+    final var key = keys[next];
+    next = (next + 1) % keys.length;
+    return recordIdDeserializer.deserialize(TOPIC, key);
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks;
+
+import io.zeebe.exporters.kafka.config.parser.RawProducerConfigParser;
+import io.zeebe.exporters.kafka.config.raw.RawProducerConfig;
+import io.zeebe.exporters.kafka.producer.RecordBatch;
+import io.zeebe.exporters.kafka.producer.RecordBatchFactory;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import io.zeebe.exporters.kafka.serde.RecordIdSerializer;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures adding records to the transactional batch, including committing the batch whenever it's
+ * full. The producer is a {@link MockProducer} completing sends right away, so this measures the
+ * batch's own overhead and not the network's.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecordBatchBenchmark {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RecordBatchBenchmark.class);
+
+  @Param({"100", "1000"})
+  public int maxBatchSize;
+
+  private MockProducer<RecordId, byte[]> producer;
+  private RecordBatch batch;
+  private ProducerRecord<RecordId, byte[]>[] records;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    final var config = new RawProducerConfigParser().parse(new RawProducerConfig());
+    producer = new MockProducer<>(true, new RecordIdSerializer(), new ByteArraySerializer());
+    records = BenchmarkRecords.newProducerRecords();
+
+    // the mock producer remembers every record sent, so forget them once they're committed
+    batch =
+        RecordBatchFactory.defaultFactory((producerConfig, producerId) -> producer)
+            .newRecordBatch(config, maxBatchSize, position -> producer.clear(), LOGGER);
+  }
+
+  @TearDown
+  public void tearDown() {
+    batch.close();
+  }
+
+  @Benchmark
+  public void add() {
+    batch.add(records[next]);
+    next = (next + 1) % records.length;
+  }
+}
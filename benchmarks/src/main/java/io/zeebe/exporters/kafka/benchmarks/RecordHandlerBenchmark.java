@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.zeebe.exporters.kafka.record.RecordHandler;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures turning a record into the producer records sent to Kafka, i.e. serializing it. */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecordHandlerBenchmark {
+  private RecordHandler recordHandler;
+  private Record<?>[] records;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    recordHandler = BenchmarkRecords.newRecordHandler();
+    records = BenchmarkRecords.newRecords();
+  }
+
+  @Benchmark
+  public List<ProducerRecord<RecordId, byte[]>> transform() {
+    final var record = records[next];
+    next = (next + 1) % records.length;
+    return recordHandler.transform(record);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks;
+
+import io.zeebe.exporters.kafka.config.parser.RawProducerConfigParser;
+import io.zeebe.exporters.kafka.config.raw.RawProducerConfig;
+import io.zeebe.exporters.kafka.producer.RecordBatch;
+import io.zeebe.exporters.kafka.producer.RecordBatchFactory;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures adding records to the segment file batch, including committing the batch, and thus
+ * forcing the segment to disk, whenever it's full. With no producer involved, this is the baseline
+ * against which {@link RecordBatchBenchmark} can be compared. The segments are deleted after each
+ * iteration to keep disk usage bounded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SegmentFileBenchmark {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SegmentFileBenchmark.class);
+  private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  @Param({"100", "1000"})
+  public int maxBatchSize;
+
+  private Path directory;
+  private RecordBatch batch;
+  private ProducerRecord<RecordId, byte[]>[] records;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    records = BenchmarkRecords.newProducerRecords();
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpIteration() throws IOException {
+    final var config = new RawProducerConfigParser().parse(new RawProducerConfig());
+    directory = Files.createTempDirectory("zeebe-kafka-exporter-segments");
+    batch =
+        RecordBatchFactory.segmentFileFactory(directory, SEGMENT_SIZE)
+            .newRecordBatch(config, maxBatchSize, position -> {}, LOGGER);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownIteration() throws IOException {
+    batch.close();
+    try (final Stream<Path> files = Files.walk(directory)) {
+      for (final Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  public void add() {
+    batch.add(records[next]);
+    next = (next + 1) % records.length;
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * A single score read from JMH's JSON results, along with its confidence interval. Each benchmark
+ * run yields a throughput or latency score depending on its mode, and an allocation score when run
+ * with the GC profiler.
+ */
+public final class BenchmarkScore {
+  private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+  private final String benchmark;
+  private final Metric metric;
+  private final double score;
+  private final double lowerBound;
+  private final double upperBound;
+  private final String unit;
+
+  public BenchmarkScore(
+      final String benchmark,
+      final Metric metric,
+      final double score,
+      final double lowerBound,
+      final double upperBound,
+      final String unit) {
+    this.benchmark = Objects.requireNonNull(benchmark);
+    this.metric = Objects.requireNonNull(metric);
+    this.score = score;
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+    this.unit = unit;
+  }
+
+  /**
+   * Reads the scores of a JMH results file, written with the JSON result format.
+   *
+   * <p>The allocation score of a benchmark is the same regardless of the mode it's run in, so it's
+   * only read once per benchmark.
+   *
+   * @param resultsFile the JMH results file
+   * @return the scores of every benchmark, in the order they were run
+   * @throws IOException if the file cannot be read or is not valid JSON
+   */
+  public static List<BenchmarkScore> read(final Path resultsFile) throws IOException {
+    final var results = new ObjectMapper().readTree(resultsFile.toFile());
+    final List<BenchmarkScore> scores = new ArrayList<>();
+    final Set<String> allocationScores = new HashSet<>();
+
+    for (final var result : results) {
+      final var benchmark = getName(result);
+      final var metric = Metric.ofMode(result.path("mode").asText());
+      scores.add(readScore(benchmark, metric, result.path("primaryMetric")));
+
+      final var allocation = getAllocationMetric(result.path("secondaryMetrics"));
+      if (allocation != null && allocationScores.add(benchmark)) {
+        scores.add(readScore(benchmark, Metric.ALLOCATION, allocation));
+      }
+    }
+
+    return scores;
+  }
+
+  public String getBenchmark() {
+    return benchmark;
+  }
+
+  public Metric getMetric() {
+    return metric;
+  }
+
+  public double getScore() {
+    return score;
+  }
+
+  public double getLowerBound() {
+    return lowerBound;
+  }
+
+  public double getUpperBound() {
+    return upperBound;
+  }
+
+  public String getUnit() {
+    return unit;
+  }
+
+  /** @return true if both confidence intervals have at least one value in common */
+  public boolean overlaps(final BenchmarkScore other) {
+    return lowerBound <= other.upperBound && other.lowerBound <= upperBound;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s %s: %.3f [%.3f, %.3f] %s", benchmark, metric, score, lowerBound, upperBound, unit);
+  }
+
+  /**
+   * @return the benchmark's method, qualified by its class' simple name, followed by its
+   *     parameters if any, e.g. "RecordBatchBenchmark.add(maxBatchSize=100)"
+   */
+  private static String getName(final JsonNode result) {
+    final var qualifiedName = result.path("benchmark").asText();
+    final var methodStart = qualifiedName.lastIndexOf('.');
+    final var classStart = qualifiedName.lastIndexOf('.', methodStart - 1);
+    final var name = qualifiedName.substring(classStart + 1);
+
+    final var params = result.path("params");
+    if (params.isEmpty()) {
+      return name;
+    }
+
+    final var joiner = new StringJoiner(", ", name + "(", ")");
+    params.fields().forEachRemaining(p -> joiner.add(p.getKey() + "=" + p.getValue().asText()));
+    return joiner.toString();
+  }
+
+  private static JsonNode getAllocationMetric(final JsonNode secondaryMetrics) {
+    // older JMH versions prefix the GC profiler's metrics with a middle dot
+    final var fields = secondaryMetrics.fields();
+    while (fields.hasNext()) {
+      final var field = fields.next();
+      if (field.getKey().endsWith(ALLOCATION_METRIC)) {
+        return field.getValue();
+      }
+    }
+
+    return null;
+  }
+
+  private static BenchmarkScore readScore(
+      final String benchmark, final Metric metric, final JsonNode node) {
+    final var score = node.path("score").asDouble();
+    final var confidence = node.path("scoreConfidence");
+    double lowerBound = confidence.path(0).asDouble(Double.NaN);
+    double upperBound = confidence.path(1).asDouble(Double.NaN);
+
+    // JMH cannot compute an interval out of a single iteration, in which case it reports NaN
+    if (!Double.isFinite(lowerBound) || !Double.isFinite(upperBound)) {
+      lowerBound = score;
+      upperBound = score;
+    }
+
+    return new BenchmarkScore(
+        benchmark, metric, score, lowerBound, upperBound, node.path("scoreUnit").asText());
+  }
+}
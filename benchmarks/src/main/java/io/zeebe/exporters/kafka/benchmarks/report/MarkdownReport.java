@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks.report;
+
+import io.zeebe.exporters.kafka.benchmarks.report.ScoreComparison.Verdict;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Renders score comparisons as a markdown document, with one table per metric, such that it can be
+ * read as is or posted as a comment on a pull request.
+ */
+public final class MarkdownReport {
+  private final List<ScoreComparison> comparisons;
+  private final String baselineDescription;
+  private final double threshold;
+
+  /**
+   * @param comparisons the comparisons to report
+   * @param baselineDescription what the scores were compared against, e.g. the baseline's path
+   * @param threshold the relative change under which scores were considered unchanged
+   */
+  public MarkdownReport(
+      final List<ScoreComparison> comparisons,
+      final String baselineDescription,
+      final double threshold) {
+    this.comparisons = comparisons;
+    this.baselineDescription = baselineDescription;
+    this.threshold = threshold;
+  }
+
+  public String render() {
+    final var markdown = new StringBuilder("# Benchmark report\n\n");
+    markdown
+        .append("Compared against ")
+        .append(baselineDescription)
+        .append(". Scores are flagged when they changed by more than ")
+        .append(formatPercent(threshold))
+        .append(" and their confidence intervals do not overlap.\n\n")
+        .append(renderSummary())
+        .append('\n');
+
+    final Map<Metric, List<ScoreComparison>> byMetric =
+        comparisons.stream()
+            .collect(
+                Collectors.groupingBy(
+                    ScoreComparison::getMetric,
+                    () -> new EnumMap<>(Metric.class),
+                    Collectors.toList()));
+    byMetric.forEach((metric, rows) -> renderTable(markdown, metric, rows));
+
+    return markdown.toString();
+  }
+
+  private String renderSummary() {
+    final Map<Verdict, Long> counts =
+        comparisons.stream()
+            .collect(
+                Collectors.groupingBy(
+                    ScoreComparison::getVerdict,
+                    () -> new EnumMap<>(Verdict.class),
+                    Collectors.counting()));
+    final var regressions = counts.getOrDefault(Verdict.REGRESSION, 0L);
+
+    return String.format(
+        "%s%d regression(s)%s, %d improvement(s), %d unchanged, %d added, %d removed.%n",
+        regressions > 0 ? "**" : "",
+        regressions,
+        regressions > 0 ? "**" : "",
+        counts.getOrDefault(Verdict.IMPROVEMENT, 0L),
+        counts.getOrDefault(Verdict.UNCHANGED, 0L),
+        counts.getOrDefault(Verdict.ADDED, 0L),
+        counts.getOrDefault(Verdict.REMOVED, 0L));
+  }
+
+  private void renderTable(
+      final StringBuilder markdown, final Metric metric, final List<ScoreComparison> rows) {
+    markdown
+        .append("## ")
+        .append(metric.getTitle())
+        .append(metric.isHigherBetter() ? " (higher is better)" : " (lower is better)")
+        .append("\n\n")
+        .append("| Benchmark | Baseline | Current | Change | Verdict |\n")
+        .append("|---|---:|---:|---:|---|\n");
+
+    for (final var row : rows) {
+      markdown
+          .append("| `")
+          .append(row.getBenchmark())
+          .append("` | ")
+          .append(formatScore(row.getBaseline()))
+          .append(" | ")
+          .append(formatScore(row.getCurrent()))
+          .append(" | ")
+          .append(Double.isNaN(row.getChange()) ? "" : formatChange(row.getChange()))
+          .append(" | ")
+          .append(formatVerdict(row.getVerdict()))
+          .append(" |\n");
+    }
+
+    markdown.append('\n');
+  }
+
+  private static String formatScore(final BenchmarkScore score) {
+    if (score == null) {
+      return "";
+    }
+
+    final var error = (score.getUpperBound() - score.getLowerBound()) / 2;
+    return String.format("%.3f ± %.3f %s", score.getScore(), error, score.getUnit());
+  }
+
+  private static String formatChange(final double change) {
+    if (Double.isInfinite(change)) {
+      return change > 0 ? "+∞" : "-∞";
+    }
+
+    return String.format("%+.1f%%", change * 100);
+  }
+
+  private static String formatPercent(final double ratio) {
+    return String.format("%.1f%%", ratio * 100);
+  }
+
+  private static String formatVerdict(final Verdict verdict) {
+    switch (verdict) {
+      case REGRESSION:
+        return "**regression**";
+      case IMPROVEMENT:
+        return "improvement";
+      case ADDED:
+        return "added";
+      case REMOVED:
+        return "removed";
+      default:
+        return "";
+    }
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks.report;
+
+/** What a benchmark score measures, and whether a higher score is better or worse. */
+public enum Metric {
+  THROUGHPUT("Throughput", true),
+  LATENCY("Latency", false),
+  ALLOCATION("Allocation per op", false);
+
+  private final String title;
+  private final boolean higherIsBetter;
+
+  Metric(final String title, final boolean higherIsBetter) {
+    this.title = title;
+    this.higherIsBetter = higherIsBetter;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public boolean isHigherBetter() {
+    return higherIsBetter;
+  }
+
+  /**
+   * @param mode the JMH benchmark mode, e.g. "thrpt" or "avgt"
+   * @return the metric measured by the primary score of a benchmark run in this mode
+   */
+  static Metric ofMode(final String mode) {
+    return "thrpt".equals(mode) ? THROUGHPUT : LATENCY;
+  }
+}
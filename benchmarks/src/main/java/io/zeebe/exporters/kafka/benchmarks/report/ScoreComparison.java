@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks.report;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the score of a benchmark in the current run against its score in the baseline.
+ *
+ * <p>A change is only flagged when it is bigger than the threshold, and when the confidence
+ * intervals of both scores do not overlap. The first condition ignores changes too small to matter,
+ * the second changes which may just be noise, e.g. because the machine was busier during one run.
+ */
+public final class ScoreComparison {
+  private final BenchmarkScore baseline;
+  private final BenchmarkScore current;
+  private final double change;
+  private final Verdict verdict;
+
+  private ScoreComparison(
+      final BenchmarkScore baseline,
+      final BenchmarkScore current,
+      final double change,
+      final Verdict verdict) {
+    this.baseline = baseline;
+    this.current = current;
+    this.change = change;
+    this.verdict = verdict;
+  }
+
+  /**
+   * Compares every score of the current run against the baseline's score for the same benchmark
+   * and metric. Scores missing from either run are reported as {@link Verdict#ADDED} or {@link
+   * Verdict#REMOVED}.
+   *
+   * @param baseline the scores of the baseline run
+   * @param current the scores of the current run
+   * @param threshold the relative change under which scores are considered unchanged, e.g. 0.05
+   * @return the comparisons, in the order of the current run, followed by the removed scores
+   */
+  public static List<ScoreComparison> compare(
+      final List<BenchmarkScore> baseline,
+      final List<BenchmarkScore> current,
+      final double threshold) {
+    final Map<String, BenchmarkScore> baselineScores = new LinkedHashMap<>();
+    baseline.forEach(score -> baselineScores.put(getKey(score), score));
+
+    final List<ScoreComparison> comparisons = new ArrayList<>();
+    for (final var score : current) {
+      final var baselineScore = baselineScores.remove(getKey(score));
+      if (baselineScore == null) {
+        comparisons.add(new ScoreComparison(null, score, Double.NaN, Verdict.ADDED));
+      } else {
+        comparisons.add(compare(baselineScore, score, threshold));
+      }
+    }
+
+    for (final var score : baselineScores.values()) {
+      comparisons.add(new ScoreComparison(score, null, Double.NaN, Verdict.REMOVED));
+    }
+    return comparisons;
+  }
+
+  /** @return the benchmark's baseline score, or null if it was added since */
+  public BenchmarkScore getBaseline() {
+    return baseline;
+  }
+
+  /** @return the benchmark's current score, or null if it was removed since */
+  public BenchmarkScore getCurrent() {
+    return current;
+  }
+
+  public String getBenchmark() {
+    return current != null ? current.getBenchmark() : baseline.getBenchmark();
+  }
+
+  public Metric getMetric() {
+    return current != null ? current.getMetric() : baseline.getMetric();
+  }
+
+  /**
+   * @return the change of the current score relative to the baseline's, e.g. -0.1 when 10% lower,
+   *     or NaN if the benchmark is missing from either run
+   */
+  public double getChange() {
+    return change;
+  }
+
+  public Verdict getVerdict() {
+    return verdict;
+  }
+
+  private static ScoreComparison compare(
+      final BenchmarkScore baseline, final BenchmarkScore current, final double threshold) {
+    final double change = getRelativeChange(baseline.getScore(), current.getScore());
+    if (Math.abs(change) <= threshold || baseline.overlaps(current)) {
+      return new ScoreComparison(baseline, current, change, Verdict.UNCHANGED);
+    }
+
+    final boolean higher = change > 0;
+    final var verdict =
+        higher == baseline.getMetric().isHigherBetter() ? Verdict.IMPROVEMENT : Verdict.REGRESSION;
+    return new ScoreComparison(baseline, current, change, verdict);
+  }
+
+  private static double getRelativeChange(final double baseline, final double current) {
+    if (baseline == 0) {
+      // e.g. a benchmark which did not allocate at all now does
+      return current == 0 ? 0 : Math.copySign(Double.POSITIVE_INFINITY, current);
+    }
+
+    return (current - baseline) / Math.abs(baseline);
+  }
+
+  private static String getKey(final BenchmarkScore score) {
+    return score.getBenchmark() + "#" + score.getMetric();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s %s: %s (%+.1f%%)", getBenchmark(), getMetric(), verdict, change * 100);
+  }
+
+  public enum Verdict {
+    REGRESSION,
+    IMPROVEMENT,
+    UNCHANGED,
+    ADDED,
+    REMOVED
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.exporters.kafka.benchmarks.report.ScoreComparison.Verdict;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class BenchmarkScoreTest {
+
+  @Test
+  void shouldReadJmhResults() throws IOException, URISyntaxException {
+    // given
+    final var resultsFile = getResultsFile();
+
+    // when
+    final var scores = BenchmarkScore.read(resultsFile);
+
+    // then
+    assertThat(scores)
+        .extracting(
+            BenchmarkScore::getBenchmark, BenchmarkScore::getMetric, BenchmarkScore::getUnit)
+        .containsExactly(
+            tuple("RecordBatchBenchmark.add(maxBatchSize=100)", Metric.THROUGHPUT, "ops/us"),
+            tuple("RecordBatchBenchmark.add(maxBatchSize=100)", Metric.ALLOCATION, "B/op"),
+            tuple("RecordBatchBenchmark.add(maxBatchSize=100)", Metric.LATENCY, "us/op"),
+            tuple("DeserializerBenchmark.deserializeRecordId", Metric.LATENCY, "us/op"),
+            tuple("DeserializerBenchmark.deserializeRecordId", Metric.ALLOCATION, "B/op"));
+    assertThat(scores.get(0))
+        .extracting(
+            BenchmarkScore::getScore, BenchmarkScore::getLowerBound, BenchmarkScore::getUpperBound)
+        .containsExactly(1.2345, 1.2222, 1.2468);
+  }
+
+  @Test
+  void shouldUseScoreAsIntervalIfUnknown() throws IOException, URISyntaxException {
+    // given
+    final var resultsFile = getResultsFile();
+
+    // when
+    final var allocation = BenchmarkScore.read(resultsFile).get(1);
+
+    // then
+    assertThat(allocation)
+        .as("the confidence interval of a single iteration is NaN")
+        .extracting(BenchmarkScore::getLowerBound, BenchmarkScore::getUpperBound)
+        .containsExactly(690.0, 690.0);
+  }
+
+  @Test
+  void shouldRenderRegressionsInReport() throws IOException, URISyntaxException {
+    // given
+    final var baseline = BenchmarkScore.read(getResultsFile());
+    final var current =
+        List.of(
+            new BenchmarkScore(
+                "RecordBatchBenchmark.add(maxBatchSize=100)",
+                Metric.THROUGHPUT,
+                0.9,
+                0.89,
+                0.91,
+                "ops/us"));
+    final var comparisons = ScoreComparison.compare(baseline, current, 0.05);
+
+    // when
+    final var report = new MarkdownReport(comparisons, "the baseline", 0.05).render();
+
+    // then
+    assertThat(comparisons.get(0).getVerdict()).isEqualTo(Verdict.REGRESSION);
+    assertThat(report)
+        .contains("**1 regression(s)**")
+        .contains("## Throughput (higher is better)")
+        .contains(
+            "| `RecordBatchBenchmark.add(maxBatchSize=100)` | 1.235 ± 0.012 ops/us"
+                + " | 0.900 ± 0.010 ops/us | -27.1% | **regression** |");
+  }
+
+  private Path getResultsFile() throws URISyntaxException {
+    return Path.of(getClass().getResource("/jmh-results.json").toURI());
+  }
+}
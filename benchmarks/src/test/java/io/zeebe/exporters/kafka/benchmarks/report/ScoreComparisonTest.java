@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.benchmarks.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.zeebe.exporters.kafka.benchmarks.report.ScoreComparison.Verdict;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class ScoreComparisonTest {
+  private static final double THRESHOLD = 0.05;
+
+  @Test
+  void shouldFlagLowerThroughputAsRegression() {
+    // given
+    final var baseline = score(Metric.THROUGHPUT, 100, 2);
+    final var current = score(Metric.THROUGHPUT, 80, 2);
+
+    // when
+    final var comparisons = ScoreComparison.compare(List.of(baseline), List.of(current), THRESHOLD);
+
+    // then
+    assertThat(comparisons).hasSize(1);
+    assertThat(comparisons.get(0).getVerdict()).isEqualTo(Verdict.REGRESSION);
+    assertThat(comparisons.get(0).getChange()).isEqualTo(-0.2);
+  }
+
+  @Test
+  void shouldFlagLowerLatencyAndAllocationAsImprovement() {
+    // given
+    final var baseline =
+        List.of(score(Metric.LATENCY, 10, 0.1), score(Metric.ALLOCATION, 2048, 0));
+    final var current = List.of(score(Metric.LATENCY, 8, 0.1), score(Metric.ALLOCATION, 1024, 0));
+
+    // when
+    final var comparisons = ScoreComparison.compare(baseline, current, THRESHOLD);
+
+    // then
+    assertThat(comparisons)
+        .extracting(ScoreComparison::getVerdict)
+        .containsExactly(Verdict.IMPROVEMENT, Verdict.IMPROVEMENT);
+  }
+
+  @Test
+  void shouldNotFlagChangeWithinThreshold() {
+    // given
+    final var baseline = score(Metric.LATENCY, 100, 0);
+    final var current = score(Metric.LATENCY, 104, 0);
+
+    // when
+    final var comparisons = ScoreComparison.compare(List.of(baseline), List.of(current), THRESHOLD);
+
+    // then
+    assertThat(comparisons.get(0).getVerdict())
+        .as("a 4%% change is below the 5%% threshold")
+        .isEqualTo(Verdict.UNCHANGED);
+  }
+
+  @Test
+  void shouldNotFlagChangeWithinConfidenceInterval() {
+    // given
+    final var baseline = score(Metric.THROUGHPUT, 100, 15);
+    final var current = score(Metric.THROUGHPUT, 80, 10);
+
+    // when
+    final var comparisons = ScoreComparison.compare(List.of(baseline), List.of(current), THRESHOLD);
+
+    // then
+    assertThat(comparisons.get(0).getVerdict())
+        .as("the intervals [85, 115] and [70, 90] overlap, so the change may be noise")
+        .isEqualTo(Verdict.UNCHANGED);
+  }
+
+  @Test
+  void shouldFlagAllocationWhereThereWasNone() {
+    // given
+    final var baseline = score(Metric.ALLOCATION, 0, 0);
+    final var current = score(Metric.ALLOCATION, 16, 0);
+
+    // when
+    final var comparisons = ScoreComparison.compare(List.of(baseline), List.of(current), THRESHOLD);
+
+    // then
+    assertThat(comparisons.get(0).getVerdict()).isEqualTo(Verdict.REGRESSION);
+    assertThat(comparisons.get(0).getChange()).isInfinite();
+  }
+
+  @Test
+  void shouldReportAddedAndRemovedBenchmarks() {
+    // given
+    final var removed = new BenchmarkScore("Old.run", Metric.THROUGHPUT, 1, 1, 1, "ops/us");
+    final var added = new BenchmarkScore("New.run", Metric.THROUGHPUT, 1, 1, 1, "ops/us");
+
+    // when
+    final var comparisons = ScoreComparison.compare(List.of(removed), List.of(added), THRESHOLD);
+
+    // then
+    assertThat(comparisons)
+        .extracting(ScoreComparison::getBenchmark, ScoreComparison::getVerdict)
+        .containsExactly(
+            tuple("New.run", Verdict.ADDED),
+            tuple("Old.run", Verdict.REMOVED));
+  }
+
+  private static BenchmarkScore score(final Metric metric, final double score, final double error) {
+    return new BenchmarkScore(
+        "RecordHandlerBenchmark.transform", metric, score, score - error, score + error, "unit");
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka;
+
+/**
+ * Remembers how many records of the last exported position were added to a single batch. When
+ * adding a record to one of its destinations fails, the broker exports it again; those which were
+ * already added must then be skipped, or they'd be sent twice. As records are exported in order of
+ * their positions, it's enough to remember the last one.
+ */
+final class AddedRecords {
+  private long position = -1;
+  private int count;
+
+  /**
+   * @param position the position of the record
+   * @param index the index of the producer record among those produced for this position
+   * @return true if the producer record was already added to the batch
+   */
+  boolean contains(final long position, final int index) {
+    return this.position == position && index < count;
+  }
+
+  /**
+   * Should be called once the next producer record of the given position was added to the batch.
+   *
+   * @param position the position of the record
+   */
+  void onAdded(final long position) {
+    if (this.position != position) {
+      this.position = position;
+      count = 0;
+    }
+
+    count++;
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.zeebe.exporters.kafka.config.Config;
+import io.zeebe.exporters.kafka.config.parser.ConfigParser;
+import io.zeebe.exporters.kafka.config.raw.RawConfig;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+
+/**
+ * Watches the file given by {@link RawConfig#configFile}, and parses it into a new {@link Config}
+ * whenever it changes. The file overrides the reloadable properties of the exporter's arguments -
+ * records, batch size and flush intervals - each one as a whole; all other properties are kept, as
+ * they can only be applied on startup.
+ *
+ * <p>The file is polled by comparing its modification time and size, which is cheap enough to do
+ * on every flush. Invalid files are logged and ignored, such that the current configuration is
+ * kept until the file is fixed.
+ */
+final class ConfigReloader {
+  // same semantics as the broker when instantiating the exporter's arguments
+  private static final ObjectMapper MAPPER =
+      JsonMapper.builder().enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES).build();
+
+  private final Path file;
+  private final RawConfig baseConfig;
+  private final ConfigParser<RawConfig, Config> configParser;
+  private final Logger logger;
+
+  private FileTime lastModified;
+  private long lastSize = -1;
+
+  ConfigReloader(
+      final Path file,
+      final RawConfig baseConfig,
+      final ConfigParser<RawConfig, Config> configParser,
+      final Logger logger) {
+    this.file = Objects.requireNonNull(file);
+    this.baseConfig = Objects.requireNonNull(baseConfig);
+    this.configParser = Objects.requireNonNull(configParser);
+    this.logger = Objects.requireNonNull(logger);
+  }
+
+  /**
+   * Reads the file again if it changed since the last call, and returns the resulting
+   * configuration if it's valid and differs from the current one. The changes are logged.
+   *
+   * @param current the configuration currently in use
+   * @return the new configuration, or nothing if the file did not change, is missing, or invalid
+   */
+  Optional<Config> reload(final Config current) {
+    if (!hasChanged()) {
+      return Optional.empty();
+    }
+
+    final Config reloaded;
+    try {
+      final RawConfig overrides = MAPPER.readValue(file.toFile(), RawConfig.class);
+      reloaded = configParser.parse(merge(overrides));
+    } catch (final IOException | RuntimeException e) {
+      logger.warn("Failed to reload configuration from {}, keeping the current one", file, e);
+      return Optional.empty();
+    }
+
+    final List<String> changes = diff(current, reloaded);
+    if (changes.isEmpty()) {
+      logger.debug("Configuration file {} changed, but no reloadable property did", file);
+      return Optional.empty();
+    }
+
+    logger.info("Reloaded configuration from {}: {}", file, String.join(", ", changes));
+    return Optional.of(reloaded);
+  }
+
+  private boolean hasChanged() {
+    final BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    } catch (final NoSuchFileException e) {
+      return false;
+    } catch (final IOException e) {
+      logger.warn("Failed to read the attributes of configuration file {}", file, e);
+      return false;
+    }
+
+    if (attributes.lastModifiedTime().equals(lastModified) && attributes.size() == lastSize) {
+      return false;
+    }
+
+    lastModified = attributes.lastModifiedTime();
+    lastSize = attributes.size();
+    return true;
+  }
+
+  /**
+   * Starts from a copy of the exporter's arguments, such that properties added later on are kept
+   * without having to list them here, and only overwrites the reloadable ones.
+   */
+  private RawConfig merge(final RawConfig overrides) {
+    final RawConfig merged = copy(baseConfig);
+    if (overrides.records != null) {
+      merged.records = overrides.records;
+    }
+    if (overrides.maxBatchSize != null) {
+      merged.maxBatchSize = overrides.maxBatchSize;
+    }
+    if (overrides.flushIntervalMs != null) {
+      merged.flushIntervalMs = overrides.flushIntervalMs;
+    }
+    if (overrides.priorityFlushIntervalMs != null) {
+      merged.priorityFlushIntervalMs = overrides.priorityFlushIntervalMs;
+    }
+
+    final List<String> ignored = getIgnoredProperties(overrides, merged);
+    if (!ignored.isEmpty()) {
+      logger.warn(
+          "Configuration file {} sets properties which can only be changed on startup; these are"
+              + " ignored: {}",
+          file,
+          String.join(", ", ignored));
+    }
+
+    return merged;
+  }
+
+  /** @return the names of the properties set in the overrides, but not applied to the merge */
+  private static List<String> getIgnoredProperties(
+      final RawConfig overrides, final RawConfig merged) {
+    final List<String> ignored = new ArrayList<>();
+    for (final Field field : getProperties()) {
+      // compared by identity: applied overrides are the very same instances in the merge
+      final var override = read(field, overrides);
+      if (override != null && override != read(field, merged)) {
+        ignored.add(field.getName());
+      }
+    }
+
+    return ignored;
+  }
+
+  private static RawConfig copy(final RawConfig config) {
+    final RawConfig copy = new RawConfig();
+    for (final Field field : getProperties()) {
+      try {
+        field.set(copy, read(field, config));
+      } catch (final IllegalAccessException e) {
+        throw new IllegalStateException("Failed to copy configuration property " + field, e);
+      }
+    }
+
+    return copy;
+  }
+
+  private static List<Field> getProperties() {
+    final List<Field> properties = new ArrayList<>();
+    for (final Field field : RawConfig.class.getFields()) {
+      if (!Modifier.isStatic(field.getModifiers())) {
+        properties.add(field);
+      }
+    }
+
+    return properties;
+  }
+
+  private static Object read(final Field field, final RawConfig config) {
+    try {
+      return field.get(config);
+    } catch (final IllegalAccessException e) {
+      throw new IllegalStateException("Failed to read configuration property " + field, e);
+    }
+  }
+
+  /**
+   * @return a human readable description of each reloadable property which differs between both
+   *     configurations
+   */
+  static List<String> diff(final Config current, final Config reloaded) {
+    final List<String> changes = new ArrayList<>();
+    diff(changes, "maxBatchSize", current.getMaxBatchSize(), reloaded.getMaxBatchSize());
+    diff(changes, "flushInterval", current.getFlushInterval(), reloaded.getFlushInterval());
+    diff(
+        changes,
+        "priorityFlushInterval",
+        current.getPriorityFlushInterval(),
+        reloaded.getPriorityFlushInterval());
+
+    final var currentRecords = current.getRecords();
+    final var reloadedRecords = reloaded.getRecords();
+    diff(changes, "records.defaults", currentRecords.getDefaults(), reloadedRecords.getDefaults());
+    for (final ValueType valueType : ValueType.values()) {
+      diff(
+          changes,
+          "records." + valueType,
+          currentRecords.getTypeMap().get(valueType),
+          reloadedRecords.getTypeMap().get(valueType));
+    }
+    diff(
+        changes,
+        "records.processTopics",
+        currentRecords.getProcessTopics(),
+        reloadedRecords.getProcessTopics());
+
+    return changes;
+  }
+
+  private static void diff(
+      final List<String> changes, final String name, final Object current, final Object reloaded) {
+    if (!Objects.equals(current, reloaded)) {
+      changes.add(name + ": " + current + " -> " + reloaded);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka;
+
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.producer.RecordBatchStatus;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import org.agrona.collections.LongArrayQueue;
+import org.slf4j.Logger;
+
+/**
+ * Watches the export lag, i.e. how far behind the oldest record not yet acknowledged by Kafka is
+ * compared to the latest record received, in record time. When the lag crosses the threshold, a
+ * single diagnostic snapshot of the batches is logged and counted; nothing more is logged until
+ * the lag recovers, such that a stalled exporter does not flood the logs.
+ *
+ * <p>Record time is used instead of wall clock time, so that replaying old records after a restart
+ * is not mistaken for lag.
+ *
+ * <p>NOTE: like {@link ExportedPositionTracker}, this relies on positions being added in strictly
+ * increasing order.
+ */
+final class ExportWatchdog {
+  private static final long NO_POSITION = -1;
+
+  private final LongArrayQueue pendingPositions = new LongArrayQueue(NO_POSITION);
+  private final LongArrayQueue pendingTimestamps = new LongArrayQueue(NO_POSITION);
+  private final long lagThresholdMs;
+  private final ExporterMetrics metrics;
+  private final Logger logger;
+
+  private long latestTimestamp = -1;
+  private long lastAddedPosition = NO_POSITION;
+  private boolean lagging;
+
+  ExportWatchdog(
+      final Duration lagThreshold, final ExporterMetrics metrics, final Logger logger) {
+    lagThresholdMs = lagThreshold.toMillis();
+    this.metrics = Objects.requireNonNull(metrics);
+    this.logger = Objects.requireNonNull(logger);
+  }
+
+  /** @param timestamp the timestamp of a record received by the exporter, exported or not */
+  void onReceived(final long timestamp) {
+    latestTimestamp = Math.max(latestTimestamp, timestamp);
+  }
+
+  /**
+   * Marks the record as pending until it's acknowledged. May be called more than once for the same
+   * record, e.g. when it's split into multiple chunks.
+   */
+  void onAdded(final long position, final long timestamp) {
+    if (position != lastAddedPosition) {
+      pendingPositions.offerLong(position);
+      pendingTimestamps.offerLong(timestamp);
+      lastAddedPosition = position;
+    }
+  }
+
+  /** @param position the position up to which all records were acknowledged */
+  void onAcknowledged(final long position) {
+    while (!pendingPositions.isEmpty() && pendingPositions.peekLong() <= position) {
+      pendingPositions.pollLong();
+      pendingTimestamps.pollLong();
+    }
+  }
+
+  /** @return the current export lag in milliseconds */
+  long getLag() {
+    return pendingTimestamps.isEmpty()
+        ? 0
+        : Math.max(0, latestTimestamp - pendingTimestamps.peekLong());
+  }
+
+  /**
+   * Compares the lag to the threshold, logging a diagnostic snapshot if it was just crossed.
+   *
+   * @param batches the status of each batch, by lane
+   * @param maxBatchSize the maximum number of records per batch
+   */
+  void check(final Map<String, RecordBatchStatus> batches, final int maxBatchSize) {
+    final long lag = getLag();
+    metrics.exportLag(lag);
+
+    if (lag < lagThresholdMs) {
+      if (lagging) {
+        lagging = false;
+        logger.info("Export lag recovered to {}ms, below threshold of {}ms", lag, lagThresholdMs);
+      }
+      return;
+    }
+
+    if (lagging) {
+      return;
+    }
+
+    lagging = true;
+    metrics.exportLagExceeded();
+    logger.warn(
+        "Export lag of {}ms exceeds threshold of {}ms; pendingRecords={}, {}",
+        lag,
+        lagThresholdMs,
+        pendingPositions.size(),
+        describe(batches, maxBatchSize));
+  }
+
+  private static String describe(
+      final Map<String, RecordBatchStatus> batches, final int maxBatchSize) {
+    final long now = System.currentTimeMillis();
+    final StringBuilder description = new StringBuilder();
+    for (final var lane : batches.entrySet()) {
+      final RecordBatchStatus status = lane.getValue();
+      if (description.length() > 0) {
+        description.append(", ");
+      }
+
+      description
+          .append(lane.getKey())
+          .append("={occupancy=")
+          .append(status.getRecordCount())
+          .append('/')
+          .append(maxBatchSize)
+          .append(", bytes=")
+          .append(status.getByteCount())
+          .append(", bufferAvailableBytes=")
+          .append(status.getBufferAvailableBytes())
+          .append(", transactionState=")
+          .append(status.getTransactionState())
+          .append(", transactionAgeMs=")
+          .append(ageOf(status.getTransactionStartTime(), now))
+          .append(", sinceLastFlushMs=")
+          .append(ageOf(status.getLastFlushTime(), now))
+          .append(", producerId=")
+          .append(status.getProducerId())
+          .append(", lastError=")
+          .append(status.getLastError().isEmpty() ? "none" : status.getLastError())
+          .append('}');
+    }
+
+    return description.toString();
+  }
+
+  private static long ageOf(final long time, final long now) {
+    return time < 0 ? -1 : now - time;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.agrona.collections.LongArrayQueue;
+
+/**
+ * Keeps track of which positions were added to which lane, such that the exporter only ever reports
+ * a position once every record up to it has been flushed, regardless of the lane it was added to.
+ * A lane is any independently flushed batch, identified by name: one per {@link
+ * io.zeebe.exporters.kafka.config.RecordPriority}, and one per additional target cluster.
+ *
+ * <p>As lanes are flushed independently, the high priority lane may well be committed up to a
+ * position which is greater than that of some record still pending in the normal lane. The
+ * exported position is then the position right before the lowest pending position across all
+ * lanes, or the highest added or dropped position if nothing is pending. As such, it's the minimum
+ * of what every target cluster committed, while lanes which never received a record don't hold it
+ * back.
+ *
+ * <p>NOTE: this relies on positions being added in strictly increasing order, which is guaranteed
+ * by the exporter director.
+ */
+final class ExportedPositionTracker {
+  static final long NO_POSITION = -1;
+
+  private final Map<String, LongArrayQueue> pendingPositions = new HashMap<>();
+
+  private long highestAddedPosition = NO_POSITION;
+  private long exportedPosition = NO_POSITION;
+
+  /**
+   * Marks the given position as pending in the given lane.
+   *
+   * @param lane the lane the record was added to
+   * @param position the position of the record
+   */
+  void onAdded(final String lane, final long position) {
+    pendingPositions
+        .computeIfAbsent(lane, name -> new LongArrayQueue(NO_POSITION))
+        .offerLong(position);
+    highestAddedPosition = Math.max(highestAddedPosition, position);
+  }
+
+  /**
+   * Marks all pending positions of the given lane up to and including {@code flushedPosition} as
+   * flushed, and returns the new exported position if it moved forward.
+   *
+   * @param lane the lane which was flushed
+   * @param flushedPosition the highest position which was flushed in that lane
+   * @return the new exported position, or {@link #NO_POSITION} if it did not change
+   */
+  long onFlushed(final String lane, final long flushedPosition) {
+    final var pending = pendingPositions.get(lane);
+    while (pending != null && !pending.isEmpty() && pending.peekLong() <= flushedPosition) {
+      pending.pollLong();
+    }
+
+    return advanceExportedPosition();
+  }
+
+  /**
+   * Marks the given position as handled without being added to any lane, e.g. as the record was
+   * filtered out, and returns the new exported position if it moved forward. This is only the case
+   * if no lane has pending records; otherwise the position is acknowledged once they're flushed.
+   *
+   * @param position the position of the dropped record
+   * @return the new exported position, or {@link #NO_POSITION} if it did not change
+   */
+  long onDropped(final long position) {
+    highestAddedPosition = Math.max(highestAddedPosition, position);
+    return advanceExportedPosition();
+  }
+
+  long getExportedPosition() {
+    return exportedPosition;
+  }
+
+  int getPendingCount(final String lane) {
+    final var pending = pendingPositions.get(lane);
+    return pending == null ? 0 : pending.size();
+  }
+
+  private long advanceExportedPosition() {
+    final var position = computeExportedPosition();
+    if (position <= exportedPosition) {
+      return NO_POSITION;
+    }
+
+    exportedPosition = position;
+    return position;
+  }
+
+  private long computeExportedPosition() {
+    long lowestPending = Long.MAX_VALUE;
+    for (final var pending : pendingPositions.values()) {
+      if (!pending.isEmpty()) {
+        lowestPending = Math.min(lowestPending, pending.peekLong());
+      }
+    }
+
+    return lowestPending == Long.MAX_VALUE ? highestAddedPosition : lowestPending - 1;
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka;
+
+import io.zeebe.exporters.kafka.producer.RecordBatchStatus;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+
+/**
+ * Implements {@link KafkaExporterMXBean} on behalf of a {@link KafkaExporter}. As the MBean server
+ * calls it from its own threads, while the exporter is confined to the broker's actor thread, the
+ * exporter publishes immutable snapshots of its state here, and operations are queued until the
+ * exporter runs them through {@link #runPendingOperations()}.
+ */
+final class ExporterManagement implements KafkaExporterMXBean {
+  private final Queue<Consumer<Operations>> pendingOperations = new ConcurrentLinkedQueue<>();
+  private final Operations operations;
+  private final Logger logger;
+
+  private volatile Map<String, RecordBatchStatus> batches = Map.of();
+  private volatile long lastExportedPosition = -1;
+  private volatile int maxBatchSize;
+  private volatile long flushIntervalMs;
+
+  private ObjectName objectName;
+
+  ExporterManagement(final Operations operations, final Logger logger) {
+    this.operations = Objects.requireNonNull(operations);
+    this.logger = Objects.requireNonNull(logger);
+  }
+
+  /**
+   * Registers this with the platform MBean server. Failures are logged, as management is not
+   * essential to exporting.
+   */
+  void register(final String exporterId, final int partitionId) {
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      objectName =
+          new ObjectName(
+              String.format(
+                  "io.zeebe.exporters.kafka:type=KafkaExporter,name=%s,partition=%d",
+                  ObjectName.quote(exporterId), partitionId));
+      try {
+        server.registerMBean(this, objectName);
+      } catch (final InstanceAlreadyExistsException e) {
+        // left over from an instance on this partition which was not closed properly
+        server.unregisterMBean(objectName);
+        server.registerMBean(this, objectName);
+      }
+    } catch (final JMException e) {
+      logger.warn("Failed to register the exporter's management bean", e);
+      objectName = null;
+    }
+  }
+
+  void unregister() {
+    if (objectName == null) {
+      return;
+    }
+
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    } catch (final JMException e) {
+      logger.debug("Failed to unregister the exporter's management bean", e);
+    }
+
+    objectName = null;
+  }
+
+  /** Runs the operations queued since the last call; must be called from the exporter's thread. */
+  void runPendingOperations() {
+    Consumer<Operations> operation;
+    while ((operation = pendingOperations.poll()) != null) {
+      operation.accept(operations);
+    }
+  }
+
+  boolean hasPendingOperations() {
+    return !pendingOperations.isEmpty();
+  }
+
+  /** Publishes the exporter's current state; must be called from the exporter's thread. */
+  void update(
+      final Map<String, RecordBatchStatus> batches,
+      final int maxBatchSize,
+      final Duration flushInterval) {
+    this.batches = Map.copyOf(batches);
+    this.maxBatchSize = maxBatchSize;
+    flushIntervalMs = flushInterval.toMillis();
+  }
+
+  void exportedPosition(final long position) {
+    lastExportedPosition = position;
+  }
+
+  @Override
+  public Map<String, RecordBatchStatus> getBatches() {
+    return batches;
+  }
+
+  @Override
+  public int getBatchRecordCount() {
+    return batches.values().stream().mapToInt(RecordBatchStatus::getRecordCount).sum();
+  }
+
+  @Override
+  public long getBatchByteCount() {
+    return batches.values().stream().mapToLong(RecordBatchStatus::getByteCount).sum();
+  }
+
+  @Override
+  public long getLastExportedPosition() {
+    return lastExportedPosition;
+  }
+
+  @Override
+  public long getMillisSinceLastFlush() {
+    final var batchesSnapshot = batches;
+    if (batchesSnapshot.isEmpty()
+        || batchesSnapshot.values().stream().anyMatch(b -> b.getLastFlushTime() < 0)) {
+      return -1;
+    }
+
+    final long lastFlushTime =
+        batchesSnapshot.values().stream()
+            .mapToLong(RecordBatchStatus::getLastFlushTime)
+            .min()
+            .orElseThrow();
+    return System.currentTimeMillis() - lastFlushTime;
+  }
+
+  @Override
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  @Override
+  public void setMaxBatchSize(final int maxBatchSize) {
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException(
+          String.format("Expected max batch size to be positive, but got %d", maxBatchSize));
+    }
+
+    pendingOperations.add(o -> o.setMaxBatchSize(maxBatchSize));
+  }
+
+  @Override
+  public long getFlushIntervalMs() {
+    return flushIntervalMs;
+  }
+
+  @Override
+  public void setFlushIntervalMs(final long flushIntervalMs) {
+    if (flushIntervalMs <= 0) {
+      throw new IllegalArgumentException(
+          String.format("Expected flush interval to be positive, but got %d", flushIntervalMs));
+    }
+
+    pendingOperations.add(o -> o.setFlushInterval(Duration.ofMillis(flushIntervalMs)));
+  }
+
+  @Override
+  public void flush() {
+    pendingOperations.add(Operations::flush);
+  }
+
+  @Override
+  public void resetProducer() {
+    pendingOperations.add(Operations::resetProducer);
+  }
+
+  /** The operations the exporter performs on request, on its own thread. */
+  interface Operations {
+    void flush();
+
+    void resetProducer();
+
+    void setMaxBatchSize(int maxBatchSize);
+
+    void setFlushInterval(Duration flushInterval);
+  }
+}
@@ -20,29 +20,78 @@ import io.camunda.zeebe.exporter.api.context.Context;
 import io.camunda.zeebe.exporter.api.context.Controller;
 import io.camunda.zeebe.exporter.api.context.ScheduledTask;
 import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.ValueType;
 import io.zeebe.exporters.kafka.config.Config;
+import io.zeebe.exporters.kafka.config.ProducerConfig;
+import io.zeebe.exporters.kafka.config.RecordPriority;
+import io.zeebe.exporters.kafka.config.TargetConfig;
 import io.zeebe.exporters.kafka.config.parser.ConfigParser;
 import io.zeebe.exporters.kafka.config.parser.RawConfigParser;
 import io.zeebe.exporters.kafka.config.raw.RawConfig;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.producer.KafkaProducerFactory;
 import io.zeebe.exporters.kafka.producer.RecordBatch;
 import io.zeebe.exporters.kafka.producer.RecordBatchFactory;
+import io.zeebe.exporters.kafka.producer.RecordBatchStatus;
 import io.zeebe.exporters.kafka.record.KafkaRecordFilter;
 import io.zeebe.exporters.kafka.record.RecordHandler;
+import io.zeebe.exporters.kafka.record.ResourcePublisher;
+import io.zeebe.exporters.kafka.serde.FileSystemBlobStore;
+import io.zeebe.exporters.kafka.serde.RecordId;
 import io.zeebe.exporters.kafka.serde.RecordSerializer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 
-/** Implementation of a Zeebe exporter producing serialized records to a given Kafka topic. */
+/**
+ * Implementation of a Zeebe exporter producing serialized records to a given Kafka topic.
+ *
+ * <p>Records may additionally be sent to other Kafka clusters, configured as targets; see {@link
+ * TargetConfig}. Each record is serialized once, and the same bytes are added to the batch of
+ * every target routing its value type. Targets only have a normal priority lane, which is flushed
+ * along with the exporter's own.
+ */
 public final class KafkaExporter implements Exporter {
+  /** Minimum time between two snapshots published to the management bean while exporting. */
+  static final Duration MANAGEMENT_UPDATE_INTERVAL = Duration.ofMillis(100);
+
   private final RecordBatchFactory recordBatchFactory;
+  private final KafkaProducerFactory producerFactory;
   private final ConfigParser<RawConfig, Config> configParser;
 
   private Controller controller;
   private Logger logger;
   private Config config;
+  private ExporterMetrics metrics;
   private RecordHandler recordHandler;
+  private ResourcePublisher resourcePublisher;
   private ScheduledTask flushTask;
+  private ScheduledTask priorityFlushTask;
   private RecordBatch recordBatch;
+  private RecordBatch priorityRecordBatch;
+  private final AddedRecords addedRecords = new AddedRecords();
+  private final AddedRecords addedPriorityRecords = new AddedRecords();
+  private final AddedRecords addedSummaries = new AddedRecords();
+  private final List<Target> targets = new ArrayList<>();
+  private ExportedPositionTracker positionTracker;
+  private ConfigReloader configReloader;
+  private ExporterManagement management;
+  private long lastManagementUpdate;
+  private ExportWatchdog watchdog;
+  private ScheduledTask watchdogTask;
+  private String exporterId;
+  private int partitionId;
 
   // the constructor is used by the Zeebe broker to instantiate it
   @SuppressWarnings("unused")
@@ -53,23 +102,58 @@ public final class KafkaExporter implements Exporter {
   public KafkaExporter(
       final RecordBatchFactory recordBatchFactory,
       final ConfigParser<RawConfig, Config> configParser) {
+    this(recordBatchFactory, configParser, KafkaProducerFactory.defaultFactory());
+  }
+
+  public KafkaExporter(
+      final RecordBatchFactory recordBatchFactory,
+      final ConfigParser<RawConfig, Config> configParser,
+      final KafkaProducerFactory producerFactory) {
     this.recordBatchFactory = Objects.requireNonNull(recordBatchFactory);
     this.configParser = Objects.requireNonNull(configParser);
+    this.producerFactory = Objects.requireNonNull(producerFactory);
   }
 
   @Override
   public void configure(final Context context) {
     logger = Objects.requireNonNull(context.getLogger());
+    exporterId = context.getConfiguration().getId();
+    partitionId = context.getPartitionId();
 
     final var rawConfig =
         Objects.requireNonNull(context.getConfiguration().instantiate(RawConfig.class));
     config = configParser.parse(rawConfig);
+    configReloader =
+        config
+            .getConfigFile()
+            .map(file -> new ConfigReloader(file, rawConfig, configParser, logger))
+            .orElse(null);
+    if (configReloader != null) {
+      configReloader.reload(config).ifPresent(reloaded -> config = reloaded);
+    }
 
     final var serializer = new RecordSerializer();
     serializer.configure(config.getProducer().getConfig(), false);
-    recordHandler = new RecordHandler(config.getRecords(), serializer);
+    metrics = new ExporterMetrics(context.getPartitionId());
+    final var blobStore =
+        config.getClaimCheck().getDirectory().map(FileSystemBlobStore::new).orElse(null);
+    resourcePublisher =
+        config.getResources().getTopic().map(this::newResourcePublisher).orElse(null);
+    recordHandler =
+        RecordHandler.builder(config.getRecords(), metrics)
+            .withSerializer(serializer)
+            .withMaxRequestSize(config.getProducer().getMaxRequestSize())
+            .withBlobStore(blobStore)
+            .withResourcePublisher(resourcePublisher)
+            .withEnrichment(config.getEnrichment())
+            .withAggregation(config.getAggregation())
+            .build();
 
-    context.setFilter(new KafkaRecordFilter(config.getRecords()));
+    // the broker's filter cannot be changed later on, so when the records configuration can be
+    // reloaded, every record is received and only tested by the record handler
+    if (configReloader == null) {
+      context.setFilter(new KafkaRecordFilter(config.getRecords(), getObservedValueTypes()));
+    }
 
     if (logger.isDebugEnabled()) {
       logger.debug("Configured Kafka exporter: {}", config);
@@ -81,12 +165,49 @@ public final class KafkaExporter implements Exporter {
   @Override
   public void open(final Controller controller) {
     this.controller = controller;
-    recordBatch =
-        recordBatchFactory.newRecordBatch(
-            config.getProducer(), config.getMaxBatchSize(), this::updatePosition, logger);
+    positionTracker = new ExportedPositionTracker();
+    recordBatch = newRecordBatch(RecordPriority.NORMAL);
+
+    // only create a dedicated lane if it will be used, as each lane has its own producer
+    if (config.getRecords().hasHighPriorityTypes()) {
+      priorityRecordBatch = newRecordBatch(RecordPriority.HIGH);
+    }
+
+    config
+        .getTargets()
+        .forEach(
+            (name, target) ->
+                targets.add(
+                    new Target(
+                        name,
+                        target,
+                        newRecordBatch(name, target.getProducer()),
+                        new AddedRecords())));
+
+    if (config.getProducer().isWarmUp()) {
+      warmUp(RecordPriority.NORMAL.getPriorityName(), recordBatch);
+      if (priorityRecordBatch != null) {
+        warmUp(RecordPriority.HIGH.getPriorityName(), priorityRecordBatch);
+      }
+    }
+
+    for (final var target : targets) {
+      if (target.config().getProducer().isWarmUp()) {
+        warmUp(target.name(), target.batch());
+      }
+    }
 
     scheduleFlushBatchTask();
 
+    management = new ExporterManagement(new ManagementOperations(), logger);
+    management.register(exporterId, partitionId);
+    updateManagement();
+
+    if (config.getWatchdog().isEnabled()) {
+      watchdog = new ExportWatchdog(config.getWatchdog().getLagThreshold(), metrics, logger);
+      scheduleWatchdogTask();
+    }
+
     if (logger.isDebugEnabled()) {
       logger.debug("Opened Kafka exporter with configuration: {}", config);
     } else {
@@ -100,9 +221,38 @@ public final class KafkaExporter implements Exporter {
       flushTask.cancel();
     }
 
+    if (watchdogTask != null) {
+      watchdogTask.cancel();
+    }
+
+    if (priorityFlushTask != null) {
+      priorityFlushTask.cancel();
+      priorityFlushTask = null;
+    }
+
+    // all lanes share a single deadline, so that closing never holds up a leadership transition
+    // for longer than configured, even if Kafka is unavailable
+    final long drainDeadline =
+        config == null ? 0 : System.nanoTime() + config.getProducer().getDrainTimeout().toNanos();
+
+    if (priorityRecordBatch != null) {
+      priorityRecordBatch.drainAndClose(getRemainingDrainTime(drainDeadline));
+    }
+
     if (recordBatch != null) {
-      recordBatch.flush();
-      recordBatch.close();
+      recordBatch.drainAndClose(getRemainingDrainTime(drainDeadline));
+    }
+
+    for (final var target : targets) {
+      target.batch().drainAndClose(getRemainingDrainTime(drainDeadline));
+    }
+
+    if (resourcePublisher != null) {
+      resourcePublisher.close();
+    }
+
+    if (management != null) {
+      management.unregister();
     }
 
     if (logger != null) {
@@ -112,14 +262,226 @@ public final class KafkaExporter implements Exporter {
 
   @Override
   public void export(final Record record) {
+    if (management.hasPendingOperations()) {
+      runManagementOperations();
+    }
+
+    if (watchdog != null) {
+      watchdog.onReceived(record.getTimestamp());
+    }
+
+    // aggregation summaries are keyed by the record closing the window, so that they're committed
+    // with it even if the record itself is not exported
+    final var summaries = recordHandler.observe(record);
+    if (!summaries.isEmpty()) {
+      addSummaries(record, summaries);
+    }
+
     if (!recordHandler.isAllowed(record)) {
       logger.trace("Ignoring record {}", record);
+      acknowledgeDropped(record.getPosition());
       return;
     }
 
-    final var producerRecord = recordHandler.transform(record);
-    recordBatch.add(producerRecord);
-    logger.trace("Added {} to the batch", producerRecord);
+    final var lane = getLane(record);
+    addToBatch(lane, record, recordHandler.transform(record));
+
+    if (lane == RecordPriority.HIGH) {
+      schedulePriorityFlush();
+    }
+
+    // throttled, as taking a snapshot of every batch allocates, and this is the hot path
+    if (System.nanoTime() - lastManagementUpdate >= MANAGEMENT_UPDATE_INTERVAL.toNanos()) {
+      updateManagement();
+    }
+  }
+
+  private void addToBatch(
+      final RecordPriority lane,
+      final Record<?> record,
+      final List<ProducerRecord<RecordId, byte[]>> producerRecords) {
+    final var isPriority = lane == RecordPriority.HIGH;
+    final var batch = isPriority ? priorityRecordBatch : recordBatch;
+    final var added = isPriority ? addedPriorityRecords : addedRecords;
+    final var position = record.getPosition();
+
+    // a full batch fails the export after some destinations may already have accepted the record,
+    // so those are skipped when the broker retries it
+    for (int i = 0; i < producerRecords.size(); i++) {
+      final var producerRecord = producerRecords.get(i);
+      if (!added.contains(position, i)) {
+        batch.add(producerRecord);
+        added.onAdded(position);
+        positionTracker.onAdded(lane.getPriorityName(), position);
+        if (watchdog != null) {
+          watchdog.onAdded(position, record.getTimestamp());
+        }
+        logger.trace("Added {} to the {} batch", producerRecord, lane.getPriorityName());
+      }
+
+      addToTargets(record, producerRecord, i);
+    }
+  }
+
+  /**
+   * Adds the summaries of the aggregation window closed by the given record to the normal lane.
+   * Summaries are not sent to targets: they're not records of the closing record's value type, and
+   * targets only route records of the value types they were configured for.
+   *
+   * <p>If the batch is full, the summaries stay pending in the record handler and are returned
+   * again when the broker retries the record; those already added are then skipped.
+   */
+  private void addSummaries(
+      final Record<?> record, final List<ProducerRecord<RecordId, byte[]>> summaries) {
+    final var lane = RecordPriority.NORMAL.getPriorityName();
+    final var position = record.getPosition();
+    for (int i = 0; i < summaries.size(); i++) {
+      if (addedSummaries.contains(position, i)) {
+        continue;
+      }
+
+      final var summary = summaries.get(i);
+      recordBatch.add(summary);
+      addedSummaries.onAdded(position);
+      positionTracker.onAdded(lane, position);
+      if (watchdog != null) {
+        watchdog.onAdded(position, record.getTimestamp());
+      }
+      logger.trace("Added summary {} to the {} batch", summary, lane);
+    }
+
+    recordHandler.onSummariesAdded();
+  }
+
+  /**
+   * Adds the already serialized record to the batch of every target routing its value type. As
+   * with the exporter's own batches, a full batch fails the export, which the broker retries; the
+   * targets which already accepted the record then skip it.
+   */
+  private void addToTargets(
+      final Record<?> record,
+      final ProducerRecord<RecordId, byte[]> producerRecord,
+      final int index) {
+    final var position = record.getPosition();
+
+    // indexed, as this is on the hot path and should not allocate an iterator per record
+    for (int i = 0; i < targets.size(); i++) {
+      final var target = targets.get(i);
+      if (target.config().accepts(record.getValueType())
+          && !target.added().contains(position, index)) {
+        target.batch().add(producerRecord);
+        target.added().onAdded(position);
+        positionTracker.onAdded(target.name(), position);
+      }
+    }
+  }
+
+  private Set<ValueType> getObservedValueTypes() {
+    final Set<ValueType> observed = EnumSet.noneOf(ValueType.class);
+    if (config.getEnrichment().isEnabled()) {
+      observed.add(ValueType.PROCESS_INSTANCE);
+    }
+
+    if (config.getAggregation().isEnabled()) {
+      observed.add(ValueType.PROCESS_INSTANCE);
+      observed.add(ValueType.JOB);
+    }
+
+    return observed;
+  }
+
+  private RecordPriority getLane(final Record<?> record) {
+    if (priorityRecordBatch == null) {
+      return RecordPriority.NORMAL;
+    }
+
+    return config.getRecords().forType(record.getValueType()).getPriority();
+  }
+
+  /**
+   * Resources are also published to every target routing records which may embed them, as the
+   * references in those records could not be resolved in the target's cluster otherwise.
+   */
+  private ResourcePublisher newResourcePublisher(final String topic) {
+    final var resources = config.getResources();
+    final var producerId = UUID.randomUUID().toString();
+    final List<Supplier<Producer<String, byte[]>>> producerSuppliers = new ArrayList<>();
+    producerSuppliers.add(
+        () -> producerFactory.newResourceProducer(config.getProducer(), producerId));
+    for (final var target : config.getTargets().values()) {
+      if (routesResources(target)) {
+        producerSuppliers.add(
+            () -> producerFactory.newResourceProducer(target.getProducer(), producerId));
+      }
+    }
+
+    return new ResourcePublisher(
+        topic,
+        resources.getCacheSize(),
+        resources.getPublishTimeout(),
+        producerSuppliers,
+        metrics);
+  }
+
+  private boolean routesResources(final TargetConfig target) {
+    for (final var valueType : ValueType.values()) {
+      if (ResourcePublisher.handles(valueType) && target.accepts(valueType)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private RecordBatch newRecordBatch(final RecordPriority lane) {
+    final var segments = config.getSegments();
+    if (segments.isEnabled()) {
+      final var directory =
+          segments
+              .getDirectory()
+              .orElseThrow()
+              .resolve("partition-" + partitionId)
+              .resolve(lane.getPriorityName());
+      return RecordBatchFactory.segmentFileFactory(directory, segments.getSegmentSize())
+          .newRecordBatch(
+              config.getProducer(),
+              config.getMaxBatchSize(),
+              position -> updatePosition(lane.getPriorityName(), position),
+              logger,
+              metrics);
+    }
+
+    return newRecordBatch(lane.getPriorityName(), config.getProducer());
+  }
+
+  private RecordBatch newRecordBatch(final String lane, final ProducerConfig producerConfig) {
+    return recordBatchFactory.newRecordBatch(
+        producerConfig,
+        config.getMaxBatchSize(),
+        position -> updatePosition(lane, position),
+        logger,
+        metrics);
+  }
+
+  private void warmUp(final String lane, final RecordBatch batch) {
+    final var topics = new HashSet<>(config.getRecords().getStaticTopics());
+    config.getAggregation().getTopic().ifPresent(topics::add);
+
+    // the callback runs on the warm-up thread, so it must not touch the exporter's state
+    batch
+        .warmUp(topics)
+        .whenComplete(
+            (ignored, error) -> {
+              if (error != null) {
+                logger.warn("Failed to warm up the {} producer", lane, error);
+              } else {
+                logger.debug("Warmed up the {} producer for topics {}", lane, topics);
+              }
+            });
+  }
+
+  private Duration getRemainingDrainTime(final long drainDeadline) {
+    return Duration.ofNanos(Math.max(0, drainDeadline - System.nanoTime()));
   }
 
   private void scheduleFlushBatchTask() {
@@ -129,14 +491,197 @@ public final class KafkaExporter implements Exporter {
 
   private void flushBatchTask() {
     try {
-      recordBatch.flush();
+      management.runPendingOperations();
+      flushAll();
+      reloadConfig();
+      updateManagement();
     } finally {
       scheduleFlushBatchTask();
     }
   }
 
-  private void updatePosition(final long position) {
-    controller.updateLastExportedRecordPosition(position);
+  private void runManagementOperations() {
+    management.runPendingOperations();
+    updateManagement();
+  }
+
+  private void updateManagement() {
+    lastManagementUpdate = System.nanoTime();
+    management.update(getBatchStatuses(), config.getMaxBatchSize(), config.getFlushInterval());
+  }
+
+  private Map<String, RecordBatchStatus> getBatchStatuses() {
+    final Map<String, RecordBatchStatus> batches = new HashMap<>();
+    batches.put(RecordPriority.NORMAL.getPriorityName(), recordBatch.getStatus());
+    if (priorityRecordBatch != null) {
+      batches.put(RecordPriority.HIGH.getPriorityName(), priorityRecordBatch.getStatus());
+    }
+
+    for (final var target : targets) {
+      batches.put(target.name(), target.batch().getStatus());
+    }
+
+    return batches;
+  }
+
+  private void scheduleWatchdogTask() {
+    watchdogTask =
+        controller.scheduleCancellableTask(
+            config.getWatchdog().getCheckInterval(), this::watchdogTask);
+  }
+
+  private void watchdogTask() {
+    try {
+      watchdog.check(getBatchStatuses(), config.getMaxBatchSize());
+    } finally {
+      scheduleWatchdogTask();
+    }
+  }
+
+  private void flushAll() {
+    if (priorityRecordBatch != null) {
+      priorityRecordBatch.flush();
+    }
+
+    recordBatch.flush();
+    for (final var target : targets) {
+      target.batch().flush();
+    }
+  }
+
+  private Config withBatchSettings(final int maxBatchSize, final Duration flushInterval) {
+    return config
+        .toBuilder()
+        .withMaxBatchSize(maxBatchSize)
+        .withFlushInterval(flushInterval)
+        .build();
+  }
+
+  private void reloadConfig() {
+    if (configReloader == null) {
+      return;
+    }
+
+    configReloader.reload(config).ifPresent(this::applyConfig);
+  }
+
+  /**
+   * Applies a reloaded configuration right after a flush, such that records pending in the batches
+   * were all handled with the previous one. Only the reloadable properties are applied; see {@link
+   * ConfigReloader}.
+   */
+  private void applyConfig(final Config reloaded) {
+    config = reloaded;
+    recordHandler.setRecordsConfig(reloaded.getRecords());
+    recordBatch.setMaxBatchSize(reloaded.getMaxBatchSize());
+
+    if (priorityRecordBatch != null) {
+      priorityRecordBatch.setMaxBatchSize(reloaded.getMaxBatchSize());
+    } else if (reloaded.getRecords().hasHighPriorityTypes()) {
+      priorityRecordBatch = newRecordBatch(RecordPriority.HIGH);
+    }
+
+    for (final var target : targets) {
+      target.batch().setMaxBatchSize(reloaded.getMaxBatchSize());
+    }
+  }
+
+  private void schedulePriorityFlush() {
+    final var lingerTime = config.getPriorityFlushInterval();
+    if (lingerTime.isZero() || lingerTime.isNegative()) {
+      priorityRecordBatch.flush();
+      return;
+    }
+
+    // the linger window starts with the first record added since the last priority flush
+    if (priorityFlushTask == null) {
+      logger.trace("Scheduling priority flush task in {}", lingerTime);
+      priorityFlushTask = controller.scheduleCancellableTask(lingerTime, this::flushPriorityTask);
+    }
+  }
+
+  private void flushPriorityTask() {
+    priorityFlushTask = null;
+    priorityRecordBatch.flush();
+  }
+
+  private void updatePosition(final String lane, final long flushedPosition) {
+    final var position = positionTracker.onFlushed(lane, flushedPosition);
+    if (position == ExportedPositionTracker.NO_POSITION) {
+      logger.trace(
+          "Flushed {} batch up to position {}, but records with lower positions are still pending",
+          lane,
+          flushedPosition);
+      return;
+    }
+
+    acknowledgePosition(position);
     logger.trace("Flushed batch and updated last exported record position to {}", position);
   }
+
+  /**
+   * Acknowledges the position of a record which was not exported, such that filtered records don't
+   * hold back the exported position while no lane has pending records.
+   */
+  private void acknowledgeDropped(final long droppedPosition) {
+    final var position = positionTracker.onDropped(droppedPosition);
+    if (position != ExportedPositionTracker.NO_POSITION) {
+      acknowledgePosition(position);
+    }
+  }
+
+  private void acknowledgePosition(final long position) {
+    controller.updateLastExportedRecordPosition(position);
+    if (watchdog != null) {
+      watchdog.onAcknowledged(position);
+    }
+    management.exportedPosition(position);
+  }
+
+  /** Runs on the exporter's thread; see {@link ExporterManagement#runPendingOperations()}. */
+  private final class ManagementOperations implements ExporterManagement.Operations {
+
+    @Override
+    public void flush() {
+      logger.info("Flushing batches as requested through JMX");
+      flushAll();
+    }
+
+    @Override
+    public void resetProducer() {
+      logger.info("Resetting producers as requested through JMX");
+      recordBatch.resetProducer();
+      if (priorityRecordBatch != null) {
+        priorityRecordBatch.resetProducer();
+      }
+
+      for (final var target : targets) {
+        target.batch().resetProducer();
+      }
+    }
+
+    @Override
+    public void setMaxBatchSize(final int maxBatchSize) {
+      logger.info("Changing max batch size to {} as requested through JMX", maxBatchSize);
+      config = withBatchSettings(maxBatchSize, config.getFlushInterval());
+      recordBatch.setMaxBatchSize(maxBatchSize);
+      if (priorityRecordBatch != null) {
+        priorityRecordBatch.setMaxBatchSize(maxBatchSize);
+      }
+
+      for (final var target : targets) {
+        target.batch().setMaxBatchSize(maxBatchSize);
+      }
+    }
+
+    @Override
+    public void setFlushInterval(final Duration flushInterval) {
+      // applied when the flush task is next rescheduled
+      logger.info("Changing flush interval to {} as requested through JMX", flushInterval);
+      config = withBatchSettings(config.getMaxBatchSize(), flushInterval);
+    }
+  }
+
+  /** An additional cluster records are exported to, and the batch of records pending for it. */
+  private record Target(String name, TargetConfig config, RecordBatch batch, AddedRecords added) {}
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka;
+
+import io.zeebe.exporters.kafka.producer.RecordBatchStatus;
+import java.util.Map;
+
+/**
+ * Management interface of a {@link KafkaExporter} instance, registered with the platform MBean
+ * server under {@code io.zeebe.exporters.kafka:type=KafkaExporter,name=<exporter ID>,
+ * partition=<partition ID>} while the exporter is open.
+ *
+ * <p>Attributes reflect the state of the exporter as of its last flush, or the last operation
+ * applied. Operations and attribute changes are asynchronous: they are queued, and applied on the
+ * exporter's thread the next time it exports a record or flushes its batches.
+ */
+public interface KafkaExporterMXBean {
+
+  /** @return the status of each batch, by lane, e.g. "normal" */
+  Map<String, RecordBatchStatus> getBatches();
+
+  /** @return the number of records in all batches */
+  int getBatchRecordCount();
+
+  /** @return the total size of the records in all batches */
+  long getBatchByteCount();
+
+  /** @return the position last reported as exported to the broker, or -1 if none yet */
+  long getLastExportedPosition();
+
+  /** @return milliseconds since all batches were last flushed successfully, or -1 if never */
+  long getMillisSinceLastFlush();
+
+  int getMaxBatchSize();
+
+  /** Changes the maximum number of records per batch, until the next restart. */
+  void setMaxBatchSize(int maxBatchSize);
+
+  long getFlushIntervalMs();
+
+  /** Changes how often batches are flushed, until the next restart. */
+  void setFlushIntervalMs(long flushIntervalMs);
+
+  /** Flushes all batches. */
+  void flush();
+
+  /** Closes the producers of all batches; pending records are sent again with new producers. */
+  void resetProducer();
+}
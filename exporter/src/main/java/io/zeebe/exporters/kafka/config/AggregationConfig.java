@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link AggregationConfig} describes whether and where rollups of process instance and job events
+ * are published. Events are counted per BPMN process ID, element ID and intent over tumbling
+ * windows of {@code window} duration, and a summary per group is sent to {@code topic} whenever a
+ * window closes. At most {@code maxGroups} groups are tracked per window. When no topic is
+ * configured, aggregation is disabled.
+ */
+public final class AggregationConfig {
+  private final String topic;
+  private final Duration window;
+  private final int maxGroups;
+
+  public AggregationConfig(
+      final Optional<String> topic, final Duration window, final int maxGroups) {
+    this.topic = Objects.requireNonNull(topic).orElse(null);
+    this.window = Objects.requireNonNull(window);
+    this.maxGroups = maxGroups;
+  }
+
+  public Optional<String> getTopic() {
+    return Optional.ofNullable(topic);
+  }
+
+  public boolean isEnabled() {
+    return topic != null;
+  }
+
+  public Duration getWindow() {
+    return window;
+  }
+
+  public int getMaxGroups() {
+    return maxGroups;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(topic, window, maxGroups);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final AggregationConfig that = (AggregationConfig) o;
+    return getMaxGroups() == that.getMaxGroups()
+        && Objects.equals(topic, that.topic)
+        && Objects.equals(getWindow(), that.getWindow());
+  }
+
+  @Override
+  public String toString() {
+    return "AggregationConfig{"
+        + "topic='"
+        + topic
+        + '\''
+        + ", window="
+        + window
+        + ", maxGroups="
+        + maxGroups
+        + '}';
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link ClaimCheckConfig} describes where payloads offloaded from records are stored. When no
+ * directory is configured, claim checks are disabled, and records are always exported with their
+ * complete payload.
+ */
+public final class ClaimCheckConfig {
+  private final Path directory;
+
+  public ClaimCheckConfig(final Optional<Path> directory) {
+    this.directory = Objects.requireNonNull(directory).orElse(null);
+  }
+
+  public Optional<Path> getDirectory() {
+    return Optional.ofNullable(directory);
+  }
+
+  public boolean isEnabled() {
+    return directory != null;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(directory);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final ClaimCheckConfig that = (ClaimCheckConfig) o;
+    return Objects.equals(directory, that.directory);
+  }
+
+  @Override
+  public String toString() {
+    return "ClaimCheckConfig{" + "directory=" + directory + '}';
+  }
+}
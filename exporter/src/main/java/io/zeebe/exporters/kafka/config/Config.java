@@ -15,8 +15,11 @@
  */
 package io.zeebe.exporters.kafka.config;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Entrypoint for the effective {@link io.zeebe.exporters.kafka.KafkaExporter} configuration. This
@@ -30,16 +33,74 @@ public final class Config {
   private final RecordsConfig records;
   private final int maxBatchSize;
   private final Duration flushInterval;
+  private final Duration priorityFlushInterval;
+  private final ClaimCheckConfig claimCheck;
+  private final ResourcesConfig resources;
+  private final EnrichmentConfig enrichment;
+  private final AggregationConfig aggregation;
+  private final Path configFile;
+  private final WatchdogConfig watchdog;
+  private final Map<String, TargetConfig> targets;
+  private final SegmentsConfig segments;
 
+  /**
+   * Creates a configuration with the given required properties; all other properties are set as
+   * by {@link #builder(ProducerConfig, RecordsConfig, int, Duration)}.
+   */
   public Config(
       final ProducerConfig producer,
       final RecordsConfig records,
       final int maxBatchSize,
       final Duration flushInterval) {
-    this.producer = Objects.requireNonNull(producer);
-    this.records = Objects.requireNonNull(records);
-    this.maxBatchSize = maxBatchSize;
-    this.flushInterval = Objects.requireNonNull(flushInterval);
+    this(new Builder(producer, records, maxBatchSize, flushInterval));
+  }
+
+  private Config(final Builder builder) {
+    producer = Objects.requireNonNull(builder.producer);
+    records = Objects.requireNonNull(builder.records);
+    maxBatchSize = builder.maxBatchSize;
+    flushInterval = Objects.requireNonNull(builder.flushInterval);
+    priorityFlushInterval = Objects.requireNonNull(builder.priorityFlushInterval);
+    claimCheck = Objects.requireNonNull(builder.claimCheck);
+    resources = Objects.requireNonNull(builder.resources);
+    enrichment = Objects.requireNonNull(builder.enrichment);
+    aggregation = Objects.requireNonNull(builder.aggregation);
+    configFile = Objects.requireNonNull(builder.configFile).orElse(null);
+    watchdog = Objects.requireNonNull(builder.watchdog);
+    targets = Objects.requireNonNull(builder.targets);
+    segments = Objects.requireNonNull(builder.segments);
+  }
+
+  /**
+   * Returns a builder for a configuration with the given required properties. All other
+   * properties default to their disabled state, e.g. no claim checks, aggregation, or targets.
+   *
+   * @param producer the configuration of the exporter's producers
+   * @param records the configuration of each record type
+   * @param maxBatchSize the maximum number of records per batch
+   * @param flushInterval how often batches are flushed
+   * @return a new builder
+   */
+  public static Builder builder(
+      final ProducerConfig producer,
+      final RecordsConfig records,
+      final int maxBatchSize,
+      final Duration flushInterval) {
+    return new Builder(producer, records, maxBatchSize, flushInterval);
+  }
+
+  /** @return a builder initialized with this configuration, to derive a modified copy of it */
+  public Builder toBuilder() {
+    return new Builder(producer, records, maxBatchSize, flushInterval)
+        .withPriorityFlushInterval(priorityFlushInterval)
+        .withClaimCheck(claimCheck)
+        .withResources(resources)
+        .withEnrichment(enrichment)
+        .withAggregation(aggregation)
+        .withConfigFile(getConfigFile())
+        .withWatchdog(watchdog)
+        .withTargets(targets)
+        .withSegments(segments);
   }
 
   public ProducerConfig getProducer() {
@@ -58,9 +119,59 @@ public final class Config {
     return flushInterval;
   }
 
+  public Duration getPriorityFlushInterval() {
+    return priorityFlushInterval;
+  }
+
+  public ClaimCheckConfig getClaimCheck() {
+    return claimCheck;
+  }
+
+  public ResourcesConfig getResources() {
+    return resources;
+  }
+
+  public EnrichmentConfig getEnrichment() {
+    return enrichment;
+  }
+
+  public AggregationConfig getAggregation() {
+    return aggregation;
+  }
+
+  public Optional<Path> getConfigFile() {
+    return Optional.ofNullable(configFile);
+  }
+
+  public WatchdogConfig getWatchdog() {
+    return watchdog;
+  }
+
+  /** @return the additional clusters to export to, keyed by name, in a stable order */
+  public Map<String, TargetConfig> getTargets() {
+    return targets;
+  }
+
+  public SegmentsConfig getSegments() {
+    return segments;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(producer, records, maxBatchSize, flushInterval);
+    return Objects.hash(
+        producer,
+        records,
+        maxBatchSize,
+        flushInterval,
+        priorityFlushInterval,
+        claimCheck,
+        resources,
+        enrichment,
+        aggregation,
+        configFile,
+        watchdog,
+        targets,
+        segments);
   }
 
   @Override
@@ -76,7 +187,16 @@ public final class Config {
         && Objects.equals(getProducer(), config.getProducer())
         && Objects.equals(getRecords(), config.getRecords())
         && Objects.equals(getMaxBatchSize(), config.getMaxBatchSize())
-        && Objects.equals(getFlushInterval(), config.getFlushInterval());
+        && Objects.equals(getFlushInterval(), config.getFlushInterval())
+        && Objects.equals(getPriorityFlushInterval(), config.getPriorityFlushInterval())
+        && Objects.equals(getClaimCheck(), config.getClaimCheck())
+        && Objects.equals(getResources(), config.getResources())
+        && Objects.equals(getEnrichment(), config.getEnrichment())
+        && Objects.equals(getAggregation(), config.getAggregation())
+        && Objects.equals(configFile, config.configFile)
+        && Objects.equals(getWatchdog(), config.getWatchdog())
+        && Objects.equals(getTargets(), config.getTargets())
+        && Objects.equals(getSegments(), config.getSegments());
   }
 
   @Override
@@ -90,6 +210,121 @@ public final class Config {
         + maxBatchSize
         + ", commitInterval="
         + flushInterval
+        + ", priorityFlushInterval="
+        + priorityFlushInterval
+        + ", claimCheck="
+        + claimCheck
+        + ", resources="
+        + resources
+        + ", enrichment="
+        + enrichment
+        + ", aggregation="
+        + aggregation
+        + ", configFile="
+        + configFile
+        + ", watchdog="
+        + watchdog
+        + ", targets="
+        + targets
+        + ", segments="
+        + segments
         + '}';
   }
+
+  public static final class Builder {
+    private ProducerConfig producer;
+    private RecordsConfig records;
+    private int maxBatchSize;
+    private Duration flushInterval;
+    private Duration priorityFlushInterval = Duration.ZERO;
+    private ClaimCheckConfig claimCheck = new ClaimCheckConfig(Optional.empty());
+    private ResourcesConfig resources = new ResourcesConfig(Optional.empty(), 0, Duration.ZERO);
+    private EnrichmentConfig enrichment = new EnrichmentConfig(0);
+    private AggregationConfig aggregation =
+        new AggregationConfig(Optional.empty(), Duration.ofMinutes(1), 1);
+    private Optional<Path> configFile = Optional.empty();
+    private WatchdogConfig watchdog = new WatchdogConfig(Duration.ZERO, Duration.ofSeconds(10));
+    private Map<String, TargetConfig> targets = Map.of();
+    private SegmentsConfig segments = new SegmentsConfig(Optional.empty(), 0);
+
+    private Builder(
+        final ProducerConfig producer,
+        final RecordsConfig records,
+        final int maxBatchSize,
+        final Duration flushInterval) {
+      this.producer = producer;
+      this.records = records;
+      this.maxBatchSize = maxBatchSize;
+      this.flushInterval = flushInterval;
+    }
+
+    public Builder withProducer(final ProducerConfig producer) {
+      this.producer = producer;
+      return this;
+    }
+
+    public Builder withRecords(final RecordsConfig records) {
+      this.records = records;
+      return this;
+    }
+
+    public Builder withMaxBatchSize(final int maxBatchSize) {
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    public Builder withFlushInterval(final Duration flushInterval) {
+      this.flushInterval = flushInterval;
+      return this;
+    }
+
+    public Builder withPriorityFlushInterval(final Duration priorityFlushInterval) {
+      this.priorityFlushInterval = priorityFlushInterval;
+      return this;
+    }
+
+    public Builder withClaimCheck(final ClaimCheckConfig claimCheck) {
+      this.claimCheck = claimCheck;
+      return this;
+    }
+
+    public Builder withResources(final ResourcesConfig resources) {
+      this.resources = resources;
+      return this;
+    }
+
+    public Builder withEnrichment(final EnrichmentConfig enrichment) {
+      this.enrichment = enrichment;
+      return this;
+    }
+
+    public Builder withAggregation(final AggregationConfig aggregation) {
+      this.aggregation = aggregation;
+      return this;
+    }
+
+    public Builder withConfigFile(final Optional<Path> configFile) {
+      this.configFile = configFile;
+      return this;
+    }
+
+    public Builder withWatchdog(final WatchdogConfig watchdog) {
+      this.watchdog = watchdog;
+      return this;
+    }
+
+    public Builder withTargets(final Map<String, TargetConfig> targets) {
+      this.targets = targets;
+      return this;
+    }
+
+    public Builder withSegments(final SegmentsConfig segments) {
+      this.segments = segments;
+      return this;
+    }
+
+    public Config build() {
+      return new Config(this);
+    }
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import java.util.Objects;
+
+/**
+ * {@link EnrichmentConfig} describes how many process instances the exporter remembers in order to
+ * enrich the records belonging to them. A cache size of 0 disables enrichment.
+ */
+public final class EnrichmentConfig {
+  private final int cacheSize;
+
+  public EnrichmentConfig(final int cacheSize) {
+    this.cacheSize = cacheSize;
+  }
+
+  public int getCacheSize() {
+    return cacheSize;
+  }
+
+  public boolean isEnabled() {
+    return cacheSize > 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(cacheSize);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final EnrichmentConfig that = (EnrichmentConfig) o;
+    return cacheSize == that.cacheSize;
+  }
+
+  @Override
+  public String toString() {
+    return "EnrichmentConfig{" + "cacheSize=" + cacheSize + '}';
+  }
+}
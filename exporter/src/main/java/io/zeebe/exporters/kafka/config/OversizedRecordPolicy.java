@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import java.util.Objects;
+
+/**
+ * {@link OversizedRecordPolicy} describes what to do with a record whose serialized form exceeds
+ * the producer's {@code max.request.size}. Such a record can never be sent, and would otherwise
+ * block the whole partition as the batch is retried forever.
+ */
+public enum OversizedRecordPolicy {
+  /** Send the record as is; this is the legacy behavior. */
+  NONE("none"),
+  /** Drop the variables of the record, falling back to {@link #DEAD_LETTER} if still too big. */
+  TRUNCATE("truncate"),
+  /** Send a small stub describing the record to the dead letter topic instead. */
+  DEAD_LETTER("deadLetter"),
+  /** Split the serialized record into multiple chunks, sent in order with the same key. */
+  SPLIT("split");
+
+  private final String policyName;
+
+  OversizedRecordPolicy(final String policyName) {
+    this.policyName = Objects.requireNonNull(policyName);
+  }
+
+  public String getPolicyName() {
+    return policyName;
+  }
+
+  public static OversizedRecordPolicy forName(final String name) {
+    for (final var policy : values()) {
+      if (policy.policyName.equals(name)) {
+        return policy;
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown oversized record policy name: " + name);
+  }
+}
@@ -32,13 +32,28 @@ import java.util.Objects;
  * representation of what you want to use.
  */
 public final class ProducerConfig {
+  /** Kafka's own default for {@code max.request.size}. */
+  public static final int DEFAULT_MAX_REQUEST_SIZE = 1024 * 1024;
+
   private final String clientId;
   private final Duration closeTimeout;
   private final Map<String, Object> config;
   private final Duration requestTimeout;
   private final Duration maxBlockingTimeout;
   private final List<String> servers;
+  private final Duration recreateBackoff;
+  private final Duration maxRecreateBackoff;
+  private final boolean warmUp;
+  private final int offHeapPoolSize;
+  private final int offHeapSlabSize;
+  private final long maxTransactionSize;
+  private final Duration maxTransactionDuration;
+  private final Duration drainTimeout;
 
+  /**
+   * Creates a configuration with the given required properties; all other properties are set as
+   * by {@link #builder(String, Duration, Map, Duration, Duration, List)}.
+   */
   public ProducerConfig(
       final String clientId,
       final Duration closeTimeout,
@@ -46,12 +61,57 @@ public final class ProducerConfig {
       final Duration requestTimeout,
       final Duration maxBlockingTimeout,
       final List<String> servers) {
-    this.clientId = Objects.requireNonNull(clientId);
-    this.closeTimeout = Objects.requireNonNull(closeTimeout);
-    this.config = Objects.requireNonNull(config);
-    this.requestTimeout = Objects.requireNonNull(requestTimeout);
-    this.maxBlockingTimeout = Objects.requireNonNull(maxBlockingTimeout);
-    this.servers = Objects.requireNonNull(servers);
+    this(new Builder(clientId, closeTimeout, config, requestTimeout, maxBlockingTimeout, servers));
+  }
+
+  private ProducerConfig(final Builder builder) {
+    clientId = Objects.requireNonNull(builder.clientId);
+    closeTimeout = Objects.requireNonNull(builder.closeTimeout);
+    config = Objects.requireNonNull(builder.config);
+    requestTimeout = Objects.requireNonNull(builder.requestTimeout);
+    maxBlockingTimeout = Objects.requireNonNull(builder.maxBlockingTimeout);
+    servers = Objects.requireNonNull(builder.servers);
+    recreateBackoff = Objects.requireNonNull(builder.recreateBackoff);
+    maxRecreateBackoff = Objects.requireNonNull(builder.maxRecreateBackoff);
+    warmUp = builder.warmUp;
+    offHeapPoolSize = builder.offHeapPoolSize;
+    offHeapSlabSize = builder.offHeapSlabSize;
+    maxTransactionSize = builder.maxTransactionSize;
+    maxTransactionDuration = Objects.requireNonNull(builder.maxTransactionDuration);
+    drainTimeout = builder.drainTimeout == null ? closeTimeout : builder.drainTimeout;
+  }
+
+  /**
+   * Returns a builder for a producer configuration with the given required properties. All other
+   * properties default to their disabled state. If no drain timeout is set, the close timeout is
+   * used instead; note this differs from {@link
+   * io.zeebe.exporters.kafka.config.parser.RawProducerConfigParser}, which always sets the drain
+   * timeout and defaults it to 5 seconds.
+   *
+   * @return a new builder
+   */
+  public static Builder builder(
+      final String clientId,
+      final Duration closeTimeout,
+      final Map<String, Object> config,
+      final Duration requestTimeout,
+      final Duration maxBlockingTimeout,
+      final List<String> servers) {
+    return new Builder(
+        clientId, closeTimeout, config, requestTimeout, maxBlockingTimeout, servers);
+  }
+
+  /** @return a builder initialized with this configuration, to derive a modified copy of it */
+  public Builder toBuilder() {
+    return new Builder(clientId, closeTimeout, config, requestTimeout, maxBlockingTimeout, servers)
+        .withRecreateBackoff(recreateBackoff)
+        .withMaxRecreateBackoff(maxRecreateBackoff)
+        .withWarmUp(warmUp)
+        .withOffHeapPoolSize(offHeapPoolSize)
+        .withOffHeapSlabSize(offHeapSlabSize)
+        .withMaxTransactionSize(maxTransactionSize)
+        .withMaxTransactionDuration(maxTransactionDuration)
+        .withDrainTimeout(drainTimeout);
   }
 
   public String getClientId() {
@@ -78,10 +138,101 @@ public final class ProducerConfig {
     return servers;
   }
 
+  /** @return the initial delay before recreating a producer after a non-recoverable error */
+  public Duration getRecreateBackoff() {
+    return recreateBackoff;
+  }
+
+  /** @return the maximum delay before recreating a producer after consecutive errors */
+  public Duration getMaxRecreateBackoff() {
+    return maxRecreateBackoff;
+  }
+
+  /** @return true if producers should be created and initialized eagerly when opening */
+  public boolean isWarmUp() {
+    return warmUp;
+  }
+
+  /**
+   * @return the maximum number of bytes of off-heap memory used to hold the payloads of records
+   *     sent but not yet committed, or 0 if they're kept on the heap
+   */
+  public int getOffHeapPoolSize() {
+    return offHeapPoolSize;
+  }
+
+  /** @return the size in bytes of each slab of the off-heap pool */
+  public int getOffHeapSlabSize() {
+    return offHeapSlabSize;
+  }
+
+  /** @return true if payloads of sent records are moved off-heap until committed */
+  public boolean isOffHeapPoolEnabled() {
+    return offHeapPoolSize > 0;
+  }
+
+  /**
+   * @return the number of payload bytes sent in a transaction after which it's committed before
+   *     sending more records, or 0 if unbounded
+   */
+  public long getMaxTransactionSize() {
+    return maxTransactionSize;
+  }
+
+  /**
+   * @return how long a transaction may stay open before it's committed prior to sending more
+   *     records, or {@link Duration#ZERO} if unbounded
+   */
+  public Duration getMaxTransactionDuration() {
+    return maxTransactionDuration;
+  }
+
+  /**
+   * @return the total time given to flush the pending records when closing, after which the
+   *     in-flight transaction is aborted and the producer closed in the background
+   */
+  public Duration getDrainTimeout() {
+    return drainTimeout;
+  }
+
+  /**
+   * Returns the maximum size of a single request as configured by the user via {@code
+   * max.request.size}, or Kafka's own default if not configured. Records bigger than this can never
+   * be sent by the producer.
+   *
+   * @return the maximum request size in bytes
+   */
+  public int getMaxRequestSize() {
+    final var maxRequestSize =
+        config.get(org.apache.kafka.clients.producer.ProducerConfig.MAX_REQUEST_SIZE_CONFIG);
+    if (maxRequestSize == null) {
+      return DEFAULT_MAX_REQUEST_SIZE;
+    }
+
+    if (maxRequestSize instanceof Number) {
+      return ((Number) maxRequestSize).intValue();
+    }
+
+    return Integer.parseInt(maxRequestSize.toString().trim());
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(
-        clientId, closeTimeout, config, requestTimeout, maxBlockingTimeout, servers);
+        clientId,
+        closeTimeout,
+        config,
+        requestTimeout,
+        maxBlockingTimeout,
+        servers,
+        recreateBackoff,
+        maxRecreateBackoff,
+        warmUp,
+        offHeapPoolSize,
+        offHeapSlabSize,
+        maxTransactionSize,
+        maxTransactionDuration,
+        drainTimeout);
   }
 
   @Override
@@ -98,7 +249,15 @@ public final class ProducerConfig {
         && Objects.equals(getConfig(), that.getConfig())
         && Objects.equals(getRequestTimeout(), that.getRequestTimeout())
         && Objects.equals(getMaxBlockingTimeout(), that.getMaxBlockingTimeout())
-        && Objects.equals(getServers(), that.getServers());
+        && Objects.equals(getServers(), that.getServers())
+        && Objects.equals(getRecreateBackoff(), that.getRecreateBackoff())
+        && Objects.equals(getMaxRecreateBackoff(), that.getMaxRecreateBackoff())
+        && isWarmUp() == that.isWarmUp()
+        && getOffHeapPoolSize() == that.getOffHeapPoolSize()
+        && getOffHeapSlabSize() == that.getOffHeapSlabSize()
+        && getMaxTransactionSize() == that.getMaxTransactionSize()
+        && Objects.equals(getMaxTransactionDuration(), that.getMaxTransactionDuration())
+        && Objects.equals(getDrainTimeout(), that.getDrainTimeout());
   }
 
   @Override
@@ -117,6 +276,98 @@ public final class ProducerConfig {
         + maxBlockingTimeout
         + ", servers="
         + servers
+        + ", recreateBackoff="
+        + recreateBackoff
+        + ", maxRecreateBackoff="
+        + maxRecreateBackoff
+        + ", warmUp="
+        + warmUp
+        + ", offHeapPoolSize="
+        + offHeapPoolSize
+        + ", offHeapSlabSize="
+        + offHeapSlabSize
+        + ", maxTransactionSize="
+        + maxTransactionSize
+        + ", maxTransactionDuration="
+        + maxTransactionDuration
+        + ", drainTimeout="
+        + drainTimeout
         + '}';
   }
+
+  public static final class Builder {
+    private final String clientId;
+    private final Duration closeTimeout;
+    private final Map<String, Object> config;
+    private final Duration requestTimeout;
+    private final Duration maxBlockingTimeout;
+    private final List<String> servers;
+    private Duration recreateBackoff = Duration.ZERO;
+    private Duration maxRecreateBackoff = Duration.ZERO;
+    private boolean warmUp;
+    private int offHeapPoolSize;
+    private int offHeapSlabSize;
+    private long maxTransactionSize;
+    private Duration maxTransactionDuration = Duration.ZERO;
+    private Duration drainTimeout;
+
+    private Builder(
+        final String clientId,
+        final Duration closeTimeout,
+        final Map<String, Object> config,
+        final Duration requestTimeout,
+        final Duration maxBlockingTimeout,
+        final List<String> servers) {
+      this.clientId = clientId;
+      this.closeTimeout = closeTimeout;
+      this.config = config;
+      this.requestTimeout = requestTimeout;
+      this.maxBlockingTimeout = maxBlockingTimeout;
+      this.servers = servers;
+    }
+
+    public Builder withRecreateBackoff(final Duration recreateBackoff) {
+      this.recreateBackoff = recreateBackoff;
+      return this;
+    }
+
+    public Builder withMaxRecreateBackoff(final Duration maxRecreateBackoff) {
+      this.maxRecreateBackoff = maxRecreateBackoff;
+      return this;
+    }
+
+    public Builder withWarmUp(final boolean warmUp) {
+      this.warmUp = warmUp;
+      return this;
+    }
+
+    public Builder withOffHeapPoolSize(final int offHeapPoolSize) {
+      this.offHeapPoolSize = offHeapPoolSize;
+      return this;
+    }
+
+    public Builder withOffHeapSlabSize(final int offHeapSlabSize) {
+      this.offHeapSlabSize = offHeapSlabSize;
+      return this;
+    }
+
+    public Builder withMaxTransactionSize(final long maxTransactionSize) {
+      this.maxTransactionSize = maxTransactionSize;
+      return this;
+    }
+
+    public Builder withMaxTransactionDuration(final Duration maxTransactionDuration) {
+      this.maxTransactionDuration = maxTransactionDuration;
+      return this;
+    }
+
+    public Builder withDrainTimeout(final Duration drainTimeout) {
+      this.drainTimeout = drainTimeout;
+      return this;
+    }
+
+    public ProducerConfig build() {
+      return new ProducerConfig(this);
+    }
+  }
 }
@@ -28,14 +28,66 @@ import java.util.Set;
  * <p>For the {@link io.camunda.zeebe.protocol.record.ValueType} associated with this instance, only
  * records with a {@link Record#getRecordType()} which is included in {@code allowedTypes} will be
  * exported. An empty set of {@code allowedTypes} means nothing gets exported.
+ *
+ * <p>The {@code priority} controls in which batch the records are buffered; see {@link
+ * RecordPriority}. The {@code oversizedPolicy} controls what happens to records which are too big
+ * to be sent; see {@link OversizedRecordPolicy}. Records bigger than {@code claimCheckThreshold}
+ * have their payload offloaded to a blob store; see {@link ClaimCheckConfig}.
+ *
+ * <p>The {@code topic} may be a template resolved per record; see {@link TopicTemplate}. Allowed
+ * records may still be dropped based on their contents; see {@link RecordFilterConfig}.
  */
 public final class RecordConfig {
   private final Set<RecordType> allowedTypes;
   private final String topic;
+  private final TopicTemplate topicTemplate;
+  private final RecordPriority priority;
+  private final OversizedRecordPolicy oversizedPolicy;
+  private final String deadLetterTopic;
+  private final int claimCheckThreshold;
+  private final RecordFilterConfig filter;
 
+  /**
+   * Creates a configuration with the given required properties; all other properties are set as
+   * by {@link #builder(Set, String)}.
+   */
   public RecordConfig(final Set<RecordType> allowedTypes, final String topic) {
-    this.allowedTypes = Objects.requireNonNull(allowedTypes);
-    this.topic = Objects.requireNonNull(topic);
+    this(new Builder(allowedTypes, topic));
+  }
+
+  private RecordConfig(final Builder builder) {
+    allowedTypes = Objects.requireNonNull(builder.allowedTypes);
+    topic = Objects.requireNonNull(builder.topic);
+    topicTemplate = TopicTemplate.parse(topic);
+    priority = Objects.requireNonNull(builder.priority);
+    oversizedPolicy = Objects.requireNonNull(builder.oversizedPolicy);
+    deadLetterTopic = Objects.requireNonNull(builder.deadLetterTopic);
+    claimCheckThreshold = builder.claimCheckThreshold;
+    filter = Objects.requireNonNull(builder.filter);
+  }
+
+  /**
+   * Returns a builder for a record configuration with the given required properties. Records are
+   * buffered with {@link RecordPriority#NORMAL} priority, oversized records are not handled, claim
+   * checks and filtering are disabled, and the dead letter topic is the topic suffixed with {@code
+   * -dead-letter}.
+   *
+   * @param allowedTypes the record types to export
+   * @param topic the topic, or topic template, to export to
+   * @return a new builder
+   */
+  public static Builder builder(final Set<RecordType> allowedTypes, final String topic) {
+    return new Builder(allowedTypes, topic);
+  }
+
+  /** @return a builder initialized with this configuration, to derive a modified copy of it */
+  public Builder toBuilder() {
+    return new Builder(allowedTypes, topic)
+        .withPriority(priority)
+        .withOversizedPolicy(oversizedPolicy)
+        .withDeadLetterTopic(deadLetterTopic)
+        .withClaimCheckThreshold(claimCheckThreshold)
+        .withFilter(filter);
   }
 
   public Set<RecordType> getAllowedTypes() {
@@ -46,9 +98,44 @@ public final class RecordConfig {
     return topic;
   }
 
+  public TopicTemplate getTopicTemplate() {
+    return topicTemplate;
+  }
+
+  public RecordPriority getPriority() {
+    return priority;
+  }
+
+  public OversizedRecordPolicy getOversizedPolicy() {
+    return oversizedPolicy;
+  }
+
+  public String getDeadLetterTopic() {
+    return deadLetterTopic;
+  }
+
+  /**
+   * @return the serialized size in bytes above which the record's payload is offloaded to the blob
+   *     store, or 0 if it never is
+   */
+  public int getClaimCheckThreshold() {
+    return claimCheckThreshold;
+  }
+
+  public RecordFilterConfig getFilter() {
+    return filter;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(allowedTypes, topic);
+    return Objects.hash(
+        allowedTypes,
+        topic,
+        priority,
+        oversizedPolicy,
+        deadLetterTopic,
+        claimCheckThreshold,
+        filter);
   }
 
   @Override
@@ -61,11 +148,78 @@ public final class RecordConfig {
     }
     final RecordConfig that = (RecordConfig) o;
     return Objects.equals(getAllowedTypes(), that.getAllowedTypes())
-        && Objects.equals(getTopic(), that.getTopic());
+        && Objects.equals(getTopic(), that.getTopic())
+        && getPriority() == that.getPriority()
+        && getOversizedPolicy() == that.getOversizedPolicy()
+        && Objects.equals(getDeadLetterTopic(), that.getDeadLetterTopic())
+        && getClaimCheckThreshold() == that.getClaimCheckThreshold()
+        && Objects.equals(getFilter(), that.getFilter());
   }
 
   @Override
   public String toString() {
-    return "RecordConfig{" + "allowedTypes=" + allowedTypes + ", topic='" + topic + '\'' + '}';
+    return "RecordConfig{"
+        + "allowedTypes="
+        + allowedTypes
+        + ", topic='"
+        + topic
+        + '\''
+        + ", priority="
+        + priority
+        + ", oversizedPolicy="
+        + oversizedPolicy
+        + ", deadLetterTopic='"
+        + deadLetterTopic
+        + '\''
+        + ", claimCheckThreshold="
+        + claimCheckThreshold
+        + ", filter="
+        + filter
+        + '}';
+  }
+
+  public static final class Builder {
+    private final Set<RecordType> allowedTypes;
+    private final String topic;
+    private RecordPriority priority = RecordPriority.NORMAL;
+    private OversizedRecordPolicy oversizedPolicy = OversizedRecordPolicy.NONE;
+    private String deadLetterTopic;
+    private int claimCheckThreshold;
+    private RecordFilterConfig filter = RecordFilterConfig.NONE;
+
+    private Builder(final Set<RecordType> allowedTypes, final String topic) {
+      this.allowedTypes = allowedTypes;
+      this.topic = topic;
+      deadLetterTopic = topic + "-dead-letter";
+    }
+
+    public Builder withPriority(final RecordPriority priority) {
+      this.priority = priority;
+      return this;
+    }
+
+    public Builder withOversizedPolicy(final OversizedRecordPolicy oversizedPolicy) {
+      this.oversizedPolicy = oversizedPolicy;
+      return this;
+    }
+
+    public Builder withDeadLetterTopic(final String deadLetterTopic) {
+      this.deadLetterTopic = deadLetterTopic;
+      return this;
+    }
+
+    public Builder withClaimCheckThreshold(final int claimCheckThreshold) {
+      this.claimCheckThreshold = claimCheckThreshold;
+      return this;
+    }
+
+    public Builder withFilter(final RecordFilterConfig filter) {
+      this.filter = filter;
+      return this;
+    }
+
+    public RecordConfig build() {
+      return new RecordConfig(this);
+    }
   }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import io.camunda.zeebe.protocol.record.RejectionType;
+import io.camunda.zeebe.protocol.record.value.BpmnElementType;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link RecordFilterConfig} describes which records of a given value type are dropped, on top of
+ * the record type filtering done by {@link RecordConfig#getAllowedTypes()}. A record is dropped if
+ * any of its intent, BPMN process ID, BPMN element type, tenant or rejection type is excluded.
+ *
+ * <p>Additionally, only a {@code sampleRate} fraction of process instances may be exported. The
+ * decision is made by hashing the process instance key, such that an instance is either exported
+ * completely or not at all, across all value types; records which do not belong to a process
+ * instance are never sampled out.
+ *
+ * <p>Intents are kept by name, as the same configuration may apply to multiple value types (e.g.
+ * the defaults), each with their own intent enum; they are resolved per value type when the filter
+ * is compiled.
+ */
+public final class RecordFilterConfig {
+  /** A filter which does not drop any record */
+  public static final RecordFilterConfig NONE =
+      new RecordFilterConfig(
+          Set.of(),
+          Set.of(),
+          EnumSet.noneOf(BpmnElementType.class),
+          Set.of(),
+          EnumSet.noneOf(RejectionType.class));
+
+  private final Set<String> excludedIntents;
+  private final Set<String> excludedBpmnProcessIds;
+  private final Set<BpmnElementType> excludedElementTypes;
+  private final Set<String> excludedTenantIds;
+  private final Set<RejectionType> excludedRejectionTypes;
+  private final double sampleRate;
+
+  public RecordFilterConfig(
+      final Set<String> excludedIntents,
+      final Set<String> excludedBpmnProcessIds,
+      final Set<BpmnElementType> excludedElementTypes,
+      final Set<String> excludedTenantIds,
+      final Set<RejectionType> excludedRejectionTypes) {
+    this(
+        excludedIntents,
+        excludedBpmnProcessIds,
+        excludedElementTypes,
+        excludedTenantIds,
+        excludedRejectionTypes,
+        1.0);
+  }
+
+  /**
+   * @param sampleRate the fraction of process instances to export, between 0 and 1 inclusive
+   */
+  public RecordFilterConfig(
+      final Set<String> excludedIntents,
+      final Set<String> excludedBpmnProcessIds,
+      final Set<BpmnElementType> excludedElementTypes,
+      final Set<String> excludedTenantIds,
+      final Set<RejectionType> excludedRejectionTypes,
+      final double sampleRate) {
+    this.excludedIntents = Objects.requireNonNull(excludedIntents);
+    this.excludedBpmnProcessIds = Objects.requireNonNull(excludedBpmnProcessIds);
+    this.excludedElementTypes = Objects.requireNonNull(excludedElementTypes);
+    this.excludedTenantIds = Objects.requireNonNull(excludedTenantIds);
+    this.excludedRejectionTypes = Objects.requireNonNull(excludedRejectionTypes);
+    this.sampleRate = sampleRate;
+  }
+
+  public Set<String> getExcludedIntents() {
+    return excludedIntents;
+  }
+
+  public Set<String> getExcludedBpmnProcessIds() {
+    return excludedBpmnProcessIds;
+  }
+
+  public Set<BpmnElementType> getExcludedElementTypes() {
+    return excludedElementTypes;
+  }
+
+  public Set<String> getExcludedTenantIds() {
+    return excludedTenantIds;
+  }
+
+  public Set<RejectionType> getExcludedRejectionTypes() {
+    return excludedRejectionTypes;
+  }
+
+  public double getSampleRate() {
+    return sampleRate;
+  }
+
+  /** @return true if no record is dropped by this filter */
+  public boolean isEmpty() {
+    return sampleRate >= 1.0
+        && excludedIntents.isEmpty()
+        && excludedBpmnProcessIds.isEmpty()
+        && excludedElementTypes.isEmpty()
+        && excludedTenantIds.isEmpty()
+        && excludedRejectionTypes.isEmpty();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        excludedIntents,
+        excludedBpmnProcessIds,
+        excludedElementTypes,
+        excludedTenantIds,
+        excludedRejectionTypes,
+        sampleRate);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final RecordFilterConfig that = (RecordFilterConfig) o;
+    return Objects.equals(excludedIntents, that.excludedIntents)
+        && Objects.equals(excludedBpmnProcessIds, that.excludedBpmnProcessIds)
+        && Objects.equals(excludedElementTypes, that.excludedElementTypes)
+        && Objects.equals(excludedTenantIds, that.excludedTenantIds)
+        && Objects.equals(excludedRejectionTypes, that.excludedRejectionTypes)
+        && Double.compare(sampleRate, that.sampleRate) == 0;
+  }
+
+  @Override
+  public String toString() {
+    return "RecordFilterConfig{"
+        + "excludedIntents="
+        + excludedIntents
+        + ", excludedBpmnProcessIds="
+        + excludedBpmnProcessIds
+        + ", excludedElementTypes="
+        + excludedElementTypes
+        + ", excludedTenantIds="
+        + excludedTenantIds
+        + ", excludedRejectionTypes="
+        + excludedRejectionTypes
+        + ", sampleRate="
+        + sampleRate
+        + '}';
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import java.util.Objects;
+
+/**
+ * {@link RecordPriority} describes in which lane records of a given value type are batched. Records
+ * in the {@link #HIGH} lane are kept in their own batch, which is committed right away (or after a
+ * short linger), such that latency critical records (e.g. incidents) do not have to wait for the
+ * bulk batch to be flushed.
+ */
+public enum RecordPriority {
+  NORMAL("normal"),
+  HIGH("high");
+
+  private final String priorityName;
+
+  RecordPriority(final String priorityName) {
+    this.priorityName = Objects.requireNonNull(priorityName);
+  }
+
+  public String getPriorityName() {
+    return priorityName;
+  }
+
+  public static RecordPriority forName(final String name) {
+    if (NORMAL.priorityName.equals(name)) {
+      return NORMAL;
+    } else if (HIGH.priorityName.equals(name)) {
+      return HIGH;
+    } else {
+      throw new IllegalArgumentException("Unknown record priority name: " + name);
+    }
+  }
+}
@@ -19,6 +19,8 @@ import io.camunda.zeebe.protocol.record.ValueType;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * {@link RecordsConfig} provides a default {@link RecordConfig} for every {@link ValueType}, with
@@ -27,10 +29,23 @@ import java.util.Optional;
 public final class RecordsConfig {
   private final Map<ValueType, RecordConfig> typeMap;
   private final RecordConfig defaults;
+  private final Map<String, TopicTemplate> processTopics;
 
   public RecordsConfig(final Map<ValueType, RecordConfig> typeMap, final RecordConfig defaults) {
+    this(typeMap, defaults, Map.of());
+  }
+
+  /**
+   * @param processTopics topic templates keyed by BPMN process ID, overriding the value type's
+   *     topic for all records of that process
+   */
+  public RecordsConfig(
+      final Map<ValueType, RecordConfig> typeMap,
+      final RecordConfig defaults,
+      final Map<String, TopicTemplate> processTopics) {
     this.typeMap = Objects.requireNonNull(typeMap);
     this.defaults = Objects.requireNonNull(defaults);
+    this.processTopics = Objects.requireNonNull(processTopics);
   }
 
   public Map<ValueType, RecordConfig> getTypeMap() {
@@ -41,6 +56,10 @@ public final class RecordsConfig {
     return defaults;
   }
 
+  public Map<String, TopicTemplate> getProcessTopics() {
+    return processTopics;
+  }
+
   /**
    * Returns the correct {@link RecordConfig} for this type, or {@link #getDefaults()} if none
    * defined for the given type.
@@ -52,9 +71,45 @@ public final class RecordsConfig {
     return Optional.ofNullable(typeMap.get(type)).orElse(defaults);
   }
 
+  /**
+   * Returns true if any value type, including the defaults, should be batched in the {@link
+   * RecordPriority#HIGH} lane.
+   *
+   * @return true if there is at least one high priority value type, false otherwise
+   */
+  public boolean hasHighPriorityTypes() {
+    return defaults.getPriority() == RecordPriority.HIGH
+        || typeMap.values().stream().anyMatch(c -> c.getPriority() == RecordPriority.HIGH);
+  }
+
+  /**
+   * Returns true if any value type, including the defaults, has a claim check threshold.
+   *
+   * @return true if payloads of at least one value type may be offloaded, false otherwise
+   */
+  public boolean hasClaimCheckTypes() {
+    return defaults.getClaimCheckThreshold() > 0
+        || typeMap.values().stream().anyMatch(c -> c.getClaimCheckThreshold() > 0);
+  }
+
+  /**
+   * Returns the topics records may be produced to which are known up front, i.e. those of the
+   * defaults, of every value type, and of every process whose topic has no placeholders.
+   *
+   * @return the set of static topic names
+   */
+  public Set<String> getStaticTopics() {
+    final Set<String> topics = new TreeSet<>();
+    addStaticTopic(topics, defaults.getTopicTemplate());
+    typeMap.values().forEach(c -> addStaticTopic(topics, c.getTopicTemplate()));
+    processTopics.values().forEach(t -> addStaticTopic(topics, t));
+
+    return topics;
+  }
+
   @Override
   public int hashCode() {
-    return Objects.hash(defaults, typeMap);
+    return Objects.hash(defaults, typeMap, processTopics);
   }
 
   @Override
@@ -67,11 +122,25 @@ public final class RecordsConfig {
     }
     final RecordsConfig that = (RecordsConfig) o;
     return Objects.equals(getTypeMap(), that.getTypeMap())
-        && Objects.equals(getDefaults(), that.getDefaults());
+        && Objects.equals(getDefaults(), that.getDefaults())
+        && Objects.equals(getProcessTopics(), that.getProcessTopics());
   }
 
   @Override
   public String toString() {
-    return "RecordsConfig{" + "typeMap=" + typeMap + ", defaults=" + defaults + '}';
+    return "RecordsConfig{"
+        + "typeMap="
+        + typeMap
+        + ", defaults="
+        + defaults
+        + ", processTopics="
+        + processTopics
+        + '}';
+  }
+
+  private static void addStaticTopic(final Set<String> topics, final TopicTemplate template) {
+    if (template.isStatic()) {
+      topics.add(template.getSource());
+    }
   }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link ResourcesConfig} describes whether and where resources (e.g. BPMN XML) embedded in
+ * records are published separately, such that they are only sent once per distinct resource. When
+ * no topic is configured, resources are exported as part of their records.
+ */
+public final class ResourcesConfig {
+  private final String topic;
+  private final int cacheSize;
+  private final Duration publishTimeout;
+
+  public ResourcesConfig(
+      final Optional<String> topic, final int cacheSize, final Duration publishTimeout) {
+    this.topic = Objects.requireNonNull(topic).orElse(null);
+    this.cacheSize = cacheSize;
+    this.publishTimeout = Objects.requireNonNull(publishTimeout);
+  }
+
+  public Optional<String> getTopic() {
+    return Optional.ofNullable(topic);
+  }
+
+  public boolean isEnabled() {
+    return topic != null;
+  }
+
+  public int getCacheSize() {
+    return cacheSize;
+  }
+
+  public Duration getPublishTimeout() {
+    return publishTimeout;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(topic, cacheSize, publishTimeout);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final ResourcesConfig that = (ResourcesConfig) o;
+    return getCacheSize() == that.getCacheSize()
+        && Objects.equals(topic, that.topic)
+        && Objects.equals(getPublishTimeout(), that.getPublishTimeout());
+  }
+
+  @Override
+  public String toString() {
+    return "ResourcesConfig{"
+        + "topic='"
+        + topic
+        + '\''
+        + ", cacheSize="
+        + cacheSize
+        + ", publishTimeout="
+        + publishTimeout
+        + '}';
+  }
+}
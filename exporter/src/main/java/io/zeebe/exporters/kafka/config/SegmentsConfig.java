@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link SegmentsConfig} describes where records are written when exporting to local segment files
+ * instead of Kafka. When no directory is configured, records are exported to Kafka.
+ */
+public final class SegmentsConfig {
+  private final Path directory;
+  private final int segmentSize;
+
+  public SegmentsConfig(final Optional<Path> directory, final int segmentSize) {
+    this.directory = Objects.requireNonNull(directory).orElse(null);
+    this.segmentSize = segmentSize;
+  }
+
+  public Optional<Path> getDirectory() {
+    return Optional.ofNullable(directory);
+  }
+
+  public int getSegmentSize() {
+    return segmentSize;
+  }
+
+  public boolean isEnabled() {
+    return directory != null;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(directory, segmentSize);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final SegmentsConfig that = (SegmentsConfig) o;
+    return segmentSize == that.segmentSize && Objects.equals(directory, that.directory);
+  }
+
+  @Override
+  public String toString() {
+    return "SegmentsConfig{" + "directory=" + directory + ", segmentSize=" + segmentSize + '}';
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import io.camunda.zeebe.protocol.record.ValueType;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link TargetConfig} describes an additional Kafka cluster records are exported to, along with
+ * the exporter's own producer. Each target has its own producer and batch, and receives the subset
+ * of exported records whose value type it routes; see {@link
+ * io.zeebe.exporters.kafka.config.raw.RawTargetConfig}.
+ */
+public final class TargetConfig {
+  private final ProducerConfig producer;
+  private final Set<ValueType> valueTypes;
+
+  /**
+   * @param producer the configuration of the target's producer
+   * @param valueTypes the value types routed to the target, or an empty set to route all of them
+   */
+  public TargetConfig(final ProducerConfig producer, final Set<ValueType> valueTypes) {
+    this.producer = Objects.requireNonNull(producer);
+    this.valueTypes = Objects.requireNonNull(valueTypes);
+  }
+
+  public ProducerConfig getProducer() {
+    return producer;
+  }
+
+  public Set<ValueType> getValueTypes() {
+    return valueTypes;
+  }
+
+  /**
+   * @param valueType the value type of an exported record
+   * @return true if records of this type should be sent to the target, false otherwise
+   */
+  public boolean accepts(final ValueType valueType) {
+    return valueTypes.isEmpty() || valueTypes.contains(valueType);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(producer, valueTypes);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final TargetConfig that = (TargetConfig) o;
+    return Objects.equals(getProducer(), that.getProducer())
+        && Objects.equals(getValueTypes(), that.getValueTypes());
+  }
+
+  @Override
+  public String toString() {
+    return "TargetConfig{" + "producer=" + producer + ", valueTypes=" + valueTypes + '}';
+  }
+}
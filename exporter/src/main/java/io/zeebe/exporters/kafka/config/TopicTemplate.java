@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link TopicTemplate} is a parsed topic name, which may contain placeholders resolved per record,
+ * e.g. {@code zeebe-{tenantId}-{valueType}}. See {@link Placeholder} for the supported
+ * placeholders. A template without placeholders is static, and always resolves to its source.
+ *
+ * <p>The template is parsed once, when the configuration is parsed, so that formatting a topic only
+ * appends the pre-split segments.
+ */
+public final class TopicTemplate {
+  private final String source;
+  private final List<String> literals;
+  private final List<Placeholder> placeholders;
+  private final Set<Placeholder> usedPlaceholders;
+
+  private TopicTemplate(
+      final String source, final List<String> literals, final List<Placeholder> placeholders) {
+    this.source = source;
+    this.literals = literals;
+    this.placeholders = placeholders;
+
+    usedPlaceholders = EnumSet.noneOf(Placeholder.class);
+    usedPlaceholders.addAll(placeholders);
+  }
+
+  /**
+   * Parses the given topic template.
+   *
+   * @param source the template, e.g. {@code zeebe-{valueType}}
+   * @return the parsed template
+   * @throws IllegalArgumentException if a placeholder is unknown or not closed
+   */
+  public static TopicTemplate parse(final String source) {
+    Objects.requireNonNull(source);
+
+    final List<String> literals = new ArrayList<>();
+    final List<Placeholder> placeholders = new ArrayList<>();
+    int start = 0;
+    int open = source.indexOf('{');
+    while (open >= 0) {
+      final int close = source.indexOf('}', open);
+      if (close < 0) {
+        throw new IllegalArgumentException(
+            String.format("Expected topic template '%s' to close all placeholders", source));
+      }
+
+      literals.add(source.substring(start, open));
+      placeholders.add(Placeholder.forName(source.substring(open + 1, close)));
+      start = close + 1;
+      open = source.indexOf('{', start);
+    }
+
+    literals.add(source.substring(start));
+    return new TopicTemplate(source, List.copyOf(literals), List.copyOf(placeholders));
+  }
+
+  public String getSource() {
+    return source;
+  }
+
+  /** @return true if the template has no placeholders and always resolves to its source */
+  public boolean isStatic() {
+    return placeholders.isEmpty();
+  }
+
+  /**
+   * @param placeholder the placeholder to look for
+   * @return true if the template contains the given placeholder at least once
+   */
+  public boolean uses(final Placeholder placeholder) {
+    return usedPlaceholders.contains(placeholder);
+  }
+
+  /**
+   * Formats the topic name, replacing each placeholder with its value. Values should already be
+   * valid topic name fragments; see {@link #sanitize(String)}.
+   *
+   * @param valueType the value for {@link Placeholder#VALUE_TYPE}
+   * @param tenantId the value for {@link Placeholder#TENANT_ID}
+   * @param bpmnProcessId the value for {@link Placeholder#BPMN_PROCESS_ID}
+   * @param partitionId the value for {@link Placeholder#PARTITION_ID}
+   * @return the formatted topic name
+   */
+  public String format(
+      final String valueType,
+      final String tenantId,
+      final String bpmnProcessId,
+      final int partitionId) {
+    if (isStatic()) {
+      return source;
+    }
+
+    final StringBuilder topic = new StringBuilder(source.length() + 32);
+    for (int i = 0; i < placeholders.size(); i++) {
+      topic.append(literals.get(i));
+      switch (placeholders.get(i)) {
+        case VALUE_TYPE:
+          topic.append(valueType);
+          break;
+        case TENANT_ID:
+          topic.append(tenantId);
+          break;
+        case BPMN_PROCESS_ID:
+          topic.append(bpmnProcessId);
+          break;
+        case PARTITION_ID:
+          topic.append(partitionId);
+          break;
+        default:
+          throw new IllegalStateException("Unexpected placeholder " + placeholders.get(i));
+      }
+    }
+
+    return topic.append(literals.get(placeholders.size())).toString();
+  }
+
+  /**
+   * Replaces every character which is not allowed in a Kafka topic name by an underscore.
+   *
+   * @param fragment the value to sanitize
+   * @return a value which can safely be used as part of a topic name
+   */
+  public static String sanitize(final String fragment) {
+    final char[] chars = fragment.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      final char c = chars[i];
+      if (!(c >= 'a' && c <= 'z'
+          || c >= 'A' && c <= 'Z'
+          || c >= '0' && c <= '9'
+          || c == '.'
+          || c == '_'
+          || c == '-')) {
+        chars[i] = '_';
+      }
+    }
+
+    return new String(chars);
+  }
+
+  @Override
+  public int hashCode() {
+    return source.hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final TopicTemplate that = (TopicTemplate) o;
+    return source.equals(that.source);
+  }
+
+  @Override
+  public String toString() {
+    return source;
+  }
+
+  public enum Placeholder {
+    /** The record's value type, in lower case with dashes, e.g. {@code process-instance} */
+    VALUE_TYPE("valueType"),
+    /** The record's tenant, or {@code default} for records which are not tenant owned */
+    TENANT_ID("tenantId"),
+    /** The record's BPMN process ID, or {@code none} for records not related to a process */
+    BPMN_PROCESS_ID("bpmnProcessId"),
+    /** The ID of the partition the record was exported from */
+    PARTITION_ID("partitionId");
+
+    private final String name;
+
+    Placeholder(final String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public static Placeholder forName(final String name) {
+      for (final Placeholder placeholder : values()) {
+        if (placeholder.name.equals(name)) {
+          return placeholder;
+        }
+      }
+
+      throw new IllegalArgumentException("Unknown topic placeholder: " + name);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * {@link WatchdogConfig} describes how the exporter watches its own lag: every {@code
+ * checkInterval}, the timestamp of the oldest record not yet acknowledged by Kafka is compared to
+ * that of the latest record seen, and a diagnostic snapshot is logged when the difference exceeds
+ * {@code lagThreshold}. A threshold of 0 disables the watchdog.
+ */
+public final class WatchdogConfig {
+  private final Duration lagThreshold;
+  private final Duration checkInterval;
+
+  public WatchdogConfig(final Duration lagThreshold, final Duration checkInterval) {
+    this.lagThreshold = Objects.requireNonNull(lagThreshold);
+    this.checkInterval = Objects.requireNonNull(checkInterval);
+  }
+
+  public Duration getLagThreshold() {
+    return lagThreshold;
+  }
+
+  public Duration getCheckInterval() {
+    return checkInterval;
+  }
+
+  public boolean isEnabled() {
+    return !lagThreshold.isZero();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(lagThreshold, checkInterval);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final WatchdogConfig that = (WatchdogConfig) o;
+    return Objects.equals(getLagThreshold(), that.getLagThreshold())
+        && Objects.equals(getCheckInterval(), that.getCheckInterval());
+  }
+
+  @Override
+  public String toString() {
+    return "WatchdogConfig{"
+        + "lagThreshold="
+        + lagThreshold
+        + ", checkInterval="
+        + checkInterval
+        + '}';
+  }
+}
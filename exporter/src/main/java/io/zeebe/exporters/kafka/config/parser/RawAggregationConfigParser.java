@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.parser;
+
+import static io.zeebe.exporters.kafka.config.parser.ConfigParserUtil.get;
+
+import io.zeebe.exporters.kafka.config.AggregationConfig;
+import io.zeebe.exporters.kafka.config.raw.RawAggregationConfig;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * {@link RawAggregationConfigParser} parses instances of {@link RawAggregationConfig} into valid
+ * instances of {@link AggregationConfig}, substituting defaults for missing properties. A missing
+ * or blank topic disables aggregation.
+ */
+public class RawAggregationConfigParser
+    implements ConfigParser<RawAggregationConfig, AggregationConfig> {
+  static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+  static final int DEFAULT_MAX_GROUPS = 10_000;
+
+  @Override
+  public AggregationConfig parse(final RawAggregationConfig config) {
+    Objects.requireNonNull(config);
+
+    final Optional<String> topic =
+        Optional.ofNullable(config.topic).map(String::trim).filter(Predicate.not(String::isEmpty));
+    final Duration window = get(config.windowMs, DEFAULT_WINDOW, Duration::ofMillis);
+    final int maxGroups = get(config.maxGroups, DEFAULT_MAX_GROUPS);
+
+    if (window.isNegative() || window.isZero()) {
+      throw new IllegalArgumentException(
+          String.format("Expected aggregation window to be positive, but got %s", window));
+    }
+
+    if (maxGroups <= 0) {
+      throw new IllegalArgumentException(
+          String.format("Expected aggregation max groups to be positive, but got %d", maxGroups));
+    }
+
+    return new AggregationConfig(topic, window, maxGroups);
+  }
+}
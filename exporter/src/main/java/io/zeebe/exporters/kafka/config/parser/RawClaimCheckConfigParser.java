@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.parser;
+
+import io.zeebe.exporters.kafka.config.ClaimCheckConfig;
+import io.zeebe.exporters.kafka.config.raw.RawClaimCheckConfig;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * {@link RawClaimCheckConfigParser} parses instances of {@link RawClaimCheckConfig} into valid
+ * instances of {@link ClaimCheckConfig}. A missing or blank directory disables claim checks.
+ */
+public class RawClaimCheckConfigParser
+    implements ConfigParser<RawClaimCheckConfig, ClaimCheckConfig> {
+
+  @Override
+  public ClaimCheckConfig parse(final RawClaimCheckConfig config) {
+    Objects.requireNonNull(config);
+
+    final Optional<Path> directory =
+        Optional.ofNullable(config.directory)
+            .map(String::trim)
+            .filter(Predicate.not(String::isEmpty))
+            .map(Path::of);
+
+    return new ClaimCheckConfig(directory);
+  }
+}
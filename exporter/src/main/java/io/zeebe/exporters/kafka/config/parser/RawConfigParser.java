@@ -17,14 +17,35 @@ package io.zeebe.exporters.kafka.config.parser;
 
 import static io.zeebe.exporters.kafka.config.parser.ConfigParserUtil.get;
 
+import io.zeebe.exporters.kafka.config.AggregationConfig;
+import io.zeebe.exporters.kafka.config.ClaimCheckConfig;
 import io.zeebe.exporters.kafka.config.Config;
+import io.zeebe.exporters.kafka.config.EnrichmentConfig;
 import io.zeebe.exporters.kafka.config.ProducerConfig;
+import io.zeebe.exporters.kafka.config.RecordPriority;
 import io.zeebe.exporters.kafka.config.RecordsConfig;
+import io.zeebe.exporters.kafka.config.ResourcesConfig;
+import io.zeebe.exporters.kafka.config.SegmentsConfig;
+import io.zeebe.exporters.kafka.config.TargetConfig;
+import io.zeebe.exporters.kafka.config.WatchdogConfig;
+import io.zeebe.exporters.kafka.config.raw.RawAggregationConfig;
+import io.zeebe.exporters.kafka.config.raw.RawClaimCheckConfig;
 import io.zeebe.exporters.kafka.config.raw.RawConfig;
+import io.zeebe.exporters.kafka.config.raw.RawEnrichmentConfig;
 import io.zeebe.exporters.kafka.config.raw.RawProducerConfig;
 import io.zeebe.exporters.kafka.config.raw.RawRecordsConfig;
+import io.zeebe.exporters.kafka.config.raw.RawResourcesConfig;
+import io.zeebe.exporters.kafka.config.raw.RawSegmentsConfig;
+import io.zeebe.exporters.kafka.config.raw.RawTargetConfig;
+import io.zeebe.exporters.kafka.config.raw.RawWatchdogConfig;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
 
 /**
  * {@link RawConfigParser} parses a given {@link RawConfig} into a valid {@link Config} instance,
@@ -36,9 +57,24 @@ import java.util.Objects;
 public final class RawConfigParser implements ConfigParser<RawConfig, Config> {
   static final int DEFAULT_MAX_BATCH_SIZE = 100;
   static final Duration DEFAULT_FLUSH_INTERVAL_MS = Duration.ofSeconds(1);
+  static final Duration DEFAULT_PRIORITY_FLUSH_INTERVAL_MS = Duration.ZERO;
 
   private final ConfigParser<RawRecordsConfig, RecordsConfig> recordsConfigParser;
   private final ConfigParser<RawProducerConfig, ProducerConfig> producerConfigParser;
+  private final ConfigParser<RawClaimCheckConfig, ClaimCheckConfig> claimCheckConfigParser =
+      new RawClaimCheckConfigParser();
+  private final ConfigParser<RawResourcesConfig, ResourcesConfig> resourcesConfigParser =
+      new RawResourcesConfigParser();
+  private final ConfigParser<RawEnrichmentConfig, EnrichmentConfig> enrichmentConfigParser =
+      new RawEnrichmentConfigParser();
+  private final ConfigParser<RawAggregationConfig, AggregationConfig> aggregationConfigParser =
+      new RawAggregationConfigParser();
+  private final ConfigParser<RawWatchdogConfig, WatchdogConfig> watchdogConfigParser =
+      new RawWatchdogConfigParser();
+  private final ConfigParser<RawTargetConfig, TargetConfig> targetConfigParser =
+      new RawTargetConfigParser();
+  private final ConfigParser<RawSegmentsConfig, SegmentsConfig> segmentsConfigParser =
+      new RawSegmentsConfigParser();
 
   public RawConfigParser() {
     this(new RawRecordsConfigParser(), new RawProducerConfigParser());
@@ -62,7 +98,79 @@ public final class RawConfigParser implements ConfigParser<RawConfig, Config> {
     final Integer maxBatchSize = get(config.maxBatchSize, DEFAULT_MAX_BATCH_SIZE);
     final Duration flushInterval =
         get(config.flushIntervalMs, DEFAULT_FLUSH_INTERVAL_MS, Duration::ofMillis);
+    final Duration priorityFlushInterval =
+        get(
+            config.priorityFlushIntervalMs,
+            DEFAULT_PRIORITY_FLUSH_INTERVAL_MS,
+            Duration::ofMillis);
+    final ClaimCheckConfig claimCheckConfig =
+        claimCheckConfigParser.parse(config.claimCheck, RawClaimCheckConfig::new);
+    final ResourcesConfig resourcesConfig =
+        resourcesConfigParser.parse(config.resources, RawResourcesConfig::new);
+    final EnrichmentConfig enrichmentConfig =
+        enrichmentConfigParser.parse(config.enrichment, RawEnrichmentConfig::new);
+    final AggregationConfig aggregationConfig =
+        aggregationConfigParser.parse(config.aggregation, RawAggregationConfig::new);
+    final Optional<Path> configFile =
+        Optional.ofNullable(config.configFile)
+            .map(String::trim)
+            .filter(Predicate.not(String::isEmpty))
+            .map(Path::of);
+    final WatchdogConfig watchdogConfig =
+        watchdogConfigParser.parse(config.watchdog, RawWatchdogConfig::new);
+    final Map<String, TargetConfig> targets = parseTargets(config.targets);
+    final SegmentsConfig segmentsConfig =
+        segmentsConfigParser.parse(config.segments, RawSegmentsConfig::new);
 
-    return new Config(producerConfig, recordsConfig, maxBatchSize, flushInterval);
+    if (recordsConfig.hasClaimCheckTypes() && !claimCheckConfig.isEnabled()) {
+      throw new IllegalArgumentException(
+          "Expected a claim check directory to be configured when a claim check threshold is set,"
+              + " but none was given");
+    }
+
+    return Config.builder(producerConfig, recordsConfig, maxBatchSize, flushInterval)
+        .withPriorityFlushInterval(priorityFlushInterval)
+        .withClaimCheck(claimCheckConfig)
+        .withResources(resourcesConfig)
+        .withEnrichment(enrichmentConfig)
+        .withAggregation(aggregationConfig)
+        .withConfigFile(configFile)
+        .withWatchdog(watchdogConfig)
+        .withTargets(targets)
+        .withSegments(segmentsConfig)
+        .build();
+  }
+
+  private Map<String, TargetConfig> parseTargets(final Map<String, RawTargetConfig> rawTargets) {
+    if (rawTargets == null) {
+      return Map.of();
+    }
+
+    // sorted, such that targets are always set up in the same order
+    final Map<String, TargetConfig> targets = new TreeMap<>();
+    for (final Map.Entry<String, RawTargetConfig> entry : rawTargets.entrySet()) {
+      final var name = entry.getKey().trim();
+      if (name.isEmpty() || isLaneName(name)) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected target name to be neither empty nor the name of a record priority, but"
+                    + " got '%s'",
+                name));
+      }
+
+      targets.put(name, targetConfigParser.parse(entry.getValue(), RawTargetConfig::new));
+    }
+
+    return Collections.unmodifiableMap(targets);
+  }
+
+  private boolean isLaneName(final String name) {
+    for (final var priority : RecordPriority.values()) {
+      if (priority.getPriorityName().equalsIgnoreCase(name)) {
+        return true;
+      }
+    }
+
+    return false;
   }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.parser;
+
+import static io.zeebe.exporters.kafka.config.parser.ConfigParserUtil.get;
+
+import io.zeebe.exporters.kafka.config.EnrichmentConfig;
+import io.zeebe.exporters.kafka.config.raw.RawEnrichmentConfig;
+import java.util.Objects;
+
+/**
+ * {@link RawEnrichmentConfigParser} parses instances of {@link RawEnrichmentConfig} into valid
+ * instances of {@link EnrichmentConfig}. Enrichment is disabled by default.
+ */
+public class RawEnrichmentConfigParser
+    implements ConfigParser<RawEnrichmentConfig, EnrichmentConfig> {
+  static final int DEFAULT_CACHE_SIZE = 0;
+
+  @Override
+  public EnrichmentConfig parse(final RawEnrichmentConfig config) {
+    Objects.requireNonNull(config);
+
+    final int cacheSize = get(config.cacheSize, DEFAULT_CACHE_SIZE);
+    if (cacheSize < 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected enrichment cache size to be non-negative, but got %d", cacheSize));
+    }
+
+    return new EnrichmentConfig(cacheSize);
+  }
+}
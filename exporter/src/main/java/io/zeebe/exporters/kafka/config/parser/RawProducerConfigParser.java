@@ -45,6 +45,14 @@ public class RawProducerConfigParser implements ConfigParser<RawProducerConfig,
   static final String DEFAULT_CLIENT_ID = "zeebe";
   static final Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofSeconds(20);
   static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(5);
+  static final Duration DEFAULT_RECREATE_BACKOFF = Duration.ofMillis(100);
+  static final Duration DEFAULT_MAX_RECREATE_BACKOFF = Duration.ofSeconds(30);
+  static final boolean DEFAULT_WARM_UP = false;
+  static final int DEFAULT_OFF_HEAP_POOL_SIZE = 0;
+  static final int DEFAULT_OFF_HEAP_SLAB_SIZE = 1024 * 1024;
+  static final long DEFAULT_MAX_TRANSACTION_SIZE = 0;
+  static final Duration DEFAULT_MAX_TRANSACTION_DURATION = Duration.ZERO;
+  static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(5);
 
   @Override
   public ProducerConfig parse(final RawProducerConfig config) {
@@ -61,9 +69,60 @@ public class RawProducerConfigParser implements ConfigParser<RawProducerConfig,
         get(config.maxBlockingTimeoutMs, DEFAULT_MAX_BLOCKING_TIMEOUT, Duration::ofMillis);
     final Map<String, Object> producerConfig =
         get(config.config, new HashMap<>(), this::parseProperties);
+    final Duration recreateBackoff =
+        get(config.recreateBackoffMs, DEFAULT_RECREATE_BACKOFF, Duration::ofMillis);
+    final Duration maxRecreateBackoff =
+        get(config.maxRecreateBackoffMs, DEFAULT_MAX_RECREATE_BACKOFF, Duration::ofMillis);
+    final boolean warmUp = get(config.warmUp, DEFAULT_WARM_UP);
+    final int offHeapPoolSize = get(config.offHeapPoolSizeBytes, DEFAULT_OFF_HEAP_POOL_SIZE);
+    final int offHeapSlabSize = get(config.offHeapSlabSizeBytes, DEFAULT_OFF_HEAP_SLAB_SIZE);
+    final long maxTransactionSize =
+        get(config.maxTransactionSizeBytes, DEFAULT_MAX_TRANSACTION_SIZE);
+    final Duration maxTransactionDuration =
+        get(config.maxTransactionDurationMs, DEFAULT_MAX_TRANSACTION_DURATION, Duration::ofMillis);
+    final Duration drainTimeout =
+        get(config.drainTimeoutMs, DEFAULT_DRAIN_TIMEOUT, Duration::ofMillis);
 
-    return new ProducerConfig(
-        clientId, closeTimeout, producerConfig, requestTimeout, maxBlockingTimeout, servers);
+    if (recreateBackoff.isNegative() || maxRecreateBackoff.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected producer recreate backoffs to be non-negative, but got %s and %s",
+              recreateBackoff, maxRecreateBackoff));
+    }
+
+    if (offHeapPoolSize < 0
+        || offHeapSlabSize <= 0
+        || (offHeapPoolSize > 0 && offHeapPoolSize < offHeapSlabSize)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected off-heap pool size to be 0 or to fit at least one slab, and slab size to be"
+                  + " positive, but got %d and %d",
+              offHeapPoolSize, offHeapSlabSize));
+    }
+
+    if (maxTransactionSize < 0 || maxTransactionDuration.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected max transaction size and duration to be non-negative, but got %d and %s",
+              maxTransactionSize, maxTransactionDuration));
+    }
+
+    if (drainTimeout.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format("Expected drain timeout to be non-negative, but got %s", drainTimeout));
+    }
+
+    return ProducerConfig.builder(
+            clientId, closeTimeout, producerConfig, requestTimeout, maxBlockingTimeout, servers)
+        .withRecreateBackoff(recreateBackoff)
+        .withMaxRecreateBackoff(maxRecreateBackoff)
+        .withWarmUp(warmUp)
+        .withOffHeapPoolSize(offHeapPoolSize)
+        .withOffHeapSlabSize(offHeapSlabSize)
+        .withMaxTransactionSize(maxTransactionSize)
+        .withMaxTransactionDuration(maxTransactionDuration)
+        .withDrainTimeout(drainTimeout)
+        .build();
   }
 
   private Map<String, Object> parseProperties(final String propertiesString) {
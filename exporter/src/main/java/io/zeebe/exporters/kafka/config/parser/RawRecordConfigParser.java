@@ -18,14 +18,22 @@ package io.zeebe.exporters.kafka.config.parser;
 import static io.zeebe.exporters.kafka.config.parser.ConfigParserUtil.get;
 
 import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.RejectionType;
+import io.camunda.zeebe.protocol.record.intent.Intent;
+import io.camunda.zeebe.protocol.record.value.BpmnElementType;
+import io.zeebe.exporters.kafka.config.OversizedRecordPolicy;
 import io.zeebe.exporters.kafka.config.RecordConfig;
+import io.zeebe.exporters.kafka.config.RecordFilterConfig;
+import io.zeebe.exporters.kafka.config.RecordPriority;
 import io.zeebe.exporters.kafka.config.raw.RawRecordConfig;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * {@link RawRecordConfigParser} parses instances of {@link RawRecordConfig} into valid instances of
@@ -38,13 +46,26 @@ import java.util.function.Predicate;
  */
 public class RawRecordConfigParser implements ConfigParser<RawRecordConfig, RecordConfig> {
   static final String DEFAULT_TOPIC_NAME = "zeebe";
+  static final String DEFAULT_DEAD_LETTER_TOPIC_NAME = "zeebe-dead-letter";
+  static final int DEFAULT_CLAIM_CHECK_THRESHOLD = 0;
   static final EnumSet<RecordType> DEFAULT_ALLOWED_TYPES =
       EnumSet.complementOf(EnumSet.of(RecordType.NULL_VAL, RecordType.SBE_UNKNOWN));
 
+  // the names of all intents of all value types, used to catch typos in filters early
+  private static final Set<String> KNOWN_INTENTS =
+      Intent.INTENT_CLASSES.stream()
+          .flatMap(c -> Arrays.stream(c.getEnumConstants()))
+          .map(Intent::name)
+          .collect(Collectors.toUnmodifiableSet());
+
   private final RecordConfig defaults;
 
   public RawRecordConfigParser() {
-    this(new RecordConfig(DEFAULT_ALLOWED_TYPES, DEFAULT_TOPIC_NAME));
+    this(
+        RecordConfig.builder(DEFAULT_ALLOWED_TYPES, DEFAULT_TOPIC_NAME)
+            .withDeadLetterTopic(DEFAULT_DEAD_LETTER_TOPIC_NAME)
+            .withClaimCheckThreshold(DEFAULT_CLAIM_CHECK_THRESHOLD)
+            .build());
   }
 
   public RawRecordConfigParser(final RecordConfig defaults) {
@@ -57,6 +78,17 @@ public class RawRecordConfigParser implements ConfigParser<RawRecordConfig, Reco
 
     final Set<RecordType> allowedTypes;
     final String topic = Optional.ofNullable(config.topic).orElse(defaults.getTopic());
+    final RecordPriority priority =
+        get(config.priority, defaults.getPriority(), p -> RecordPriority.forName(p.trim()));
+    final OversizedRecordPolicy oversizedPolicy =
+        get(
+            config.oversizedPolicy,
+            defaults.getOversizedPolicy(),
+            p -> OversizedRecordPolicy.forName(p.trim()));
+    final String deadLetterTopic =
+        Optional.ofNullable(config.deadLetterTopic).orElse(defaults.getDeadLetterTopic());
+    final int claimCheckThreshold =
+        Math.max(0, get(config.claimCheckThresholdBytes, defaults.getClaimCheckThreshold()));
 
     if (config.type != null) {
       allowedTypes = EnumSet.noneOf(RecordType.class);
@@ -68,6 +100,73 @@ public class RawRecordConfigParser implements ConfigParser<RawRecordConfig, Reco
       allowedTypes = defaults.getAllowedTypes();
     }
 
-    return new RecordConfig(allowedTypes, topic);
+    return RecordConfig.builder(allowedTypes, topic)
+        .withPriority(priority)
+        .withOversizedPolicy(oversizedPolicy)
+        .withDeadLetterTopic(deadLetterTopic)
+        .withClaimCheckThreshold(claimCheckThreshold)
+        .withFilter(parseFilter(config))
+        .build();
+  }
+
+  private RecordFilterConfig parseFilter(final RawRecordConfig config) {
+    final RecordFilterConfig fallback = defaults.getFilter();
+    final Set<String> intents =
+        get(
+            config.excludeIntents,
+            fallback.getExcludedIntents(),
+            RawRecordConfigParser::parseIntents);
+    final Set<String> bpmnProcessIds =
+        get(
+            config.excludeBpmnProcessIds,
+            fallback.getExcludedBpmnProcessIds(),
+            RawRecordConfigParser::parseStrings);
+    final Set<BpmnElementType> elementTypes =
+        get(
+            config.excludeElementTypes,
+            fallback.getExcludedElementTypes(),
+            t -> parseEnums(t, BpmnElementType.class));
+    final Set<String> tenantIds =
+        get(
+            config.excludeTenantIds,
+            fallback.getExcludedTenantIds(),
+            RawRecordConfigParser::parseStrings);
+    final Set<RejectionType> rejectionTypes =
+        get(
+            config.excludeRejectionTypes,
+            fallback.getExcludedRejectionTypes(),
+            t -> parseEnums(t, RejectionType.class));
+
+    final double sampleRate = get(config.sampleRate, fallback.getSampleRate());
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException(
+          String.format("Expected sampleRate to be between 0 and 1, but got %s", sampleRate));
+    }
+
+    return new RecordFilterConfig(
+        intents, bpmnProcessIds, elementTypes, tenantIds, rejectionTypes, sampleRate);
+  }
+
+  private static Set<String> parseStrings(final String value) {
+    return ConfigParserUtil.splitCommaSeparatedString(value).stream()
+        .filter(Predicate.not(String::isBlank))
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  private static Set<String> parseIntents(final String value) {
+    final Set<String> intents = parseStrings(value);
+    for (final String intent : intents) {
+      if (!KNOWN_INTENTS.contains(intent)) {
+        throw new IllegalArgumentException("Unknown intent name: " + intent);
+      }
+    }
+
+    return intents;
+  }
+
+  private static <T extends Enum<T>> Set<T> parseEnums(final String value, final Class<T> type) {
+    final Set<T> values = EnumSet.noneOf(type);
+    parseStrings(value).forEach(v -> values.add(Enum.valueOf(type, v)));
+    return values;
   }
 }
@@ -18,12 +18,18 @@ package io.zeebe.exporters.kafka.config.parser;
 import io.camunda.zeebe.protocol.record.ValueType;
 import io.zeebe.exporters.kafka.config.RecordConfig;
 import io.zeebe.exporters.kafka.config.RecordsConfig;
+import io.zeebe.exporters.kafka.config.TopicTemplate;
 import io.zeebe.exporters.kafka.config.raw.RawRecordConfig;
 import io.zeebe.exporters.kafka.config.raw.RawRecordsConfig;
 import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * {@link RawRecordsConfigParser} parses instances of {@link RawRecordsConfig} into valid instances
@@ -37,8 +43,10 @@ import java.util.Optional;
 public class RawRecordsConfigParser implements ConfigParser<RawRecordsConfig, RecordsConfig> {
   private static final ConfigParser<RawRecordConfig, RecordConfig> DEFAULTS_RECORD_CONFIG_PARSER =
       new RawRecordConfigParser();
+  private static final Map<String, ValueType> VALUE_TYPES =
+      EnumSet.complementOf(EnumSet.of(ValueType.SBE_UNKNOWN, ValueType.NULL_VAL)).stream()
+          .collect(Collectors.toUnmodifiableMap(t -> normalize(t.name()), Function.identity()));
 
-  @SuppressWarnings("java:S138")
   @Override
   public RecordsConfig parse(final RawRecordsConfig config) {
     Objects.requireNonNull(config);
@@ -49,61 +57,42 @@ public class RawRecordsConfigParser implements ConfigParser<RawRecordsConfig, Re
     final ConfigParser<RawRecordConfig, RecordConfig> recordConfigParser =
         new RawRecordConfigParser(defaults);
 
-    Optional.ofNullable(config.deployment)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.DEPLOYMENT, c));
-    Optional.ofNullable(config.deploymentDistribution)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.DEPLOYMENT_DISTRIBUTION, c));
-    Optional.ofNullable(config.error)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.ERROR, c));
-    Optional.ofNullable(config.incident)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.INCIDENT, c));
-    Optional.ofNullable(config.job)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.JOB, c));
-    Optional.ofNullable(config.jobBatch)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.JOB_BATCH, c));
-    Optional.ofNullable(config.message)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.MESSAGE, c));
-    Optional.ofNullable(config.messageSubscription)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.MESSAGE_SUBSCRIPTION, c));
-    Optional.ofNullable(config.messageStartEventSubscription)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.MESSAGE_START_EVENT_SUBSCRIPTION, c));
-    Optional.ofNullable(config.processInstance)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.PROCESS_INSTANCE, c));
-    Optional.ofNullable(config.processInstanceCreation)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.PROCESS_INSTANCE_CREATION, c));
-    Optional.ofNullable(config.processInstanceResult)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.PROCESS_INSTANCE_RESULT, c));
-    Optional.ofNullable(config.processMessageSubscription)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.PROCESS_MESSAGE_SUBSCRIPTION, c));
-    Optional.ofNullable(config.process)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.PROCESS, c));
-    Optional.ofNullable(config.processEvent)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.PROCESS_EVENT, c));
-    Optional.ofNullable(config.timer)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.TIMER, c));
-    Optional.ofNullable(config.variable)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.VARIABLE, c));
-    Optional.ofNullable(config.variableDocument)
-        .map(recordConfigParser::parse)
-        .ifPresent(c -> typeMap.put(ValueType.VARIABLE_DOCUMENT, c));
+    if (config.valueTypes != null) {
+      for (final Map.Entry<String, RawRecordConfig> entry : config.valueTypes.entrySet()) {
+        Optional.ofNullable(entry.getValue())
+            .map(recordConfigParser::parse)
+            .ifPresent(c -> typeMap.put(valueTypeForName(entry.getKey()), c));
+      }
+    }
 
-    return new RecordsConfig(typeMap, defaults);
+    final Map<String, TopicTemplate> processTopics = new HashMap<>();
+    Optional.ofNullable(config.processTopics)
+        .ifPresent(
+            topics -> topics.forEach((id, t) -> processTopics.put(id, TopicTemplate.parse(t))));
+
+    return new RecordsConfig(typeMap, defaults, processTopics);
+  }
+
+  /**
+   * Resolves a value type from its configured name, ignoring case and separators, such that
+   * "processInstance", "process-instance" and "PROCESS_INSTANCE" all resolve to {@link
+   * ValueType#PROCESS_INSTANCE}. Keys may also have been lower cased by the broker's configuration
+   * binding, e.g. "processinstance".
+   *
+   * @param name the configured name
+   * @return the matching value type
+   * @throws IllegalArgumentException if no value type matches the name
+   */
+  static ValueType valueTypeForName(final String name) {
+    final ValueType valueType = VALUE_TYPES.get(normalize(name));
+    if (valueType == null) {
+      throw new IllegalArgumentException("Unknown record value type: " + name);
+    }
+
+    return valueType;
+  }
+
+  private static String normalize(final String name) {
+    return name.replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
   }
 }
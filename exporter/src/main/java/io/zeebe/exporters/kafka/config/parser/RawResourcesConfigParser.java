@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.parser;
+
+import static io.zeebe.exporters.kafka.config.parser.ConfigParserUtil.get;
+
+import io.zeebe.exporters.kafka.config.ResourcesConfig;
+import io.zeebe.exporters.kafka.config.raw.RawResourcesConfig;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * {@link RawResourcesConfigParser} parses instances of {@link RawResourcesConfig} into valid
+ * instances of {@link ResourcesConfig}, substituting defaults for missing properties. A missing or
+ * blank topic disables resource publishing.
+ */
+public class RawResourcesConfigParser implements ConfigParser<RawResourcesConfig, ResourcesConfig> {
+  static final int DEFAULT_CACHE_SIZE = 1024;
+  static final Duration DEFAULT_PUBLISH_TIMEOUT = Duration.ofSeconds(5);
+
+  @Override
+  public ResourcesConfig parse(final RawResourcesConfig config) {
+    Objects.requireNonNull(config);
+
+    final Optional<String> topic =
+        Optional.ofNullable(config.topic).map(String::trim).filter(Predicate.not(String::isEmpty));
+    final int cacheSize = get(config.cacheSize, DEFAULT_CACHE_SIZE);
+    final Duration publishTimeout =
+        get(config.publishTimeoutMs, DEFAULT_PUBLISH_TIMEOUT, Duration::ofMillis);
+
+    if (cacheSize < 0) {
+      throw new IllegalArgumentException(
+          String.format("Expected resources cache size to be non-negative, but got %d", cacheSize));
+    }
+
+    return new ResourcesConfig(topic, cacheSize, publishTimeout);
+  }
+}
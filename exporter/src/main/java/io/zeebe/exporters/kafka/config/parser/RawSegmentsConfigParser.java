@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.parser;
+
+import static io.zeebe.exporters.kafka.config.parser.ConfigParserUtil.get;
+
+import io.zeebe.exporters.kafka.config.SegmentsConfig;
+import io.zeebe.exporters.kafka.config.raw.RawSegmentsConfig;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * {@link RawSegmentsConfigParser} parses instances of {@link RawSegmentsConfig} into valid
+ * instances of {@link SegmentsConfig}. A missing or blank directory disables segment files.
+ */
+public class RawSegmentsConfigParser implements ConfigParser<RawSegmentsConfig, SegmentsConfig> {
+  static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  @Override
+  public SegmentsConfig parse(final RawSegmentsConfig config) {
+    Objects.requireNonNull(config);
+
+    final Optional<Path> directory =
+        Optional.ofNullable(config.directory)
+            .map(String::trim)
+            .filter(Predicate.not(String::isEmpty))
+            .map(Path::of);
+    final int segmentSize = get(config.segmentSizeBytes, DEFAULT_SEGMENT_SIZE);
+
+    if (segmentSize <= 0) {
+      throw new IllegalArgumentException(
+          String.format("Expected segment size to be positive, but got %d", segmentSize));
+    }
+
+    return new SegmentsConfig(directory, segmentSize);
+  }
+}
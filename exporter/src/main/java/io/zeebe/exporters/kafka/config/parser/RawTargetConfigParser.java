@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.parser;
+
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.zeebe.exporters.kafka.config.ProducerConfig;
+import io.zeebe.exporters.kafka.config.TargetConfig;
+import io.zeebe.exporters.kafka.config.raw.RawProducerConfig;
+import io.zeebe.exporters.kafka.config.raw.RawTargetConfig;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link RawTargetConfigParser} parses instances of {@link RawTargetConfig} into valid instances
+ * of {@link TargetConfig}. The target's producer is parsed like the exporter's own, and its value
+ * types are resolved the same way as in the records configuration.
+ */
+public class RawTargetConfigParser implements ConfigParser<RawTargetConfig, TargetConfig> {
+  private final ConfigParser<RawProducerConfig, ProducerConfig> producerConfigParser;
+
+  public RawTargetConfigParser() {
+    this(new RawProducerConfigParser());
+  }
+
+  RawTargetConfigParser(
+      final ConfigParser<RawProducerConfig, ProducerConfig> producerConfigParser) {
+    this.producerConfigParser = Objects.requireNonNull(producerConfigParser);
+  }
+
+  @Override
+  public TargetConfig parse(final RawTargetConfig config) {
+    Objects.requireNonNull(config);
+
+    final ProducerConfig producerConfig =
+        producerConfigParser.parse(config.producer, RawProducerConfig::new);
+    final Set<ValueType> valueTypes = EnumSet.noneOf(ValueType.class);
+    if (config.valueTypes != null && !config.valueTypes.isBlank()) {
+      for (final String name : ConfigParserUtil.splitCommaSeparatedString(config.valueTypes)) {
+        valueTypes.add(RawRecordsConfigParser.valueTypeForName(name));
+      }
+    }
+
+    return new TargetConfig(producerConfig, valueTypes);
+  }
+}
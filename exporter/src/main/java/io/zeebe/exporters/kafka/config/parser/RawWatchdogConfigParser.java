@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.parser;
+
+import static io.zeebe.exporters.kafka.config.parser.ConfigParserUtil.get;
+
+import io.zeebe.exporters.kafka.config.WatchdogConfig;
+import io.zeebe.exporters.kafka.config.raw.RawWatchdogConfig;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * {@link RawWatchdogConfigParser} parses instances of {@link RawWatchdogConfig} into valid
+ * instances of {@link WatchdogConfig}, substituting defaults for missing properties.
+ */
+public class RawWatchdogConfigParser implements ConfigParser<RawWatchdogConfig, WatchdogConfig> {
+  static final Duration DEFAULT_LAG_THRESHOLD = Duration.ofMinutes(5);
+  static final Duration DEFAULT_CHECK_INTERVAL = Duration.ofSeconds(10);
+
+  @Override
+  public WatchdogConfig parse(final RawWatchdogConfig config) {
+    Objects.requireNonNull(config);
+
+    final Duration lagThreshold =
+        get(config.lagThresholdMs, DEFAULT_LAG_THRESHOLD, Duration::ofMillis);
+    final Duration checkInterval =
+        get(config.checkIntervalMs, DEFAULT_CHECK_INTERVAL, Duration::ofMillis);
+
+    if (lagThreshold.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected watchdog lag threshold to be non-negative, but got %s", lagThreshold));
+    }
+
+    if (checkInterval.isNegative() || checkInterval.isZero()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected watchdog check interval to be positive, but got %s", checkInterval));
+    }
+
+    return new WatchdogConfig(lagThreshold, checkInterval);
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.raw;
+
+@SuppressWarnings("squid:ClassVariableVisibilityCheck")
+public final class RawAggregationConfig {
+
+  /**
+   * Topic to which the summaries of each aggregation window are sent. When omitted, aggregation is
+   * disabled.
+   */
+  public String topic;
+
+  /**
+   * Duration of the tumbling windows, based on the records' timestamps. A window is closed, and its
+   * summaries sent, by the first record whose timestamp falls after it.
+   */
+  public Long windowMs;
+
+  /**
+   * Maximum number of groups (BPMN process ID, element ID and intent) tracked per window; events of
+   * additional groups are not aggregated, and counted in the aggregation overflow metric.
+   */
+  public Integer maxGroups;
+}
@@ -15,6 +15,8 @@
  */
 package io.zeebe.exporters.kafka.config.raw;
 
+import java.util.Map;
+
 @SuppressWarnings("squid:ClassVariableVisibilityCheck")
 public final class RawConfig {
   /**
@@ -42,9 +44,59 @@ public final class RawConfig {
    */
   public Long flushIntervalMs;
 
+  /**
+   * How long to wait before committing the batch of high priority records (see {@link
+   * RawRecordConfig#priority}) once a record was added to it. When 0, the batch is committed as
+   * soon as a high priority record is added.
+   */
+  public Long priorityFlushIntervalMs;
+
   /** Producer specific configuration; see {@link RawProducerConfig}. */
   public RawProducerConfig producer;
 
+  /**
+   * Additional Kafka clusters to export records to, keyed by a name of your choice, e.g. {@code
+   * targets: { analytics: { producer: { servers: "analytics:9092" }, valueTypes: "job" } }}. Each
+   * record is serialized once, and the same bytes are sent to the exporter's own producer and to
+   * every target routing its value type; see {@link RawTargetConfig}. Each target has its own batch
+   * and is flushed along with the exporter's own, and a position is only reported as exported to
+   * Zeebe once every target committed it. The names "normal" and "high" are reserved.
+   */
+  public Map<String, RawTargetConfig> targets;
+
+  /**
+   * Local segment files to write records to instead of Kafka; see {@link RawSegmentsConfig}. When
+   * enabled, the exporter's own lanes write to segment files, while targets and resources are
+   * still exported to Kafka. Useful where no Kafka cluster is available, or to measure the
+   * exporter's throughput without one.
+   */
+  public RawSegmentsConfig segments;
+
   /** Records specific configuration; see {@link RawRecordsConfig}. */
   public RawRecordsConfig records;
+
+  /** Claim check specific configuration; see {@link RawClaimCheckConfig}. */
+  public RawClaimCheckConfig claimCheck;
+
+  /** Resource publishing specific configuration; see {@link RawResourcesConfig}. */
+  public RawResourcesConfig resources;
+
+  /** Record enrichment specific configuration; see {@link RawEnrichmentConfig}. */
+  public RawEnrichmentConfig enrichment;
+
+  /** Aggregation specific configuration; see {@link RawAggregationConfig}. */
+  public RawAggregationConfig aggregation;
+
+  /** Export lag watchdog specific configuration; see {@link RawWatchdogConfig}. */
+  public RawWatchdogConfig watchdog;
+
+  /**
+   * Path to an optional JSON file, watched by the exporter, which overrides the {@code records},
+   * {@code maxBatchSize}, {@code flushIntervalMs} and {@code priorityFlushIntervalMs} properties.
+   * Each property present in the file replaces the one configured here as a whole. The file is
+   * checked for changes whenever the batch is flushed; valid changes are applied right after the
+   * flush, while invalid ones are logged and ignored. All other properties are only read on
+   * startup.
+   */
+  public String configFile;
 }
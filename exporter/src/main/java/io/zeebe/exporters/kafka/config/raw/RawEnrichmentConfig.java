@@ -0,0 +1,29 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.raw;
+
+@SuppressWarnings("squid:ClassVariableVisibilityCheck")
+public final class RawEnrichmentConfig {
+
+  /**
+   * How many process instances to remember the BPMN process ID, version and tenant of, as seen on
+   * PROCESS_INSTANCE records. Other records belonging to a remembered process instance (e.g. jobs,
+   * incidents, variables, timers) are then exported with these as headers, sparing consumers a
+   * join against the process instance state. The least recently used instances are evicted first.
+   * When 0 or omitted, records are not enriched.
+   */
+  public Integer cacheSize;
+}
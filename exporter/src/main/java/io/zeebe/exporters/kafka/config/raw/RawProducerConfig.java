@@ -69,4 +69,61 @@ public final class RawProducerConfig {
    * @see org.apache.kafka.clients.producer.ProducerConfig#BOOTSTRAP_SERVERS_CONFIG
    */
   public String servers;
+
+  /**
+   * How long to wait before recreating the producer after a non-recoverable error, e.g. when Kafka
+   * is unavailable. The delay doubles with each consecutive failure, up to {@link
+   * #maxRecreateBackoffMs}, and is randomized by up to half to spread the retries of all
+   * partitions. Records keep being buffered in the batch meanwhile, until it's full.
+   */
+  public Long recreateBackoffMs;
+
+  /** The maximum delay between two attempts at recreating the producer. */
+  public Long maxRecreateBackoffMs;
+
+  /**
+   * If true, producers are created and initialized for transactions in the background as soon as
+   * the exporter is opened, and the metadata of every statically configured topic is fetched. This
+   * avoids paying for it when exporting the first records, e.g. right after a leader change.
+   */
+  public Boolean warmUp;
+
+  /**
+   * Maximum off-heap memory, in bytes, used by each batch lane to hold the payloads of records
+   * which were sent but not yet committed, as they must be kept around to retry them if the
+   * transaction fails. Moving them off-heap once sent keeps them from being promoted to the old
+   * generation. Payloads are kept on the heap when the pool is full. Set to 0 to disable.
+   */
+  public Integer offHeapPoolSizeBytes;
+
+  /**
+   * Size in bytes of each slab of the off-heap pool. Payloads bigger than a slab are kept on the
+   * heap.
+   */
+  public Integer offHeapSlabSizeBytes;
+
+  /**
+   * Maximum number of payload bytes sent in a single transaction. Once reached, the transaction is
+   * committed before sending the next record, and a new one is started for the rest of the batch,
+   * such that big batches spanning many topics are committed in steps instead of risking an abort
+   * of the whole batch. Set to 0 to disable.
+   */
+  public Long maxTransactionSizeBytes;
+
+  /**
+   * Maximum time a transaction may stay open before it's committed the same way as when reaching
+   * {@link #maxTransactionSizeBytes}. Keep it well below the producer's {@code
+   * transaction.timeout.ms}. Set to 0 to disable.
+   */
+  public Long maxTransactionDurationMs;
+
+  /**
+   * Total time given to the exporter to commit its pending records when it's closed, e.g. when the
+   * broker shuts down or the partition steps down. Past it, the in-flight transaction is aborted
+   * and the producer is closed in the background, so as not to hold up leadership transitions
+   * while Kafka is degraded; the records left are exported again by the next leader. Unlike {@link
+   * #closeTimeoutMs}, which applies to each producer, this bounds the whole close. Set to 0 to skip
+   * the flush entirely.
+   */
+  public Long drainTimeoutMs;
 }
@@ -30,4 +30,67 @@ public final class RawRecordConfig {
    * deployment record below we would send the record to "zeebe-deployment" topic.
    */
   public String topic;
+
+  /**
+   * Priority is the lane in which records of the given value type are batched, either "normal" or
+   * "high". Records with a high priority are batched separately from the normal ones, and their
+   * batch is committed immediately, or after {@link RawConfig#priorityFlushIntervalMs}, such that
+   * they become visible without having to wait for the next periodic flush.
+   */
+  public String priority;
+
+  /**
+   * What to do with records whose serialized size exceeds the producer's {@code
+   * max.request.size}: "none" (send as is, which will block exporting), "truncate" (drop the
+   * variables, or dead letter if still too big), "deadLetter" (send a stub to {@link
+   * #deadLetterTopic}), or "split" (send the record as multiple chunks with the same key).
+   */
+  public String oversizedPolicy;
+
+  /**
+   * The topic to which a stub is sent for oversized records, when using the "deadLetter" policy or
+   * when truncation was not enough.
+   */
+  public String deadLetterTopic;
+
+  /**
+   * Records whose serialized size exceeds this many bytes are written to the blob store configured
+   * in {@link RawClaimCheckConfig}, and exported without their payload (e.g. variables), along with
+   * a reference to the blob. When 0 or omitted, the payload is always exported as is.
+   */
+  public Integer claimCheckThresholdBytes;
+
+  /**
+   * Comma separated list of intents to drop, e.g. "ELEMENT_ACTIVATING,ELEMENT_COMPLETING". When
+   * set on the defaults, intents which do not exist for a given value type are ignored for it.
+   */
+  public String excludeIntents;
+
+  /** Comma separated list of BPMN process IDs whose records are dropped. */
+  public String excludeBpmnProcessIds;
+
+  /**
+   * Comma separated list of {@link io.camunda.zeebe.protocol.record.value.BpmnElementType} to drop,
+   * e.g. "SEQUENCE_FLOW". Only applies to records which have an element type, e.g. process
+   * instance records.
+   */
+  public String excludeElementTypes;
+
+  /** Comma separated list of tenant IDs whose records are dropped. */
+  public String excludeTenantIds;
+
+  /**
+   * Comma separated list of {@link io.camunda.zeebe.protocol.record.RejectionType} to drop, e.g.
+   * "NOT_FOUND". Only applies to rejections.
+   */
+  public String excludeRejectionTypes;
+
+  /**
+   * Fraction of process instances whose records are exported, between 0 and 1 (default). The
+   * decision hashes the process instance key, so a sampled instance is exported completely, and
+   * the instances sampled at a lower rate for one value type are a subset of those sampled at a
+   * higher rate for another. Records which do not belong to a process instance are always
+   * exported.
+   */
+  public Double sampleRate;
 }
@@ -15,6 +15,10 @@
  */
 package io.zeebe.exporters.kafka.config.raw;
 
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import java.util.HashMap;
+import java.util.Map;
+
 @SuppressWarnings("squid:ClassVariableVisibilityCheck")
 public final class RawRecordsConfig {
 
@@ -25,91 +29,28 @@ public final class RawRecordsConfig {
   public RawRecordConfig defaults;
 
   /**
-   * For records with a value of type {@link io.camunda.zeebe.protocol.record.ValueType#DEPLOYMENT}
-   */
-  public RawRecordConfig deployment;
-
-  /**
-   * For records with a value of type {@link
-   * io.camunda.zeebe.protocol.record.ValueType#DEPLOYMENT_DISTRIBUTION}
-   */
-  public RawRecordConfig deploymentDistribution;
-
-  /** For records with a value of type {@link io.camunda.zeebe.protocol.record.ValueType#ERROR} */
-  public RawRecordConfig error;
-
-  /**
-   * For records with a value of type {@link io.camunda.zeebe.protocol.record.ValueType#INCIDENT}
-   */
-  public RawRecordConfig incident;
-
-  /**
-   * For records with a value of type {@link io.camunda.zeebe.protocol.record.ValueType#JOB_BATCH}
-   */
-  public RawRecordConfig jobBatch;
-
-  /** For records with a value of type {@link io.camunda.zeebe.protocol.record.ValueType#JOB} */
-  public RawRecordConfig job;
-
-  /** For records with a value of type {@link io.camunda.zeebe.protocol.record.ValueType#MESSAGE} */
-  public RawRecordConfig message;
-
-  /**
-   * For records with a value of type {@link
-   * io.camunda.zeebe.protocol.record.ValueType#MESSAGE_SUBSCRIPTION}
-   */
-  public RawRecordConfig messageSubscription;
-
-  /**
-   * For records with a value of type {@link
-   * io.camunda.zeebe.protocol.record.ValueType#MESSAGE_START_EVENT_SUBSCRIPTION}
-   */
-  public RawRecordConfig messageStartEventSubscription;
-
-  /** For records with a value of type {@link io.camunda.zeebe.protocol.record.ValueType#PROCESS} */
-  public RawRecordConfig process;
-
-  /**
-   * For records with a value of type {@link
-   * io.camunda.zeebe.protocol.record.ValueType#PROCESS_EVENT}
-   */
-  public RawRecordConfig processEvent;
-
-  /**
-   * For records with a value of type {@link
-   * io.camunda.zeebe.protocol.record.ValueType#PROCESS_INSTANCE}
-   */
-  public RawRecordConfig processInstance;
-
-  /**
-   * For records with a value of type {@link
-   * io.camunda.zeebe.protocol.record.ValueType#PROCESS_INSTANCE_CREATION}
-   */
-  public RawRecordConfig processInstanceCreation;
-
-  /**
-   * For records with a value of type {@link
-   * io.camunda.zeebe.protocol.record.ValueType#PROCESS_INSTANCE_RESULT}
+   * Topic templates keyed by BPMN process ID; all records of these processes are sent to the given
+   * topic instead of their value type's topic, e.g. {@code { order: "zeebe-order-{valueType}" }}.
    */
-  public RawRecordConfig processInstanceResult;
-
-  /**
-   * For records with a value of type {@link
-   * io.camunda.zeebe.protocol.record.ValueType#PROCESS_MESSAGE_SUBSCRIPTION}
-   */
-  public RawRecordConfig processMessageSubscription;
-
-  /** For records with a value of type {@link io.camunda.zeebe.protocol.record.ValueType#TIMER} */
-  public RawRecordConfig timer;
+  public Map<String, String> processTopics;
 
   /**
-   * For records with a value of type {@link io.camunda.zeebe.protocol.record.ValueType#VARIABLE}
+   * Record configurations keyed by {@link io.camunda.zeebe.protocol.record.ValueType} name, either
+   * in camel case (e.g. "processInstance") or as the enum constant (e.g. "PROCESS_INSTANCE"). Any
+   * value type defined by the protocol can be configured. Every other property of the records
+   * configuration is collected here, such that value types are configured directly under records,
+   * e.g. {@code records: { processInstance: { topic: zeebe-process-instance } }}.
    */
-  public RawRecordConfig variable;
+  public Map<String, RawRecordConfig> valueTypes = new HashMap<>();
 
   /**
-   * For records with a value of type {@link
-   * io.camunda.zeebe.protocol.record.ValueType#VARIABLE_DOCUMENT}
+   * Collects the configuration of a value type, keyed by its name; see {@link #valueTypes}.
+   *
+   * @param valueType the name of the value type
+   * @param config the configuration of the value type
    */
-  public RawRecordConfig variableDocument;
+  @JsonAnySetter
+  public void setValueType(final String valueType, final RawRecordConfig config) {
+    valueTypes.put(valueType, config);
+  }
 }
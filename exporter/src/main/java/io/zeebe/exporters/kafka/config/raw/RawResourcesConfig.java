@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.raw;
+
+@SuppressWarnings("squid:ClassVariableVisibilityCheck")
+public final class RawResourcesConfig {
+
+  /**
+   * Topic to which each distinct resource (BPMN, DMN, form) found in DEPLOYMENT, PROCESS,
+   * DECISION_REQUIREMENTS and FORM records is published once, keyed by its checksum. This topic
+   * should be compacted. The exported records then only carry the checksum of their resources
+   * instead of the resources themselves. When omitted, resources are exported as part of the
+   * records.
+   */
+  public String topic;
+
+  /**
+   * How many checksums of already published resources to remember, in order to skip publishing
+   * them again. Resources evicted from this cache are simply published again, which is harmless
+   * since the topic is compacted.
+   */
+  public Integer cacheSize;
+
+  /**
+   * How long to wait for a resource to be acknowledged by Kafka before failing the export of the
+   * record referencing it, in which case it will be retried.
+   */
+  public Long publishTimeoutMs;
+}
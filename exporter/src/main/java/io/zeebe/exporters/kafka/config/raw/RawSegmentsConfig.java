@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.raw;
+
+@SuppressWarnings("squid:ClassVariableVisibilityCheck")
+public final class RawSegmentsConfig {
+
+  /**
+   * Directory in which records are written as segment files, instead of being sent to Kafka. Each
+   * partition and lane writes to its own sub-directory, e.g. {@code partition-1/normal}, which can
+   * be read back via {@code io.zeebe.exporters.kafka.serde.SegmentReader}. When omitted, records
+   * are exported to Kafka.
+   */
+  public String directory;
+
+  /**
+   * Size of each segment file, which is memory mapped as a whole while written. Once full, a new
+   * segment is started; records bigger than this get a segment of their own.
+   */
+  public Integer segmentSizeBytes;
+}
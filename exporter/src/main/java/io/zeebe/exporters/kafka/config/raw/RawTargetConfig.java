@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.raw;
+
+@SuppressWarnings("squid:ClassVariableVisibilityCheck")
+public final class RawTargetConfig {
+
+  /**
+   * Producer configuration of the target, e.g. the servers of the cluster to export to; see {@link
+   * RawProducerConfig}. Missing properties fall back to the usual defaults, and not to those of the
+   * exporter's own producer. As records are serialized once for all targets, oversized records are
+   * detected using the {@code max.request.size} of the exporter's own producer only.
+   */
+  public RawProducerConfig producer;
+
+  /**
+   * Comma separated list of the value types exported to this target, e.g. "job,incident", using
+   * the same names as the records configuration. Only records which are exported at all are
+   * considered, so the records configuration still decides their topic, format and filters. When
+   * omitted, every exported record is sent to the target.
+   */
+  public String valueTypes;
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.config.raw;
+
+@SuppressWarnings("squid:ClassVariableVisibilityCheck")
+public final class RawWatchdogConfig {
+
+  /**
+   * How far behind, in record time, the oldest record not yet acknowledged by Kafka may be compared
+   * to the latest record received, before the exporter logs a diagnostic snapshot of its batches
+   * and producers. When 0, the watchdog is disabled.
+   */
+  public Long lagThresholdMs;
+
+  /** How often the export lag is checked. */
+  public Long checkIntervalMs;
+}
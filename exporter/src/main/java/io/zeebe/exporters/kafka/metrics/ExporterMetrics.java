@@ -0,0 +1,322 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.metrics;
+
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+
+/**
+ * {@link ExporterMetrics} exposes the exporter's metrics through the default Prometheus registry,
+ * which is the one scraped by the broker. All metrics are labeled with the partition the exporter
+ * instance belongs to.
+ */
+public final class ExporterMetrics {
+  private static final String NAMESPACE = "zeebe_kafka_exporter";
+  private static final String PARTITION_LABEL = "partition";
+
+  private static final Counter OVERSIZED_RECORDS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("oversized_records_total")
+          .help(
+              "Number of records exceeding the producer's max.request.size, by the action taken")
+          .labelNames(PARTITION_LABEL, "valueType", "action")
+          .register();
+
+  private static final Counter CLAIM_CHECKED_RECORDS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("claim_checked_records_total")
+          .help("Number of records whose payload was offloaded to the blob store")
+          .labelNames(PARTITION_LABEL, "valueType")
+          .register();
+
+  private static final Counter CLAIM_CHECKED_BYTES =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("claim_checked_bytes_total")
+          .help("Total size of the serialized records offloaded to the blob store")
+          .labelNames(PARTITION_LABEL, "valueType")
+          .register();
+
+  private static final Counter RESOURCES =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("resources_total")
+          .help(
+              "Number of resources found in exported records, by whether they were published or"
+                  + " skipped as already published")
+          .labelNames(PARTITION_LABEL, "action")
+          .register();
+
+  private static final Counter FILTERED_RECORDS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("filtered_records_total")
+          .help("Number of records dropped before serialization, by the filter rule dropping them")
+          .labelNames(PARTITION_LABEL, "valueType", "rule")
+          .register();
+
+  private static final Counter ENRICHMENT_LOOKUPS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("enrichment_lookups_total")
+          .help(
+              "Number of process instance lookups made to enrich records, by whether the instance"
+                  + " was cached (hit) or not (miss)")
+          .labelNames(PARTITION_LABEL, "result")
+          .register();
+
+  private static final Gauge ENRICHMENT_CACHE_CAPACITY =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("enrichment_cache_capacity")
+          .help("Maximum number of process instances remembered to enrich records")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Gauge ENRICHMENT_CACHE_ENTRIES =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("enrichment_cache_entries")
+          .help("Number of process instances currently remembered to enrich records")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Counter AGGREGATION_SUMMARIES =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("aggregation_summaries_total")
+          .help("Number of summaries produced when closing aggregation windows")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Counter AGGREGATION_OVERFLOW =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("aggregation_overflow_total")
+          .help(
+              "Number of records not aggregated as their window already tracked the maximum"
+                  + " number of groups")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Gauge EXPORT_LAG =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("export_lag_ms")
+          .help(
+              "How far behind the oldest record not yet acknowledged by Kafka is, compared to the"
+                  + " latest record received, in record time")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Counter EXPORT_LAG_ALERTS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("export_lag_alerts_total")
+          .help("Number of times the export lag crossed the watchdog's threshold")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Counter PRODUCER_FAILURES =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("producer_failures_total")
+          .help("Number of non-recoverable producer errors, after which the producer is recreated")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Counter PRODUCER_ERRORS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("producer_errors_total")
+          .help(
+              "Number of non-retriable producer errors, by how they were recovered from: abortable"
+                  + " (transaction aborted), fenced (producer replaced), or fatal (producer"
+                  + " recreated after a backoff)")
+          .labelNames(PARTITION_LABEL, "type")
+          .register();
+
+  private static final Gauge PRODUCER_BACKOFF =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("producer_backoff_ms")
+          .help("Delay before the producer is recreated after the last non-recoverable error")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Gauge OFF_HEAP_POOL_USED =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("off_heap_pool_used_bytes")
+          .help("Off-heap memory currently holding payloads of sent but uncommitted records")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Gauge OFF_HEAP_POOL_ALLOCATED =
+      Gauge.build()
+          .namespace(NAMESPACE)
+          .name("off_heap_pool_allocated_bytes")
+          .help("Off-heap memory allocated by the pools, whether currently used or not")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Counter OFF_HEAP_POOL_REJECTED =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("off_heap_pool_rejected_total")
+          .help(
+              "Number of payloads kept on the heap as the off-heap pool was full, or as they were"
+                  + " bigger than a slab")
+          .labelNames(PARTITION_LABEL)
+          .register();
+
+  private static final Counter TRANSACTION_SPLITS =
+      Counter.build()
+          .namespace(NAMESPACE)
+          .name("transaction_splits_total")
+          .help(
+              "Number of transactions committed before the end of their batch, by the ceiling"
+                  + " they reached")
+          .labelNames(PARTITION_LABEL, "reason")
+          .register();
+
+  private final String partitionIdLabel;
+
+  public ExporterMetrics(final int partitionId) {
+    partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  /**
+   * Counts an oversized record of the given type, and the action taken to handle it.
+   *
+   * @param valueType the value type of the oversized record
+   * @param action the action taken, e.g. "truncated"
+   */
+  public void oversizedRecord(final ValueType valueType, final String action) {
+    OVERSIZED_RECORDS.labels(partitionIdLabel, valueType.name(), action).inc();
+  }
+
+  /**
+   * Counts a record whose payload was offloaded to the blob store.
+   *
+   * @param valueType the value type of the record
+   * @param size the serialized size of the offloaded record
+   */
+  public void claimCheckedRecord(final ValueType valueType, final int size) {
+    CLAIM_CHECKED_RECORDS.labels(partitionIdLabel, valueType.name()).inc();
+    CLAIM_CHECKED_BYTES.labels(partitionIdLabel, valueType.name()).inc(size);
+  }
+
+  /**
+   * Counts a record dropped by a filter rule.
+   *
+   * @param valueType the value type of the record
+   * @param rule the rule which dropped the record, e.g. "intent"
+   */
+  public void filteredRecord(final ValueType valueType, final String rule) {
+    FILTERED_RECORDS.labels(partitionIdLabel, valueType.name(), rule).inc();
+  }
+
+  /**
+   * Counts a resource found in an exported record.
+   *
+   * @param published true if it was published, false if skipped as it was already published
+   */
+  public void resourcePublished(final boolean published) {
+    RESOURCES.labels(partitionIdLabel, published ? "published" : "deduplicated").inc();
+  }
+
+  /**
+   * Counts a lookup of a record's process instance in the enrichment cache.
+   *
+   * @param hit true if the process instance was cached, false otherwise
+   */
+  public void enrichmentLookup(final boolean hit) {
+    ENRICHMENT_LOOKUPS.labels(partitionIdLabel, hit ? "hit" : "miss").inc();
+  }
+
+  /** @param capacity the maximum number of process instances in the enrichment cache */
+  public void enrichmentCacheCapacity(final int capacity) {
+    ENRICHMENT_CACHE_CAPACITY.labels(partitionIdLabel).set(capacity);
+  }
+
+  /** @param entries the current number of process instances in the enrichment cache */
+  public void enrichmentCacheEntries(final int entries) {
+    ENRICHMENT_CACHE_ENTRIES.labels(partitionIdLabel).set(entries);
+  }
+
+  /** @param summaries the number of summaries produced when closing an aggregation window */
+  public void aggregationSummaries(final int summaries) {
+    AGGREGATION_SUMMARIES.labels(partitionIdLabel).inc(summaries);
+  }
+
+  /** Counts a record which was not aggregated as its window had too many groups. */
+  public void aggregationOverflow() {
+    AGGREGATION_OVERFLOW.labels(partitionIdLabel).inc();
+  }
+
+  /** @param lag the current export lag, in milliseconds */
+  public void exportLag(final long lag) {
+    EXPORT_LAG.labels(partitionIdLabel).set(lag);
+  }
+
+  /** Counts the export lag crossing the watchdog's threshold. */
+  public void exportLagExceeded() {
+    EXPORT_LAG_ALERTS.labels(partitionIdLabel).inc();
+  }
+
+  /**
+   * Counts a non-recoverable producer error.
+   *
+   * @param backoff the delay before the producer is recreated, in milliseconds
+   */
+  public void producerFailure(final long backoff) {
+    PRODUCER_FAILURES.labels(partitionIdLabel).inc();
+    PRODUCER_BACKOFF.labels(partitionIdLabel).set(backoff);
+  }
+
+  /** @param type the type of a non-retriable producer error, e.g. "abortable" */
+  public void producerError(final String type) {
+    PRODUCER_ERRORS.labels(partitionIdLabel, type).inc();
+  }
+
+  /**
+   * Tracks slabs taken from, or given back to, an off-heap pool. Both lanes share the gauge.
+   *
+   * @param bytes the size of the slabs, negative when giving them back
+   */
+  public void offHeapPoolUsed(final long bytes) {
+    OFF_HEAP_POOL_USED.labels(partitionIdLabel).inc(bytes);
+  }
+
+  /** @param bytes the size of the slabs allocated, or negative when freeing them */
+  public void offHeapPoolAllocated(final long bytes) {
+    OFF_HEAP_POOL_ALLOCATED.labels(partitionIdLabel).inc(bytes);
+  }
+
+  /** Counts a payload which could not be moved to the off-heap pool. */
+  public void offHeapPoolRejected() {
+    OFF_HEAP_POOL_REJECTED.labels(partitionIdLabel).inc();
+  }
+
+  /** @param reason the ceiling the transaction reached, "size" or "duration" */
+  public void transactionSplit(final String reason) {
+    TRANSACTION_SPLITS.labels(partitionIdLabel, reason).inc();
+  }
+}
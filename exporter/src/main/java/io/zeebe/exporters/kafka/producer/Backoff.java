@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.producer;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Exponential backoff with jitter, used to gate the recreation of a producer after a failure. Each
+ * consecutive failure doubles the delay, up to {@code maxDelay}; the actual delay is picked
+ * uniformly between half and all of it, such that the exporters of all partitions do not hammer a
+ * recovering Kafka cluster in lockstep. A success resets the delay.
+ */
+final class Backoff {
+  private final long initialDelayMs;
+  private final long maxDelayMs;
+  private final LongSupplier clock;
+
+  private int failures;
+  private long nextAttemptTime;
+
+  Backoff(final Duration initialDelay, final Duration maxDelay) {
+    this(initialDelay, maxDelay, System::currentTimeMillis);
+  }
+
+  Backoff(final Duration initialDelay, final Duration maxDelay, final LongSupplier clock) {
+    initialDelayMs = initialDelay.toMillis();
+    maxDelayMs = Math.max(initialDelayMs, maxDelay.toMillis());
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  /** @return true if a new attempt may be made, false if still backing off */
+  boolean isReady() {
+    return failures == 0 || clock.getAsLong() >= nextAttemptTime;
+  }
+
+  /** @return milliseconds until the next attempt may be made */
+  long getRemainingDelay() {
+    return failures == 0 ? 0 : Math.max(0, nextAttemptTime - clock.getAsLong());
+  }
+
+  int getFailures() {
+    return failures;
+  }
+
+  /**
+   * Records a failed attempt, and delays the next one.
+   *
+   * @return the delay until the next attempt, in milliseconds
+   */
+  long onFailure() {
+    failures++;
+
+    // cap the shift to avoid overflowing; the delay is anyway bounded by maxDelayMs
+    final long delay = Math.min(maxDelayMs, initialDelayMs << Math.min(failures - 1, 30));
+    final long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    nextAttemptTime = clock.getAsLong() + jittered;
+    return jittered;
+  }
+
+  /** Records a successful attempt, allowing the next failure to be retried quickly again. */
+  void onSuccess() {
+    failures = 0;
+    nextAttemptTime = 0;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.producer;
+
+import io.zeebe.exporters.kafka.serde.RecordId;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * A record held by a {@link BoundedTransactionalRecordBatch} until its transaction is committed.
+ * Once sent, the producer has copied its payload already, and the payload is only needed again if
+ * the transaction must be retried; it can then be parked in an {@link OffHeapBufferPool} instead of
+ * being kept on the heap.
+ */
+final class BatchedRecord {
+  private ProducerRecord<RecordId, byte[]> record;
+  private long address = OffHeapBufferPool.NOT_POOLED;
+  private int length;
+
+  BatchedRecord(final ProducerRecord<RecordId, byte[]> record) {
+    this.record = record;
+  }
+
+  RecordId key() {
+    return record.key();
+  }
+
+  /** @return true if the payload is currently held by an {@link OffHeapBufferPool} */
+  boolean isParked() {
+    return address != OffHeapBufferPool.NOT_POOLED;
+  }
+
+  /** @return the size of the payload in bytes, whether it's parked or not */
+  int size() {
+    if (address != OffHeapBufferPool.NOT_POOLED) {
+      return length;
+    }
+
+    return record.value() == null ? 0 : record.value().length;
+  }
+
+  /**
+   * @param pool the pool the payload may have been parked in
+   * @return the record to send, copying its payload back onto the heap if it was parked
+   */
+  ProducerRecord<RecordId, byte[]> toProducerRecord(final OffHeapBufferPool pool) {
+    if (address == OffHeapBufferPool.NOT_POOLED) {
+      return record;
+    }
+
+    return withValue(pool.read(address, length));
+  }
+
+  /**
+   * Moves the payload into the given pool, if there is room for it, dropping the heap copy.
+   *
+   * @param pool the pool to park the payload in
+   */
+  void park(final OffHeapBufferPool pool) {
+    final byte[] value = record.value();
+    if (address != OffHeapBufferPool.NOT_POOLED || value == null) {
+      return;
+    }
+
+    final long parked = pool.append(value);
+    if (parked != OffHeapBufferPool.NOT_POOLED) {
+      address = parked;
+      length = value.length;
+      record = withValue(null);
+    }
+  }
+
+  /**
+   * Copies the payload back onto the heap, e.g. before the pool is closed.
+   *
+   * @param pool the pool the payload was parked in
+   */
+  void unpark(final OffHeapBufferPool pool) {
+    if (address != OffHeapBufferPool.NOT_POOLED) {
+      record = withValue(pool.read(address, length));
+      address = OffHeapBufferPool.NOT_POOLED;
+    }
+  }
+
+  private ProducerRecord<RecordId, byte[]> withValue(final byte[] value) {
+    return new ProducerRecord<>(
+        record.topic(),
+        record.partition(),
+        record.timestamp(),
+        record.key(),
+        value,
+        record.headers());
+  }
+}
@@ -16,15 +16,30 @@
 package io.zeebe.exporters.kafka.producer;
 
 import io.zeebe.exporters.kafka.config.ProducerConfig;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
 import io.zeebe.exporters.kafka.record.FullRecordBatchException;
 import io.zeebe.exporters.kafka.serde.RecordId;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.LongConsumer;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.InterruptException;
 import org.apache.kafka.common.errors.TimeoutException;
 import org.slf4j.Logger;
@@ -43,7 +58,9 @@ import org.slf4j.Logger;
  * as is - the operation will be retried either by adding a new record or by attempting to flush the
  * batch externally. If it's unrecoverable, the current producer is closed, the state is reset
  * (minus the linked list which remains the same so we can retry the records), and on the next add
- * or flush operation, the whole batch is retried.
+ * or flush operation, the whole batch is retried. Errors which only doom the transaction are
+ * handled more cheaply by aborting it and sending its records again with the same producer, and a
+ * fenced producer is replaced without backing off; see {@link ProducerErrorType}.
  *
  * <p>NOTE: when adding a record to a full batch, it will attempt to flush the batch, blocking up to
  * {@link io.zeebe.exporters.kafka.config.raw.RawProducerConfig#maxBlockingTimeoutMs} milliseconds.
@@ -51,24 +68,57 @@ import org.slf4j.Logger;
  * If it failed to flush, then the error will bubble up wrapped in a {@link
  * FullRecordBatchException}.
  *
+ * <p>NOTE: if the producer configures a maximum transaction size or duration, the transaction is
+ * committed once either is reached, and a new one started for the rest of the batch. Each such
+ * sub-transaction advances the exported position, so that a big batch is not retried as a whole
+ * if its transaction times out or is aborted while committing.
+ *
+ * <p>NOTE: records must be kept until committed in case the transaction is retried. If an off-heap
+ * pool is configured, their payloads are moved to it as soon as they're sent, since the producer
+ * copied them already; see {@link BatchedRecord}. This keeps them from surviving long enough on
+ * the heap to be promoted to the old generation. The pool's slabs are reused once committed.
+ *
+ * <p>NOTE: the producer can be warmed up in the background via {@link #warmUp(Collection)}. Until
+ * it's ready, records are buffered the same way as when backing off after an error.
+ *
+ * <p>NOTE: when closing via {@link #drainAndClose(Duration)}, the batch is flushed once, and the
+ * producer is force closed if that takes longer than the given timeout, which aborts the in-flight
+ * transaction. The producer is then closed in the background instead of blocking the caller.
+ *
  * <p>NOTE: when using this type of batch, make sure your consumers use "read_committed" as
  * isolation level, otherwise they may see uncommitted records. This isn't too big of a deal as
  * these records are anyway committed on the Zeebe side, but they may show up as duplicates.
  */
 final class BoundedTransactionalRecordBatch implements RecordBatch {
-  private final LinkedList<ProducerRecord<RecordId, byte[]>> records = new LinkedList<>();
+  private final LinkedList<BatchedRecord> records = new LinkedList<>();
+  // written from the producer's I/O thread on send completion
+  private final Map<TopicPartition, Long> sentOffsets = new ConcurrentHashMap<>();
+  private final Map<String, Long> committedOffsets = new HashMap<>();
+  private final Callback sendCallback = this::onSendCompleted;
 
   private final KafkaProducerFactory producerFactory;
   private final ProducerConfig config;
   private final String producerId;
-  private final int maxBatchSize;
+  private int maxBatchSize;
   private final LongConsumer onFlushCallback;
   private final Logger logger;
+  private final ExporterMetrics metrics;
+  private final Backoff backoff;
+  private final OffHeapBufferPool offHeapPool;
 
   private Producer<RecordId, byte[]> producer;
+  // prepared on a separate thread, and only adopted by the exporter's thread once done
+  private CompletableFuture<Producer<RecordId, byte[]>> warmUp;
   private boolean producerInitialized = false;
   private boolean transactionBegan = false;
   private int nextSendIndex = 0;
+  private long byteCount = 0;
+  private long transactionByteCount = 0;
+  private long lastFlushTime = -1;
+  private long transactionStartTime = -1;
+  private String lastError = "";
+  // set by the drain deadline's thread right before it force closes the producer
+  private volatile boolean drainAborted = false;
 
   public BoundedTransactionalRecordBatch(
       final ProducerConfig config,
@@ -92,44 +142,90 @@ final class BoundedTransactionalRecordBatch implements RecordBatch {
       final Logger logger,
       final KafkaProducerFactory producerFactory,
       final String producerId) {
+    this(config, maxBatchSize, onFlushCallback, logger, producerFactory, producerId, null);
+  }
+
+  /**
+   * @param metrics the metrics to report producer failures to, or null to not report them
+   */
+  public BoundedTransactionalRecordBatch(
+      final ProducerConfig config,
+      final int maxBatchSize,
+      final LongConsumer onFlushCallback,
+      final Logger logger,
+      final KafkaProducerFactory producerFactory,
+      final String producerId,
+      final ExporterMetrics metrics) {
     this.config = Objects.requireNonNull(config);
     this.maxBatchSize = maxBatchSize;
     this.onFlushCallback = Objects.requireNonNull(onFlushCallback);
     this.logger = Objects.requireNonNull(logger);
     this.producerFactory = Objects.requireNonNull(producerFactory);
     this.producerId = Objects.requireNonNull(producerId);
+    this.metrics = metrics;
+    backoff = new Backoff(config.getRecreateBackoff(), config.getMaxRecreateBackoff());
+    offHeapPool =
+        config.isOffHeapPoolEnabled()
+            ? new OffHeapBufferPool(
+                config.getOffHeapPoolSize(), config.getOffHeapSlabSize(), metrics)
+            : null;
   }
 
   @Override
   public void add(final ProducerRecord<RecordId, byte[]> record) throws FullRecordBatchException {
     if (records.size() >= maxBatchSize) {
+      if (isProducerPending()) {
+        throw new FullRecordBatchException(
+            maxBatchSize,
+            new TimeoutException("Cannot flush the batch, " + describePendingProducer()));
+      }
+
       try {
         flushBatch();
       } catch (final TimeoutException | InterruptException e) {
+        recordError(e);
         throw new FullRecordBatchException(maxBatchSize, e);
       } catch (final Exception e) {
-        close();
+        onProducerError(e);
         throw new FullRecordBatchException(maxBatchSize, e);
       }
     }
 
-    records.add(record);
+    final var batchedRecord = new BatchedRecord(record);
+    records.add(batchedRecord);
+    byteCount += batchedRecord.size();
+
+    // the record is sent along with the others once the producer is ready
+    if (isProducerPending()) {
+      return;
+    }
 
     try {
       sendUnsentRecords();
     } catch (final TimeoutException | InterruptException e) {
+      recordError(e);
       logger.debug(
           "Timed out or interrupted while sending unsent records, will be retried later", e);
     } catch (final Exception e) {
-      logger.warn("Failed to send unsent record, will be retried later with a new producer", e);
-      close();
+      onProducerError(e);
     }
   }
 
+  @Override
+  public void setMaxBatchSize(final int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
   @Override
   public void flush() {
     if (records.isEmpty()) {
       logger.trace("Skipping batch commit as there are no records in the batch");
+      lastFlushTime = System.currentTimeMillis();
+      return;
+    }
+
+    if (isProducerPending()) {
+      logger.trace("Skipping batch commit, {}", describePendingProducer());
       return;
     }
 
@@ -141,25 +237,174 @@ final class BoundedTransactionalRecordBatch implements RecordBatch {
     try {
       flushBatch();
     } catch (final TimeoutException | InterruptException e) {
+      recordError(e);
       logger.debug("Timed out or interrupted while committing, will be retried later", e);
     } catch (final Exception e) {
-      logger.warn("Non-recoverable error occurred while committing, retrying with new producer", e);
-      close();
+      if (drainAborted) {
+        // expected, as the producer was force closed; the batch is closed right after anyway
+        logger.debug("Failed to commit after the drain was aborted", e);
+        return;
+      }
+
+      onProducerError(e);
     }
   }
 
+  @Override
+  public void resetProducer() {
+    logger.info("Resetting producer {}, pending records will be sent again", producerId);
+    closeProducer();
+  }
+
+  @Override
+  public CompletableFuture<Void> warmUp(final Collection<String> topics) {
+    if (producer != null || warmUp != null) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final var warmUpTopics = List.copyOf(topics);
+    warmUp =
+        CompletableFuture.supplyAsync(
+            () -> newWarmProducer(warmUpTopics), this::runOnWarmUpThread);
+    return warmUp.thenApply(ignored -> null);
+  }
+
+  @Override
+  public RecordBatchStatus getStatus() {
+    return new RecordBatchStatus(
+        records.size(),
+        byteCount,
+        producerId,
+        getTransactionState(),
+        committedOffsets,
+        lastFlushTime,
+        transactionBegan ? transactionStartTime : -1,
+        getBufferAvailableBytes(),
+        lastError);
+  }
+
   @Override
   public void close() {
+    closeProducer();
+    closeOffHeapPool();
+  }
+
+  @Override
+  public void drainAndClose(final Duration timeout) {
+    if (!timeout.isZero() && !records.isEmpty() && !isProducerPending()) {
+      drain(timeout);
+    }
+
+    closeProducerAsync();
+    closeOffHeapPool();
+  }
+
+  /**
+   * Flushes the batch once, force closing the producer if it's still blocked once the timeout
+   * elapsed. A force close fails the pending operations, and aborts the in-flight transaction.
+   */
+  private void drain(final Duration timeout) {
+    try {
+      ensureProducer();
+    } catch (final Exception e) {
+      logger.warn("Failed to create a producer to drain the batch, closing without draining", e);
+      return;
+    }
+
+    final var drainedProducer = producer;
+    final var recordCount = records.size();
+    // whichever of the flush and the deadline finishes first wins, such that the producer is only
+    // force closed while the flush is still running
+    final var drainFinished = new AtomicBoolean();
+    final var deadline =
+        CompletableFuture.runAsync(
+            () -> {
+              if (drainFinished.compareAndSet(false, true)) {
+                abortDrain(drainedProducer, timeout, recordCount);
+              }
+            },
+            CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS));
+
+    try {
+      flush();
+    } finally {
+      drainFinished.set(true);
+      deadline.cancel(false);
+    }
+  }
+
+  /**
+   * Runs on the deadline's thread, and as such must not touch the batch's state, except for
+   * flagging the drain as aborted so that the failure of the blocked flush isn't recovered from.
+   */
+  private void abortDrain(
+      final Producer<RecordId, byte[]> drainedProducer,
+      final Duration timeout,
+      final int recordCount) {
+    drainAborted = true;
+    logger.warn(
+        "Failed to drain {} records within {}, aborting the in-flight transaction; they will be"
+            + " exported again by the next leader",
+        recordCount,
+        timeout);
+    drainedProducer.close(Duration.ZERO);
+  }
+
+  /**
+   * Hands the producer over to a background thread to close it, such that the caller isn't blocked
+   * for up to {@link ProducerConfig#getCloseTimeout()}.
+   */
+  private void closeProducerAsync() {
+    final var closingProducer = producer;
+    producer = null;
+    closeProducer();
+
+    if (closingProducer == null) {
+      return;
+    }
+
+    runOnThread(
+        "kafka-exporter-close-" + producerId,
+        () -> {
+          try {
+            closingProducer.close(config.getCloseTimeout());
+          } catch (final Exception e) {
+            logger.debug("Failed to gracefully close producer in the background", e);
+          }
+        });
+  }
+
+  private void closeOffHeapPool() {
+    // records are kept on close, so their payloads must outlive the pool's memory
+    if (offHeapPool != null) {
+      records.forEach(record -> record.unpark(offHeapPool));
+      offHeapPool.close();
+    }
+  }
+
+  /** Closes the producer, keeping the records so they can be retried with the next one. */
+  private void closeProducer() {
+    closeProducer(config.getCloseTimeout());
+  }
+
+  private void closeProducer(final Duration closeTimeout) {
+    if (warmUp != null) {
+      // the producer may still be initializing, so close it whenever it's ready
+      final var pending = warmUp;
+      warmUp = null;
+      pending.thenAccept(warmProducer -> warmProducer.close(config.getCloseTimeout()));
+    }
+
     if (producer == null) {
       return;
     }
 
-    final var closeTimeout = config.getCloseTimeout();
     logger.debug("Closing producer with timeout {}", closeTimeout);
 
     try {
       producer.close(closeTimeout);
     } catch (final Exception e) {
+      recordError(e);
       logger.warn(
           "Failed to gracefully close Kafka exporter; this is most likely fine, but may cause "
               + "resource to leaks. Investigate if it keeps repeating itself.",
@@ -169,7 +414,9 @@ final class BoundedTransactionalRecordBatch implements RecordBatch {
     producer = null;
     producerInitialized = false;
     transactionBegan = false;
+    sentOffsets.clear();
     nextSendIndex = 0;
+    transactionByteCount = 0;
     // the records' list is not cleared on purpose, so that we can later try it
   }
 
@@ -189,8 +436,36 @@ final class BoundedTransactionalRecordBatch implements RecordBatch {
 
     producer.commitTransaction();
     transactionBegan = false;
-    records.clear();
+
+    // only sent records are part of the transaction, the others go into the next one
+    for (int i = 0; i < nextSendIndex; i++) {
+      byteCount -= records.removeFirst().size();
+    }
+    // records left over may still be parked, e.g. when resending them after a failed flush, in
+    // which case the slabs are only released once the last of them was committed
+    if (offHeapPool != null && !hasParkedRecords()) {
+      offHeapPool.releaseAll();
+    }
     nextSendIndex = 0;
+    transactionByteCount = 0;
+    lastFlushTime = System.currentTimeMillis();
+    backoff.onSuccess();
+
+    // committing waits for all sends to complete, so their offsets are now known and committed
+    for (final var offset : sentOffsets.entrySet()) {
+      committedOffsets.put(offset.getKey().toString(), offset.getValue());
+    }
+    sentOffsets.clear();
+  }
+
+  private boolean hasParkedRecords() {
+    for (final var record : records) {
+      if (record.isParked()) {
+        return true;
+      }
+    }
+
+    return false;
   }
 
   private void sendUnsentRecords() {
@@ -201,13 +476,260 @@ final class BoundedTransactionalRecordBatch implements RecordBatch {
 
     while (nextSendIndex < records.size()) {
       final var record = records.get(nextSendIndex);
-      producer.send(record);
-      logger.trace("Sent record {}", record);
+      final var splitReason = getTransactionSplitReason(record);
+      if (splitReason != null) {
+        commitSentRecords(splitReason);
+        ensureWithinTransaction();
+      }
+
+      final var producerRecord = record.toProducerRecord(offHeapPool);
+      producer.send(producerRecord, sendCallback);
+      logger.trace("Sent record {}", producerRecord);
       nextSendIndex++;
+      transactionByteCount += record.size();
+
+      if (offHeapPool != null) {
+        record.park(offHeapPool);
+      }
+    }
+  }
+
+  /**
+   * Returns why the current transaction should be committed before sending the given record, or
+   * null if it shouldn't. Transactions are only split in between positions, as committing a
+   * sub-transaction advances the exported position: if only some of the records of a position were
+   * committed, the others would be lost should the exporter be restarted.
+   *
+   * @param next the next record to send
+   * @return "size" or "duration" depending on the ceiling reached, or null if none
+   */
+  private String getTransactionSplitReason(final BatchedRecord next) {
+    if (nextSendIndex == 0
+        || records.get(nextSendIndex - 1).key().getPosition() == next.key().getPosition()) {
+      return null;
+    }
+
+    final var maxSize = config.getMaxTransactionSize();
+    if (maxSize > 0 && transactionByteCount >= maxSize) {
+      return "size";
+    }
+
+    final var maxDuration = config.getMaxTransactionDuration();
+    if (!maxDuration.isZero()
+        && System.currentTimeMillis() - transactionStartTime >= maxDuration.toMillis()) {
+      return "duration";
+    }
+
+    return null;
+  }
+
+  /** Commits the records sent so far as a sub-transaction, advancing the exported position. */
+  private void commitSentRecords(final String reason) {
+    final var commitPosition = records.get(nextSendIndex - 1).key().getPosition();
+    logger.debug(
+        "Committing {} records up to position {} before sending more, as the transaction reached"
+            + " its {} ceiling",
+        nextSendIndex,
+        commitPosition,
+        reason);
+
+    commitTransaction();
+    if (metrics != null) {
+      metrics.transactionSplit(reason);
+    }
+    onFlushCallback.accept(commitPosition);
+  }
+
+  private void onSendCompleted(final RecordMetadata metadata, final Exception error) {
+    if (error == null && metadata.hasOffset()) {
+      sentOffsets.merge(
+          new TopicPartition(metadata.topic(), metadata.partition()), metadata.offset(), Math::max);
+    }
+  }
+
+  private long getBufferAvailableBytes() {
+    if (producer == null) {
+      return -1;
+    }
+
+    for (final var metric : producer.metrics().entrySet()) {
+      if ("buffer-available-bytes".equals(metric.getKey().name())) {
+        final var value = metric.getValue().metricValue();
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+      }
     }
+
+    return -1;
+  }
+
+  private boolean isProducerPending() {
+    return producer == null && (isWarmingUp() || !backoff.isReady());
+  }
+
+  private boolean isWarmingUp() {
+    return warmUp != null && !warmUp.isDone();
+  }
+
+  private String describePendingProducer() {
+    if (isWarmingUp()) {
+      return "the producer is still warming up";
+    }
+
+    return String.format(
+        "backing off for %dms before recreating the producer", backoff.getRemainingDelay());
+  }
+
+  /**
+   * Creates and initializes a producer, and fetches the metadata of the given topics. Runs on the
+   * warm-up thread, and as such must not touch the batch's state.
+   */
+  private Producer<RecordId, byte[]> newWarmProducer(final List<String> topics) {
+    final var warmProducer = producerFactory.newProducer(config, producerId);
+    try {
+      warmProducer.initTransactions();
+    } catch (final RuntimeException e) {
+      warmProducer.close(config.getCloseTimeout());
+      throw e;
+    }
+
+    for (final var topic : topics) {
+      try {
+        warmProducer.partitionsFor(topic);
+      } catch (final RuntimeException e) {
+        logger.debug("Failed to prefetch metadata of topic {}, will fetch it on send", topic, e);
+      }
+    }
+
+    return warmProducer;
+  }
+
+  private void runOnWarmUpThread(final Runnable task) {
+    runOnThread("kafka-exporter-warm-up-" + producerId, task);
+  }
+
+  private void runOnThread(final String name, final Runnable task) {
+    final var thread = new Thread(task, name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void adoptWarmProducer() {
+    final var pending = warmUp;
+    warmUp = null;
+
+    try {
+      producer = pending.join();
+      producerInitialized = true;
+      logger.trace("Adopted warmed up producer");
+    } catch (final CompletionException e) {
+      recordError(e);
+      logger.warn("Failed to warm up producer, creating a new one instead", e.getCause());
+    }
+  }
+
+  /** Recovers from a non-retriable producer error, as cheaply as its type allows. */
+  private void onProducerError(final Exception error) {
+    final var type = ProducerErrorType.of(error);
+    if (metrics != null) {
+      metrics.producerError(type.label());
+    }
+
+    switch (type) {
+      case ABORTABLE:
+        logger.debug("Aborting transaction after error, its records will be sent again", error);
+        abortTransaction(error);
+        break;
+      case FENCED:
+        logger.info(
+            "Producer {} was fenced, replacing it; pending records will be sent again: {}",
+            producerId,
+            error.getMessage());
+        onProducerFenced(error);
+        break;
+      case FATAL:
+      default:
+        logger.warn("Non-recoverable producer error, retrying with a new producer", error);
+        onProducerFailure(error);
+        break;
+    }
+  }
+
+  /**
+   * Aborts the transaction and sends its records again right away with the same producer, which
+   * avoids closing it, creating a new one, and initializing it for transactions. Falls back to
+   * recreating the producer if there is no transaction to abort, or if aborting fails.
+   */
+  private void abortTransaction(final Exception error) {
+    recordError(error);
+    if (producer == null || !transactionBegan) {
+      onProducerFailure(error);
+      return;
+    }
+
+    try {
+      producer.abortTransaction();
+      transactionBegan = false;
+      // the aborted records' offsets were never committed, and must not be reported as such
+      sentOffsets.clear();
+      nextSendIndex = 0;
+      transactionByteCount = 0;
+      sendUnsentRecords();
+    } catch (final TimeoutException | InterruptException e) {
+      // the producer is still in an abortable state, so the next operation fails the same way
+      recordError(e);
+      logger.debug("Timed out or interrupted while aborting, will be retried later", e);
+    } catch (final Exception e) {
+      logger.warn("Failed to abort transaction, retrying with a new producer", e);
+      onProducerFailure(e);
+    }
+  }
+
+  /**
+   * Replaces a fenced producer. It cannot be used anymore, not even to abort its transaction, so
+   * it's closed without waiting; as Kafka itself is fine, the next one is created right away.
+   */
+  private void onProducerFenced(final Exception error) {
+    recordError(error);
+    closeProducer(Duration.ZERO);
+  }
+
+  /**
+   * Drops the producer after a non-recoverable error, and delays its recreation; see {@link
+   * Backoff}.
+   */
+  private void onProducerFailure(final Exception error) {
+    recordError(error);
+    closeProducer();
+
+    final long delay = backoff.onFailure();
+    if (metrics != null) {
+      metrics.producerFailure(delay);
+    }
+    logger.debug(
+        "Recreating the producer in {}ms after {} consecutive failures",
+        delay,
+        backoff.getFailures());
+  }
+
+  private void recordError(final Exception error) {
+    lastError = Instant.now() + " " + error;
+  }
+
+  private String getTransactionState() {
+    if (producer == null) {
+      return isWarmingUp() ? "WARMING_UP" : "NO_PRODUCER";
+    } else if (!producerInitialized) {
+      return "UNINITIALIZED";
+    }
+
+    return transactionBegan ? "IN_TRANSACTION" : "READY";
   }
 
   private void ensureProducer() {
+    if (producer == null && warmUp != null) {
+      adoptWarmProducer();
+    }
+
     if (producer != null) {
       return;
     }
@@ -232,6 +754,7 @@ final class BoundedTransactionalRecordBatch implements RecordBatch {
     if (!transactionBegan) {
       producer.beginTransaction();
       transactionBegan = true;
+      transactionStartTime = System.currentTimeMillis();
       logger.trace("Began new producer transaction");
     }
   }
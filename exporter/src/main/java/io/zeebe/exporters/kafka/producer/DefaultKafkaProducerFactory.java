@@ -23,6 +23,7 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 
 /**
  * {@link DefaultKafkaProducerFactory} is the default implementation of {@link KafkaProducerFactory}
@@ -74,4 +75,32 @@ final class DefaultKafkaProducerFactory implements KafkaProducerFactory {
 
     return new KafkaProducer<>(options);
   }
+
+  @Override
+  public Producer<String, byte[]> newResourceProducer(
+      final io.zeebe.exporters.kafka.config.ProducerConfig config, final String producerId) {
+    final var options = new HashMap<String, Object>();
+    final var clientId = String.format("%s-resources-%s", config.getClientId(), producerId);
+
+    options.put(ProducerConfig.CLIENT_ID_CONFIG, clientId);
+    options.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+    options.put(ProducerConfig.ACKS_CONFIG, "all");
+    options.put(
+        ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, (int) config.getRequestTimeout().toMillis());
+    options.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, config.getServers());
+    options.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, config.getMaxBlockingTimeout().toMillis());
+
+    // resources are rare and sent one at a time, so there's no point in lingering
+    options.put(ProducerConfig.LINGER_MS_CONFIG, 0L);
+
+    // leave always close to the last step to allow user configuration to override producer options
+    options.putAll(config.getConfig());
+
+    // resources are not part of the exporter's transactions
+    options.remove(ProducerConfig.TRANSACTIONAL_ID_CONFIG);
+    options.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    options.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+    return new KafkaProducer<>(options);
+  }
 }
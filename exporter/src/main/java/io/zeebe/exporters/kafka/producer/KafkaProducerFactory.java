@@ -28,6 +28,19 @@ public interface KafkaProducerFactory {
 
   Producer<RecordId, byte[]> newProducer(final ProducerConfig config, final String producerId);
 
+  /**
+   * Returns a non transactional producer keyed by strings, used to publish resources to a
+   * compacted topic, where the key must be the same for every copy of a given resource.
+   *
+   * @param config the producer configuration
+   * @param producerId unique identifier of the exporter instance
+   * @return a new producer
+   */
+  default Producer<String, byte[]> newResourceProducer(
+      final ProducerConfig config, final String producerId) {
+    return new DefaultKafkaProducerFactory().newResourceProducer(config, producerId);
+  }
+
   static KafkaProducerFactory defaultFactory() {
     return new DefaultKafkaProducerFactory();
   }
@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.producer;
+
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.BufferUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A bounded pool of fixed-size off-heap slabs, holding the payloads of records which were sent but
+ * not yet committed. Payloads are appended to the current slab, and a new one is taken from the
+ * pool when it's full. Slabs are never released individually, but all together via {@link
+ * #releaseAll()} once no record parked in them is left uncommitted; they are then reused for the
+ * next transaction.
+ *
+ * <p>A payload is identified by its address, which packs the index of its slab in the upper 32
+ * bits and its offset in the lower 32 bits, so that parking it does not allocate.
+ *
+ * <p>NOTE: this class is not thread-safe, and is only meant to be used by the batch owning it.
+ */
+final class OffHeapBufferPool implements AutoCloseable {
+  static final long NOT_POOLED = -1;
+
+  private final ArrayDeque<UnsafeBuffer> freeSlabs = new ArrayDeque<>();
+  private final List<UnsafeBuffer> usedSlabs = new ArrayList<>();
+  private final int slabSize;
+  private final int maxSlabs;
+  private final ExporterMetrics metrics;
+
+  private int allocatedSlabs;
+  private int currentOffset;
+
+  /**
+   * @param poolSize the maximum number of bytes to allocate, rounded down to a number of slabs
+   * @param slabSize the size of each slab
+   * @param metrics the metrics to report occupancy to, or null to not report it
+   */
+  OffHeapBufferPool(final int poolSize, final int slabSize, final ExporterMetrics metrics) {
+    this.slabSize = slabSize;
+    this.metrics = metrics;
+    maxSlabs = poolSize / slabSize;
+  }
+
+  /**
+   * Copies the given payload into the pool.
+   *
+   * @param payload the payload to copy
+   * @return the address of the copy, or {@link #NOT_POOLED} if it's bigger than a slab, or if there
+   *     is no slab left
+   */
+  long append(final byte[] payload) {
+    if (payload.length > slabSize || (!hasRoomInCurrentSlab(payload.length) && !nextSlab())) {
+      if (metrics != null) {
+        metrics.offHeapPoolRejected();
+      }
+
+      return NOT_POOLED;
+    }
+
+    final int slabIndex = usedSlabs.size() - 1;
+    final int offset = currentOffset;
+    usedSlabs.get(slabIndex).putBytes(offset, payload);
+    currentOffset += payload.length;
+
+    return ((long) slabIndex << 32) | offset;
+  }
+
+  /**
+   * Copies a payload previously appended back onto the heap.
+   *
+   * @param address the address returned when appending it
+   * @param length the length of the payload
+   * @return a copy of the payload
+   */
+  byte[] read(final long address, final int length) {
+    final byte[] payload = new byte[length];
+    usedSlabs.get((int) (address >>> 32)).getBytes((int) address, payload);
+    return payload;
+  }
+
+  /** Gives back all slabs to the pool; any address previously returned is invalid afterwards. */
+  void releaseAll() {
+    if (usedSlabs.isEmpty()) {
+      return;
+    }
+
+    if (metrics != null) {
+      metrics.offHeapPoolUsed(-(long) usedSlabs.size() * slabSize);
+    }
+
+    freeSlabs.addAll(usedSlabs);
+    usedSlabs.clear();
+    currentOffset = 0;
+  }
+
+  /** @return the number of bytes in slabs currently taken from the pool */
+  long getUsedBytes() {
+    return (long) usedSlabs.size() * slabSize;
+  }
+
+  /**
+   * Releases and frees all slabs, invalidating any address previously returned. If used again, the
+   * pool allocates new slabs.
+   */
+  @Override
+  public void close() {
+    releaseAll();
+    freeSlabs.forEach(BufferUtil::free);
+    freeSlabs.clear();
+
+    if (metrics != null) {
+      metrics.offHeapPoolAllocated(-(long) allocatedSlabs * slabSize);
+    }
+    allocatedSlabs = 0;
+  }
+
+  private boolean hasRoomInCurrentSlab(final int length) {
+    return !usedSlabs.isEmpty() && slabSize - currentOffset >= length;
+  }
+
+  private boolean nextSlab() {
+    UnsafeBuffer slab = freeSlabs.poll();
+    if (slab == null) {
+      if (allocatedSlabs >= maxSlabs) {
+        return false;
+      }
+
+      slab = new UnsafeBuffer(ByteBuffer.allocateDirect(slabSize));
+      allocatedSlabs++;
+      if (metrics != null) {
+        metrics.offHeapPoolAllocated(slabSize);
+      }
+    }
+
+    usedSlabs.add(slab);
+    currentOffset = 0;
+    if (metrics != null) {
+      metrics.offHeapPoolUsed(slabSize);
+    }
+
+    return true;
+  }
+}
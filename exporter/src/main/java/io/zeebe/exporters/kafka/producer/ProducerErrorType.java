@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.producer;
+
+import java.util.Locale;
+import org.apache.kafka.common.errors.InvalidProducerEpochException;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.errors.TransactionAbortableException;
+
+/**
+ * Classifies the non-retriable errors of a transactional producer by how cheaply the batch can
+ * recover from them, following the producer's own documentation:
+ *
+ * <ul>
+ *   <li>{@link #ABORTABLE}: the transaction is doomed, but the producer is not. Aborting it and
+ *       sending its records again is enough, i.e. {@link InvalidProducerEpochException} or {@link
+ *       TransactionAbortableException}
+ *   <li>{@link #FENCED}: another producer with the same transactional ID, or the coordinator after
+ *       the transaction timed out, bumped the producer's epoch. It cannot be used anymore, but
+ *       nothing is wrong as such, so it's replaced without backing off
+ *   <li>{@link #FATAL}: the producer is in an unrecoverable state, e.g. due to authorization
+ *       errors, or the error is unknown, e.g. a {@link
+ *       org.apache.kafka.common.errors.RecordTooLargeException} or not even a Kafka one. It must
+ *       be closed and recreated, after backing off
+ * </ul>
+ *
+ * <p>Only errors known to be abortable are classified as such, since retrying the same records
+ * without backing off would otherwise spin on errors which no abort can fix. The producer often
+ * wraps the original error when failing subsequent calls, e.g. {@code commitTransaction} after a
+ * failed send, so the whole chain of causes is looked at.
+ */
+enum ProducerErrorType {
+  ABORTABLE,
+  FENCED,
+  FATAL;
+
+  /**
+   * @param error the error thrown by the producer, other than a timeout or an interrupt
+   * @return the type of the error
+   */
+  static ProducerErrorType of(final Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ProducerFencedException) {
+        return FENCED;
+      }
+
+      if (isAbortable(cause)) {
+        return ABORTABLE;
+      }
+    }
+
+    return FATAL;
+  }
+
+  /** @return the label of the type in metrics */
+  String label() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  private static boolean isAbortable(final Throwable error) {
+    return error instanceof TransactionAbortableException
+        || error instanceof InvalidProducerEpochException;
+  }
+}
@@ -17,6 +17,9 @@ package io.zeebe.exporters.kafka.producer;
 
 import io.zeebe.exporters.kafka.record.FullRecordBatchException;
 import io.zeebe.exporters.kafka.serde.RecordId;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import org.apache.kafka.clients.producer.ProducerRecord;
 
 /**
@@ -53,14 +56,68 @@ public interface RecordBatch extends AutoCloseable {
    * <p>NOTE: This method should not throw any error, as it's not expected to be called from a path
    * where errors can be safely handled, i.e. in a scheduled task.
    *
-   * <p>NOTE: this is expected to be an atomic operation. Either ALL records were flushed, or none
-   * of them were.
+   * <p>NOTE: implementations may commit the batch in several steps, e.g. to bound the size or
+   * duration of a single transaction, but only ever between records of different positions. Each
+   * step then reports its highest committed position, such that the exported position advances
+   * step by step; records of the same position are always committed together, and those not yet
+   * committed are kept in the batch and retried on the next flush.
    */
   void flush();
 
+  /**
+   * Changes the maximum number of records the batch can hold, for bounded implementations. Records
+   * already in the batch are kept, even if there are more of them than the new maximum; the batch
+   * is then considered full until it's flushed.
+   *
+   * @param maxBatchSize the new maximum number of records
+   */
+  default void setMaxBatchSize(final int maxBatchSize) {}
+
+  /**
+   * Closes the underlying producer, if any, without dropping the records of the batch: they are
+   * sent again with a new producer on the next add or flush. Used to recover manually from a
+   * producer stuck in a bad state.
+   */
+  default void resetProducer() {}
+
+  /**
+   * Prepares the batch's producer in the background, such that the first records added don't pay
+   * for its creation, or for fetching the metadata of the given topics. Must not block the caller;
+   * records added meanwhile are buffered until the producer is ready.
+   *
+   * @param topics the topics records are expected to be produced to
+   * @return a future completed once the producer is ready, or failed to be prepared
+   */
+  default CompletableFuture<Void> warmUp(final Collection<String> topics) {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Returns a view of the batch's current state for introspection. May be called from any thread
+   * owning the batch, i.e. the exporter's.
+   *
+   * @return the status of the batch
+   */
+  default RecordBatchStatus getStatus() {
+    return RecordBatchStatus.UNKNOWN;
+  }
+
   /**
    * Should release any resources belonging to the batch. It's not expected that other operations
    * are called after this.
    */
   void close();
+
+  /**
+   * Tries to flush the batch one last time, then closes it. Unlike {@link #close()}, this should
+   * neither block for longer than the given timeout, nor wait for the underlying producer to be
+   * closed; records which could not be flushed in time are dropped, and exported again by the
+   * next leader of the partition.
+   *
+   * @param timeout the maximum time to spend flushing, or {@link Duration#ZERO} to skip it
+   */
+  default void drainAndClose(final Duration timeout) {
+    flush();
+    close();
+  }
 }
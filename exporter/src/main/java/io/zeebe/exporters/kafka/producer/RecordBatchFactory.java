@@ -16,6 +16,9 @@
 package io.zeebe.exporters.kafka.producer;
 
 import io.zeebe.exporters.kafka.config.ProducerConfig;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import java.nio.file.Path;
+import java.util.UUID;
 import java.util.function.LongConsumer;
 import org.slf4j.Logger;
 
@@ -36,9 +39,71 @@ public interface RecordBatchFactory {
       final LongConsumer onFlushCallback,
       final Logger logger);
 
+  /**
+   * Creates a batch which additionally reports producer failures to the given metrics. By default,
+   * failures are not reported.
+   */
+  default RecordBatch newRecordBatch(
+      final ProducerConfig config,
+      final int maxBatchSize,
+      final LongConsumer onFlushCallback,
+      final Logger logger,
+      final ExporterMetrics metrics) {
+    return newRecordBatch(config, maxBatchSize, onFlushCallback, logger);
+  }
+
   static RecordBatchFactory defaultFactory() {
+    return defaultFactory(KafkaProducerFactory.defaultFactory());
+  }
+
+  /**
+   * Creates a factory of transactional batches, whose producers are created by the given factory.
+   * Allows exercising the real batches against mock producers.
+   *
+   * @param producerFactory the factory of the batches' producers
+   * @return a factory of {@link BoundedTransactionalRecordBatch}
+   */
+  static RecordBatchFactory defaultFactory(final KafkaProducerFactory producerFactory) {
+    return new RecordBatchFactory() {
+      @Override
+      public RecordBatch newRecordBatch(
+          final ProducerConfig config,
+          final int maxBatchSize,
+          final LongConsumer onFlushCallback,
+          final Logger logger) {
+        return newRecordBatch(config, maxBatchSize, onFlushCallback, logger, null);
+      }
+
+      @Override
+      public RecordBatch newRecordBatch(
+          final ProducerConfig config,
+          final int maxBatchSize,
+          final LongConsumer onFlushCallback,
+          final Logger logger,
+          final ExporterMetrics metrics) {
+        return new BoundedTransactionalRecordBatch(
+            config,
+            maxBatchSize,
+            onFlushCallback,
+            logger,
+            producerFactory,
+            UUID.randomUUID().toString(),
+            metrics);
+      }
+    };
+  }
+
+  /**
+   * Creates a factory of batches which write records to segment files in the given directory
+   * instead of sending them to Kafka. The producer configuration is ignored, so every batch created
+   * must be given its own directory.
+   *
+   * @param directory the directory to write the segments to
+   * @param segmentSize the size of each segment file
+   * @return a factory of {@link SegmentFileRecordBatch}
+   */
+  static RecordBatchFactory segmentFileFactory(final Path directory, final int segmentSize) {
     return (config, maxBatchSize, onFlushCallback, logger) ->
-        new BoundedTransactionalRecordBatch(
-            config, maxBatchSize, onFlushCallback, logger, KafkaProducerFactory.defaultFactory());
+        new SegmentFileRecordBatch(directory, segmentSize, maxBatchSize, onFlushCallback, logger);
   }
 }
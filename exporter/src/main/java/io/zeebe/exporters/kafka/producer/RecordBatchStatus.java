@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.producer;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A point in time view of a {@link RecordBatch}, exposed for introspection; see {@link
+ * io.zeebe.exporters.kafka.KafkaExporterMXBean}. Getters follow the bean conventions such that it
+ * can be mapped to open data types.
+ */
+public final class RecordBatchStatus {
+  /** Status of batches which do not track it. */
+  public static final RecordBatchStatus UNKNOWN =
+      new RecordBatchStatus(0, 0, "", "UNKNOWN", Map.of(), -1, -1, -1, "");
+
+  private final int recordCount;
+  private final long byteCount;
+  private final String producerId;
+  private final String transactionState;
+  private final Map<String, Long> committedOffsets;
+  private final long lastFlushTime;
+  private final long transactionStartTime;
+  private final long bufferAvailableBytes;
+  private final String lastError;
+
+  /**
+   * @param recordCount the number of records in the batch
+   * @param byteCount the total size of the values of the records in the batch
+   * @param producerId the ID of the batch's producer, e.g. its transactional ID
+   * @param transactionState the state of the producer's transaction, e.g. "IN_TRANSACTION"
+   * @param committedOffsets the highest committed offset, by topic partition
+   * @param lastFlushTime when the batch was last flushed successfully, in epoch milliseconds, or
+   *     -1 if never
+   * @param transactionStartTime when the ongoing transaction began, in epoch milliseconds, or -1
+   *     if there is none
+   * @param bufferAvailableBytes the producer's unused buffer memory, or -1 if unknown
+   * @param lastError a description of the last error which occurred, or empty if none did
+   */
+  public RecordBatchStatus(
+      final int recordCount,
+      final long byteCount,
+      final String producerId,
+      final String transactionState,
+      final Map<String, Long> committedOffsets,
+      final long lastFlushTime,
+      final long transactionStartTime,
+      final long bufferAvailableBytes,
+      final String lastError) {
+    this.recordCount = recordCount;
+    this.byteCount = byteCount;
+    this.producerId = Objects.requireNonNull(producerId);
+    this.transactionState = Objects.requireNonNull(transactionState);
+    this.committedOffsets = Map.copyOf(committedOffsets);
+    this.lastFlushTime = lastFlushTime;
+    this.transactionStartTime = transactionStartTime;
+    this.bufferAvailableBytes = bufferAvailableBytes;
+    this.lastError = Objects.requireNonNull(lastError);
+  }
+
+  public int getRecordCount() {
+    return recordCount;
+  }
+
+  public long getByteCount() {
+    return byteCount;
+  }
+
+  public String getProducerId() {
+    return producerId;
+  }
+
+  public String getTransactionState() {
+    return transactionState;
+  }
+
+  public Map<String, Long> getCommittedOffsets() {
+    return committedOffsets;
+  }
+
+  public long getLastFlushTime() {
+    return lastFlushTime;
+  }
+
+  public long getTransactionStartTime() {
+    return transactionStartTime;
+  }
+
+  public long getBufferAvailableBytes() {
+    return bufferAvailableBytes;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  @Override
+  public String toString() {
+    return "RecordBatchStatus{"
+        + "recordCount="
+        + recordCount
+        + ", byteCount="
+        + byteCount
+        + ", producerId='"
+        + producerId
+        + '\''
+        + ", transactionState='"
+        + transactionState
+        + '\''
+        + ", committedOffsets="
+        + committedOffsets
+        + ", lastFlushTime="
+        + lastFlushTime
+        + ", transactionStartTime="
+        + transactionStartTime
+        + ", bufferAvailableBytes="
+        + bufferAvailableBytes
+        + ", lastError='"
+        + lastError
+        + '\''
+        + '}';
+  }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.producer;
+
+import io.zeebe.exporters.kafka.record.FullRecordBatchException;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import io.zeebe.exporters.kafka.serde.SegmentFormat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+
+/**
+ * A {@link RecordBatch} which appends records to rolling, memory mapped segment files in a local
+ * directory instead of sending them to Kafka; see {@link SegmentFormat} for the layout, and {@code
+ * io.zeebe.exporters.kafka.serde.SegmentReader} to read them back.
+ *
+ * <p>Records are only committed on flush: the segments are forced to disk, and only then is the
+ * committed length in their header updated and forced, followed by their index. Readers never read
+ * past the committed length, so they never observe entries which were not flushed. If the broker
+ * crashes before a flush completes, the next exporter starts a new segment and exports the records
+ * not yet acknowledged again, so records are delivered at least once, as with Kafka. As there is no
+ * network or broker involved, this also serves as a baseline to measure the cost of the
+ * serialization stage on its own.
+ *
+ * <p>The batch is bounded to {@code maxBatchSize} records; once full, it is flushed before adding
+ * more, and only if that fails is a {@link FullRecordBatchException} thrown.
+ */
+final class SegmentFileRecordBatch implements RecordBatch {
+  private static final int INITIAL_INDEX_CAPACITY = 64 * SegmentFormat.INDEX_ENTRY_LENGTH;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final LongConsumer onFlushCallback;
+  private final Logger logger;
+
+  // segments which were rolled over, but whose entries were not committed yet
+  private final List<Segment> rolledSegments = new ArrayList<>();
+  private Segment segment;
+  private long nextSequence = -1;
+
+  private int maxBatchSize;
+  private int recordCount;
+  private long byteCount;
+  private long lastPosition = -1;
+  private long lastFlushTime = -1;
+  private String lastError = "";
+
+  SegmentFileRecordBatch(
+      final Path directory,
+      final int segmentSize,
+      final int maxBatchSize,
+      final LongConsumer onFlushCallback,
+      final Logger logger) {
+    this.directory = Objects.requireNonNull(directory);
+    this.segmentSize = segmentSize;
+    this.maxBatchSize = maxBatchSize;
+    this.onFlushCallback = Objects.requireNonNull(onFlushCallback);
+    this.logger = Objects.requireNonNull(logger);
+  }
+
+  @Override
+  public void add(final ProducerRecord<RecordId, byte[]> record) throws FullRecordBatchException {
+    if (recordCount >= maxBatchSize) {
+      try {
+        commit();
+      } catch (final UncheckedIOException e) {
+        recordError(e);
+        throw new FullRecordBatchException(maxBatchSize, e);
+      }
+    }
+
+    final int length = SegmentFormat.encodedLength(record);
+    if (segment == null || !segment.hasRoom(length)) {
+      roll(length);
+    }
+
+    segment.append(record);
+    recordCount++;
+    byteCount += record.value() == null ? 0 : record.value().length;
+    lastPosition = record.key().getPosition();
+  }
+
+  @Override
+  public void flush() {
+    if (recordCount == 0) {
+      return;
+    }
+
+    try {
+      commit();
+    } catch (final UncheckedIOException e) {
+      recordError(e);
+      logger.warn(
+          "Failed to commit {} records to segments in {}, will retry on next flush",
+          recordCount,
+          directory,
+          e);
+    }
+  }
+
+  @Override
+  public void setMaxBatchSize(final int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  @Override
+  public RecordBatchStatus getStatus() {
+    return new RecordBatchStatus(
+        recordCount,
+        byteCount,
+        segment == null ? directory.toString() : segment.path.toString(),
+        recordCount == 0 ? "COMMITTED" : "APPENDING",
+        Map.of(),
+        lastFlushTime,
+        -1,
+        segment == null ? -1 : segment.buffer.remaining(),
+        lastError);
+  }
+
+  /**
+   * Closes the segments without committing pending entries, truncating them to their committed
+   * length to give back the space reserved for the rest of the segment.
+   */
+  @Override
+  public void close() {
+    for (final Segment rolled : rolledSegments) {
+      closeSegment(rolled);
+    }
+    rolledSegments.clear();
+
+    if (segment != null) {
+      closeSegment(segment);
+      segment = null;
+    }
+  }
+
+  /**
+   * Commits every pending entry, including those of segments already rolled over, and only then
+   * reports the last position as exported. Committing is idempotent, so if it fails halfway
+   * through, it can simply be retried.
+   */
+  private void commit() {
+    final Iterator<Segment> rolled = rolledSegments.iterator();
+    while (rolled.hasNext()) {
+      final Segment pending = rolled.next();
+      pending.commit();
+      closeSegment(pending);
+      rolled.remove();
+    }
+
+    if (segment != null) {
+      segment.commit();
+    }
+
+    onFlushCallback.accept(lastPosition);
+    recordCount = 0;
+    byteCount = 0;
+    lastFlushTime = System.currentTimeMillis();
+  }
+
+  private void roll(final int length) {
+    if (segment != null) {
+      if (segment.hasPendingEntries()) {
+        rolledSegments.add(segment);
+      } else {
+        closeSegment(segment);
+      }
+      segment = null;
+    }
+
+    final long sequence = nextSequence();
+    final int capacity = Math.max(segmentSize, SegmentFormat.HEADER_LENGTH + length);
+    segment = Segment.create(directory, sequence, capacity);
+    nextSequence = sequence + 1;
+    logger.debug("Rolled over to segment {}", segment.path);
+  }
+
+  /** Continues after the highest existing segment, such that segments are never overwritten. */
+  private long nextSequence() {
+    if (nextSequence >= 0) {
+      return nextSequence;
+    }
+
+    try {
+      Files.createDirectories(directory);
+      try (final Stream<Path> files = Files.list(directory)) {
+        return files
+                .map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(SegmentFormat.SEGMENT_SUFFIX))
+                .mapToLong(SegmentFileRecordBatch::sequenceOf)
+                .max()
+                .orElse(-1)
+            + 1;
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(
+          String.format("Failed to list segments of %s", directory), e);
+    }
+  }
+
+  private void closeSegment(final Segment segment) {
+    try {
+      segment.close();
+    } catch (final UncheckedIOException e) {
+      logger.warn("Failed to close segment {}", segment.path, e);
+    }
+  }
+
+  private void recordError(final Exception error) {
+    lastError = Instant.now() + " " + error;
+  }
+
+  private static long sequenceOf(final String segmentFileName) {
+    try {
+      return Long.parseLong(
+          segmentFileName.substring(
+              0, segmentFileName.length() - SegmentFormat.SEGMENT_SUFFIX.length()));
+    } catch (final NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static final class Segment {
+    private final Path path;
+    private final FileChannel channel;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer buffer;
+
+    private ByteBuffer pendingIndex = ByteBuffer.allocate(INITIAL_INDEX_CAPACITY);
+    private int committedLength = SegmentFormat.HEADER_LENGTH;
+    private int count;
+
+    private Segment(
+        final Path path,
+        final FileChannel channel,
+        final FileChannel indexChannel,
+        final MappedByteBuffer buffer) {
+      this.path = path;
+      this.channel = channel;
+      this.indexChannel = indexChannel;
+      this.buffer = buffer;
+    }
+
+    private static Segment create(final Path directory, final long sequence, final int capacity) {
+      final Path path = directory.resolve(SegmentFormat.segmentFileName(sequence));
+      final Path indexPath = directory.resolve(SegmentFormat.indexFileName(sequence));
+      FileChannel channel = null;
+      try {
+        channel =
+            FileChannel.open(
+                path,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        final MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, capacity);
+        SegmentFormat.writeHeader(buffer, SegmentFormat.HEADER_LENGTH, 0);
+        buffer.position(SegmentFormat.HEADER_LENGTH);
+
+        final FileChannel indexChannel =
+            FileChannel.open(indexPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return new Segment(path, channel, indexChannel, buffer);
+      } catch (final IOException e) {
+        closeQuietly(channel);
+        throw new UncheckedIOException(String.format("Failed to create segment %s", path), e);
+      }
+    }
+
+    private boolean hasRoom(final int length) {
+      return buffer.remaining() >= length;
+    }
+
+    private boolean hasPendingEntries() {
+      return buffer.position() > committedLength;
+    }
+
+    private void append(final ProducerRecord<RecordId, byte[]> record) {
+      final int offset = buffer.position();
+      SegmentFormat.encode(buffer, record);
+      count++;
+
+      if (pendingIndex.remaining() < SegmentFormat.INDEX_ENTRY_LENGTH) {
+        final ByteBuffer grown = ByteBuffer.allocate(pendingIndex.capacity() * 2);
+        pendingIndex = grown.put(pendingIndex.flip());
+      }
+      pendingIndex.putLong(record.key().getPosition()).putInt(offset);
+    }
+
+    private void commit() {
+      final int length = buffer.position();
+      if (length > committedLength) {
+        // entries must be durable before the header points to them
+        buffer.force(committedLength, length - committedLength);
+        SegmentFormat.writeHeader(buffer, length, count);
+        buffer.force(0, SegmentFormat.HEADER_LENGTH);
+        committedLength = length;
+      }
+
+      // the index is only a hint for readers, so it can safely lag behind the segment
+      pendingIndex.flip();
+      try {
+        while (pendingIndex.hasRemaining()) {
+          indexChannel.write(pendingIndex);
+        }
+        indexChannel.force(false);
+      } catch (final IOException e) {
+        throw new UncheckedIOException(
+            String.format("Failed to write the index of segment %s", path), e);
+      } finally {
+        pendingIndex.compact();
+      }
+    }
+
+    private void close() {
+      try (channel;
+          indexChannel) {
+        channel.truncate(committedLength);
+      } catch (final IOException e) {
+        throw new UncheckedIOException(String.format("Failed to close segment %s", path), e);
+      }
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+      if (channel == null) {
+        return;
+      }
+
+      try {
+        channel.close();
+      } catch (final IOException ignored) {
+        // nothing to do, the original error is reported instead
+      }
+    }
+  }
+}
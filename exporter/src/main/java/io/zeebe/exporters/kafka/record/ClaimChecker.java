@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.zeebe.exporters.kafka.config.RecordConfig;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.serde.BlobStore;
+import io.zeebe.exporters.kafka.serde.RecordHeaders;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * {@link ClaimChecker} offloads the payload of records bigger than their configured claim check
+ * threshold to a {@link BlobStore}. The blob holds the complete serialized record, while the
+ * exported record keeps all of its metadata, minus its payload, and carries the blob reference in
+ * its {@link RecordHeaders#CLAIM_CHECK} header.
+ *
+ * <p>As blobs are content addressed, offloading the same record again (e.g. when the exporter
+ * retries a record) is idempotent.
+ */
+final class ClaimChecker {
+  private final BlobStore blobStore;
+  private final ExporterMetrics metrics;
+
+  ClaimChecker(final BlobStore blobStore, final ExporterMetrics metrics) {
+    this.blobStore = Objects.requireNonNull(blobStore);
+    this.metrics = Objects.requireNonNull(metrics);
+  }
+
+  ProducerRecord<RecordId, byte[]> offload(
+      final Record<?> record,
+      final RecordConfig config,
+      final ProducerRecord<RecordId, byte[]> producerRecord) {
+    final var threshold = config.getClaimCheckThreshold();
+    final var value = producerRecord.value();
+    if (threshold <= 0 || value == null || value.length <= threshold) {
+      return producerRecord;
+    }
+
+    final var reference = blobStore.put(value);
+    final var stripped = RecordPayloads.stripPayload(value, record.getValueType());
+    final var claimCheckedRecord =
+        new ProducerRecord<>(
+            producerRecord.topic(),
+            producerRecord.partition(),
+            producerRecord.key(),
+            stripped,
+            producerRecord.headers());
+    claimCheckedRecord
+        .headers()
+        .add(RecordHeaders.CLAIM_CHECK, reference.getBytes(StandardCharsets.UTF_8));
+
+    metrics.claimCheckedRecord(record.getValueType(), value.length);
+    return claimCheckedRecord;
+  }
+}
@@ -21,6 +21,7 @@ import io.camunda.zeebe.protocol.record.ValueType;
 import io.zeebe.exporters.kafka.config.RecordsConfig;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * {@link KafkaRecordFilter} is an implementation of {@link RecordFilter} which uses the {@link
@@ -28,9 +29,19 @@ import java.util.Optional;
  */
 public final class KafkaRecordFilter implements RecordFilter {
   private final RecordsConfig config;
+  private final Set<ValueType> observedValueTypes;
 
   public KafkaRecordFilter(final RecordsConfig config) {
+    this(config, Set.of());
+  }
+
+  /**
+   * @param observedValueTypes value types whose events are always accepted, even if they are not
+   *     exported, as they are observed to enrich or aggregate records
+   */
+  public KafkaRecordFilter(final RecordsConfig config, final Set<ValueType> observedValueTypes) {
     this.config = Objects.requireNonNull(config);
+    this.observedValueTypes = Objects.requireNonNull(observedValueTypes);
   }
 
   /**
@@ -42,7 +53,8 @@ public final class KafkaRecordFilter implements RecordFilter {
    */
   @Override
   public boolean acceptType(final RecordType recordType) {
-    return config.getDefaults().getAllowedTypes().contains(recordType)
+    return (!observedValueTypes.isEmpty() && recordType == RecordType.EVENT)
+        || config.getDefaults().getAllowedTypes().contains(recordType)
         || config.getTypeMap().values().stream()
             .anyMatch(c -> c.getAllowedTypes().contains(recordType));
   }
@@ -57,9 +69,10 @@ public final class KafkaRecordFilter implements RecordFilter {
    */
   @Override
   public boolean acceptValue(final ValueType valueType) {
-    return !Optional.ofNullable(config.getTypeMap().get(valueType))
-        .orElse(config.getDefaults())
-        .getAllowedTypes()
-        .isEmpty();
+    return observedValueTypes.contains(valueType)
+        || !Optional.ofNullable(config.getTypeMap().get(valueType))
+            .orElse(config.getDefaults())
+            .getAllowedTypes()
+            .isEmpty();
   }
 }
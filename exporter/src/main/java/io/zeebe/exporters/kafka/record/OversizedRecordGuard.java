@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.zeebe.exporters.kafka.config.RecordConfig;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.serde.RecordHeaders;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * {@link OversizedRecordGuard} applies the configured {@link
+ * io.zeebe.exporters.kafka.config.OversizedRecordPolicy} to records whose serialized size exceeds
+ * the producer's maximum request size. As the producer would reject such records, the batch would
+ * otherwise be retried forever, blocking exporting for the whole partition.
+ *
+ * <p>The size check is done on the serialized value only, leaving some headroom for the key,
+ * headers, and Kafka's own record overhead.
+ */
+final class OversizedRecordGuard {
+  // headroom for the key, headers, and the record/batch overhead added by the producer
+  static final int RECORD_OVERHEAD_BYTES = 1024;
+  static final String DEAD_LETTER_REASON = "oversized";
+
+  private final int maxValueSize;
+  private final ExporterMetrics metrics;
+
+  OversizedRecordGuard(final int maxRequestSize, final ExporterMetrics metrics) {
+    maxValueSize = Math.max(1, maxRequestSize - RECORD_OVERHEAD_BYTES);
+    this.metrics = Objects.requireNonNull(metrics);
+  }
+
+  /**
+   * Returns the records to send for the given record, applying the configured policy if it's too
+   * big to be sent. If it isn't, the producer record is returned as is.
+   */
+  List<ProducerRecord<RecordId, byte[]>> guard(
+      final Record<?> record,
+      final RecordConfig config,
+      final ProducerRecord<RecordId, byte[]> producerRecord) {
+    if (producerRecord.value() == null || producerRecord.value().length <= maxValueSize) {
+      return List.of(producerRecord);
+    }
+
+    final var valueType = record.getValueType();
+    switch (config.getOversizedPolicy()) {
+      case TRUNCATE:
+        return List.of(truncate(record, config, producerRecord));
+      case DEAD_LETTER:
+        metrics.oversizedRecord(valueType, "deadLettered");
+        return List.of(deadLetter(record, config, producerRecord));
+      case SPLIT:
+        metrics.oversizedRecord(valueType, "split");
+        return split(producerRecord);
+      case NONE:
+      default:
+        metrics.oversizedRecord(valueType, "none");
+        return List.of(producerRecord);
+    }
+  }
+
+  private ProducerRecord<RecordId, byte[]> truncate(
+      final Record<?> record,
+      final RecordConfig config,
+      final ProducerRecord<RecordId, byte[]> producerRecord) {
+    final var originalSize = producerRecord.value().length;
+    final var truncated =
+        RecordPayloads.stripPayload(producerRecord.value(), record.getValueType());
+
+    if (truncated.length > maxValueSize) {
+      metrics.oversizedRecord(record.getValueType(), "deadLettered");
+      return deadLetter(record, config, producerRecord);
+    }
+
+    metrics.oversizedRecord(record.getValueType(), "truncated");
+    final var truncatedRecord = copyWithValue(producerRecord, truncated);
+    truncatedRecord.headers().add(RecordHeaders.TRUNCATED, encode(originalSize));
+    return truncatedRecord;
+  }
+
+  private ProducerRecord<RecordId, byte[]> deadLetter(
+      final Record<?> record,
+      final RecordConfig config,
+      final ProducerRecord<RecordId, byte[]> producerRecord) {
+    final var stub = RecordPayloads.MAPPER.createObjectNode();
+    stub.put("partitionId", record.getPartitionId());
+    stub.put("position", record.getPosition());
+    stub.put("key", record.getKey());
+    stub.put("timestamp", record.getTimestamp());
+    stub.put("recordType", record.getRecordType().name());
+    stub.put("valueType", record.getValueType().name());
+    stub.put("intent", String.valueOf(record.getIntent()));
+    stub.put("topic", producerRecord.topic());
+    stub.put("size", producerRecord.value().length);
+
+    final byte[] value;
+    try {
+      value = RecordPayloads.MAPPER.writeValueAsBytes(stub);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    final var deadLetterRecord =
+        new ProducerRecord<>(config.getDeadLetterTopic(), producerRecord.key(), value);
+    deadLetterRecord
+        .headers()
+        .add(
+            RecordHeaders.DEAD_LETTER_REASON,
+            DEAD_LETTER_REASON.getBytes(StandardCharsets.UTF_8));
+    return deadLetterRecord;
+  }
+
+  private List<ProducerRecord<RecordId, byte[]>> split(
+      final ProducerRecord<RecordId, byte[]> producerRecord) {
+    final var value = producerRecord.value();
+    final var chunkCount = (value.length + maxValueSize - 1) / maxValueSize;
+    final var chunks = new ArrayList<ProducerRecord<RecordId, byte[]>>(chunkCount);
+    final var recordId =
+        encode(producerRecord.key().getPartitionId() + "-" + producerRecord.key().getPosition());
+
+    for (int i = 0; i < chunkCount; i++) {
+      final var from = i * maxValueSize;
+      final var chunk =
+          Arrays.copyOfRange(value, from, Math.min(value.length, from + maxValueSize));
+      final var chunkRecord = copyWithValue(producerRecord, chunk);
+      chunkRecord.headers().add(RecordHeaders.CHUNK_INDEX, encode(i));
+      chunkRecord.headers().add(RecordHeaders.CHUNK_COUNT, encode(chunkCount));
+      chunkRecord.headers().add(RecordHeaders.CHUNK_RECORD_ID, recordId);
+      chunks.add(chunkRecord);
+    }
+
+    return chunks;
+  }
+
+  private static ProducerRecord<RecordId, byte[]> copyWithValue(
+      final ProducerRecord<RecordId, byte[]> producerRecord, final byte[] value) {
+    return new ProducerRecord<>(
+        producerRecord.topic(),
+        producerRecord.partition(),
+        producerRecord.key(),
+        value,
+        producerRecord.headers());
+  }
+
+  private static byte[] encode(final int value) {
+    return encode(String.valueOf(value));
+  }
+
+  private static byte[] encode(final String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import java.util.Arrays;
+import org.agrona.collections.Long2LongHashMap;
+
+/**
+ * {@link ProcessInstanceCache} is a bounded LRU cache keyed by process instance key. Entries live
+ * in pre-allocated arrays, linked in access order through their slot indexes, and a primitive
+ * {@link Long2LongHashMap} maps keys to slots, such that lookups and updates never box the key nor
+ * allocate, and the memory used is bounded by the capacity given on creation.
+ *
+ * <p>Not thread safe; it's only used from the exporter's thread.
+ *
+ * @param <V> the type of the cached values
+ */
+final class ProcessInstanceCache<V> {
+  private static final int NONE = -1;
+
+  private final int capacity;
+  private final Long2LongHashMap slots;
+  private final long[] keys;
+  private final Object[] values;
+  private final int[] previous;
+  private final int[] next;
+
+  private int head = NONE;
+  private int tail = NONE;
+  private int freeHead = NONE;
+  private int allocated;
+  private int size;
+
+  ProcessInstanceCache(final int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(
+          String.format("Expected capacity to be positive, but got %d", capacity));
+    }
+
+    this.capacity = capacity;
+    slots = new Long2LongHashMap(capacity * 2, 0.65f, NONE);
+    keys = new long[capacity];
+    values = new Object[capacity];
+    previous = new int[capacity];
+    next = new int[capacity];
+    Arrays.fill(previous, NONE);
+    Arrays.fill(next, NONE);
+  }
+
+  /**
+   * Returns the value cached for the given key, marking it as most recently used.
+   *
+   * @param key the process instance key
+   * @return the cached value, or null if none
+   */
+  @SuppressWarnings("unchecked")
+  V get(final long key) {
+    final int slot = (int) slots.get(key);
+    if (slot == NONE) {
+      return null;
+    }
+
+    moveToHead(slot);
+    return (V) values[slot];
+  }
+
+  /**
+   * Caches the value for the given key as most recently used, evicting the least recently used
+   * entry if the cache is full.
+   *
+   * @param key the process instance key
+   * @param value the value to cache
+   */
+  void put(final long key, final V value) {
+    int slot = (int) slots.get(key);
+    if (slot != NONE) {
+      values[slot] = value;
+      moveToHead(slot);
+      return;
+    }
+
+    if (freeHead != NONE) {
+      slot = freeHead;
+      freeHead = next[slot];
+    } else if (allocated < capacity) {
+      slot = allocated++;
+    } else {
+      slot = tail;
+      unlink(slot);
+      slots.remove(keys[slot]);
+      size--;
+    }
+
+    keys[slot] = key;
+    values[slot] = value;
+    slots.put(key, slot);
+    linkHead(slot);
+    size++;
+  }
+
+  /**
+   * Removes the entry for the given key, if any.
+   *
+   * @param key the process instance key
+   */
+  void remove(final long key) {
+    final int slot = (int) slots.remove(key);
+    if (slot == NONE) {
+      return;
+    }
+
+    unlink(slot);
+    values[slot] = null;
+    next[slot] = freeHead;
+    freeHead = slot;
+    size--;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int capacity() {
+    return capacity;
+  }
+
+  private void moveToHead(final int slot) {
+    if (slot != head) {
+      unlink(slot);
+      linkHead(slot);
+    }
+  }
+
+  private void linkHead(final int slot) {
+    previous[slot] = NONE;
+    next[slot] = head;
+    if (head != NONE) {
+      previous[head] = slot;
+    }
+
+    head = slot;
+    if (tail == NONE) {
+      tail = slot;
+    }
+  }
+
+  private void unlink(final int slot) {
+    final int before = previous[slot];
+    final int after = next[slot];
+
+    if (before != NONE) {
+      next[before] = after;
+    } else {
+      head = after;
+    }
+
+    if (after != NONE) {
+      previous[after] = before;
+    } else {
+      tail = before;
+    }
+
+    previous[slot] = NONE;
+    next[slot] = NONE;
+  }
+}
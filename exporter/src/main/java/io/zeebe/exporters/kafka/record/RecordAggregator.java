@@ -0,0 +1,366 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.Intent;
+import io.camunda.zeebe.protocol.record.intent.JobIntent;
+import io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent;
+import io.camunda.zeebe.protocol.record.value.JobRecordValue;
+import io.camunda.zeebe.protocol.record.value.ProcessInstanceRecordValue;
+import io.zeebe.exporters.kafka.config.AggregationConfig;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.Object2IntHashMap;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * {@link RecordAggregator} rolls up process instance and job events into per-window summaries.
+ * Events are grouped by value type, BPMN process ID, element ID and intent, and counted over
+ * tumbling windows based on the records' timestamps. Completed, terminated, failed, timed out and
+ * canceled elements and jobs additionally record their duration since activation or creation in
+ * a histogram.
+ *
+ * <p>A window is closed by the first record whose timestamp falls after it, at which point one
+ * JSON summary per group is produced, keyed by the position of the closing record. Windows are
+ * therefore only closed while records are exported, and the window in progress when the exporter
+ * restarts only counts the records exported after the restart.
+ *
+ * <p>The broker exports a record again if exporting it failed, e.g. because a batch was full.
+ * Records at or below the last observed position are therefore not counted again, and the
+ * summaries of a closed window are kept pending until {@link #onSummariesAdded()} confirms they
+ * were added to a batch; until then, they're returned again when the closing record is retried.
+ *
+ * <p>Groups are indexed once per window, and their counters kept in primitive arrays, such that
+ * aggregating a record does not allocate unless it opens a new group.
+ */
+final class RecordAggregator {
+  /** Upper bounds of the duration histogram buckets, in milliseconds; the last one is +Inf. */
+  static final long[] BUCKET_BOUNDS_MS = {10, 50, 100, 500, 1_000, 5_000, 10_000, 60_000, 300_000};
+
+  /** Bounds the number of elements and jobs whose start is remembered to compute durations. */
+  static final int MAX_TRACKED_STARTS = 100_000;
+
+  private static final int BUCKET_COUNT = BUCKET_BOUNDS_MS.length + 1;
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int MISSING_INDEX = -1;
+  private static final long MISSING_START = -1;
+
+  private final String topic;
+  private final long windowMs;
+  private final int maxGroups;
+  private final ExporterMetrics metrics;
+
+  private final Object2IntHashMap<GroupKey> groupIndex = new Object2IntHashMap<>(MISSING_INDEX);
+  private final Long2LongHashMap starts = new Long2LongHashMap(MISSING_START);
+  private final GroupKey probe = new GroupKey();
+
+  private GroupKey[] keys = new GroupKey[INITIAL_CAPACITY];
+  private long[] counts = new long[INITIAL_CAPACITY];
+  private long[] durationCounts = new long[INITIAL_CAPACITY];
+  private long[] durationSums = new long[INITIAL_CAPACITY];
+  private long[] durationMins = new long[INITIAL_CAPACITY];
+  private long[] durationMaxs = new long[INITIAL_CAPACITY];
+  private long[] buckets = new long[INITIAL_CAPACITY * BUCKET_COUNT];
+  private int groupCount;
+  private long windowStart = -1;
+  private long lastPosition = -1;
+  private List<ProducerRecord<RecordId, byte[]>> pendingSummaries = List.of();
+
+  RecordAggregator(final AggregationConfig config, final ExporterMetrics metrics) {
+    topic = config.getTopic().orElseThrow();
+    windowMs = config.getWindow().toMillis();
+    maxGroups = config.getMaxGroups();
+    this.metrics = Objects.requireNonNull(metrics);
+  }
+
+  /**
+   * Aggregates the given record if it's a process instance or job event, after closing the current
+   * window if the record falls after it. Must be called for every record, including those which are
+   * not exported.
+   *
+   * @param record the record to observe
+   * @return the summaries of the window closed by this record, or still pending from a previous
+   *     attempt to export it; usually none
+   */
+  List<ProducerRecord<RecordId, byte[]>> observe(final Record<?> record) {
+    if (record.getPosition() <= lastPosition) {
+      return pendingSummaries;
+    }
+
+    lastPosition = record.getPosition();
+    final long timestamp = record.getTimestamp();
+    if (windowStart < 0) {
+      windowStart = windowStartOf(timestamp);
+    } else if (timestamp >= windowStart + windowMs) {
+      pendingSummaries = closeWindow(record);
+      windowStart = windowStartOf(timestamp);
+    }
+
+    if (record.getRecordType() == RecordType.EVENT) {
+      if (record.getValueType() == ValueType.PROCESS_INSTANCE) {
+        aggregateProcessInstance(record, (ProcessInstanceRecordValue) record.getValue());
+      } else if (record.getValueType() == ValueType.JOB) {
+        aggregateJob(record, (JobRecordValue) record.getValue());
+      }
+    }
+
+    return pendingSummaries;
+  }
+
+  /** Should be called once the summaries last returned by {@link #observe(Record)} are batched. */
+  void onSummariesAdded() {
+    pendingSummaries = List.of();
+  }
+
+  private void aggregateProcessInstance(
+      final Record<?> record, final ProcessInstanceRecordValue value) {
+    final long duration;
+    final Intent intent = record.getIntent();
+    if (intent == ProcessInstanceIntent.ELEMENT_ACTIVATING) {
+      trackStart(record);
+      duration = -1;
+    } else if (intent == ProcessInstanceIntent.ELEMENT_COMPLETED
+        || intent == ProcessInstanceIntent.ELEMENT_TERMINATED) {
+      duration = durationSince(record, starts.remove(record.getKey()));
+    } else {
+      duration = -1;
+    }
+
+    aggregate(record, value.getBpmnProcessId(), value.getElementId(), duration);
+  }
+
+  private void aggregateJob(final Record<?> record, final JobRecordValue value) {
+    final long duration;
+    final Intent intent = record.getIntent();
+    if (intent == JobIntent.CREATED) {
+      trackStart(record);
+      duration = -1;
+    } else if (intent == JobIntent.COMPLETED
+        || intent == JobIntent.ERROR_THROWN
+        || intent == JobIntent.CANCELED) {
+      duration = durationSince(record, starts.remove(record.getKey()));
+    } else if (intent == JobIntent.FAILED || intent == JobIntent.TIMED_OUT) {
+      // the job may still be retried, so keep its creation time
+      duration = durationSince(record, starts.get(record.getKey()));
+    } else {
+      duration = -1;
+    }
+
+    aggregate(record, value.getBpmnProcessId(), value.getElementId(), duration);
+  }
+
+  private void trackStart(final Record<?> record) {
+    if (starts.size() < MAX_TRACKED_STARTS) {
+      starts.put(record.getKey(), record.getTimestamp());
+    }
+  }
+
+  private void aggregate(
+      final Record<?> record,
+      final String bpmnProcessId,
+      final String elementId,
+      final long duration) {
+    probe.set(record.getValueType(), bpmnProcessId, elementId, record.getIntent());
+    int index = groupIndex.getValue(probe);
+    if (index == MISSING_INDEX) {
+      if (groupCount >= maxGroups) {
+        metrics.aggregationOverflow();
+        return;
+      }
+
+      index = addGroup(probe.copy());
+    }
+
+    counts[index]++;
+    if (duration >= 0) {
+      durationCounts[index]++;
+      durationSums[index] += duration;
+      durationMins[index] = Math.min(durationMins[index], duration);
+      durationMaxs[index] = Math.max(durationMaxs[index], duration);
+      buckets[index * BUCKET_COUNT + bucketOf(duration)]++;
+    }
+  }
+
+  private int addGroup(final GroupKey key) {
+    if (groupCount == keys.length) {
+      grow();
+    }
+
+    final int index = groupCount++;
+    keys[index] = key;
+    durationMins[index] = Long.MAX_VALUE;
+    groupIndex.put(key, index);
+    return index;
+  }
+
+  private void grow() {
+    final int capacity = Math.min(keys.length * 2, maxGroups);
+    keys = Arrays.copyOf(keys, capacity);
+    counts = Arrays.copyOf(counts, capacity);
+    durationCounts = Arrays.copyOf(durationCounts, capacity);
+    durationSums = Arrays.copyOf(durationSums, capacity);
+    durationMins = Arrays.copyOf(durationMins, capacity);
+    durationMaxs = Arrays.copyOf(durationMaxs, capacity);
+    buckets = Arrays.copyOf(buckets, capacity * BUCKET_COUNT);
+  }
+
+  private List<ProducerRecord<RecordId, byte[]>> closeWindow(final Record<?> closingRecord) {
+    if (groupCount == 0) {
+      return List.of();
+    }
+
+    final var id = new RecordId(closingRecord.getPartitionId(), closingRecord.getPosition());
+    final List<ProducerRecord<RecordId, byte[]>> summaries = new ArrayList<>(groupCount);
+    for (int i = 0; i < groupCount; i++) {
+      final var summary = summarize(closingRecord.getPartitionId(), i);
+      summaries.add(new ProducerRecord<>(topic, id, summary));
+    }
+
+    metrics.aggregationSummaries(groupCount);
+    reset();
+    return summaries;
+  }
+
+  private byte[] summarize(final int partitionId, final int index) {
+    final GroupKey key = keys[index];
+    final ObjectNode summary = RecordPayloads.MAPPER.createObjectNode();
+    summary.put("partitionId", partitionId);
+    summary.put("windowStart", windowStart);
+    summary.put("windowEnd", windowStart + windowMs);
+    summary.put("valueType", key.valueType.name());
+    summary.put("bpmnProcessId", key.bpmnProcessId);
+    summary.put("elementId", key.elementId);
+    summary.put("intent", key.intent.name());
+    summary.put("count", counts[index]);
+
+    if (durationCounts[index] > 0) {
+      final ObjectNode duration = summary.putObject("duration");
+      duration.put("count", durationCounts[index]);
+      duration.put("sumMs", durationSums[index]);
+      duration.put("minMs", durationMins[index]);
+      duration.put("maxMs", durationMaxs[index]);
+
+      // cumulative counts, as in Prometheus histograms
+      final ObjectNode histogram = duration.putObject("buckets");
+      long cumulative = 0;
+      for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+        cumulative += buckets[index * BUCKET_COUNT + bucket];
+        final String bound =
+            bucket < BUCKET_BOUNDS_MS.length ? String.valueOf(BUCKET_BOUNDS_MS[bucket]) : "+Inf";
+        histogram.put(bound, cumulative);
+      }
+    }
+
+    try {
+      return RecordPayloads.MAPPER.writeValueAsBytes(summary);
+    } catch (final JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void reset() {
+    groupIndex.clear();
+    Arrays.fill(keys, 0, groupCount, null);
+    Arrays.fill(counts, 0, groupCount, 0);
+    Arrays.fill(durationCounts, 0, groupCount, 0);
+    Arrays.fill(durationSums, 0, groupCount, 0);
+    Arrays.fill(durationMaxs, 0, groupCount, 0);
+    Arrays.fill(buckets, 0, groupCount * BUCKET_COUNT, 0);
+    groupCount = 0;
+  }
+
+  private long windowStartOf(final long timestamp) {
+    return timestamp - Math.floorMod(timestamp, windowMs);
+  }
+
+  private static long durationSince(final Record<?> record, final long start) {
+    return start == MISSING_START ? -1 : Math.max(0, record.getTimestamp() - start);
+  }
+
+  private static int bucketOf(final long duration) {
+    for (int bucket = 0; bucket < BUCKET_BOUNDS_MS.length; bucket++) {
+      if (duration <= BUCKET_BOUNDS_MS[bucket]) {
+        return bucket;
+      }
+    }
+
+    return BUCKET_BOUNDS_MS.length;
+  }
+
+  /**
+   * Mutable such that a single instance can be reused to look up groups; only copies are stored
+   * in the index.
+   */
+  private static final class GroupKey {
+    private ValueType valueType;
+    private String bpmnProcessId;
+    private String elementId;
+    private Intent intent;
+    private int hash;
+
+    private void set(
+        final ValueType valueType,
+        final String bpmnProcessId,
+        final String elementId,
+        final Intent intent) {
+      this.valueType = valueType;
+      this.bpmnProcessId = bpmnProcessId;
+      this.elementId = elementId;
+      this.intent = intent;
+      hash =
+          31 * (31 * (31 * valueType.hashCode() + Objects.hashCode(bpmnProcessId))
+                  + Objects.hashCode(elementId))
+              + intent.hashCode();
+    }
+
+    private GroupKey copy() {
+      final GroupKey copy = new GroupKey();
+      copy.set(valueType, bpmnProcessId, elementId, intent);
+      return copy;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof GroupKey)) {
+        return false;
+      }
+      final GroupKey that = (GroupKey) o;
+      return valueType == that.valueType
+          && intent == that.intent
+          && Objects.equals(bpmnProcessId, that.bpmnProcessId)
+          && Objects.equals(elementId, that.elementId);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.RejectionType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.Intent;
+import io.camunda.zeebe.protocol.record.value.BpmnElementType;
+import io.zeebe.exporters.kafka.config.RecordFilterConfig;
+import io.zeebe.exporters.kafka.config.RecordsConfig;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link RecordContentFilter} drops records based on their contents, as configured by each value
+ * type's {@link RecordFilterConfig}. The rules are compiled once per value type when the exporter
+ * is configured, such that testing a record only performs bit and hash lookups, without
+ * allocating:
+ *
+ * <ul>
+ *   <li>intents are resolved for the value type, and kept in a bitmap indexed by their protocol
+ *       value
+ *   <li>element and rejection types are kept in {@link EnumSet}s
+ *   <li>BPMN process and tenant IDs are kept in hash sets
+ *   <li>the sample rate is turned into a threshold on the hashed process instance key
+ * </ul>
+ *
+ * <p>Rules are tested from the cheapest to the most expensive, and each dropped record is counted
+ * under the rule which dropped it.
+ */
+final class RecordContentFilter {
+  static final String RULE_INTENT = "intent";
+  static final String RULE_SAMPLING = "sampling";
+  static final String RULE_REJECTION_TYPE = "rejectionType";
+  static final String RULE_ELEMENT_TYPE = "elementType";
+  static final String RULE_TENANT_ID = "tenantId";
+  static final String RULE_BPMN_PROCESS_ID = "bpmnProcessId";
+
+  // the number of distinct sample points, i.e. the precision of a double
+  private static final long SAMPLE_SPACE = 1L << 53;
+
+  private final Map<ValueType, Rules> rules = new EnumMap<>(ValueType.class);
+  private final ExporterMetrics metrics;
+
+  RecordContentFilter(final RecordsConfig config, final ExporterMetrics metrics) {
+    this.metrics = metrics;
+
+    for (final ValueType valueType : ValueType.values()) {
+      final RecordFilterConfig filter = config.forType(valueType).getFilter();
+      if (!filter.isEmpty()) {
+        rules.put(valueType, new Rules(valueType, filter));
+      }
+    }
+  }
+
+  /**
+   * @param record the record to test
+   * @return true if the record should be dropped, false otherwise
+   */
+  boolean drops(final Record<?> record) {
+    final Rules valueTypeRules = rules.get(record.getValueType());
+    if (valueTypeRules == null) {
+      return false;
+    }
+
+    final String rule = valueTypeRules.match(record);
+    if (rule == null) {
+      return false;
+    }
+
+    metrics.filteredRecord(record.getValueType(), rule);
+    return true;
+  }
+
+  private static final class Rules {
+    private final BitSet intents = new BitSet();
+    private final Set<RejectionType> rejectionTypes;
+    private final Set<BpmnElementType> elementTypes;
+    private final Set<String> tenantIds;
+    private final Set<String> bpmnProcessIds;
+    private final long sampleThreshold;
+
+    private Rules(final ValueType valueType, final RecordFilterConfig filter) {
+      for (final String name : filter.getExcludedIntents()) {
+        resolveIntent(valueType, name);
+      }
+
+      rejectionTypes = EnumSet.noneOf(RejectionType.class);
+      rejectionTypes.addAll(filter.getExcludedRejectionTypes());
+      elementTypes = EnumSet.noneOf(BpmnElementType.class);
+      elementTypes.addAll(filter.getExcludedElementTypes());
+      tenantIds = new HashSet<>(filter.getExcludedTenantIds());
+      bpmnProcessIds = new HashSet<>(filter.getExcludedBpmnProcessIds());
+      sampleThreshold =
+          filter.getSampleRate() >= 1.0
+              ? SAMPLE_SPACE
+              : (long) (filter.getSampleRate() * SAMPLE_SPACE);
+    }
+
+    private void resolveIntent(final ValueType valueType, final String name) {
+      try {
+        final Intent intent = Intent.fromProtocolValue(valueType, name);
+        if (intent != Intent.UNKNOWN) {
+          intents.set(intent.value());
+        }
+      } catch (final IllegalArgumentException e) {
+        // intents are shared with the defaults, and may not exist for every value type
+      }
+    }
+
+    private String match(final Record<?> record) {
+      if (!intents.isEmpty() && intents.get(record.getIntent().value())) {
+        return RULE_INTENT;
+      }
+
+      if (sampleThreshold < SAMPLE_SPACE && !isSampled(record)) {
+        return RULE_SAMPLING;
+      }
+
+      if (record.getRecordType() == RecordType.COMMAND_REJECTION
+          && rejectionTypes.contains(record.getRejectionType())) {
+        return RULE_REJECTION_TYPE;
+      }
+
+      if (!elementTypes.isEmpty()
+          && elementTypes.contains(RecordValues.bpmnElementTypeOf(record.getValue()))) {
+        return RULE_ELEMENT_TYPE;
+      }
+
+      if (!tenantIds.isEmpty() && tenantIds.contains(RecordValues.tenantIdOf(record.getValue()))) {
+        return RULE_TENANT_ID;
+      }
+
+      if (!bpmnProcessIds.isEmpty()
+          && bpmnProcessIds.contains(RecordValues.bpmnProcessIdOf(record.getValue()))) {
+        return RULE_BPMN_PROCESS_ID;
+      }
+
+      return null;
+    }
+
+    private boolean isSampled(final Record<?> record) {
+      final long processInstanceKey = RecordValues.processInstanceKeyOf(record.getValue());
+      if (processInstanceKey <= 0) {
+        return true;
+      }
+
+      // keys are sequential, so mix them before keeping the upper 53 bits as the sample point
+      return (mix(processInstanceKey) >>> 11) < sampleThreshold;
+    }
+
+    // the finalizer of SplitMix64, which spreads sequential keys uniformly
+    private static long mix(final long key) {
+      long hash = key;
+      hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+      hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+      return hash ^ (hash >>> 31);
+    }
+  }
+}
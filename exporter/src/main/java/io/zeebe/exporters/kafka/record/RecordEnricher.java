@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent;
+import io.camunda.zeebe.protocol.record.value.BpmnElementType;
+import io.camunda.zeebe.protocol.record.value.ProcessInstanceRecordValue;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.serde.RecordHeaders;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * {@link RecordEnricher} remembers the BPMN process ID, version and tenant of the process instances
+ * seen on PROCESS_INSTANCE records, and adds them as headers to the other records belonging to
+ * these instances (e.g. jobs, incidents, variables, timers); see {@link RecordHeaders}.
+ *
+ * <p>Process instances are kept in a bounded {@link ProcessInstanceCache}, and removed once their
+ * process element is completed or terminated. The header values are encoded once per process
+ * definition and shared by all of its instances.
+ */
+final class RecordEnricher {
+  private final ProcessInstanceCache<ProcessInfo> instances;
+  private final Long2ObjectHashMap<ProcessInfo> definitions = new Long2ObjectHashMap<>();
+  private final ExporterMetrics metrics;
+
+  RecordEnricher(final int cacheSize, final ExporterMetrics metrics) {
+    instances = new ProcessInstanceCache<>(cacheSize);
+    this.metrics = Objects.requireNonNull(metrics);
+    metrics.enrichmentCacheCapacity(cacheSize);
+  }
+
+  /**
+   * Remembers the process instance of the given record, if it's a PROCESS_INSTANCE event. Must be
+   * called for every record, including those which are not exported.
+   *
+   * @param record the record to observe
+   */
+  void observe(final Record<?> record) {
+    if (record.getValueType() != ValueType.PROCESS_INSTANCE
+        || record.getRecordType() != RecordType.EVENT) {
+      return;
+    }
+
+    final var value = (ProcessInstanceRecordValue) record.getValue();
+    final long processInstanceKey = value.getProcessInstanceKey();
+    if (value.getBpmnElementType() == BpmnElementType.PROCESS
+        && (record.getIntent() == ProcessInstanceIntent.ELEMENT_COMPLETED
+            || record.getIntent() == ProcessInstanceIntent.ELEMENT_TERMINATED)) {
+      instances.remove(processInstanceKey);
+    } else if (instances.get(processInstanceKey) == null) {
+      instances.put(processInstanceKey, processInfoOf(value));
+    } else {
+      return;
+    }
+
+    metrics.enrichmentCacheEntries(instances.size());
+  }
+
+  /**
+   * Adds the process headers to the given producer record, if the record belongs to a known
+   * process instance.
+   *
+   * @param record the record being exported
+   * @param producerRecord the record which will be sent
+   */
+  void enrich(final Record<?> record, final ProducerRecord<RecordId, byte[]> producerRecord) {
+    if (record.getValueType() == ValueType.PROCESS_INSTANCE) {
+      return;
+    }
+
+    final long processInstanceKey = RecordValues.processInstanceKeyOf(record.getValue());
+    if (processInstanceKey <= 0) {
+      return;
+    }
+
+    final ProcessInfo info = instances.get(processInstanceKey);
+    metrics.enrichmentLookup(info != null);
+    if (info != null) {
+      final Headers headers = producerRecord.headers();
+      headers.add(RecordHeaders.BPMN_PROCESS_ID, info.bpmnProcessId);
+      headers.add(RecordHeaders.PROCESS_VERSION, info.version);
+      headers.add(RecordHeaders.TENANT_ID, info.tenantId);
+    }
+  }
+
+  private ProcessInfo processInfoOf(final ProcessInstanceRecordValue value) {
+    final long processDefinitionKey = value.getProcessDefinitionKey();
+    final ProcessInfo info = definitions.get(processDefinitionKey);
+    if (info != null) {
+      return info;
+    }
+
+    // the number of deployed processes is usually small, but still bound it by the cache size
+    if (definitions.size() >= instances.capacity()) {
+      definitions.clear();
+    }
+
+    final ProcessInfo created =
+        new ProcessInfo(value.getBpmnProcessId(), value.getVersion(), value.getTenantId());
+    definitions.put(processDefinitionKey, created);
+    return created;
+  }
+
+  private static final class ProcessInfo {
+    private final byte[] bpmnProcessId;
+    private final byte[] version;
+    private final byte[] tenantId;
+
+    private ProcessInfo(final String bpmnProcessId, final int version, final String tenantId) {
+      this.bpmnProcessId = bpmnProcessId.getBytes(StandardCharsets.UTF_8);
+      this.version = String.valueOf(version).getBytes(StandardCharsets.UTF_8);
+      this.tenantId = String.valueOf(tenantId).getBytes(StandardCharsets.UTF_8);
+    }
+  }
+}
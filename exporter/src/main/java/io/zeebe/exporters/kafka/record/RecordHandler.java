@@ -16,11 +16,19 @@
 package io.zeebe.exporters.kafka.record;
 
 import io.camunda.zeebe.protocol.record.Record;
+import io.zeebe.exporters.kafka.config.AggregationConfig;
+import io.zeebe.exporters.kafka.config.EnrichmentConfig;
+import io.zeebe.exporters.kafka.config.ProducerConfig;
 import io.zeebe.exporters.kafka.config.RecordConfig;
 import io.zeebe.exporters.kafka.config.RecordsConfig;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.serde.BlobStore;
 import io.zeebe.exporters.kafka.serde.RecordId;
 import io.zeebe.exporters.kafka.serde.RecordSerializer;
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.serialization.Serializer;
 
@@ -31,45 +39,201 @@ import org.apache.kafka.common.serialization.Serializer;
  * <p>Should be refactored into two for single responsibility.
  */
 public final class RecordHandler {
-  private final RecordsConfig configuration;
   private final Serializer<Record<?>> serializer;
+  private final ExporterMetrics metrics;
+  private final OversizedRecordGuard oversizedRecordGuard;
+  private final ClaimChecker claimChecker;
+  private final ResourcePublisher resourcePublisher;
+  private RecordsConfig configuration;
+  private TopicResolver topicResolver;
+  private RecordContentFilter contentFilter;
+  private final RecordEnricher enricher;
+  private final RecordAggregator aggregator;
 
-  public RecordHandler(final RecordsConfig configuration) {
-    this(configuration, new RecordSerializer());
+  private RecordHandler(final Builder builder) {
+    serializer = Objects.requireNonNull(builder.serializer);
+    metrics = Objects.requireNonNull(builder.metrics);
+    oversizedRecordGuard = new OversizedRecordGuard(builder.maxRequestSize, metrics);
+    claimChecker =
+        builder.blobStore == null ? null : new ClaimChecker(builder.blobStore, metrics);
+    resourcePublisher = builder.resourcePublisher;
+    setRecordsConfig(builder.configuration);
+    enricher =
+        builder.enrichment.isEnabled()
+            ? new RecordEnricher(builder.enrichment.getCacheSize(), metrics)
+            : null;
+    aggregator =
+        builder.aggregation.isEnabled()
+            ? new RecordAggregator(builder.aggregation, metrics)
+            : null;
   }
 
-  public RecordHandler(final RecordsConfig configuration, final Serializer<Record<?>> serializer) {
-    this.configuration = Objects.requireNonNull(configuration);
-    this.serializer = Objects.requireNonNull(serializer);
+  /**
+   * Returns a builder for a handler which serializes records with a default {@link
+   * RecordSerializer}, bounds them by Kafka's default maximum request size, and has claim checks,
+   * resource publishing, enrichment, and aggregation disabled.
+   *
+   * @param configuration the configuration of each record type
+   * @param metrics the metrics of the partition the handler exports
+   * @return a new builder
+   */
+  public static Builder builder(
+      final RecordsConfig configuration, final ExporterMetrics metrics) {
+    return new Builder(configuration, metrics);
   }
 
   /**
-   * Transforms the given {@link Record} into a Kafka {@link ProducerRecord}.
+   * Transforms the given {@link Record} into Kafka {@link ProducerRecord}s. This is usually a
+   * single record, unless it's too big to be sent and the configured {@link
+   * io.zeebe.exporters.kafka.config.OversizedRecordPolicy} splits it into multiple chunks.
+   *
+   * <p>The topic is resolved from the record's process or value type; see {@link
+   * io.zeebe.exporters.kafka.config.TopicTemplate}. If enrichment is enabled, the record's process
+   * is added as headers when known; see {@link #observe(Record)}. If resource publishing is
+   * enabled, resources embedded in the record are published first, and replaced by their
+   * reference. If claim checks are enabled, the payload of records above their threshold is
+   * offloaded to the blob store first, such that only records which are still too big afterwards
+   * are subject to the oversized policy.
    *
    * @param record the record to transform
-   * @return the transformed record
+   * @return the transformed records, in the order in which they should be sent
    */
-  public ProducerRecord<RecordId, byte[]> transform(final Record record) {
+  public List<ProducerRecord<RecordId, byte[]>> transform(final Record record) {
     final RecordConfig config = getRecordConfig(record);
-    final byte[] serializedRecord = serializer.serialize(config.getTopic(), record);
-    return new ProducerRecord<>(
-        config.getTopic(),
-        new RecordId(record.getPartitionId(), record.getPosition()),
-        serializedRecord);
+    final String topic = topicResolver.resolve(record, config);
+    byte[] serializedRecord = serializer.serialize(topic, record);
+    if (resourcePublisher != null && resourcePublisher.handles(record)) {
+      serializedRecord = resourcePublisher.publish(record, serializedRecord);
+    }
+
+    var producerRecord =
+        new ProducerRecord<>(
+            topic,
+            new RecordId(record.getPartitionId(), record.getPosition()),
+            serializedRecord);
+
+    if (enricher != null) {
+      enricher.enrich(record, producerRecord);
+    }
+
+    if (claimChecker != null) {
+      producerRecord = claimChecker.offload(record, config, producerRecord);
+    }
+
+    return oversizedRecordGuard.guard(record, config, producerRecord);
   }
 
   /**
-   * Tests whether or not the given record is allowed, as specified by the configuration.
+   * Observes the given record, before it's tested or transformed, to remember state used to enrich
+   * later records, and to aggregate it if aggregation is enabled. Must be called for every record
+   * the exporter receives, including those which are not allowed.
+   *
+   * @param record the record to observe
+   * @return the summaries of the aggregation window closed by this record, usually none; they are
+   *     keyed by the record's position, and returned again if the record is observed again before
+   *     {@link #onSummariesAdded()} was called
+   */
+  public List<ProducerRecord<RecordId, byte[]>> observe(final Record<?> record) {
+    if (enricher != null) {
+      enricher.observe(record);
+    }
+
+    return aggregator != null ? aggregator.observe(record) : List.of();
+  }
+
+  /**
+   * Confirms the summaries returned by {@link #observe(Record)} were added to a batch, such that
+   * they're not returned again.
+   */
+  public void onSummariesAdded() {
+    if (aggregator != null) {
+      aggregator.onSummariesAdded();
+    }
+  }
+
+  /**
+   * Replaces the records configuration, e.g. when it's reloaded, such that later records are
+   * tested and routed according to it. The state used to enrich and aggregate records is kept.
+   *
+   * @param configuration the new records configuration
+   */
+  public void setRecordsConfig(final RecordsConfig configuration) {
+    this.configuration = Objects.requireNonNull(configuration);
+    topicResolver = new TopicResolver(configuration);
+    contentFilter = new RecordContentFilter(configuration, metrics);
+  }
+
+  /**
+   * Tests whether or not the given record is allowed, as specified by the configuration: its
+   * record type must be allowed, and it must not be dropped by the value type's filter rules. This
+   * should be called before {@link #transform(Record)}, such that dropped records are never
+   * serialized.
    *
    * @param record the record to test
    * @return true if allowed, false otherwise
    */
   public boolean isAllowed(final Record<?> record) {
     final RecordConfig config = getRecordConfig(record);
-    return config.getAllowedTypes().contains(record.getRecordType());
+    return config.getAllowedTypes().contains(record.getRecordType())
+        && !contentFilter.drops(record);
   }
 
   private RecordConfig getRecordConfig(final Record<?> record) {
     return configuration.forType(Objects.requireNonNull(record).getValueType());
   }
+
+  public static final class Builder {
+    private final RecordsConfig configuration;
+    private final ExporterMetrics metrics;
+    private Serializer<Record<?>> serializer = new RecordSerializer();
+    private int maxRequestSize = ProducerConfig.DEFAULT_MAX_REQUEST_SIZE;
+    private BlobStore blobStore;
+    private ResourcePublisher resourcePublisher;
+    private EnrichmentConfig enrichment = new EnrichmentConfig(0);
+    private AggregationConfig aggregation =
+        new AggregationConfig(Optional.empty(), Duration.ofMinutes(1), 1);
+
+    private Builder(final RecordsConfig configuration, final ExporterMetrics metrics) {
+      this.configuration = configuration;
+      this.metrics = metrics;
+    }
+
+    public Builder withSerializer(final Serializer<Record<?>> serializer) {
+      this.serializer = serializer;
+      return this;
+    }
+
+    public Builder withMaxRequestSize(final int maxRequestSize) {
+      this.maxRequestSize = maxRequestSize;
+      return this;
+    }
+
+    /** @param blobStore the store to offload payloads to, or null if claim checks are disabled */
+    public Builder withBlobStore(final BlobStore blobStore) {
+      this.blobStore = blobStore;
+      return this;
+    }
+
+    /** @param resourcePublisher publishes embedded resources separately, or null if disabled */
+    public Builder withResourcePublisher(final ResourcePublisher resourcePublisher) {
+      this.resourcePublisher = resourcePublisher;
+      return this;
+    }
+
+    /** @param enrichment how many process instances to remember to enrich records with */
+    public Builder withEnrichment(final EnrichmentConfig enrichment) {
+      this.enrichment = enrichment;
+      return this;
+    }
+
+    /** @param aggregation where and how to roll up process instance and job events */
+    public Builder withAggregation(final AggregationConfig aggregation) {
+      this.aggregation = aggregation;
+      return this;
+    }
+
+    public RecordHandler build() {
+      return new RecordHandler(this);
+    }
+  }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.camunda.zeebe.protocol.record.ValueType;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Utilities to manipulate the JSON serialized form of records, as produced by the exporter's
+ * serializer. These are only used on exceptional paths (e.g. oversized records), as they require
+ * parsing the serialized record again.
+ */
+final class RecordPayloads {
+  static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private RecordPayloads() {}
+
+  /**
+   * Removes the user payload - variables - from the given serialized record, keeping all of its
+   * metadata. For variable records, the value is replaced by the JSON {@code null} literal.
+   *
+   * @param serializedRecord the JSON serialized record
+   * @param valueType the value type of the record
+   * @return the serialized record without its payload
+   */
+  static byte[] stripPayload(final byte[] serializedRecord, final ValueType valueType) {
+    try {
+      final var tree = MAPPER.readTree(serializedRecord);
+      final var value = tree.path("value");
+      if (value instanceof ObjectNode) {
+        final var valueObject = (ObjectNode) value;
+        if (valueObject.has("variables")) {
+          valueObject.putObject("variables");
+        }
+
+        // variable records carry their single value as a JSON string
+        if (valueType == ValueType.VARIABLE && valueObject.has("value")) {
+          valueObject.put("value", "null");
+        }
+      }
+
+      return MAPPER.writeValueAsBytes(tree);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import io.camunda.zeebe.protocol.record.RecordValue;
+import io.camunda.zeebe.protocol.record.value.BpmnElementType;
+import io.camunda.zeebe.protocol.record.value.DecisionEvaluationRecordValue;
+import io.camunda.zeebe.protocol.record.value.IncidentRecordValue;
+import io.camunda.zeebe.protocol.record.value.JobRecordValue;
+import io.camunda.zeebe.protocol.record.value.MessageStartEventSubscriptionRecordValue;
+import io.camunda.zeebe.protocol.record.value.MessageSubscriptionRecordValue;
+import io.camunda.zeebe.protocol.record.value.ProcessInstanceCreationRecordValue;
+import io.camunda.zeebe.protocol.record.value.ProcessInstanceRecordValue;
+import io.camunda.zeebe.protocol.record.value.ProcessInstanceRelated;
+import io.camunda.zeebe.protocol.record.value.ProcessInstanceResultRecordValue;
+import io.camunda.zeebe.protocol.record.value.ProcessMessageSubscriptionRecordValue;
+import io.camunda.zeebe.protocol.record.value.SignalSubscriptionRecordValue;
+import io.camunda.zeebe.protocol.record.value.TenantOwned;
+import io.camunda.zeebe.protocol.record.value.UserTaskRecordValue;
+import io.camunda.zeebe.protocol.record.value.VariableRecordValue;
+import io.camunda.zeebe.protocol.record.value.deployment.ProcessMetadataValue;
+
+/**
+ * Utilities to read common properties from record values, which the protocol does not expose
+ * through a shared interface.
+ */
+final class RecordValues {
+  private RecordValues() {}
+
+  /**
+   * @param value the record value
+   * @return the tenant owning the value, or null if the value is not tenant owned
+   */
+  static String tenantIdOf(final RecordValue value) {
+    return value instanceof TenantOwned ? ((TenantOwned) value).getTenantId() : null;
+  }
+
+  /**
+   * @param value the record value
+   * @return the BPMN process ID the value relates to, or null if it does not relate to a process
+   */
+  @SuppressWarnings("java:S3776")
+  static String bpmnProcessIdOf(final RecordValue value) {
+    if (value instanceof ProcessInstanceRecordValue) {
+      return ((ProcessInstanceRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof JobRecordValue) {
+      return ((JobRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof VariableRecordValue) {
+      return ((VariableRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof IncidentRecordValue) {
+      return ((IncidentRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof ProcessInstanceCreationRecordValue) {
+      return ((ProcessInstanceCreationRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof ProcessInstanceResultRecordValue) {
+      return ((ProcessInstanceResultRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof ProcessMessageSubscriptionRecordValue) {
+      return ((ProcessMessageSubscriptionRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof MessageSubscriptionRecordValue) {
+      return ((MessageSubscriptionRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof MessageStartEventSubscriptionRecordValue) {
+      return ((MessageStartEventSubscriptionRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof SignalSubscriptionRecordValue) {
+      return ((SignalSubscriptionRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof UserTaskRecordValue) {
+      return ((UserTaskRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof DecisionEvaluationRecordValue) {
+      return ((DecisionEvaluationRecordValue) value).getBpmnProcessId();
+    } else if (value instanceof ProcessMetadataValue) {
+      return ((ProcessMetadataValue) value).getBpmnProcessId();
+    }
+
+    return null;
+  }
+
+  /**
+   * @param value the record value
+   * @return the key of the process instance the value belongs to, or -1 if it does not belong to
+   *     one
+   */
+  static long processInstanceKeyOf(final RecordValue value) {
+    return value instanceof ProcessInstanceRelated
+        ? ((ProcessInstanceRelated) value).getProcessInstanceKey()
+        : -1;
+  }
+
+  /**
+   * @param value the record value
+   * @return the BPMN element type of the value, or null if it has none
+   */
+  static BpmnElementType bpmnElementTypeOf(final RecordValue value) {
+    return value instanceof ProcessInstanceRecordValue
+        ? ((ProcessInstanceRecordValue) value).getBpmnElementType()
+        : null;
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.serde.BlobStore;
+import io.zeebe.exporters.kafka.serde.RecordHeaders;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+
+/**
+ * {@link ResourcePublisher} moves the resources (e.g. BPMN XML) embedded in DEPLOYMENT, PROCESS,
+ * DECISION_REQUIREMENTS and FORM records out of the records themselves, as well as those of the
+ * commands embedded in COMMAND_DISTRIBUTION records, e.g. a deployment distributed to the other
+ * partitions. Each distinct resource is
+ * published once to a dedicated, compacted topic, keyed by its content addressed reference ({@code
+ * sha256:<hex>}), and the record's {@code resource} property is replaced by a {@code
+ * resourceReference} property holding that same reference.
+ *
+ * <p>Resources are published synchronously, before the record referencing them is added to the
+ * batch, such that consumers can always resolve a reference. If publishing fails, the exception
+ * bubbles up and the record is retried by the exporter director.
+ *
+ * <p>Records may be exported to more than one cluster, see {@link
+ * io.zeebe.exporters.kafka.config.TargetConfig}; resources are then published to the same topic on
+ * each of them, so that the references can be resolved wherever the records end up. A resource is
+ * only considered published once every cluster acknowledged it.
+ *
+ * <p>A bounded LRU cache of already published references lets us skip resources which are
+ * exported again, e.g. on redeployments or by other records of the same deployment. As the topic
+ * is compacted, publishing a resource twice is harmless.
+ */
+public final class ResourcePublisher implements AutoCloseable {
+  static final String RESOURCE_PROPERTY = "resource";
+  static final String RESOURCE_REFERENCE_PROPERTY = "resourceReference";
+
+  // DEPLOYMENT records hold a list of resources, COMMAND_DISTRIBUTION records the value of the
+  // distributed command, and the others embed a single resource
+  private static final Set<ValueType> RESOURCE_VALUE_TYPES =
+      EnumSet.of(
+          ValueType.DEPLOYMENT,
+          ValueType.PROCESS,
+          ValueType.DECISION_REQUIREMENTS,
+          ValueType.FORM,
+          ValueType.COMMAND_DISTRIBUTION);
+
+  private final String topic;
+  private final Duration publishTimeout;
+  private final List<Supplier<Producer<String, byte[]>>> producerSuppliers;
+  private final ExporterMetrics metrics;
+  private final Map<String, Boolean> publishedReferences;
+
+  // one producer per cluster, in the same order as the suppliers; null until first used
+  private final List<Producer<String, byte[]>> producers;
+
+  /**
+   * @param producerSuppliers supply the producer of each cluster resources are published to
+   */
+  public ResourcePublisher(
+      final String topic,
+      final int cacheSize,
+      final Duration publishTimeout,
+      final List<Supplier<Producer<String, byte[]>>> producerSuppliers,
+      final ExporterMetrics metrics) {
+    this.topic = Objects.requireNonNull(topic);
+    this.publishTimeout = Objects.requireNonNull(publishTimeout);
+    this.producerSuppliers = List.copyOf(producerSuppliers);
+    this.metrics = Objects.requireNonNull(metrics);
+    producers = new ArrayList<>(Collections.nCopies(this.producerSuppliers.size(), null));
+
+    publishedReferences =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+            return size() > cacheSize;
+          }
+        };
+  }
+
+  /**
+   * Returns true if records of the given value type may embed resources, i.e. if a cluster
+   * receiving such records should also receive the published resources.
+   *
+   * @param valueType the value type to test
+   * @return true if records of this type may embed resources, false otherwise
+   */
+  public static boolean handles(final ValueType valueType) {
+    return RESOURCE_VALUE_TYPES.contains(valueType);
+  }
+
+  /**
+   * Returns true if the given record may embed resources which should be published separately.
+   *
+   * @param record the record to test
+   * @return true if the record's resources should be published, false otherwise
+   */
+  boolean handles(final Record<?> record) {
+    return handles(record.getValueType());
+  }
+
+  /**
+   * Publishes the resources embedded in the given serialized record, if not already published, and
+   * returns the serialized record with references instead of the resources.
+   *
+   * @param record the record to publish resources of
+   * @param serializedRecord the JSON serialized record
+   * @return the serialized record without its resources
+   */
+  byte[] publish(final Record<?> record, final byte[] serializedRecord) {
+    try {
+      final var tree = RecordPayloads.MAPPER.readTree(serializedRecord);
+      final var value = tree.path("value");
+
+      if (record.getValueType() == ValueType.COMMAND_DISTRIBUTION) {
+        replaceResources(value.path("valueType").asText(), value.path("commandValue"));
+      } else {
+        replaceResources(record.getValueType().name(), value);
+      }
+
+      return RecordPayloads.MAPPER.writeValueAsBytes(tree);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    for (int i = 0; i < producers.size(); i++) {
+      closeProducer(i);
+    }
+  }
+
+  private void replaceResources(final String valueType, final JsonNode value) throws IOException {
+    if (ValueType.DEPLOYMENT.name().equals(valueType)) {
+      for (final var resource : value.path("resources")) {
+        replaceResource(resource);
+      }
+    } else {
+      replaceResource(value);
+    }
+  }
+
+  private void replaceResource(final JsonNode node) throws IOException {
+    final var resourceNode = node.path(RESOURCE_PROPERTY);
+    if (!(node instanceof ObjectNode) || !resourceNode.isTextual()) {
+      return;
+    }
+
+    final var resource = resourceNode.binaryValue();
+    if (resource.length == 0) {
+      return;
+    }
+
+    final var reference = BlobStore.referenceOf(resource);
+    if (publishedReferences.get(reference) == null) {
+      send(reference, node.path("resourceName").asText(""), resource);
+      publishedReferences.put(reference, Boolean.TRUE);
+      metrics.resourcePublished(true);
+    } else {
+      metrics.resourcePublished(false);
+    }
+
+    final var resourceObject = (ObjectNode) node;
+    resourceObject.remove(RESOURCE_PROPERTY);
+    resourceObject.put(RESOURCE_REFERENCE_PROPERTY, reference);
+  }
+
+  private void send(final String reference, final String resourceName, final byte[] resource) {
+    final var resourceRecord = new ProducerRecord<String, byte[]>(topic, reference, resource);
+    resourceRecord
+        .headers()
+        .add(RecordHeaders.RESOURCE_NAME, resourceName.getBytes(StandardCharsets.UTF_8));
+
+    // sent to all clusters before waiting on any of them, so the timeout isn't paid per cluster
+    final List<Future<RecordMetadata>> acknowledgements = new ArrayList<>(producers.size());
+    for (int i = 0; i < producers.size(); i++) {
+      acknowledgements.add(getProducer(i).send(resourceRecord));
+    }
+
+    final long deadline = System.nanoTime() + publishTimeout.toNanos();
+    for (int i = 0; i < acknowledgements.size(); i++) {
+      final long remaining = Math.max(0, deadline - System.nanoTime());
+      try {
+        acknowledgements.get(i).get(remaining, TimeUnit.NANOSECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new KafkaException("Interrupted while publishing resource " + reference, e);
+      } catch (final ExecutionException | TimeoutException e) {
+        // recreate the producer on the next attempt, in case it's in a bad state
+        closeProducer(i);
+        throw new KafkaException("Failed to publish resource " + reference, e);
+      }
+    }
+  }
+
+  private Producer<String, byte[]> getProducer(final int index) {
+    var producer = producers.get(index);
+    if (producer == null) {
+      producer = producerSuppliers.get(index).get();
+      producers.set(index, producer);
+    }
+
+    return producer;
+  }
+
+  private void closeProducer(final int index) {
+    final var producer = producers.get(index);
+    if (producer != null) {
+      producer.close(publishTimeout);
+      producers.set(index, null);
+    }
+  }
+}
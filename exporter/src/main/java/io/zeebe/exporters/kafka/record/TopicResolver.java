@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.value.TenantOwned;
+import io.zeebe.exporters.kafka.config.RecordConfig;
+import io.zeebe.exporters.kafka.config.RecordsConfig;
+import io.zeebe.exporters.kafka.config.TopicTemplate;
+import io.zeebe.exporters.kafka.config.TopicTemplate.Placeholder;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link TopicResolver} picks the topic of a record: the template of its BPMN process if one is
+ * configured, or the template of its value type otherwise.
+ *
+ * <p>Static templates resolve to their source directly. Templates with placeholders are formatted
+ * once per distinct combination of the values they use, and the result is kept in a bounded LRU
+ * cache, so the hot path only builds a small key instead of a new topic string per record.
+ */
+final class TopicResolver {
+  static final int DEFAULT_CACHE_SIZE = 4096;
+
+  static final String DEFAULT_TENANT = "default";
+  static final String NO_PROCESS = "none";
+
+  private final Map<String, TopicTemplate> processTopics;
+  private final Map<TopicKey, String> topics;
+  private final Map<ValueType, String> valueTypeNames = new EnumMap<>(ValueType.class);
+
+  TopicResolver(final RecordsConfig config) {
+    this(config, DEFAULT_CACHE_SIZE);
+  }
+
+  TopicResolver(final RecordsConfig config, final int cacheSize) {
+    processTopics = Objects.requireNonNull(config).getProcessTopics();
+    topics =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<TopicKey, String> eldest) {
+            return size() > cacheSize;
+          }
+        };
+
+    for (final ValueType valueType : ValueType.values()) {
+      valueTypeNames.put(valueType, valueType.name().toLowerCase(Locale.ROOT).replace('_', '-'));
+    }
+  }
+
+  /**
+   * @param record the record to resolve the topic of
+   * @param config the record's configuration
+   * @return the topic to send the record to
+   */
+  String resolve(final Record<?> record, final RecordConfig config) {
+    final String bpmnProcessId =
+        processTopics.isEmpty() && !config.getTopicTemplate().uses(Placeholder.BPMN_PROCESS_ID)
+            ? null
+            : RecordValues.bpmnProcessIdOf(record.getValue());
+    final TopicTemplate template =
+        bpmnProcessId == null
+            ? config.getTopicTemplate()
+            : processTopics.getOrDefault(bpmnProcessId, config.getTopicTemplate());
+
+    if (template.isStatic()) {
+      return template.getSource();
+    }
+
+    final TopicKey key =
+        new TopicKey(
+            template,
+            template.uses(Placeholder.VALUE_TYPE) ? record.getValueType() : null,
+            template.uses(Placeholder.TENANT_ID)
+                ? RecordValues.tenantIdOf(record.getValue())
+                : null,
+            template.uses(Placeholder.BPMN_PROCESS_ID) ? bpmnProcessId : null,
+            template.uses(Placeholder.PARTITION_ID) ? record.getPartitionId() : -1);
+    return topics.computeIfAbsent(key, this::format);
+  }
+
+  private String format(final TopicKey key) {
+    return key.template.format(
+        key.valueType == null ? null : valueTypeNames.get(key.valueType),
+        fragmentOf(key.tenantId, DEFAULT_TENANT),
+        fragmentOf(key.bpmnProcessId, NO_PROCESS),
+        key.partitionId);
+  }
+
+  private String fragmentOf(final String value, final String fallback) {
+    if (value == null
+        || value.isEmpty()
+        || TenantOwned.DEFAULT_TENANT_IDENTIFIER.equals(value)) {
+      return fallback;
+    }
+
+    return TopicTemplate.sanitize(value);
+  }
+
+  private record TopicKey(
+      TopicTemplate template,
+      ValueType valueType,
+      String tenantId,
+      String bpmnProcessId,
+      int partitionId) {}
+}
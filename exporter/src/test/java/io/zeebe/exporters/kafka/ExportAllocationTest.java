@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.zeebe.exporters.kafka.config.parser.RawConfigParser;
+import io.zeebe.exporters.kafka.config.raw.RawConfig;
+import io.zeebe.exporters.kafka.producer.MockKafkaProducerFactory;
+import io.zeebe.exporters.kafka.producer.RecordBatchFactory;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import io.zeebe.exporters.kafka.serde.RecordIdSerializer;
+import io.zeebe.exporters.kafka.util.ExporterTestHarness;
+import io.zeebe.exporters.kafka.util.record.MockRecord;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Guards the number of bytes allocated on the exporter's thread to export a single record, as any
+ * allocation there adds to the broker's GC pressure. Records go through the real transactional
+ * batch, down to a {@link MockProducer}, so the budget also covers the mock producer's own
+ * allocations (futures, metadata, serialized keys), which stand in for the real producer's.
+ *
+ * <p>If a change legitimately needs a bigger budget, raise {@link #BUDGET_BYTES_PER_RECORD} and
+ * explain why in the commit; the budget is not meant to be tight, but to catch regressions which
+ * multiply allocations, e.g. copying payloads or boxing per record.
+ *
+ * <p>NOTE: the records themselves are generated before measuring, and the mock producer's history
+ * is cleared in between chunks of records, as neither would exist in the broker.
+ */
+@Execution(ExecutionMode.SAME_THREAD)
+final class ExportAllocationTest {
+  // roughly twice what is measured for the mock records, about 2KB each
+  private static final long BUDGET_BYTES_PER_RECORD = 4 * 1024;
+  private static final int WARM_UP_RECORDS = 5_000;
+  private static final int MEASURED_RECORDS = 20_000;
+  private static final int CHUNK_SIZE = 1_000;
+
+  private final com.sun.management.ThreadMXBean threadBean =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+  private final MockKafkaProducerFactory producerFactory =
+      new MockKafkaProducerFactory(
+          () -> new MockProducer<>(true, new RecordIdSerializer(), new ByteArraySerializer()));
+  private final KafkaExporter exporter =
+      new KafkaExporter(
+          RecordBatchFactory.defaultFactory(producerFactory),
+          new RawConfigParser(),
+          producerFactory);
+  private final ExporterTestHarness testHarness = new ExporterTestHarness(exporter);
+
+  @AfterEach
+  void tearDown() {
+    testHarness.close();
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = ValueType.class,
+      names = {"PROCESS_INSTANCE", "JOB", "VARIABLE", "INCIDENT", "DEPLOYMENT"})
+  void shouldStayWithinAllocationBudget(final ValueType valueType) throws Exception {
+    // given
+    final var rawConfig = new RawConfig();
+    rawConfig.maxBatchSize = 100;
+    testHarness.configure("kafka", rawConfig);
+    testHarness.open();
+    final var records =
+        testHarness
+            .stream(
+                r -> r.getMetadata().setValueType(valueType).setRecordType(RecordType.EVENT))
+            .limit(WARM_UP_RECORDS + MEASURED_RECORDS)
+            .collect(Collectors.toList());
+    export(records.subList(0, WARM_UP_RECORDS));
+
+    // when
+    final long allocated = export(records.subList(WARM_UP_RECORDS, records.size()));
+
+    // then
+    final long perRecord = allocated / MEASURED_RECORDS;
+    assertThat(perRecord)
+        .as(
+            "bytes allocated per exported %s record, budget is %d",
+            valueType, BUDGET_BYTES_PER_RECORD)
+        .isLessThanOrEqualTo(BUDGET_BYTES_PER_RECORD);
+  }
+
+  /** @return the number of bytes allocated by this thread while exporting the records */
+  private long export(final List<MockRecord> records) {
+    long allocated = 0;
+    for (int offset = 0; offset < records.size(); offset += CHUNK_SIZE) {
+      final var chunk = records.subList(offset, Math.min(records.size(), offset + CHUNK_SIZE));
+      final long before = threadBean.getCurrentThreadAllocatedBytes();
+      for (final var record : chunk) {
+        exporter.export(record);
+      }
+      allocated += threadBean.getCurrentThreadAllocatedBytes() - before;
+      producerFactory.mockProducer.clear();
+    }
+
+    return allocated;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.prometheus.client.CollectorRegistry;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.producer.RecordBatchStatus;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.slf4j.LoggerFactory;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class ExportWatchdogTest {
+  private static final int PARTITION_ID = 77;
+
+  private final ExportWatchdog watchdog =
+      new ExportWatchdog(
+          Duration.ofSeconds(10),
+          new ExporterMetrics(PARTITION_ID),
+          LoggerFactory.getLogger(ExportWatchdogTest.class));
+
+  @Test
+  void shouldMeasureLagFromOldestPendingRecord() {
+    // given
+    watchdog.onReceived(1_000);
+    watchdog.onAdded(1, 1_000);
+    watchdog.onReceived(3_000);
+    watchdog.onAdded(2, 3_000);
+    watchdog.onReceived(8_000);
+
+    // when
+    final long lag = watchdog.getLag();
+    watchdog.onAcknowledged(1);
+
+    // then
+    assertThat(lag).as("record 1 is the oldest pending one").isEqualTo(7_000);
+    assertThat(watchdog.getLag()).as("record 2 is now the oldest pending one").isEqualTo(5_000);
+  }
+
+  @Test
+  void shouldHaveNoLagWithoutPendingRecords() {
+    // given
+    watchdog.onReceived(1_000);
+    watchdog.onAdded(1, 1_000);
+    watchdog.onReceived(60_000);
+
+    // when
+    watchdog.onAcknowledged(1);
+
+    // then
+    assertThat(watchdog.getLag()).isZero();
+  }
+
+  @Test
+  void shouldAlertOnceWhileLagging() {
+    // given
+    final Map<String, RecordBatchStatus> batches = Map.of("normal", RecordBatchStatus.UNKNOWN);
+    watchdog.onReceived(0);
+    watchdog.onAdded(1, 0);
+    watchdog.onReceived(20_000);
+
+    // when
+    watchdog.check(batches, 100);
+    watchdog.check(batches, 100);
+
+    // then
+    assertThat(alerts()).as("only the crossing is counted").isEqualTo(1);
+    watchdog.onAcknowledged(1);
+    watchdog.check(batches, 100);
+    watchdog.onAdded(2, 20_000);
+    watchdog.onReceived(40_000);
+    watchdog.check(batches, 100);
+    assertThat(alerts()).as("crossing again after recovering is counted").isEqualTo(2);
+  }
+
+  private double alerts() {
+    return CollectorRegistry.defaultRegistry.getSampleValue(
+        "zeebe_kafka_exporter_export_lag_alerts_total",
+        new String[] {"partition"},
+        new String[] {String.valueOf(PARTITION_ID)});
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class ExportedPositionTrackerTest {
+  private static final String NORMAL = "normal";
+  private static final String HIGH = "high";
+
+  private final ExportedPositionTracker tracker = new ExportedPositionTracker();
+
+  @Test
+  void shouldReturnFlushedPositionWithSingleLane() {
+    // given
+    tracker.onAdded(NORMAL, 1);
+    tracker.onAdded(NORMAL, 3);
+
+    // when
+    final var position = tracker.onFlushed(NORMAL, 3);
+
+    // then
+    assertThat(position).as("all added positions were flushed").isEqualTo(3);
+  }
+
+  @Test
+  void shouldNotAdvancePastPendingPositionOfOtherLane() {
+    // given
+    tracker.onAdded(NORMAL, 1);
+    tracker.onAdded(HIGH, 2);
+    tracker.onAdded(NORMAL, 3);
+    tracker.onAdded(HIGH, 4);
+
+    // when
+    final var position = tracker.onFlushed(HIGH, 4);
+
+    // then
+    assertThat(position).as("position 1 is still pending in the normal lane").isLessThan(1);
+    assertThat(tracker.getPendingCount(HIGH)).isZero();
+  }
+
+  @Test
+  void shouldAdvanceUpToLowestPendingPosition() {
+    // given
+    tracker.onAdded(NORMAL, 1);
+    tracker.onAdded(HIGH, 2);
+    tracker.onAdded(HIGH, 4);
+    tracker.onAdded(NORMAL, 5);
+    tracker.onFlushed(HIGH, 2);
+
+    // when
+    final var position = tracker.onFlushed(NORMAL, 5);
+
+    // then
+    assertThat(position)
+        .as("position 4 is still pending in the high priority lane")
+        .isEqualTo(3);
+  }
+
+  @Test
+  void shouldAdvanceToHighestAddedPositionOnceAllLanesAreFlushed() {
+    // given
+    tracker.onAdded(NORMAL, 1);
+    tracker.onAdded(HIGH, 2);
+    tracker.onFlushed(HIGH, 2);
+
+    // when
+    final var position = tracker.onFlushed(NORMAL, 1);
+
+    // then
+    assertThat(position).isEqualTo(2);
+    assertThat(tracker.getExportedPosition()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldNotReportSamePositionTwice() {
+    // given
+    tracker.onAdded(NORMAL, 1);
+    tracker.onFlushed(NORMAL, 1);
+
+    // when
+    final var position = tracker.onFlushed(NORMAL, 1);
+
+    // then
+    assertThat(position).isEqualTo(ExportedPositionTracker.NO_POSITION);
+  }
+
+  @Test
+  void shouldAdvanceToDroppedPositionIfNothingIsPending() {
+    // given
+    tracker.onAdded(NORMAL, 1);
+    tracker.onFlushed(NORMAL, 1);
+
+    // when
+    final var position = tracker.onDropped(2);
+
+    // then
+    assertThat(position).isEqualTo(2);
+  }
+
+  @Test
+  void shouldAcknowledgeDroppedPositionOncePendingOnesAreFlushed() {
+    // given
+    tracker.onAdded(NORMAL, 1);
+    final var positionWhilePending = tracker.onDropped(2);
+
+    // when
+    final var position = tracker.onFlushed(NORMAL, 1);
+
+    // then
+    assertThat(positionWhilePending).as("position 1 is still pending").isLessThan(1);
+    assertThat(position).isEqualTo(2);
+  }
+
+  @Test
+  void shouldOnlyAdvanceOnceEveryTargetFlushed() {
+    // given
+    tracker.onAdded(NORMAL, 1);
+    tracker.onAdded("analytics", 1);
+    tracker.onAdded(NORMAL, 2);
+    final var positionBeforeTarget = tracker.onFlushed(NORMAL, 2);
+
+    // when
+    final var position = tracker.onFlushed("analytics", 1);
+
+    // then
+    assertThat(positionBeforeTarget)
+        .as("position 1 is still pending for the analytics target")
+        .isLessThan(1);
+    assertThat(position)
+        .as("position 2 was not routed to the analytics target, so it doesn't hold it back")
+        .isEqualTo(2);
+  }
+}
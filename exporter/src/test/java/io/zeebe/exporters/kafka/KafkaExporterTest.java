@@ -19,22 +19,41 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 
+import io.camunda.zeebe.protocol.record.ImmutableRecord;
 import io.camunda.zeebe.protocol.record.RecordType;
 import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent;
+import io.camunda.zeebe.protocol.record.value.ImmutableProcessInstanceRecordValue;
+import io.camunda.zeebe.protocol.record.value.ProcessInstanceRecordValue;
 import io.zeebe.exporters.kafka.config.Config;
 import io.zeebe.exporters.kafka.config.parser.MockConfigParser;
 import io.zeebe.exporters.kafka.config.parser.RawConfigParser;
+import io.zeebe.exporters.kafka.config.raw.RawAggregationConfig;
 import io.zeebe.exporters.kafka.config.raw.RawConfig;
 import io.zeebe.exporters.kafka.config.raw.RawRecordConfig;
 import io.zeebe.exporters.kafka.config.raw.RawRecordsConfig;
+import io.zeebe.exporters.kafka.config.raw.RawSegmentsConfig;
+import io.zeebe.exporters.kafka.config.raw.RawTargetConfig;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
 import io.zeebe.exporters.kafka.producer.RecordBatchStub;
+import io.zeebe.exporters.kafka.record.FullRecordBatchException;
 import io.zeebe.exporters.kafka.record.RecordHandler;
 import io.zeebe.exporters.kafka.serde.RecordId;
 import io.zeebe.exporters.kafka.util.ExporterTestHarness;
+import io.zeebe.exporters.kafka.util.record.MockRecord;
 import io.zeebe.exporters.kafka.util.record.MockRecordMetadata;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
 import java.util.stream.Collectors;
+import javax.management.Attribute;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
@@ -82,13 +101,14 @@ final class KafkaExporterTest {
     // given
     testHarness.configure(EXPORTER_ID, rawConfig);
     testHarness.open();
-    final var recordHandler = new RecordHandler(mockConfigParser.config.getRecords());
+    final var recordHandler =
+        RecordHandler.builder(mockConfigParser.config.getRecords(), new ExporterMetrics(1)).build();
 
     // when
     final var record = testHarness.export(r -> r.getValue().getVariables().put("a", 1));
 
     // then
-    final var expectedRecord = recordHandler.transform(record);
+    final var expectedRecord = recordHandler.transform(record).get(0);
     assertThat(batchStubFactory.stub.getPendingRecords())
         .as("the serialized record was added to the batch")
         .extracting("topic", "key", "value")
@@ -99,9 +119,10 @@ final class KafkaExporterTest {
   @Test
   void shouldSkipDisallowedRecords() throws Exception {
     // given
+    final RawRecordConfig deploymentConfig = new RawRecordConfig();
+    deploymentConfig.type = "";
     rawConfig.records = new RawRecordsConfig();
-    rawConfig.records.deployment = new RawRecordConfig();
-    rawConfig.records.deployment.type = "";
+    rawConfig.records.setValueType("deployment", deploymentConfig);
     testHarness.configure(EXPORTER_ID, rawConfig);
     testHarness.open();
 
@@ -115,6 +136,56 @@ final class KafkaExporterTest {
         .isEmpty();
   }
 
+  @Test
+  void shouldUpdatePositionOfDisallowedRecords() throws Exception {
+    // given
+    final RawRecordConfig deploymentConfig = new RawRecordConfig();
+    deploymentConfig.type = "";
+    rawConfig.records = new RawRecordsConfig();
+    rawConfig.records.setValueType("deployment", deploymentConfig);
+    testHarness.configure(EXPORTER_ID, rawConfig);
+    testHarness.open();
+
+    // when
+    final var records =
+        testHarness
+            .stream(r -> r.setMetadata(new MockRecordMetadata().setValueType(ValueType.DEPLOYMENT)))
+            .export(3);
+
+    // then
+    assertThat(testHarness.getLastUpdatedPosition())
+        .as("the position moves forward without any record being exported")
+        .isEqualTo(records.get(2).getPosition());
+  }
+
+  @Test
+  void shouldNotUpdatePositionOfDisallowedRecordsPastPendingOnes() throws Exception {
+    // given
+    final RawRecordConfig deploymentConfig = new RawRecordConfig();
+    deploymentConfig.type = "";
+    rawConfig.records = new RawRecordsConfig();
+    rawConfig.records.setValueType("deployment", deploymentConfig);
+    testHarness.configure(EXPORTER_ID, rawConfig);
+    testHarness.open();
+    final var pending =
+        testHarness.export(r -> r.getMetadata().setValueType(ValueType.VARIABLE));
+
+    // when
+    final var dropped =
+        testHarness.export(
+            r -> r.setMetadata(new MockRecordMetadata().setValueType(ValueType.DEPLOYMENT)));
+    final var positionBeforeFlush = testHarness.getLastUpdatedPosition();
+    triggerFlushTask();
+
+    // then
+    assertThat(positionBeforeFlush)
+        .as("the variable is still pending")
+        .isLessThan(pending.getPosition());
+    assertThat(testHarness.getLastUpdatedPosition())
+        .as("the dropped record is acknowledged along with the flushed variable")
+        .isEqualTo(dropped.getPosition());
+  }
+
   @Test
   void shouldFlushOnScheduledTask() throws Exception {
     // given
@@ -226,6 +297,437 @@ final class KafkaExporterTest {
         .isEqualTo(records.get(1).getPosition());
   }
 
+  @Test
+  void shouldFlushPriorityLaneImmediately() throws Exception {
+    // given
+    final RawRecordConfig incidentConfig = new RawRecordConfig();
+    incidentConfig.priority = "high";
+    rawConfig.records = new RawRecordsConfig();
+    rawConfig.records.setValueType("incident", incidentConfig);
+    testHarness.configure(EXPORTER_ID, rawConfig);
+    testHarness.open();
+
+    // when
+    final var variable =
+        testHarness.export(r -> r.getMetadata().setValueType(ValueType.VARIABLE));
+    final var incident = testHarness.export(r -> r.getMetadata().setValueType(ValueType.INCIDENT));
+
+    // then
+    final var normalLane = batchStubFactory.stubs.get(0);
+    final var priorityLane = batchStubFactory.stubs.get(1);
+    assertThat(priorityLane.getFlushedRecords())
+        .as("the incident was flushed without waiting for the flush task")
+        .extracting(ProducerRecord::key)
+        .containsExactly(new RecordId(incident.getPartitionId(), incident.getPosition()));
+    assertThat(normalLane.getPendingRecords())
+        .as("the variable record is still pending in the normal lane")
+        .hasSize(1);
+    assertThat(testHarness.getLastUpdatedPosition())
+        .as("position is not updated past a lower position which is still pending")
+        .isLessThan(variable.getPosition());
+  }
+
+  @Test
+  void shouldLingerPriorityLaneFlush() throws Exception {
+    // given
+    rawConfig.priorityFlushIntervalMs = 50L;
+    final RawRecordConfig incidentConfig = new RawRecordConfig();
+    incidentConfig.priority = "high";
+    rawConfig.records = new RawRecordsConfig();
+    rawConfig.records.setValueType("incident", incidentConfig);
+    testHarness.configure(EXPORTER_ID, rawConfig);
+    testHarness.open();
+
+    // when
+    final var incidents =
+        testHarness.stream(r -> r.getMetadata().setValueType(ValueType.INCIDENT)).export(2);
+    final var priorityLane = batchStubFactory.stubs.get(1);
+    final var pendingBeforeLinger = priorityLane.getPendingRecords().size();
+    testHarness.runScheduledTasks(Duration.ofMillis(50));
+
+    // then
+    assertThat(pendingBeforeLinger).as("records linger until the interval elapsed").isEqualTo(2);
+    assertThat(priorityLane.getFlushedRecords())
+        .as("both incidents were flushed together after the linger interval")
+        .hasSize(2);
+    assertThat(testHarness.getLastUpdatedPosition())
+        .as("position is updated once all lanes are flushed up to it")
+        .isEqualTo(incidents.get(1).getPosition());
+  }
+
+  @Test
+  void shouldOnlyUpdatePositionOnceAllLanesAreFlushed() throws Exception {
+    // given
+    final RawRecordConfig incidentConfig = new RawRecordConfig();
+    incidentConfig.priority = "high";
+    rawConfig.records = new RawRecordsConfig();
+    rawConfig.records.setValueType("incident", incidentConfig);
+    testHarness.configure(EXPORTER_ID, rawConfig);
+    testHarness.open();
+
+    // when
+    testHarness.export(r -> r.getMetadata().setValueType(ValueType.VARIABLE));
+    final var incident = testHarness.export(r -> r.getMetadata().setValueType(ValueType.INCIDENT));
+    triggerFlushTask();
+
+    // then
+    assertThat(testHarness.getLastUpdatedPosition())
+        .as("position is updated up to the incident once the normal lane was flushed")
+        .isEqualTo(incident.getPosition());
+  }
+
+  @Test
+  void shouldSendSameSerializedRecordToRoutedTargets() throws Exception {
+    // given
+    final RawTargetConfig analytics = new RawTargetConfig();
+    analytics.valueTypes = "job";
+    rawConfig.targets = Map.of("analytics", analytics);
+    testHarness.configure(EXPORTER_ID, rawConfig);
+    testHarness.open();
+
+    // when
+    testHarness.export(r -> r.getMetadata().setValueType(ValueType.VARIABLE));
+    final var job = testHarness.export(r -> r.getMetadata().setValueType(ValueType.JOB));
+
+    // then
+    final var ownBatch = batchStubFactory.stubs.get(0);
+    final var targetBatch = batchStubFactory.stubs.get(1);
+    assertThat(targetBatch.getPendingRecords())
+        .as("only the job was routed to the analytics target")
+        .extracting(ProducerRecord::key)
+        .containsExactly(new RecordId(job.getPartitionId(), job.getPosition()));
+    assertThat(targetBatch.getPendingRecords().get(0).value())
+        .as("the record was serialized once, and its bytes shared")
+        .isSameAs(ownBatch.getPendingRecords().get(1).value());
+  }
+
+  @Test
+  void shouldNotAddRecordTwiceWhenRetryingAfterFullTarget() throws Exception {
+    // given
+    rawConfig.maxBatchSize = 1;
+    final RawRecordConfig incidentConfig = new RawRecordConfig();
+    incidentConfig.priority = "high";
+    rawConfig.records = new RawRecordsConfig();
+    rawConfig.records.setValueType("incident", incidentConfig);
+    rawConfig.targets = Map.of("analytics", new RawTargetConfig());
+    testHarness.configure(EXPORTER_ID, rawConfig);
+    testHarness.open();
+    final var first = testHarness.export(r -> r.getMetadata().setValueType(ValueType.INCIDENT));
+    final var second =
+        new MockRecord()
+            .setPosition(first.getPosition() + 1)
+            .setTimestamp(first.getTimestamp())
+            .setMetadata(
+                new MockRecordMetadata()
+                    .setPartitionId(first.getPartitionId())
+                    .setValueType(ValueType.INCIDENT));
+
+    // when - the priority lane accepts the record, but the full analytics target rejects it
+    assertThatThrownBy(() -> exporter.export(second))
+        .isInstanceOf(FullRecordBatchException.class);
+    triggerFlushTask();
+    testHarness.export(second);
+
+    // then
+    final var priorityLane = batchStubFactory.stubs.get(1);
+    final var targetBatch = batchStubFactory.stubs.get(2);
+    assertThat(priorityLane.getFlushedRecords())
+        .as("the retried record was only added once to the priority lane")
+        .extracting(ProducerRecord::key)
+        .containsExactly(
+            new RecordId(first.getPartitionId(), first.getPosition()),
+            new RecordId(second.getPartitionId(), second.getPosition()));
+    assertThat(targetBatch.getPendingRecords())
+        .as("the retried record was added to the analytics target")
+        .extracting(ProducerRecord::key)
+        .containsExactly(new RecordId(second.getPartitionId(), second.getPosition()));
+  }
+
+  @Test
+  void shouldNotSendAggregationSummariesToTargets() throws Exception {
+    // given
+    final RawTargetConfig analytics = new RawTargetConfig();
+    analytics.valueTypes = "variable";
+    rawConfig.targets = Map.of("analytics", analytics);
+    rawConfig.aggregation = new RawAggregationConfig();
+    rawConfig.aggregation.topic = "summaries";
+    rawConfig.aggregation.windowMs = 1_000L;
+    testHarness.configure(EXPORTER_ID, rawConfig);
+    testHarness.open();
+    exporter.export(
+        ImmutableRecord.<ProcessInstanceRecordValue>builder()
+            .withValueType(ValueType.PROCESS_INSTANCE)
+            .withRecordType(RecordType.EVENT)
+            .withIntent(ProcessInstanceIntent.ELEMENT_COMPLETED)
+            .withTimestamp(0)
+            .withValue(
+                ImmutableProcessInstanceRecordValue.builder()
+                    .withBpmnProcessId("order")
+                    .withElementId("task")
+                    .build())
+            .build());
+
+    // when - the variable closes the window
+    final var variable =
+        testHarness.export(
+            r -> r.setTimestamp(2_000).getMetadata().setValueType(ValueType.VARIABLE));
+
+    // then
+    final var ownBatch = batchStubFactory.stubs.get(0);
+    final var targetBatch = batchStubFactory.stubs.get(1);
+    assertThat(ownBatch.getPendingRecords())
+        .as("the summary is sent to the aggregation topic")
+        .extracting(ProducerRecord::topic)
+        .contains("summaries");
+    assertThat(targetBatch.getPendingRecords())
+        .as("only the variable itself was routed to the analytics target")
+        .extracting(ProducerRecord::key)
+        .containsExactly(new RecordId(variable.getPartitionId(), variable.getPosition()));
+  }
+
+  @Test
+  void shouldOnlyUpdatePositionOnceAllTargetsAreFlushed() throws Exception {
+    // given
+    final RawRecordConfig incidentConfig = new RawRecordConfig();
+    incidentConfig.priority = "high";
+    rawConfig.records = new RawRecordsConfig();
+    rawConfig.records.setValueType("incident", incidentConfig);
+    rawConfig.targets = Map.of("analytics", new RawTargetConfig());
+    testHarness.configure(EXPORTER_ID, rawConfig);
+    testHarness.open();
+
+    // when
+    final var incident = testHarness.export(r -> r.getMetadata().setValueType(ValueType.INCIDENT));
+    final var positionBeforeFlush = testHarness.getLastUpdatedPosition();
+    triggerFlushTask();
+
+    // then
+    assertThat(positionBeforeFlush)
+        .as("the incident was committed by the priority lane, but not by the analytics target")
+        .isLessThan(incident.getPosition());
+    assertThat(testHarness.getLastUpdatedPosition())
+        .as("position is updated once the analytics target was flushed")
+        .isEqualTo(incident.getPosition());
+  }
+
+  @Test
+  void shouldNotCreatePriorityLaneIfUnused() throws Exception {
+    // given
+    testHarness.configure(EXPORTER_ID, rawConfig);
+
+    // when
+    testHarness.open();
+
+    // then
+    assertThat(batchStubFactory.stubs).as("only the normal lane was created").hasSize(1);
+  }
+
+  @Test
+  void shouldReloadConfigurationOnFlush(@TempDir final Path tempDir) throws Exception {
+    // given
+    final var configFile = tempDir.resolve("exporter.json");
+    final var reloadingExporter = new KafkaExporter(batchStubFactory, new RawConfigParser());
+    final var reloadingHarness = new ExporterTestHarness(reloadingExporter);
+    Files.writeString(configFile, "{\"maxBatchSize\": 5}");
+    rawConfig.configFile = configFile.toString();
+    reloadingHarness.configure(EXPORTER_ID, rawConfig);
+    reloadingHarness.open();
+    final var initialMaxBatchSize = batchStubFactory.stub.getMaxBatchSize();
+
+    // when
+    Files.writeString(
+        configFile, "{\"maxBatchSize\": 7, \"records\": {\"variable\": {\"type\": \"\"}}}");
+    reloadingHarness.runScheduledTasks(Duration.ofSeconds(1));
+    reloadingHarness.export(
+        r -> r.setMetadata(new MockRecordMetadata().setValueType(ValueType.VARIABLE)));
+
+    // then
+    assertThat(initialMaxBatchSize).as("the file is applied on startup").isEqualTo(5);
+    assertThat(batchStubFactory.stub.getMaxBatchSize())
+        .as("the batch size was reloaded")
+        .isEqualTo(7);
+    assertThat(batchStubFactory.stub.getPendingRecords())
+        .as("variable records are no longer exported")
+        .isEmpty();
+  }
+
+  @Test
+  void shouldKeepTargetsWhenReloadingConfiguration(@TempDir final Path tempDir) throws Exception {
+    // given
+    final var configFile = tempDir.resolve("exporter.json");
+    final var reloadingExporter = new KafkaExporter(batchStubFactory, new RawConfigParser());
+    final var reloadingHarness = new ExporterTestHarness(reloadingExporter);
+    final RawTargetConfig analytics = new RawTargetConfig();
+    analytics.valueTypes = "job";
+    rawConfig.targets = Map.of("analytics", analytics);
+    Files.writeString(configFile, "{\"maxBatchSize\": 5}");
+    rawConfig.configFile = configFile.toString();
+    reloadingHarness.configure(EXPORTER_ID, rawConfig);
+    reloadingHarness.open();
+
+    // when
+    Files.writeString(configFile, "{\"maxBatchSize\": 7}");
+    reloadingHarness.runScheduledTasks(Duration.ofSeconds(1));
+    final var job =
+        reloadingHarness.export(
+            r -> r.setMetadata(new MockRecordMetadata().setValueType(ValueType.JOB)));
+
+    // then
+    final var targetBatch = batchStubFactory.stubs.get(1);
+    assertThat(targetBatch.getMaxBatchSize())
+        .as("the reloaded batch size was applied to the target")
+        .isEqualTo(7);
+    assertThat(targetBatch.getPendingRecords())
+        .as("the job is still routed to the analytics target")
+        .extracting(ProducerRecord::key)
+        .containsExactly(new RecordId(job.getPartitionId(), job.getPosition()));
+  }
+
+  @Test
+  void shouldIgnoreNonReloadablePropertiesInFile(@TempDir final Path tempDir) throws Exception {
+    // given
+    final var configFile = tempDir.resolve("exporter.json");
+    final var reloadingExporter = new KafkaExporter(batchStubFactory, new RawConfigParser());
+    final var reloadingHarness = new ExporterTestHarness(reloadingExporter);
+    final RawTargetConfig analytics = new RawTargetConfig();
+    analytics.valueTypes = "job";
+    rawConfig.targets = Map.of("analytics", analytics);
+    Files.writeString(configFile, "{\"maxBatchSize\": 5}");
+    rawConfig.configFile = configFile.toString();
+    reloadingHarness.configure(EXPORTER_ID, rawConfig);
+    reloadingHarness.open();
+
+    // when
+    Files.writeString(configFile, "{\"maxBatchSize\": 7, \"targets\": {}}");
+    reloadingHarness.runScheduledTasks(Duration.ofSeconds(1));
+    final var job =
+        reloadingHarness.export(
+            r -> r.setMetadata(new MockRecordMetadata().setValueType(ValueType.JOB)));
+
+    // then
+    final var ownBatch = batchStubFactory.stubs.get(0);
+    final var targetBatch = batchStubFactory.stubs.get(1);
+    assertThat(ownBatch.getMaxBatchSize()).as("the batch size was reloaded").isEqualTo(7);
+    assertThat(targetBatch.getPendingRecords())
+        .as("the targets can only be changed on startup")
+        .extracting(ProducerRecord::key)
+        .containsExactly(new RecordId(job.getPartitionId(), job.getPosition()));
+  }
+
+  @Test
+  void shouldKeepSegmentsWhenReloadingConfiguration(@TempDir final Path tempDir)
+      throws Exception {
+    // given
+    final var configFile = tempDir.resolve("exporter.json");
+    final var segmentsDir = tempDir.resolve("segments");
+    final var reloadingExporter = new KafkaExporter(batchStubFactory, new RawConfigParser());
+    final var reloadingHarness = new ExporterTestHarness(reloadingExporter);
+    rawConfig.segments = new RawSegmentsConfig();
+    rawConfig.segments.directory = segmentsDir.toString();
+    Files.writeString(configFile, "{\"maxBatchSize\": 5}");
+    rawConfig.configFile = configFile.toString();
+    reloadingHarness.configure(EXPORTER_ID, rawConfig);
+    reloadingHarness.open();
+
+    // when
+    Files.writeString(
+        configFile, "{\"records\": {\"incident\": {\"priority\": \"high\"}}}");
+    reloadingHarness.runScheduledTasks(Duration.ofSeconds(1));
+    reloadingHarness.export(
+        r -> r.setMetadata(new MockRecordMetadata().setValueType(ValueType.INCIDENT)));
+    reloadingHarness.close();
+
+    // then
+    assertThat(batchStubFactory.stubs)
+        .as("no lane was switched back to Kafka by the reload")
+        .isEmpty();
+    assertThat(segmentsDir.resolve("partition-0").resolve("high"))
+        .as("the priority lane created on reload writes segments too")
+        .isDirectory();
+  }
+
+  @Test
+  void shouldKeepConfigurationIfReloadedFileIsInvalid(@TempDir final Path tempDir)
+      throws Exception {
+    // given
+    final var configFile = tempDir.resolve("exporter.json");
+    final var reloadingExporter = new KafkaExporter(batchStubFactory, new RawConfigParser());
+    final var reloadingHarness = new ExporterTestHarness(reloadingExporter);
+    Files.writeString(configFile, "{\"maxBatchSize\": 5}");
+    rawConfig.configFile = configFile.toString();
+    reloadingHarness.configure(EXPORTER_ID, rawConfig);
+    reloadingHarness.open();
+
+    // when
+    Files.writeString(configFile, "{\"maxBatchSize\": \"many\"}");
+    reloadingHarness.runScheduledTasks(Duration.ofSeconds(1));
+
+    // then
+    assertThat(batchStubFactory.stub.getMaxBatchSize())
+        .as("the invalid file was ignored")
+        .isEqualTo(5);
+  }
+
+  @Test
+  void shouldExposeManagementBean() throws Exception {
+    // given
+    final var server = ManagementFactory.getPlatformMBeanServer();
+    final var name =
+        new ObjectName("io.zeebe.exporters.kafka:type=KafkaExporter,name=\"jmx\",partition=0");
+    rawConfig.maxBatchSize = 5;
+    testHarness.configure("jmx", rawConfig);
+    testHarness.open();
+    testHarness.stream(r -> r.getMetadata().setValueType(ValueType.VARIABLE)).export(2);
+    triggerFlushTask();
+    testHarness.stream(r -> r.getMetadata().setValueType(ValueType.VARIABLE)).export(3);
+
+    // when
+    server.setAttribute(name, new Attribute("MaxBatchSize", 10));
+    server.invoke(name, "flush", null, null);
+    testHarness.export(r -> r.getMetadata().setValueType(ValueType.VARIABLE));
+
+    // then
+    assertThat(batchStubFactory.stub.getPendingRecords())
+        .as("the flush was applied before the next record was added")
+        .hasSize(1);
+    assertThat(server.getAttribute(name, "MaxBatchSize"))
+        .as("the status is published once the operations are applied")
+        .isEqualTo(10);
+    assertThat(server.getAttribute(name, "Batches"))
+        .as("the batches' status is mapped to open types")
+        .isInstanceOf(TabularData.class);
+    assertThat(batchStubFactory.stub.getMaxBatchSize()).isEqualTo(10);
+    assertThat(batchStubFactory.stub.getFlushedRecords()).hasSize(5);
+    assertThat(server.getAttribute(name, "LastExportedPosition"))
+        .isEqualTo(batchStubFactory.stub.getFlushedRecords().get(4).key().getPosition());
+
+    testHarness.close();
+    assertThat(server.isRegistered(name)).as("the bean is unregistered on close").isFalse();
+  }
+
+  @Test
+  void shouldPublishBatchStatusWhileExporting() throws Exception {
+    // given
+    final var server = ManagementFactory.getPlatformMBeanServer();
+    final var name =
+        new ObjectName(
+            "io.zeebe.exporters.kafka:type=KafkaExporter,name=\"jmx-status\",partition=0");
+    testHarness.configure("jmx-status", rawConfig);
+    testHarness.open();
+
+    // when
+    testHarness.export(r -> r.getMetadata().setValueType(ValueType.VARIABLE));
+    Thread.sleep(KafkaExporter.MANAGEMENT_UPDATE_INTERVAL.toMillis());
+    testHarness.export(r -> r.getMetadata().setValueType(ValueType.VARIABLE));
+
+    // then
+    assertThat(server.getAttribute(name, "BatchRecordCount"))
+        .as("the status is published without waiting for a flush")
+        .isEqualTo(2);
+
+    testHarness.close();
+  }
+
   private void triggerFlushTask() {
     mockConfigParser.parse(rawConfig);
     testHarness.runScheduledTasks(mockConfigParser.config.getFlushInterval());
@@ -16,14 +16,27 @@
 package io.zeebe.exporters.kafka.config.parser;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.camunda.zeebe.protocol.record.ValueType;
 import io.zeebe.exporters.kafka.config.Config;
 import io.zeebe.exporters.kafka.config.ProducerConfig;
 import io.zeebe.exporters.kafka.config.RecordsConfig;
+import io.zeebe.exporters.kafka.config.TargetConfig;
+import io.zeebe.exporters.kafka.config.raw.RawAggregationConfig;
+import io.zeebe.exporters.kafka.config.raw.RawClaimCheckConfig;
 import io.zeebe.exporters.kafka.config.raw.RawConfig;
+import io.zeebe.exporters.kafka.config.raw.RawEnrichmentConfig;
 import io.zeebe.exporters.kafka.config.raw.RawProducerConfig;
+import io.zeebe.exporters.kafka.config.raw.RawRecordConfig;
 import io.zeebe.exporters.kafka.config.raw.RawRecordsConfig;
+import io.zeebe.exporters.kafka.config.raw.RawResourcesConfig;
+import io.zeebe.exporters.kafka.config.raw.RawSegmentsConfig;
+import io.zeebe.exporters.kafka.config.raw.RawTargetConfig;
+import io.zeebe.exporters.kafka.config.raw.RawWatchdogConfig;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
@@ -50,6 +63,8 @@ final class RawConfigParserTest {
     assertThat(parsed.getProducer()).isEqualTo(producerConfigParser.parse(new RawProducerConfig()));
     assertThat(parsed.getMaxBatchSize()).isEqualTo(RawConfigParser.DEFAULT_MAX_BATCH_SIZE);
     assertThat(parsed.getFlushInterval()).isEqualTo(RawConfigParser.DEFAULT_FLUSH_INTERVAL_MS);
+    assertThat(parsed.getPriorityFlushInterval())
+        .isEqualTo(RawConfigParser.DEFAULT_PRIORITY_FLUSH_INTERVAL_MS);
   }
 
   @Test
@@ -60,6 +75,7 @@ final class RawConfigParserTest {
     final RecordsConfig recordsConfig = recordsConfigParser.parse(new RawRecordsConfig());
     config.maxBatchSize = 2;
     config.flushIntervalMs = 500L;
+    config.priorityFlushIntervalMs = 20L;
 
     // when
     final Config parsed = parser.parse(config);
@@ -69,5 +85,267 @@ final class RawConfigParserTest {
     assertThat(parsed.getRecords()).isEqualTo(recordsConfig);
     assertThat(parsed.getMaxBatchSize()).isEqualTo(2);
     assertThat(parsed.getFlushInterval()).isEqualTo(Duration.ofMillis(500));
+    assertThat(parsed.getPriorityFlushInterval()).isEqualTo(Duration.ofMillis(20));
+  }
+
+  @Test
+  void shouldParseClaimCheck() {
+    // given
+    final RawConfig config = new RawConfig();
+    config.claimCheck = new RawClaimCheckConfig();
+    config.claimCheck.directory = "/tmp/blobs";
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getClaimCheck().getDirectory()).hasValue(Path.of("/tmp/blobs"));
+  }
+
+  @Test
+  void shouldDisableClaimCheckByDefault() {
+    // given
+    final RawConfig config = new RawConfig();
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getClaimCheck().isEnabled()).isFalse();
+  }
+
+  @Test
+  void shouldThrowExceptionIfClaimCheckThresholdWithoutDirectory() {
+    // given
+    final RawConfig config = new RawConfig();
+    final RawRecordConfig variableConfig = new RawRecordConfig();
+    variableConfig.claimCheckThresholdBytes = 1024;
+    config.records = new RawRecordsConfig();
+    config.records.setValueType("variable", variableConfig);
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldParseResources() {
+    // given
+    final RawConfig config = new RawConfig();
+    config.resources = new RawResourcesConfig();
+    config.resources.topic = "zeebe-resources";
+    config.resources.cacheSize = 16;
+    config.resources.publishTimeoutMs = 100L;
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getResources().getTopic()).hasValue("zeebe-resources");
+    assertThat(parsed.getResources().getCacheSize()).isEqualTo(16);
+    assertThat(parsed.getResources().getPublishTimeout()).isEqualTo(Duration.ofMillis(100));
+  }
+
+  @Test
+  void shouldDisableResourcesByDefault() {
+    // given
+    final RawConfig config = new RawConfig();
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getResources().isEnabled()).isFalse();
+    assertThat(parsed.getResources().getCacheSize())
+        .isEqualTo(RawResourcesConfigParser.DEFAULT_CACHE_SIZE);
+  }
+
+  @Test
+  void shouldParseEnrichment() {
+    // given
+    final RawConfig config = new RawConfig();
+    config.enrichment = new RawEnrichmentConfig();
+    config.enrichment.cacheSize = 4096;
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getEnrichment().isEnabled()).isTrue();
+    assertThat(parsed.getEnrichment().getCacheSize()).isEqualTo(4096);
+  }
+
+  @Test
+  void shouldDisableEnrichmentByDefault() {
+    // given
+    final RawConfig config = new RawConfig();
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getEnrichment().isEnabled()).isFalse();
+  }
+
+  @Test
+  void shouldParseAggregation() {
+    // given
+    final RawConfig config = new RawConfig();
+    config.aggregation = new RawAggregationConfig();
+    config.aggregation.topic = "zeebe-summaries";
+    config.aggregation.windowMs = 10_000L;
+    config.aggregation.maxGroups = 100;
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getAggregation().getTopic()).hasValue("zeebe-summaries");
+    assertThat(parsed.getAggregation().getWindow()).isEqualTo(Duration.ofSeconds(10));
+    assertThat(parsed.getAggregation().getMaxGroups()).isEqualTo(100);
+  }
+
+  @Test
+  void shouldDisableAggregationByDefault() {
+    // given
+    final RawConfig config = new RawConfig();
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getAggregation().isEnabled()).isFalse();
+    assertThat(parsed.getAggregation().getWindow())
+        .isEqualTo(RawAggregationConfigParser.DEFAULT_WINDOW);
+  }
+
+  @Test
+  void shouldThrowExceptionIfAggregationWindowIsNotPositive() {
+    // given
+    final RawConfig config = new RawConfig();
+    config.aggregation = new RawAggregationConfig();
+    config.aggregation.topic = "zeebe-summaries";
+    config.aggregation.windowMs = 0L;
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldEnableWatchdogByDefault() {
+    // given
+    final RawConfig config = new RawConfig();
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getWatchdog().isEnabled()).isTrue();
+    assertThat(parsed.getWatchdog().getLagThreshold())
+        .isEqualTo(RawWatchdogConfigParser.DEFAULT_LAG_THRESHOLD);
+  }
+
+  @Test
+  void shouldDisableWatchdog() {
+    // given
+    final RawConfig config = new RawConfig();
+    config.watchdog = new RawWatchdogConfig();
+    config.watchdog.lagThresholdMs = 0L;
+    config.watchdog.checkIntervalMs = 500L;
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getWatchdog().isEnabled()).isFalse();
+    assertThat(parsed.getWatchdog().getCheckInterval()).isEqualTo(Duration.ofMillis(500));
+  }
+
+  @Test
+  void shouldParseTargets() {
+    // given
+    final RawConfig config = new RawConfig();
+    final RawTargetConfig analytics = new RawTargetConfig();
+    analytics.producer = new RawProducerConfig();
+    analytics.producer.servers = "analytics:9092";
+    analytics.valueTypes = "job, processInstance";
+    config.targets = Map.of("analytics", analytics, "regional", new RawTargetConfig());
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getTargets()).containsOnlyKeys("analytics", "regional");
+    final TargetConfig target = parsed.getTargets().get("analytics");
+    assertThat(target.getProducer().getServers()).containsExactly("analytics:9092");
+    assertThat(target.getValueTypes())
+        .containsExactlyInAnyOrder(ValueType.JOB, ValueType.PROCESS_INSTANCE);
+    assertThat(target.accepts(ValueType.VARIABLE)).isFalse();
+    assertThat(parsed.getTargets().get("regional").accepts(ValueType.VARIABLE))
+        .as("a target without value types receives every exported record")
+        .isTrue();
+  }
+
+  @Test
+  void shouldHaveNoTargetsByDefault() {
+    // given
+    final RawConfig config = new RawConfig();
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getTargets()).isEmpty();
+  }
+
+  @Test
+  void shouldThrowExceptionIfTargetNameIsReserved() {
+    // given
+    final RawConfig config = new RawConfig();
+    config.targets = Map.of("high", new RawTargetConfig());
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldParseSegments() {
+    // given
+    final RawConfig config = new RawConfig();
+    config.segments = new RawSegmentsConfig();
+    config.segments.directory = "/tmp/segments";
+    config.segments.segmentSizeBytes = 1024;
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getSegments().getDirectory()).hasValue(Path.of("/tmp/segments"));
+    assertThat(parsed.getSegments().getSegmentSize()).isEqualTo(1024);
+  }
+
+  @Test
+  void shouldDisableSegmentsByDefault() {
+    // given
+    final RawConfig config = new RawConfig();
+
+    // when
+    final Config parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getSegments().isEnabled()).isFalse();
+    assertThat(parsed.getSegments().getSegmentSize())
+        .isEqualTo(RawSegmentsConfigParser.DEFAULT_SEGMENT_SIZE);
+  }
+
+  @Test
+  void shouldThrowExceptionIfSegmentSizeIsNotPositive() {
+    // given
+    final RawConfig config = new RawConfig();
+    config.segments = new RawSegmentsConfig();
+    config.segments.directory = "/tmp/segments";
+    config.segments.segmentSizeBytes = 0;
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
   }
 }
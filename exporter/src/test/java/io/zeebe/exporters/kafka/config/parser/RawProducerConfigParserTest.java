@@ -16,6 +16,7 @@
 package io.zeebe.exporters.kafka.config.parser;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.zeebe.exporters.kafka.config.ProducerConfig;
 import io.zeebe.exporters.kafka.config.raw.RawProducerConfig;
@@ -78,4 +79,77 @@ final class RawProducerConfigParserTest {
             Duration.ofSeconds(5),
             Map.of("linger.ms", "5", "max.buffer.count", "2"));
   }
+
+  @Test
+  void shouldParseRecreateBackoff() {
+    // given
+    final RawProducerConfig config = new RawProducerConfig();
+    config.recreateBackoffMs = 0L;
+    config.maxRecreateBackoffMs = 1000L;
+
+    // when
+    final ProducerConfig parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getRecreateBackoff()).isEqualTo(Duration.ZERO);
+    assertThat(parsed.getMaxRecreateBackoff()).isEqualTo(Duration.ofSeconds(1));
+  }
+
+  @Test
+  void shouldThrowExceptionIfRecreateBackoffIsNegative() {
+    // given
+    final RawProducerConfig config = new RawProducerConfig();
+    config.recreateBackoffMs = -1L;
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldParseMaxTransactionSizeAndDuration() {
+    // given
+    final RawProducerConfig config = new RawProducerConfig();
+    config.maxTransactionSizeBytes = 1024L;
+    config.maxTransactionDurationMs = 500L;
+
+    // when
+    final ProducerConfig parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getMaxTransactionSize()).isEqualTo(1024L);
+    assertThat(parsed.getMaxTransactionDuration()).isEqualTo(Duration.ofMillis(500));
+  }
+
+  @Test
+  void shouldThrowExceptionIfMaxTransactionSizeIsNegative() {
+    // given
+    final RawProducerConfig config = new RawProducerConfig();
+    config.maxTransactionSizeBytes = -1L;
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldParseDrainTimeout() {
+    // given
+    final RawProducerConfig config = new RawProducerConfig();
+    config.drainTimeoutMs = 1500L;
+
+    // when
+    final ProducerConfig parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getDrainTimeout()).isEqualTo(Duration.ofMillis(1500));
+  }
+
+  @Test
+  void shouldThrowExceptionIfDrainTimeoutIsNegative() {
+    // given
+    final RawProducerConfig config = new RawProducerConfig();
+    config.drainTimeoutMs = -1L;
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
 }
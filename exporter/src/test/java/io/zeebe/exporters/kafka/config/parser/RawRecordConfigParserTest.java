@@ -19,7 +19,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.RejectionType;
+import io.camunda.zeebe.protocol.record.value.BpmnElementType;
+import io.zeebe.exporters.kafka.config.OversizedRecordPolicy;
 import io.zeebe.exporters.kafka.config.RecordConfig;
+import io.zeebe.exporters.kafka.config.RecordFilterConfig;
+import io.zeebe.exporters.kafka.config.RecordPriority;
 import io.zeebe.exporters.kafka.config.raw.RawRecordConfig;
 import java.util.EnumSet;
 import org.junit.jupiter.api.Test;
@@ -58,6 +63,123 @@ final class RawRecordConfigParserTest {
     assertThat(parsed.getTopic()).isEqualTo("something");
   }
 
+  @Test
+  void shouldParsePriority() {
+    // given
+    final RawRecordConfig config = new RawRecordConfig();
+    config.priority = "high";
+
+    // when
+    final RecordConfig parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getPriority()).isEqualTo(RecordPriority.HIGH);
+  }
+
+  @Test
+  void shouldThrowExceptionIfPriorityIsUnknown() {
+    // given
+    final RawRecordConfig config = new RawRecordConfig();
+    config.priority = "urgent";
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldParseOversizedPolicy() {
+    // given
+    final RawRecordConfig config = new RawRecordConfig();
+    config.oversizedPolicy = "deadLetter";
+    config.deadLetterTopic = "oversized";
+
+    // when
+    final RecordConfig parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getOversizedPolicy()).isEqualTo(OversizedRecordPolicy.DEAD_LETTER);
+    assertThat(parsed.getDeadLetterTopic()).isEqualTo("oversized");
+  }
+
+  @Test
+  void shouldThrowExceptionIfOversizedPolicyIsUnknown() {
+    // given
+    final RawRecordConfig config = new RawRecordConfig();
+    config.oversizedPolicy = "compress";
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldParseClaimCheckThreshold() {
+    // given
+    final RawRecordConfig config = new RawRecordConfig();
+    config.claimCheckThresholdBytes = 2048;
+
+    // when
+    final RecordConfig parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getClaimCheckThreshold()).isEqualTo(2048);
+  }
+
+  @Test
+  void shouldParseFilter() {
+    // given
+    final RawRecordConfig config = new RawRecordConfig();
+    config.excludeIntents = "ELEMENT_ACTIVATING, ELEMENT_COMPLETING";
+    config.excludeBpmnProcessIds = "noisy";
+    config.excludeElementTypes = "SEQUENCE_FLOW";
+    config.excludeTenantIds = "test";
+    config.excludeRejectionTypes = "NOT_FOUND";
+
+    // when
+    final RecordConfig parsed = parser.parse(config);
+
+    // then
+    final RecordFilterConfig filter = parsed.getFilter();
+    assertThat(filter.getExcludedIntents())
+        .containsExactlyInAnyOrder("ELEMENT_ACTIVATING", "ELEMENT_COMPLETING");
+    assertThat(filter.getExcludedBpmnProcessIds()).containsExactly("noisy");
+    assertThat(filter.getExcludedElementTypes()).containsExactly(BpmnElementType.SEQUENCE_FLOW);
+    assertThat(filter.getExcludedTenantIds()).containsExactly("test");
+    assertThat(filter.getExcludedRejectionTypes()).containsExactly(RejectionType.NOT_FOUND);
+  }
+
+  @Test
+  void shouldThrowExceptionIfExcludedIntentIsUnknown() {
+    // given
+    final RawRecordConfig config = new RawRecordConfig();
+    config.excludeIntents = "ELEMENT_ACTIVATNG";
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldParseSampleRate() {
+    // given
+    final RawRecordConfig config = new RawRecordConfig();
+    config.sampleRate = 0.25;
+
+    // when
+    final RecordConfig parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getFilter().getSampleRate()).isEqualTo(0.25);
+  }
+
+  @Test
+  void shouldThrowExceptionIfSampleRateIsOutOfRange() {
+    // given
+    final RawRecordConfig config = new RawRecordConfig();
+    config.sampleRate = 1.5;
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   void shouldSetDefaultsIfNull() {
     // given
@@ -69,12 +191,24 @@ final class RawRecordConfigParserTest {
     // then
     assertThat(parsed.getTopic()).isEqualTo(RawRecordConfigParser.DEFAULT_TOPIC_NAME);
     assertThat(parsed.getAllowedTypes()).isEqualTo(RawRecordConfigParser.DEFAULT_ALLOWED_TYPES);
+    assertThat(parsed.getPriority()).isEqualTo(RecordPriority.NORMAL);
+    assertThat(parsed.getOversizedPolicy()).isEqualTo(OversizedRecordPolicy.NONE);
+    assertThat(parsed.getDeadLetterTopic())
+        .isEqualTo(RawRecordConfigParser.DEFAULT_DEAD_LETTER_TOPIC_NAME);
+    assertThat(parsed.getClaimCheckThreshold())
+        .isEqualTo(RawRecordConfigParser.DEFAULT_CLAIM_CHECK_THRESHOLD);
   }
 
   @Test
   void shouldSetExplicitDefaultsIfNull() {
     // given
-    final RecordConfig defaults = new RecordConfig(EnumSet.allOf(RecordType.class), "topic");
+    final RecordConfig defaults =
+        RecordConfig.builder(EnumSet.allOf(RecordType.class), "topic")
+            .withPriority(RecordPriority.HIGH)
+            .withOversizedPolicy(OversizedRecordPolicy.SPLIT)
+            .withDeadLetterTopic("dead-letter")
+            .withClaimCheckThreshold(1024)
+            .build();
     final RawRecordConfigParser explicitParser = new RawRecordConfigParser(defaults);
     final RawRecordConfig config = new RawRecordConfig();
 
@@ -84,6 +218,10 @@ final class RawRecordConfigParserTest {
     // then
     assertThat(parsed.getTopic()).isEqualTo(defaults.getTopic());
     assertThat(parsed.getAllowedTypes()).isEqualTo(defaults.getAllowedTypes());
+    assertThat(parsed.getPriority()).isEqualTo(defaults.getPriority());
+    assertThat(parsed.getOversizedPolicy()).isEqualTo(defaults.getOversizedPolicy());
+    assertThat(parsed.getDeadLetterTopic()).isEqualTo(defaults.getDeadLetterTopic());
+    assertThat(parsed.getClaimCheckThreshold()).isEqualTo(defaults.getClaimCheckThreshold());
   }
 
   @Test
@@ -16,13 +16,20 @@
 package io.zeebe.exporters.kafka.config.parser;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import io.camunda.zeebe.protocol.record.RecordType;
 import io.camunda.zeebe.protocol.record.ValueType;
 import io.zeebe.exporters.kafka.config.RecordsConfig;
+import io.zeebe.exporters.kafka.config.TopicTemplate;
 import io.zeebe.exporters.kafka.config.raw.RawRecordConfig;
 import io.zeebe.exporters.kafka.config.raw.RawRecordsConfig;
 import java.util.EnumSet;
+import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
@@ -31,7 +38,7 @@ import org.junit.jupiter.api.parallel.ExecutionMode;
 @Execution(ExecutionMode.CONCURRENT)
 final class RawRecordsConfigParserTest {
   private static final Set<ValueType> EXPECTED_VALUE_TYPES =
-      EnumSet.range(ValueType.JOB, ValueType.PROCESS_EVENT);
+      EnumSet.complementOf(EnumSet.of(ValueType.SBE_UNKNOWN, ValueType.NULL_VAL));
 
   private final RawRecordsConfigParser parser = new RawRecordsConfigParser();
 
@@ -53,25 +60,9 @@ final class RawRecordsConfigParserTest {
   void shouldParseRecordConfigUnderCorrectValueType() {
     // given
     final RawRecordsConfig config = new RawRecordsConfig();
-    config.job = newConfigFromType(ValueType.JOB);
-    config.deployment = newConfigFromType(ValueType.DEPLOYMENT);
-    config.processInstance = newConfigFromType(ValueType.PROCESS_INSTANCE);
-    config.incident = newConfigFromType(ValueType.INCIDENT);
-    config.message = newConfigFromType(ValueType.MESSAGE);
-    config.messageSubscription = newConfigFromType(ValueType.MESSAGE_SUBSCRIPTION);
-    config.processMessageSubscription = newConfigFromType(ValueType.PROCESS_MESSAGE_SUBSCRIPTION);
-    config.jobBatch = newConfigFromType(ValueType.JOB_BATCH);
-    config.timer = newConfigFromType(ValueType.TIMER);
-    config.messageStartEventSubscription =
-      newConfigFromType(ValueType.MESSAGE_START_EVENT_SUBSCRIPTION);
-    config.variable = newConfigFromType(ValueType.VARIABLE);
-    config.variableDocument = newConfigFromType(ValueType.VARIABLE_DOCUMENT);
-    config.processInstanceCreation = newConfigFromType(ValueType.PROCESS_INSTANCE_CREATION);
-    config.error = newConfigFromType(ValueType.ERROR);
-    config.processInstanceResult = newConfigFromType(ValueType.PROCESS_INSTANCE_RESULT);
-    config.process = newConfigFromType(ValueType.PROCESS);
-    config.deploymentDistribution = newConfigFromType(ValueType.DEPLOYMENT_DISTRIBUTION);
-    config.processEvent = newConfigFromType(ValueType.PROCESS_EVENT);
+    for (final ValueType type : EXPECTED_VALUE_TYPES) {
+      config.setValueType(type.name(), newConfigFromType(type));
+    }
 
     // when
     final RecordsConfig parsed = parser.parse(config);
@@ -82,6 +73,56 @@ final class RawRecordsConfigParserTest {
     }
   }
 
+  @Test
+  void shouldResolveValueTypeNamesIgnoringCaseAndSeparators() {
+    // given
+    final RawRecordsConfig config = new RawRecordsConfig();
+    config.setValueType("processInstance", newConfigFromType(ValueType.PROCESS_INSTANCE));
+    config.setValueType("user-task", newConfigFromType(ValueType.USER_TASK));
+    config.setValueType("decisionevaluation", newConfigFromType(ValueType.DECISION_EVALUATION));
+
+    // when
+    final RecordsConfig parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getTypeMap())
+        .containsOnlyKeys(
+            ValueType.PROCESS_INSTANCE, ValueType.USER_TASK, ValueType.DECISION_EVALUATION);
+    parsed.getTypeMap().forEach((t, c) -> assertThat(c.getTopic()).isEqualTo(t.name()));
+  }
+
+  @Test
+  void shouldThrowExceptionOnUnknownValueType() {
+    // given
+    final RawRecordsConfig config = new RawRecordsConfig();
+    config.setValueType("processInstanz", new RawRecordConfig());
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldCollectValueTypesFromConfigurationArguments() {
+    // given - the broker converts the exporter's arguments map with Jackson
+    final ObjectMapper mapper =
+        JsonMapper.builder().enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES).build();
+    final Map<String, Object> arguments =
+        Map.of(
+            "defaults", Map.of("topic", "zeebe"),
+            "processInstance", Map.of("topic", "zeebe-process-instance"),
+            "signal", Map.of("type", ""));
+
+    // when
+    final RecordsConfig parsed =
+        parser.parse(mapper.convertValue(arguments, RawRecordsConfig.class));
+
+    // then
+    assertThat(parsed.getDefaults().getTopic()).isEqualTo("zeebe");
+    assertThat(parsed.forType(ValueType.PROCESS_INSTANCE).getTopic())
+        .isEqualTo("zeebe-process-instance");
+    assertThat(parsed.forType(ValueType.SIGNAL).getAllowedTypes()).isEmpty();
+  }
+
   @Test
   void shouldUseDefaultsOnMissingProperties() {
     // given
@@ -106,6 +147,31 @@ final class RawRecordsConfigParserTest {
             });
   }
 
+  @Test
+  void shouldParseProcessTopics() {
+    // given
+    final RawRecordsConfig config = new RawRecordsConfig();
+    config.processTopics = Map.of("order", "zeebe-order-{valueType}");
+
+    // when
+    final RecordsConfig parsed = parser.parse(config);
+
+    // then
+    assertThat(parsed.getProcessTopics())
+        .containsExactly(entry("order", TopicTemplate.parse("zeebe-order-{valueType}")));
+  }
+
+  @Test
+  void shouldThrowExceptionOnUnknownTopicPlaceholder() {
+    // given
+    final RawRecordsConfig config = new RawRecordsConfig();
+    config.defaults = new RawRecordConfig();
+    config.defaults.topic = "zeebe-{unknown}";
+
+    // when - then
+    assertThatThrownBy(() -> parser.parse(config)).isInstanceOf(IllegalArgumentException.class);
+  }
+
   private RawRecordConfig newConfigFromType(final ValueType type) {
     final RawRecordConfig recordConfig = new RawRecordConfig();
     recordConfig.topic = type.name();
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.producer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.agrona.collections.MutableLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class BackoffTest {
+  private final MutableLong clock = new MutableLong(0);
+  private final Backoff backoff =
+      new Backoff(Duration.ofMillis(100), Duration.ofSeconds(1), clock::get);
+
+  @Test
+  void shouldDoubleDelayUpToMaximum() {
+    // given
+    final long[] delays = new long[6];
+
+    // when
+    for (int i = 0; i < delays.length; i++) {
+      delays[i] = backoff.onFailure();
+    }
+
+    // then
+    assertThat(delays[0]).as("first delay is jittered around the initial one").isBetween(50L, 100L);
+    assertThat(delays[1]).as("second delay is doubled").isBetween(100L, 200L);
+    assertThat(delays[2]).isBetween(200L, 400L);
+    assertThat(delays[5]).as("delays are capped").isBetween(500L, 1_000L);
+  }
+
+  @Test
+  void shouldNotBeReadyUntilDelayElapsed() {
+    // given
+    final long delay = backoff.onFailure();
+
+    // when
+    final boolean readyBefore = backoff.isReady();
+    clock.set(delay);
+
+    // then
+    assertThat(readyBefore).as("still backing off").isFalse();
+    assertThat(backoff.isReady()).as("the delay elapsed").isTrue();
+  }
+
+  @Test
+  void shouldResetOnSuccess() {
+    // given
+    backoff.onFailure();
+    backoff.onFailure();
+
+    // when
+    backoff.onSuccess();
+
+    // then
+    assertThat(backoff.isReady()).isTrue();
+    assertThat(backoff.onFailure()).as("back to the initial delay").isBetween(50L, 100L);
+  }
+}
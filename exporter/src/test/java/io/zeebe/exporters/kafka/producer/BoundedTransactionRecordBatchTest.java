@@ -24,14 +24,23 @@ import io.zeebe.exporters.kafka.config.raw.RawProducerConfig;
 import io.zeebe.exporters.kafka.record.FullRecordBatchException;
 import io.zeebe.exporters.kafka.serde.RecordId;
 import io.zeebe.exporters.kafka.serde.RecordIdSerializer;
+import java.time.Duration;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.agrona.collections.MutableLong;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.MockProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.InvalidProducerEpochException;
 import org.apache.kafka.common.errors.InterruptException;
 import org.apache.kafka.common.errors.TimeoutException;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
@@ -99,6 +108,68 @@ final class BoundedTransactionRecordBatchTest {
     assertThatCode(batch::close).doesNotThrowAnyException();
   }
 
+  @Test
+  void shouldCommitPendingRecordsWhenDrained() {
+    // given
+    final var flushedPosition = new MutableLong(0L);
+    final var batch = createBatch(flushedPosition::set, 10);
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[0]));
+
+    // when
+    batch.drainAndClose(Duration.ofSeconds(5));
+
+    // then
+    assertThat(flushedPosition.get())
+        .as("the pending record should have been committed before closing")
+        .isEqualTo(1L);
+    assertThat(mockProducerFactory.mockProducer.transactionCommitted()).isTrue();
+  }
+
+  @Test
+  void shouldAbortTransactionOnceDrainTimeoutElapsed() {
+    // given
+    final var flushedPosition = new MutableLong(0L);
+    final var blockedProducer = new BlockingCommitProducer();
+    mockProducerFactory.mockProducer = blockedProducer;
+    final var batch = createBatch(flushedPosition::set, 10);
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[0]));
+
+    // when
+    final var start = System.nanoTime();
+    batch.drainAndClose(Duration.ofMillis(100));
+    final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    // then
+    assertThat(elapsed)
+        .as("closing should not have waited for the commit longer than the drain timeout allows")
+        .isLessThan(Duration.ofSeconds(5));
+    assertThat(flushedPosition.get())
+        .as("the record was never committed, so the position should not have moved")
+        .isZero();
+    assertThat(blockedProducer.closed())
+        .as("the producer should have been force closed, aborting its transaction")
+        .isTrue();
+    assertThat(blockedProducer.transactionCommitted()).isFalse();
+    assertThat(batch.getStatus().getLastError())
+        .as("the failed commit of the aborted drain is not recovered from like a producer error")
+        .isEmpty();
+  }
+
+  @Test
+  void shouldNotFlushWhenDrainTimeoutIsZero() {
+    // given
+    final var flushedPosition = new MutableLong(0L);
+    final var batch = createBatch(flushedPosition::set, 10);
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[0]));
+
+    // when
+    batch.drainAndClose(Duration.ZERO);
+
+    // then
+    assertThat(flushedPosition.get()).isZero();
+    assertThat(mockProducerFactory.mockProducer.transactionCommitted()).isFalse();
+  }
+
   @Test
   void shouldSendUnsentRecordsOnFlush() {
     // given
@@ -143,6 +214,144 @@ final class BoundedTransactionRecordBatchTest {
         .containsExactlyElementsOf(records);
   }
 
+  @Test
+  void shouldReportStatus() {
+    // given
+    final var batch = createBatch(position -> {}, 2);
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[3]));
+    batch.flush();
+
+    // when
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 2), new byte[5]));
+    final var status = batch.getStatus();
+
+    // then
+    assertThat(status.getRecordCount()).as("only the unflushed record").isEqualTo(1);
+    assertThat(status.getByteCount()).isEqualTo(5);
+    assertThat(status.getTransactionState()).isEqualTo("IN_TRANSACTION");
+    assertThat(status.getProducerId()).isEqualTo(mockProducerFactory.producerId);
+    assertThat(status.getCommittedOffsets())
+        .as("the offset of the committed record is known")
+        .containsOnlyKeys("zeebe-0");
+    assertThat(status.getLastFlushTime()).isPositive();
+  }
+
+  @Test
+  void shouldUseWarmedUpProducer() {
+    // given
+    final var warmProducer = newMockProducer();
+    final var batch = createBatch(position -> {}, 2);
+    mockProducerFactory.mockProducer = warmProducer;
+    batch.warmUp(List.of("zeebe")).join();
+
+    // when
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[0]));
+    batch.flush();
+
+    // then
+    assertThat(warmProducer.transactionInitialized())
+        .as("the producer was initialized when warming up")
+        .isTrue();
+    assertThat(mockProducerFactory.mockProducer)
+        .as("no other producer was created")
+        .isSameAs(warmProducer);
+    assertThat(warmProducer.history()).hasSize(1);
+  }
+
+  @Test
+  void shouldBufferRecordsWhileWarmingUp() {
+    // given
+    final var producerCreated = new CompletableFuture<Void>();
+    final var batch = createBatch(position -> {}, 2);
+    mockProducerFactory.mockProducer = null;
+    mockProducerFactory.mockProducerSupplier =
+        () -> {
+          producerCreated.join();
+          return newMockProducer();
+        };
+    final var warmedUp = batch.warmUp(List.of("zeebe"));
+
+    // when
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[0]));
+    batch.flush();
+    final var statusWhileWarmingUp = batch.getStatus();
+    producerCreated.complete(null);
+    warmedUp.join();
+    batch.flush();
+
+    // then
+    assertThat(statusWhileWarmingUp.getTransactionState()).isEqualTo("WARMING_UP");
+    assertThat(statusWhileWarmingUp.getRecordCount())
+        .as("the record is buffered until the producer is ready")
+        .isEqualTo(1);
+    assertThat(mockProducerFactory.mockProducer.transactionCommitted())
+        .as("the record is committed once the producer is ready")
+        .isTrue();
+    assertThat(mockProducerFactory.mockProducer.history()).hasSize(1);
+  }
+
+  @Test
+  void shouldRetryRecordsParkedOffHeapWithNewProducer() {
+    // given
+    final var rawConfig = new RawProducerConfig();
+    rawConfig.recreateBackoffMs = 0L;
+    rawConfig.offHeapPoolSizeBytes = 64;
+    rawConfig.offHeapSlabSizeBytes = 32;
+    final var batch = createBatch(position -> {}, 2, rawConfig);
+    final var failingProducer = newMockProducer();
+    failingProducer.commitTransactionException = new RuntimeException();
+    mockProducerFactory.mockProducer = failingProducer;
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[] {1, 2, 3}));
+    batch.flush();
+
+    // when
+    batch.flush();
+
+    // then
+    assertThat(mockProducerFactory.mockProducer)
+        .as("the producer was recreated")
+        .isNotSameAs(failingProducer);
+    assertThat(mockProducerFactory.mockProducer.history())
+        .as("the payload was copied back from the pool when retrying")
+        .singleElement()
+        .extracting(ProducerRecord::value)
+        .isEqualTo(new byte[] {1, 2, 3});
+  }
+
+  @Test
+  void shouldKeepParkedPayloadsWhenSplittingResentTransaction() {
+    // given
+    final var flushedPosition = new MutableLong(0L);
+    final var rawConfig = new RawProducerConfig();
+    rawConfig.recreateBackoffMs = 0L;
+    rawConfig.offHeapPoolSizeBytes = 64;
+    rawConfig.offHeapSlabSizeBytes = 32;
+    rawConfig.maxTransactionDurationMs = 50L;
+    final var batch = createBatch(flushedPosition::set, 10, rawConfig);
+    final var failingProducer = newMockProducer();
+    failingProducer.commitTransactionException = new RuntimeException();
+    mockProducerFactory.mockProducer = failingProducer;
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[] {1, 1, 1}));
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 2), new byte[] {2, 2, 2}));
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 3), new byte[] {3, 3, 3}));
+    batch.flush();
+
+    // when - the resend is slow enough that its transaction is split after every record
+    final var slowProducer = new SlowSendProducer(Duration.ofMillis(60));
+    mockProducerFactory.mockProducerSupplier = () -> slowProducer;
+    batch.flush();
+
+    // then
+    assertThat(slowProducer.commitCount())
+        .as("the resent transaction was split")
+        .isGreaterThan(1);
+    assertThat(slowProducer.history())
+        .as("payloads still parked were not released by the earlier sub-commits")
+        .extracting(ProducerRecord::value)
+        .containsExactly(new byte[] {1, 1, 1}, new byte[] {2, 2, 2}, new byte[] {3, 3, 3});
+    assertThat(flushedPosition.get()).isEqualTo(3L);
+  }
+
   @Test
   void shouldCommitTransactionOnFlush() {
     // given
@@ -231,6 +440,77 @@ final class BoundedTransactionRecordBatchTest {
     assertThat(position.get()).as("should have flushed the correct new position").isEqualTo(2L);
   }
 
+  @Test
+  void shouldAbortAndResendWithSameProducerOnAbortableError() {
+    // given
+    final var flushedPosition = new MutableLong(0L);
+    final var batch = createBatch(flushedPosition::set, 10);
+    final var record = new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[0]);
+    batch.add(record);
+    final var producer = mockProducerFactory.mockProducer;
+    producer.commitTransactionException = new InvalidProducerEpochException("epoch bumped");
+
+    // when
+    batch.flush();
+
+    // then
+    assertThat(mockProducerFactory.mockProducer)
+        .as("the producer should not have been replaced")
+        .isSameAs(producer);
+    assertThat(producer.closed()).isFalse();
+    assertThat(producer.transactionInFlight())
+        .as("the record should have been sent again in a new transaction")
+        .isTrue();
+    assertThat(producer.uncommittedRecords())
+        .as("the aborted send should have been discarded")
+        .containsExactly(record);
+    assertThat(flushedPosition.get()).isZero();
+  }
+
+  @Test
+  void shouldCommitResentRecordsAfterAbortableError() {
+    // given
+    final var flushedPosition = new MutableLong(0L);
+    final var batch = createBatch(flushedPosition::set, 10);
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[0]));
+    final var producer = mockProducerFactory.mockProducer;
+    producer.commitTransactionException = new InvalidProducerEpochException("epoch bumped");
+    batch.flush();
+
+    // when
+    producer.commitTransactionException = null;
+    batch.flush();
+
+    // then
+    assertThat(flushedPosition.get()).isEqualTo(1L);
+    assertThat(producer.history()).hasSize(1);
+  }
+
+  @Test
+  void shouldReplaceFencedProducerWithoutBackingOff() {
+    // given
+    final var flushedPosition = new MutableLong(0L);
+    final var rawConfig = new RawProducerConfig();
+    rawConfig.recreateBackoffMs = 60_000L;
+    final var batch = createBatch(flushedPosition::set, 10, rawConfig);
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[0]));
+    final var fencedProducer = mockProducerFactory.mockProducer;
+    fencedProducer.fenceProducer();
+
+    // when
+    batch.flush();
+    batch.flush();
+
+    // then
+    assertThat(fencedProducer.closed()).as("the fenced producer should be closed").isTrue();
+    assertThat(mockProducerFactory.mockProducer)
+        .as("a new producer should have been created right away")
+        .isNotSameAs(fencedProducer);
+    assertThat(flushedPosition.get())
+        .as("the record should have been committed by the new producer")
+        .isEqualTo(1L);
+  }
+
   @Test
   void shouldSendRecordImmediatelyWhenAdded() {
     // given
@@ -274,6 +554,74 @@ final class BoundedTransactionRecordBatchTest {
         .isZero();
   }
 
+  @Test
+  void shouldSplitTransactionOnceMaxSizeIsReached() {
+    // given
+    final var flushedPosition = new MutableLong(0L);
+    final var rawConfig = new RawProducerConfig();
+    rawConfig.maxTransactionSizeBytes = 4L;
+    final var batch = createBatch(flushedPosition::set, 10, rawConfig);
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[3]));
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 2), new byte[3]));
+
+    // when
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 3), new byte[3]));
+
+    // then
+    assertThat(mockProducerFactory.mockProducer.commitCount())
+        .as("the first two records were committed before sending the third")
+        .isOne();
+    assertThat(flushedPosition.get()).isEqualTo(2L);
+    assertThat(batch.getStatus().getRecordCount()).isOne();
+    assertThat(batch.getStatus().getByteCount()).isEqualTo(3L);
+    assertThat(mockProducerFactory.mockProducer.transactionInFlight())
+        .as("the third record was sent in a new transaction")
+        .isTrue();
+  }
+
+  @Test
+  void shouldNotSplitTransactionWithinPosition() {
+    // given
+    final var flushedPosition = new MutableLong(0L);
+    final var rawConfig = new RawProducerConfig();
+    rawConfig.maxTransactionSizeBytes = 1L;
+    final var batch = createBatch(flushedPosition::set, 10, rawConfig);
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[3]));
+
+    // when
+    batch.add(new ProducerRecord<>("zeebe-summaries", new RecordId(1, 1), new byte[3]));
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 2), new byte[3]));
+
+    // then
+    assertThat(mockProducerFactory.mockProducer.commitCount())
+        .as("both records of position 1 were committed together")
+        .isOne();
+    assertThat(flushedPosition.get()).isEqualTo(1L);
+    assertThat(batch.getStatus().getRecordCount()).isOne();
+  }
+
+  @Test
+  void shouldSplitTransactionOnceMaxDurationIsReached() throws InterruptedException {
+    // given
+    final var flushedPosition = new MutableLong(0L);
+    final var rawConfig = new RawProducerConfig();
+    rawConfig.maxTransactionDurationMs = 1L;
+    final var batch = createBatch(flushedPosition::set, 10, rawConfig);
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[3]));
+    Thread.sleep(5);
+
+    // when
+    batch.add(new ProducerRecord<>("zeebe", new RecordId(1, 2), new byte[3]));
+    batch.flush();
+
+    // then
+    assertThat(mockProducerFactory.mockProducer.commitCount())
+        .as("the first record was committed on its own, the second on flush")
+        .isEqualTo(2);
+    assertThat(flushedPosition.get()).isEqualTo(2L);
+    assertThat(mockProducerFactory.mockProducer.history()).hasSize(2);
+  }
+
   @Test
   void shouldFlushBatchOnAddIfFull() {
     // given
@@ -332,6 +680,40 @@ final class BoundedTransactionRecordBatchTest {
         .containsExactly(records.get(1));
   }
 
+  @Test
+  void shouldBackOffBeforeRecreatingProducer() {
+    // given
+    final var rawConfig = new RawProducerConfig();
+    rawConfig.recreateBackoffMs = 60_000L;
+    final var records =
+        List.of(
+            new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[0]),
+            new ProducerRecord<>("zeebe", new RecordId(1, 2), new byte[0]));
+    final var batch = createBatch(position -> {}, 1, rawConfig);
+    mockProducerFactory.mockProducer = newMockProducer();
+    mockProducerFactory.mockProducer.commitTransactionException = new RuntimeException();
+    batch.add(records.get(0));
+    batch.flush();
+
+    // when
+    final var nextProducer = newMockProducer();
+    mockProducerFactory.mockProducer = nextProducer;
+    batch.flush();
+
+    // then
+    assertThat(nextProducer.transactionInitialized())
+        .as("the producer is not recreated while backing off")
+        .isFalse();
+    assertThat(batch.getStatus().getLastError()).as("the failure is recorded").isNotEmpty();
+    assertThatThrownBy(() -> batch.add(records.get(1)))
+        .as("a full batch cannot be flushed while backing off")
+        .isInstanceOf(FullRecordBatchException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+    assertThat(batch.getStatus().getRecordCount())
+        .as("the record is kept to be sent with the next producer")
+        .isEqualTo(1);
+  }
+
   @ParameterizedTest(name = "{0}")
   @MethodSource("recoverableErrorProvider")
   void shouldNotResetProducerOnRecoverableErrorOnAddWhenFlushing(
@@ -417,9 +799,25 @@ final class BoundedTransactionRecordBatchTest {
 
   private BoundedTransactionalRecordBatch createBatch(
       final LongConsumer onFlushCallback, final int maxBatchSize) {
-    final var config = new RawProducerConfigParser().parse(new RawProducerConfig());
+    // recreate producers right away, such that recovering from errors can be tested in isolation
+    final var rawConfig = new RawProducerConfig();
+    rawConfig.recreateBackoffMs = 0L;
+    return createBatch(onFlushCallback, maxBatchSize, rawConfig);
+  }
+
+  private BoundedTransactionalRecordBatch createBatch(
+      final LongConsumer onFlushCallback,
+      final int maxBatchSize,
+      final RawProducerConfig rawConfig) {
+    final var config = new RawProducerConfigParser().parse(rawConfig);
     return new BoundedTransactionalRecordBatch(
-        config, maxBatchSize, onFlushCallback, LOGGER, mockProducerFactory);
+        config,
+        maxBatchSize,
+        onFlushCallback,
+        LOGGER,
+        mockProducerFactory,
+        UUID.randomUUID().toString(),
+        null);
   }
 
   private static Stream<FailureModeCase> recoverableErrorProvider() {
@@ -469,6 +867,53 @@ final class BoundedTransactionRecordBatchTest {
     producer.commitTransactionException = null;
   }
 
+  /** A producer whose commits block until it's closed, as when Kafka is unreachable. */
+  private static final class SlowSendProducer extends MockProducer<RecordId, byte[]> {
+    private final Duration delay;
+
+    private SlowSendProducer(final Duration delay) {
+      super(true, new RecordIdSerializer(), new ByteArraySerializer());
+      this.delay = delay;
+    }
+
+    @Override
+    public synchronized Future<RecordMetadata> send(
+        final ProducerRecord<RecordId, byte[]> record, final Callback callback) {
+      try {
+        Thread.sleep(delay.toMillis());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      return super.send(record, callback);
+    }
+  }
+
+  private static final class BlockingCommitProducer extends MockProducer<RecordId, byte[]> {
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    private BlockingCommitProducer() {
+      super(true, new RecordIdSerializer(), new ByteArraySerializer());
+    }
+
+    @Override
+    public void commitTransaction() {
+      try {
+        closed.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      throw new KafkaException("Producer was closed while committing");
+    }
+
+    @Override
+    public void close(final Duration timeout) {
+      super.close(timeout);
+      closed.countDown();
+    }
+  }
+
   private static class FailureModeCase implements Arguments {
     private final String name;
     private final Consumer<MockProducer<RecordId, byte[]>> producerConsumer;
@@ -21,6 +21,8 @@ import java.util.Objects;
 import java.util.function.Supplier;
 import org.apache.kafka.clients.producer.MockProducer;
 import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 
 /**
  * A utility implementation to allow more control of the execution of the {@link
@@ -31,6 +33,7 @@ import org.apache.kafka.clients.producer.Producer;
 public class MockKafkaProducerFactory implements KafkaProducerFactory {
   public Supplier<MockProducer<RecordId, byte[]>> mockProducerSupplier;
   public MockProducer<RecordId, byte[]> mockProducer;
+  public MockProducer<String, byte[]> mockResourceProducer;
   public String producerId;
 
   public MockKafkaProducerFactory(
@@ -48,4 +51,15 @@ public class MockKafkaProducerFactory implements KafkaProducerFactory {
 
     return mockProducer;
   }
+
+  @Override
+  public Producer<String, byte[]> newResourceProducer(
+      final ProducerConfig config, final String producerId) {
+    if (mockResourceProducer == null || mockResourceProducer.closed()) {
+      mockResourceProducer =
+          new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+    }
+
+    return mockResourceProducer;
+  }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.producer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class OffHeapBufferPoolTest {
+
+  @Test
+  void shouldReadAppendedPayloads() {
+    // given
+    try (final var pool = new OffHeapBufferPool(16, 8, null)) {
+      // when
+      final long first = pool.append(new byte[] {1, 2, 3, 4, 5});
+      final long second = pool.append(new byte[] {6, 7, 8, 9});
+
+      // then
+      assertThat(pool.read(first, 5)).containsExactly(1, 2, 3, 4, 5);
+      assertThat(pool.read(second, 4))
+          .as("the second payload didn't fit in the first slab")
+          .containsExactly(6, 7, 8, 9);
+      assertThat(pool.getUsedBytes()).isEqualTo(16);
+    }
+  }
+
+  @Test
+  void shouldRejectPayloadsWhenFull() {
+    // given
+    try (final var pool = new OffHeapBufferPool(16, 8, null)) {
+      pool.append(new byte[8]);
+      pool.append(new byte[8]);
+
+      // when
+      final long rejected = pool.append(new byte[1]);
+      final long oversized = new OffHeapBufferPool(16, 8, null).append(new byte[9]);
+
+      // then
+      assertThat(rejected).isEqualTo(OffHeapBufferPool.NOT_POOLED);
+      assertThat(oversized)
+          .as("a payload bigger than a slab is never pooled")
+          .isEqualTo(OffHeapBufferPool.NOT_POOLED);
+    }
+  }
+
+  @Test
+  void shouldReuseReleasedSlabs() {
+    // given
+    try (final var pool = new OffHeapBufferPool(8, 8, null)) {
+      pool.append(new byte[8]);
+
+      // when
+      pool.releaseAll();
+      final long address = pool.append(new byte[] {42});
+
+      // then
+      assertThat(address).isNotEqualTo(OffHeapBufferPool.NOT_POOLED);
+      assertThat(pool.read(address, 1)).containsExactly(42);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.producer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.InvalidProducerEpochException;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TopicAuthorizationException;
+import org.apache.kafka.common.errors.TransactionAbortableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class ProducerErrorTypeTest {
+
+  @Test
+  void shouldClassifyTransactionErrorsAsAbortable() {
+    // given
+    final var epochError = new InvalidProducerEpochException("epoch bumped");
+    final var abortableError = new TransactionAbortableException("abortable");
+
+    // when - then
+    assertThat(ProducerErrorType.of(epochError)).isEqualTo(ProducerErrorType.ABORTABLE);
+    assertThat(ProducerErrorType.of(abortableError)).isEqualTo(ProducerErrorType.ABORTABLE);
+  }
+
+  @Test
+  void shouldClassifyFencingErrors() {
+    // given
+    final var error = new ProducerFencedException("fenced");
+
+    // when - then
+    assertThat(ProducerErrorType.of(error)).isEqualTo(ProducerErrorType.FENCED);
+  }
+
+  @Test
+  void shouldClassifyUnrecoverableErrorsAsFatal() {
+    // given
+    final var authorizationError = new TopicAuthorizationException("zeebe");
+    final var nonKafkaError = new IllegalStateException("closed");
+    final var tooLargeError = new RecordTooLargeException("too large");
+    final var unknownError = new KafkaException("unknown");
+
+    // when - then
+    assertThat(ProducerErrorType.of(authorizationError)).isEqualTo(ProducerErrorType.FATAL);
+    assertThat(ProducerErrorType.of(nonKafkaError)).isEqualTo(ProducerErrorType.FATAL);
+    assertThat(ProducerErrorType.of(tooLargeError))
+        .as("retrying the same records without backing off would fail again")
+        .isEqualTo(ProducerErrorType.FATAL);
+    assertThat(ProducerErrorType.of(unknownError))
+        .as("errors not known to be abortable go through the backoff")
+        .isEqualTo(ProducerErrorType.FATAL);
+  }
+
+  @Test
+  void shouldClassifyWrappedErrorsByTheirCause() {
+    // given
+    final var fenced =
+        new KafkaException("in an error state", new ProducerFencedException("fenced"));
+    final var fatal =
+        new KafkaException("in an error state", new TopicAuthorizationException("zeebe"));
+    final var abortable =
+        new KafkaException(
+            "in an error state", new TransactionAbortableException("failed to send"));
+
+    // when - then
+    assertThat(ProducerErrorType.of(fenced)).isEqualTo(ProducerErrorType.FENCED);
+    assertThat(ProducerErrorType.of(fatal)).isEqualTo(ProducerErrorType.FATAL);
+    assertThat(ProducerErrorType.of(abortable)).isEqualTo(ProducerErrorType.ABORTABLE);
+  }
+}
@@ -19,8 +19,10 @@ import io.zeebe.exporters.kafka.config.ProducerConfig;
 import io.zeebe.exporters.kafka.record.FullRecordBatchException;
 import io.zeebe.exporters.kafka.serde.RecordId;
 import java.nio.BufferOverflowException;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.LongConsumer;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -30,7 +32,7 @@ public final class RecordBatchStub implements RecordBatch {
   public RuntimeException flushException;
 
   private final ProducerConfig config;
-  private final int maxBatchSize;
+  private int maxBatchSize;
   private final LongConsumer onFlushCallback;
   private final Logger logger;
 
@@ -74,11 +76,34 @@ public final class RecordBatchStub implements RecordBatch {
     }
   }
 
+  @Override
+  public void setMaxBatchSize(final int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
   @Override
   public void close() {
     closed = true;
   }
 
+  @Override
+  public RecordBatchStatus getStatus() {
+    return new RecordBatchStatus(
+        pendingRecords.size(),
+        0,
+        "stub",
+        closed ? "CLOSED" : "READY",
+        Map.of(),
+        -1,
+        -1,
+        -1,
+        flushException == null ? "" : flushException.toString());
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
   public List<ProducerRecord<RecordId, byte[]>> getFlushedRecords() {
     return flushedRecords;
   }
@@ -92,6 +117,7 @@ public final class RecordBatchStub implements RecordBatch {
   }
 
   public static class Factory implements RecordBatchFactory {
+    public final List<RecordBatchStub> stubs = new ArrayList<>();
     public RecordBatchStub stub;
 
     @Override
@@ -100,11 +126,14 @@ public final class RecordBatchStub implements RecordBatch {
         final int maxBatchSize,
         final LongConsumer onFlushCallback,
         final Logger logger) {
+      final var batch = new RecordBatchStub(config, maxBatchSize, onFlushCallback, logger);
+      stubs.add(batch);
+
       if (stub == null) {
-        stub = new RecordBatchStub(config, maxBatchSize, onFlushCallback, logger);
+        stub = batch;
       }
 
-      return stub;
+      return batch;
     }
   }
 }
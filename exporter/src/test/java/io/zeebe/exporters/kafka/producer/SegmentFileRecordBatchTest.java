@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.producer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.exporters.kafka.serde.RecordId;
+import io.zeebe.exporters.kafka.serde.SegmentReader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import org.agrona.collections.MutableLong;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class SegmentFileRecordBatchTest {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SegmentFileRecordBatchTest.class);
+  private static final int SEGMENT_SIZE = 1024;
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldCommitRecordsOnFlush() {
+    // given
+    final var flushedPosition = new MutableLong(-1L);
+    final var batch = createBatch(flushedPosition::set, 10);
+    batch.add(newRecord(1));
+    batch.add(newRecord(2));
+
+    // when
+    batch.flush();
+
+    // then
+    assertThat(flushedPosition.get()).isEqualTo(2L);
+    assertThat(readPositions()).containsExactly(1L, 2L);
+    assertThat(batch.getStatus().getRecordCount()).isZero();
+  }
+
+  @Test
+  void shouldNotExposeUnflushedRecords() {
+    // given
+    final var flushedPosition = new MutableLong(-1L);
+    final var batch = createBatch(flushedPosition::set, 10);
+    batch.add(newRecord(1));
+    batch.flush();
+
+    // when
+    batch.add(newRecord(2));
+
+    // then
+    assertThat(flushedPosition.get()).isEqualTo(1L);
+    assertThat(readPositions()).as("only flushed records are read").containsExactly(1L);
+  }
+
+  @Test
+  void shouldRollOverToNewSegments() {
+    // given
+    final var batch = createBatch(position -> {}, 100);
+
+    // when
+    for (int position = 1; position <= 50; position++) {
+      batch.add(newRecord(position));
+    }
+    batch.flush();
+
+    // then
+    final SegmentReader reader = new SegmentReader(directory);
+    assertThat(reader.listSegments())
+        .as("the records don't fit in a single segment")
+        .hasSizeGreaterThan(1);
+    assertThat(readPositions()).hasSize(50).startsWith(1L).endsWith(50L);
+  }
+
+  @Test
+  void shouldFitRecordBiggerThanSegment() {
+    // given
+    final var batch = createBatch(position -> {}, 10);
+    final var record = new ProducerRecord<>("zeebe", new RecordId(1, 1), new byte[SEGMENT_SIZE]);
+
+    // when
+    batch.add(record);
+    batch.flush();
+
+    // then
+    assertThat(readPositions()).containsExactly(1L);
+  }
+
+  @Test
+  void shouldFlushWhenFull() {
+    // given
+    final var flushedPosition = new MutableLong(-1L);
+    final var batch = createBatch(flushedPosition::set, 2);
+    batch.add(newRecord(1));
+    batch.add(newRecord(2));
+
+    // when
+    batch.add(newRecord(3));
+
+    // then
+    assertThat(flushedPosition.get()).as("the full batch was flushed first").isEqualTo(2L);
+    assertThat(batch.getStatus().getRecordCount()).isOne();
+  }
+
+  @Test
+  void shouldContinueAfterExistingSegments() {
+    // given
+    final var batch = createBatch(position -> {}, 10);
+    batch.add(newRecord(1));
+    batch.add(newRecord(2));
+    batch.flush();
+    batch.add(newRecord(3));
+    batch.close();
+
+    // when
+    final var nextBatch = createBatch(position -> {}, 10);
+    nextBatch.add(newRecord(3));
+    nextBatch.flush();
+    nextBatch.close();
+
+    // then
+    assertThat(new SegmentReader(directory).listSegments()).hasSize(2);
+    assertThat(readPositions())
+        .as("the record not flushed before closing was exported again")
+        .containsExactly(1L, 2L, 3L);
+  }
+
+  private SegmentFileRecordBatch createBatch(
+      final LongConsumer onFlushCallback, final int maxBatchSize) {
+    return new SegmentFileRecordBatch(
+        directory, SEGMENT_SIZE, maxBatchSize, onFlushCallback, LOGGER);
+  }
+
+  private ProducerRecord<RecordId, byte[]> newRecord(final long position) {
+    return new ProducerRecord<>("zeebe", new RecordId(1, position), new byte[64]);
+  }
+
+  private List<Long> readPositions() {
+    try (final var records = new SegmentReader(directory).stream()) {
+      return records.map(record -> record.key().getPosition()).collect(Collectors.toList());
+    }
+  }
+}
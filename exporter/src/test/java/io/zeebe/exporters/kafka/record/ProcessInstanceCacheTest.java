@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.record;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class ProcessInstanceCacheTest {
+
+  @Test
+  void shouldEvictLeastRecentlyUsed() {
+    // given
+    final ProcessInstanceCache<String> cache = new ProcessInstanceCache<>(2);
+    cache.put(1, "a");
+    cache.put(2, "b");
+
+    // when
+    cache.get(1);
+    cache.put(3, "c");
+
+    // then
+    assertThat(cache.get(2)).as("the least recently used entry was evicted").isNull();
+    assertThat(cache.get(1)).isEqualTo("a");
+    assertThat(cache.get(3)).isEqualTo("c");
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldReuseRemovedSlots() {
+    // given
+    final ProcessInstanceCache<String> cache = new ProcessInstanceCache<>(2);
+    cache.put(1, "a");
+    cache.put(2, "b");
+
+    // when
+    cache.remove(1);
+    cache.put(3, "c");
+
+    // then
+    assertThat(cache.get(2)).as("no entry was evicted to make room").isEqualTo("b");
+    assertThat(cache.get(3)).isEqualTo("c");
+    assertThat(cache.get(1)).isNull();
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldReplaceExistingValue() {
+    // given
+    final ProcessInstanceCache<String> cache = new ProcessInstanceCache<>(2);
+    cache.put(1, "a");
+
+    // when
+    cache.put(1, "b");
+
+    // then
+    assertThat(cache.get(1)).isEqualTo("b");
+    assertThat(cache.size()).isEqualTo(1);
+  }
+}
@@ -16,31 +16,77 @@
 package io.zeebe.exporters.kafka.record;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import io.camunda.zeebe.protocol.record.ImmutableRecord;
 import io.camunda.zeebe.protocol.record.Record;
 import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.RecordValue;
+import io.camunda.zeebe.protocol.record.RejectionType;
 import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.CommandDistributionIntent;
 import io.camunda.zeebe.protocol.record.intent.DeploymentIntent;
+import io.camunda.zeebe.protocol.record.intent.Intent;
+import io.camunda.zeebe.protocol.record.intent.JobIntent;
+import io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent;
+import io.camunda.zeebe.protocol.record.intent.ProcessIntent;
+import io.camunda.zeebe.protocol.record.intent.VariableIntent;
+import io.camunda.zeebe.protocol.record.value.BpmnElementType;
+import io.camunda.zeebe.protocol.record.value.CommandDistributionRecordValue;
 import io.camunda.zeebe.protocol.record.value.DeploymentRecordValue;
 import io.camunda.zeebe.protocol.record.value.ImmutableDeploymentRecordValue;
+import io.camunda.zeebe.protocol.record.value.ImmutableJobRecordValue;
+import io.camunda.zeebe.protocol.record.value.ImmutableProcessInstanceRecordValue;
+import io.camunda.zeebe.protocol.record.value.ImmutableVariableRecordValue;
+import io.camunda.zeebe.protocol.record.value.ProcessInstanceRecordValue;
+import io.camunda.zeebe.protocol.record.value.TenantOwned;
+import io.camunda.zeebe.protocol.record.value.VariableRecordValue;
+import io.camunda.zeebe.protocol.record.value.deployment.ImmutableDeploymentResource;
+import io.camunda.zeebe.protocol.record.value.deployment.ImmutableProcess;
+import io.camunda.zeebe.protocol.record.value.deployment.Process;
+import io.zeebe.exporters.kafka.config.AggregationConfig;
+import io.zeebe.exporters.kafka.config.EnrichmentConfig;
+import io.zeebe.exporters.kafka.config.OversizedRecordPolicy;
 import io.zeebe.exporters.kafka.config.RecordConfig;
+import io.zeebe.exporters.kafka.config.RecordFilterConfig;
 import io.zeebe.exporters.kafka.config.RecordsConfig;
+import io.zeebe.exporters.kafka.config.TopicTemplate;
+import io.zeebe.exporters.kafka.metrics.ExporterMetrics;
+import io.zeebe.exporters.kafka.serde.BlobStore;
+import io.zeebe.exporters.kafka.serde.ChunkedRecordDeserializer;
+import io.zeebe.exporters.kafka.serde.FileSystemBlobStore;
 import io.zeebe.exporters.kafka.serde.RecordDeserializer;
+import io.zeebe.exporters.kafka.serde.RecordHeaders;
 import io.zeebe.exporters.kafka.serde.RecordId;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.producer.MockProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
 @Execution(ExecutionMode.CONCURRENT)
 final class RecordHandlerTest {
 
+  private static final int MAX_REQUEST_SIZE = 4 * 1024;
   private static final RecordConfig DEFAULT_RECORD_CONFIG =
       new RecordConfig(EnumSet.allOf(RecordType.class), "zeebe");
 
+  private final ExporterMetrics metrics = new ExporterMetrics(1);
   private final RecordDeserializer deserializer = new RecordDeserializer();
 
   @Test
@@ -50,10 +96,11 @@ final class RecordHandlerTest {
         buildDeploymentRecord().withRecordType(RecordType.COMMAND).build();
     final RecordConfig deploymentRecordConfig =
         new RecordConfig(EnumSet.allOf(RecordType.class), "topic");
-    final RecordHandler recordHandler = new RecordHandler(newRecordsConfig(RecordType.COMMAND));
+    final RecordHandler recordHandler =
+        RecordHandler.builder(newRecordsConfig(RecordType.COMMAND), metrics).build();
 
     // when
-    final ProducerRecord<RecordId, byte[]> transformed = recordHandler.transform(record);
+    final ProducerRecord<RecordId, byte[]> transformed = recordHandler.transform(record).get(0);
 
     // then
     assertThat(transformed.topic()).isEqualTo(deploymentRecordConfig.getTopic());
@@ -62,23 +109,551 @@ final class RecordHandlerTest {
     assertThat(deserializer.deserialize(transformed.topic(), transformed.value()).equals(record));
   }
 
+  @Test
+  void shouldResolveTopicTemplate() {
+    // given
+    final var recordConfig =
+        new RecordConfig(
+            EnumSet.allOf(RecordType.class), "zeebe-{tenantId}-{valueType}-{partitionId}");
+    final var recordHandler =
+        RecordHandler.builder(
+                new RecordsConfig(Map.of(ValueType.VARIABLE, recordConfig), DEFAULT_RECORD_CONFIG),
+                metrics)
+            .build();
+
+    // when
+    final var tenantTopic =
+        recordHandler.transform(buildVariableRecord("order", "tenant/a")).get(0).topic();
+    final var defaultTopic =
+        recordHandler
+            .transform(buildVariableRecord("order", TenantOwned.DEFAULT_TENANT_IDENTIFIER))
+            .get(0)
+            .topic();
+
+    // then
+    assertThat(tenantTopic)
+        .as("placeholders are replaced, and invalid characters sanitized")
+        .isEqualTo("zeebe-tenant_a-variable-1");
+    assertThat(defaultTopic)
+        .as("the default tenant is rendered as default")
+        .isEqualTo("zeebe-default-variable-1");
+  }
+
+  @Test
+  void shouldRouteProcessToOverrideTopic() {
+    // given
+    final var recordConfig = new RecordConfig(EnumSet.allOf(RecordType.class), "zeebe-variable");
+    final var recordHandler =
+        RecordHandler.builder(
+                new RecordsConfig(
+                    Map.of(ValueType.VARIABLE, recordConfig),
+                    DEFAULT_RECORD_CONFIG,
+                    Map.of("order", TopicTemplate.parse("zeebe-order-{valueType}"))),
+                metrics)
+            .build();
+
+    // when
+    final var orderTopic =
+        recordHandler.transform(buildVariableRecord("order", "tenant")).get(0).topic();
+    final var otherTopic =
+        recordHandler.transform(buildVariableRecord("other", "tenant")).get(0).topic();
+
+    // then
+    assertThat(orderTopic).as("the process override applies").isEqualTo("zeebe-order-variable");
+    assertThat(otherTopic)
+        .as("other processes use their value type's topic")
+        .isEqualTo("zeebe-variable");
+  }
+
+  @Test
+  void shouldNotAlterRecordWithinMaxRequestSize() {
+    // given
+    final var record = buildVariableRecord("\"small\"");
+    final var recordHandler =
+        newOversizedRecordHandler(OversizedRecordPolicy.TRUNCATE, MAX_REQUEST_SIZE);
+
+    // when
+    final var transformed = recordHandler.transform(record);
+
+    // then
+    assertThat(transformed).hasSize(1);
+    assertThat(transformed.get(0).topic()).isEqualTo("topic");
+    assertThat(transformed.get(0).headers()).isEmpty();
+  }
+
+  @Test
+  void shouldTruncateOversizedRecord() {
+    // given
+    final var record = buildVariableRecord(largeVariableValue());
+    final var recordHandler =
+        newOversizedRecordHandler(OversizedRecordPolicy.TRUNCATE, MAX_REQUEST_SIZE);
+
+    // when
+    final var transformed = recordHandler.transform(record);
+
+    // then
+    assertThat(transformed).hasSize(1);
+    final var truncated = transformed.get(0);
+    assertThat(truncated.topic()).isEqualTo("topic");
+    assertThat(truncated.value().length).isLessThan(MAX_REQUEST_SIZE);
+    assertThat(truncated.headers().lastHeader(RecordHeaders.TRUNCATED))
+        .as("the record was marked as truncated")
+        .isNotNull();
+    assertThat(deserializer.deserialize(truncated.topic(), truncated.value()).getKey())
+        .as("the truncated record can still be deserialized")
+        .isEqualTo(record.getKey());
+  }
+
+  @Test
+  void shouldDeadLetterOversizedRecord() {
+    // given
+    final var record = buildVariableRecord(largeVariableValue());
+    final var recordHandler =
+        newOversizedRecordHandler(OversizedRecordPolicy.DEAD_LETTER, MAX_REQUEST_SIZE);
+
+    // when
+    final var transformed = recordHandler.transform(record);
+
+    // then
+    assertThat(transformed).hasSize(1);
+    final var stub = transformed.get(0);
+    assertThat(stub.topic()).isEqualTo("dead-letter");
+    assertThat(stub.key()).isEqualTo(new RecordId(record.getPartitionId(), record.getPosition()));
+    assertThat(stub.value().length).isLessThan(MAX_REQUEST_SIZE);
+    assertThat(stub.headers().lastHeader(RecordHeaders.DEAD_LETTER_REASON)).isNotNull();
+  }
+
+  @Test
+  void shouldSplitOversizedRecord() {
+    // given
+    final var record = buildVariableRecord(largeVariableValue());
+    final var recordHandler =
+        newOversizedRecordHandler(OversizedRecordPolicy.SPLIT, MAX_REQUEST_SIZE);
+    final var serialized =
+        RecordHandler.builder(newRecordsConfig(RecordType.EVENT), metrics).build()
+            .transform(record)
+            .get(0)
+            .value();
+
+    // when
+    final var transformed = recordHandler.transform(record);
+
+    // then
+    final var output = new ByteArrayOutputStream();
+    transformed.forEach(chunk -> output.writeBytes(chunk.value()));
+    assertThat(transformed)
+        .as("the record was split into multiple chunks with the same key")
+        .hasSizeGreaterThan(1)
+        .allSatisfy(chunk -> assertThat(chunk.key()).isEqualTo(transformed.get(0).key()))
+        .allSatisfy(chunk -> assertThat(chunk.value().length).isLessThan(MAX_REQUEST_SIZE));
+    assertThat(transformed.get(1).headers().lastHeader(RecordHeaders.CHUNK_INDEX).value())
+        .isEqualTo("1".getBytes(StandardCharsets.UTF_8));
+    assertThat(output.toByteArray()).as("the chunks reassemble the record").isEqualTo(serialized);
+
+    final var chunkDeserializer = new ChunkedRecordDeserializer();
+    final List<Record<?>> reassembled =
+        transformed.stream()
+            .map(c -> chunkDeserializer.deserialize(c.topic(), c.headers(), c.value()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    assertThat(reassembled).as("consumers get the original record back").containsExactly(record);
+  }
+
+  @Test
+  void shouldOffloadPayloadAboveClaimCheckThreshold(final @TempDir Path directory) {
+    // given
+    final var record = buildVariableRecord(largeVariableValue());
+    final var blobStore = new FileSystemBlobStore(directory);
+    final RecordConfig recordConfig =
+        RecordConfig.builder(EnumSet.allOf(RecordType.class), "topic")
+            .withDeadLetterTopic("dead-letter")
+            .withClaimCheckThreshold(1024)
+            .build();
+    final var recordHandler =
+        RecordHandler.builder(
+                new RecordsConfig(Map.of(ValueType.VARIABLE, recordConfig), DEFAULT_RECORD_CONFIG),
+                metrics)
+            .withMaxRequestSize(MAX_REQUEST_SIZE)
+            .withBlobStore(blobStore)
+            .build();
+
+    // when
+    final var transformed = recordHandler.transform(record);
+
+    // then
+    assertThat(transformed).hasSize(1);
+    final var claimChecked = transformed.get(0);
+    final var reference =
+        new String(
+            claimChecked.headers().lastHeader(RecordHeaders.CLAIM_CHECK).value(),
+            StandardCharsets.UTF_8);
+    final var stripped = deserializer.deserialize("topic", claimChecked.value());
+    final var offloaded = deserializer.deserialize("topic", blobStore.get(reference));
+    assertThat(claimChecked.value().length).isLessThan(1024);
+    assertThat(stripped.getKey()).as("metadata is kept").isEqualTo(record.getKey());
+    assertThat(((VariableRecordValue) offloaded.getValue()).getValue())
+        .as("the blob holds the complete record")
+        .isEqualTo(record.getValue().getValue());
+  }
+
+  @Test
+  void shouldPublishResourceOnlyOnce() {
+    // given
+    final var resource = "<bpmn/>".getBytes(StandardCharsets.UTF_8);
+    final var resourceProducer =
+        new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+    final var publisher =
+        new ResourcePublisher(
+            "resources", 16, Duration.ofSeconds(1), List.of(() -> resourceProducer), metrics);
+    final var recordHandler =
+        RecordHandler.builder(newRecordsConfig(RecordType.EVENT), metrics)
+            .withMaxRequestSize(MAX_REQUEST_SIZE)
+            .withResourcePublisher(publisher)
+            .build();
+
+    // when
+    final var first = recordHandler.transform(buildProcessRecord(resource, 1)).get(0);
+    final var second = recordHandler.transform(buildProcessRecord(resource, 2)).get(0);
+
+    // then
+    final var reference = BlobStore.referenceOf(resource);
+    assertThat(resourceProducer.history())
+        .as("the resource was published once, keyed by its reference")
+        .singleElement()
+        .satisfies(r -> assertThat(r.key()).isEqualTo(reference))
+        .satisfies(r -> assertThat(r.value()).isEqualTo(resource));
+    assertThat(List.of(first, second))
+        .as("both records reference the resource instead of embedding it")
+        .allSatisfy(
+            r -> {
+              final var json = new String(r.value(), StandardCharsets.UTF_8);
+              assertThat(json).contains(reference).doesNotContain("\"resource\":");
+            });
+  }
+
+  @Test
+  void shouldPublishResourceToEveryCluster() {
+    // given
+    final var resource = "<bpmn/>".getBytes(StandardCharsets.UTF_8);
+    final var ownProducer =
+        new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+    final var targetProducer =
+        new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+    final var publisher =
+        new ResourcePublisher(
+            "resources",
+            16,
+            Duration.ofSeconds(1),
+            List.of(() -> ownProducer, () -> targetProducer),
+            metrics);
+    final var recordHandler =
+        RecordHandler.builder(newRecordsConfig(RecordType.EVENT), metrics)
+            .withMaxRequestSize(MAX_REQUEST_SIZE)
+            .withResourcePublisher(publisher)
+            .build();
+
+    // when
+    recordHandler.transform(buildProcessRecord(resource, 1));
+
+    // then
+    final var reference = BlobStore.referenceOf(resource);
+    assertThat(List.of(ownProducer, targetProducer))
+        .as("the resource was published to every cluster the record may be sent to")
+        .allSatisfy(
+            producer ->
+                assertThat(producer.history())
+                    .singleElement()
+                    .satisfies(r -> assertThat(r.key()).isEqualTo(reference)));
+  }
+
+  @Test
+  void shouldPublishResourcesOfDistributedDeployment() {
+    // given
+    final var resource = "<bpmn/>".getBytes(StandardCharsets.UTF_8);
+    final var resourceProducer =
+        new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+    final var publisher =
+        new ResourcePublisher(
+            "resources", 16, Duration.ofSeconds(1), List.of(() -> resourceProducer), metrics);
+    final var recordHandler =
+        RecordHandler.builder(newRecordsConfig(RecordType.EVENT), metrics)
+            .withMaxRequestSize(MAX_REQUEST_SIZE)
+            .withResourcePublisher(publisher)
+            .build();
+    final var deployment =
+        ImmutableDeploymentRecordValue.builder()
+            .addResources(
+                ImmutableDeploymentResource.builder()
+                    .withResourceName("process.bpmn")
+                    .withResource(resource)
+                    .build())
+            .build();
+    final var record =
+        buildRecord(
+                ValueType.COMMAND_DISTRIBUTION,
+                CommandDistributionIntent.STARTED,
+                new DistributedCommand(ValueType.DEPLOYMENT, DeploymentIntent.CREATE, deployment))
+            .build();
+
+    // when
+    final var transformed = recordHandler.transform(record).get(0);
+
+    // then
+    final var reference = BlobStore.referenceOf(resource);
+    assertThat(resourceProducer.history())
+        .as("the resource of the distributed deployment was published")
+        .singleElement()
+        .satisfies(r -> assertThat(r.key()).isEqualTo(reference));
+    assertThat(new String(transformed.value(), StandardCharsets.UTF_8))
+        .as("the distributed deployment references the resource instead of embedding it")
+        .contains(reference)
+        .doesNotContain("\"resource\":");
+  }
+
   @Test
   void shouldTestRecordAsNotAllowed() {
     // given
     final Record<DeploymentRecordValue> record =
         buildDeploymentRecord().withRecordType(RecordType.COMMAND).build();
-    final RecordHandler recordHandler = new RecordHandler(newRecordsConfig(RecordType.EVENT));
+    final RecordHandler recordHandler =
+        RecordHandler.builder(newRecordsConfig(RecordType.EVENT), metrics).build();
 
     // when - then
     assertThat(recordHandler.isAllowed(record)).isFalse();
   }
 
+  @Test
+  void shouldDropRecordsMatchingFilter() {
+    // given
+    final var filter =
+        new RecordFilterConfig(
+            Set.of("ELEMENT_ACTIVATING"),
+            Set.of("noisy"),
+            EnumSet.of(BpmnElementType.SEQUENCE_FLOW),
+            Set.of(),
+            EnumSet.noneOf(RejectionType.class));
+    final var recordConfig =
+        RecordConfig.builder(EnumSet.allOf(RecordType.class), "topic")
+            .withDeadLetterTopic("dead-letter")
+            .withFilter(filter)
+            .build();
+    final var recordHandler =
+        RecordHandler.builder(
+                new RecordsConfig(
+                    Map.of(ValueType.PROCESS_INSTANCE, recordConfig), DEFAULT_RECORD_CONFIG),
+                metrics)
+            .build();
+    final var task =
+        ImmutableProcessInstanceRecordValue.builder()
+            .withBpmnProcessId("process")
+            .withBpmnElementType(BpmnElementType.TASK)
+            .build();
+    final var activated =
+        buildRecord(ValueType.PROCESS_INSTANCE, ProcessInstanceIntent.ELEMENT_ACTIVATED, task)
+            .build();
+
+    // when - then
+    assertThat(
+            recordHandler.isAllowed(activated.withIntent(ProcessInstanceIntent.ELEMENT_ACTIVATING)))
+        .as("the intent is excluded")
+        .isFalse();
+    assertThat(recordHandler.isAllowed(activated.withValue(task.withBpmnProcessId("noisy"))))
+        .as("the process is excluded")
+        .isFalse();
+    assertThat(
+            recordHandler.isAllowed(
+                activated.withValue(task.withBpmnElementType(BpmnElementType.SEQUENCE_FLOW))))
+        .as("the element type is excluded")
+        .isFalse();
+    assertThat(recordHandler.isAllowed(activated)).as("no rule matches").isTrue();
+  }
+
+  @Test
+  void shouldSampleProcessInstancesCompletely() {
+    // given
+    final var filter =
+        new RecordFilterConfig(
+            Set.of(),
+            Set.of(),
+            EnumSet.noneOf(BpmnElementType.class),
+            Set.of(),
+            EnumSet.noneOf(RejectionType.class),
+            0.5);
+    final var recordConfig =
+        RecordConfig.builder(EnumSet.allOf(RecordType.class), "topic")
+            .withDeadLetterTopic("dead-letter")
+            .withFilter(filter)
+            .build();
+    final var recordHandler =
+        RecordHandler.builder(
+                new RecordsConfig(
+                    Map.of(ValueType.VARIABLE, recordConfig, ValueType.JOB, recordConfig),
+                    DEFAULT_RECORD_CONFIG),
+                metrics)
+            .build();
+
+    // when
+    int sampled = 0;
+    for (long processInstanceKey = 1; processInstanceKey <= 1000; processInstanceKey++) {
+      final var variableAllowed =
+          recordHandler.isAllowed(
+              buildRecord(
+                      ValueType.VARIABLE,
+                      VariableIntent.CREATED,
+                      ImmutableVariableRecordValue.builder()
+                          .withProcessInstanceKey(processInstanceKey)
+                          .build())
+                  .build());
+      final var jobAllowed =
+          recordHandler.isAllowed(
+              buildRecord(
+                      ValueType.JOB,
+                      JobIntent.CREATED,
+                      ImmutableJobRecordValue.builder()
+                          .withProcessInstanceKey(processInstanceKey)
+                          .build())
+                  .build());
+
+      // then
+      assertThat(variableAllowed)
+          .as("all records of instance %d share the same decision", processInstanceKey)
+          .isEqualTo(jobAllowed);
+      sampled += variableAllowed ? 1 : 0;
+    }
+
+    assertThat(sampled).as("about half of the instances are sampled").isBetween(400, 600);
+    assertThat(
+            recordHandler.isAllowed(
+                buildRecord(
+                        ValueType.VARIABLE,
+                        VariableIntent.CREATED,
+                        ImmutableVariableRecordValue.builder().withProcessInstanceKey(-1).build())
+                    .build()))
+        .as("records without a process instance are never sampled out")
+        .isTrue();
+  }
+
+  @Test
+  void shouldEnrichRecordsOfKnownProcessInstances() {
+    // given
+    final var recordHandler =
+        RecordHandler.builder(newRecordsConfig(RecordType.EVENT), metrics)
+            .withMaxRequestSize(MAX_REQUEST_SIZE)
+            .withEnrichment(new EnrichmentConfig(16))
+            .build();
+    recordHandler.observe(
+        ImmutableRecord.<ProcessInstanceRecordValue>builder()
+            .withValueType(ValueType.PROCESS_INSTANCE)
+            .withRecordType(RecordType.EVENT)
+            .withIntent(ProcessInstanceIntent.ELEMENT_ACTIVATING)
+            .withValue(
+                ImmutableProcessInstanceRecordValue.builder()
+                    .withProcessInstanceKey(10)
+                    .withProcessDefinitionKey(20)
+                    .withBpmnProcessId("order")
+                    .withVersion(3)
+                    .withTenantId("tenant")
+                    .withBpmnElementType(BpmnElementType.PROCESS)
+                    .build())
+            .build());
+
+    // when
+    final var known = recordHandler.transform(buildSampledRecord(ValueType.JOB, 10)).get(0);
+    final var unknown = recordHandler.transform(buildSampledRecord(ValueType.JOB, 11)).get(0);
+
+    // then
+    assertThat(known.headers())
+        .as("the record is enriched with its process")
+        .extracting(Header::key, h -> new String(h.value(), StandardCharsets.UTF_8))
+        .containsExactly(
+            tuple(RecordHeaders.BPMN_PROCESS_ID, "order"),
+            tuple(RecordHeaders.PROCESS_VERSION, "3"),
+            tuple(RecordHeaders.TENANT_ID, "tenant"));
+    assertThat(unknown.headers()).as("the process instance was never seen").isEmpty();
+  }
+
+  @Test
+  void shouldAggregateEventsPerWindow() throws Exception {
+    // given
+    final var recordHandler =
+        RecordHandler.builder(newRecordsConfig(RecordType.EVENT), metrics)
+            .withMaxRequestSize(MAX_REQUEST_SIZE)
+            .withAggregation(
+                new AggregationConfig(Optional.of("summaries"), Duration.ofSeconds(1), 16))
+            .build();
+    recordHandler.observe(buildAggregatedRecord(ProcessInstanceIntent.ELEMENT_ACTIVATING, 1, 0));
+    recordHandler.observe(buildAggregatedRecord(ProcessInstanceIntent.ELEMENT_ACTIVATING, 2, 10));
+    recordHandler.observe(buildAggregatedRecord(ProcessInstanceIntent.ELEMENT_COMPLETED, 1, 40));
+    final var open =
+        recordHandler.observe(
+            buildAggregatedRecord(ProcessInstanceIntent.ELEMENT_COMPLETED, 2, 999));
+
+    // when
+    final var summaries =
+        recordHandler.observe(
+            buildAggregatedRecord(ProcessInstanceIntent.ELEMENT_ACTIVATED, 3, 1_000));
+
+    // then
+    assertThat(open).as("the window is still open").isEmpty();
+    assertThat(summaries)
+        .as("one summary per intent is sent, keyed by the closing record")
+        .hasSize(2)
+        .allSatisfy(r -> assertThat(r.topic()).isEqualTo("summaries"))
+        .allSatisfy(r -> assertThat(r.key()).isEqualTo(new RecordId(1, 1_000)));
+
+    final var activating = RecordPayloads.MAPPER.readTree(summaries.get(0).value());
+    final var completed = RecordPayloads.MAPPER.readTree(summaries.get(1).value());
+    assertThat(activating.get("intent").asText()).isEqualTo("ELEMENT_ACTIVATING");
+    assertThat(activating.get("elementId").asText()).isEqualTo("task");
+    assertThat(activating.get("count").asLong()).isEqualTo(2);
+    assertThat(activating.has("duration")).as("no duration for activations").isFalse();
+    assertThat(completed.get("windowStart").asLong()).isZero();
+    assertThat(completed.get("windowEnd").asLong()).isEqualTo(1_000);
+    assertThat(completed.at("/duration/count").asLong()).isEqualTo(2);
+    assertThat(completed.at("/duration/minMs").asLong()).isEqualTo(40);
+    assertThat(completed.at("/duration/maxMs").asLong()).isEqualTo(989);
+    assertThat(completed.at("/duration/buckets/50").asLong()).isEqualTo(1);
+    assertThat(completed.at("/duration/buckets/1000").asLong()).isEqualTo(2);
+    assertThat(completed.at("/duration/buckets/+Inf").asLong()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldNotAggregateRetriedRecordsTwice() throws Exception {
+    // given
+    final var recordHandler =
+        RecordHandler.builder(newRecordsConfig(RecordType.EVENT), metrics)
+            .withMaxRequestSize(MAX_REQUEST_SIZE)
+            .withAggregation(
+                new AggregationConfig(Optional.of("summaries"), Duration.ofSeconds(1), 16))
+            .build();
+    final var activating = buildAggregatedRecord(ProcessInstanceIntent.ELEMENT_ACTIVATING, 1, 10);
+    final var closing = buildAggregatedRecord(ProcessInstanceIntent.ELEMENT_ACTIVATED, 1, 1_000);
+    recordHandler.observe(activating);
+    recordHandler.observe(activating);
+
+    // when - the closing record is retried until its summaries were added
+    final var summaries = recordHandler.observe(closing);
+    final var retried = recordHandler.observe(closing);
+    recordHandler.onSummariesAdded();
+    final var afterAdded = recordHandler.observe(closing);
+
+    // then
+    assertThat(retried)
+        .as("the summaries are kept pending until they were added")
+        .isEqualTo(summaries);
+    assertThat(afterAdded).as("the summaries were added").isEmpty();
+    assertThat(RecordPayloads.MAPPER.readTree(summaries.get(0).value()).get("count").asLong())
+        .as("the retried record was only counted once")
+        .isEqualTo(1);
+  }
+
   @Test
   void shouldTestRecordAsAllowed() {
     // given
     final Record<DeploymentRecordValue> record =
         buildDeploymentRecord().withRecordType(RecordType.EVENT).build();
-    final RecordHandler recordHandler = new RecordHandler(newRecordsConfig(RecordType.EVENT));
+    final RecordHandler recordHandler =
+        RecordHandler.builder(newRecordsConfig(RecordType.EVENT), metrics).build();
 
     // when - then
     assertThat(recordHandler.isAllowed(record)).isTrue();
@@ -89,6 +664,120 @@ final class RecordHandlerTest {
     return new RecordsConfig(Map.of(ValueType.DEPLOYMENT, recordConfig), DEFAULT_RECORD_CONFIG);
   }
 
+  private RecordHandler newOversizedRecordHandler(
+      final OversizedRecordPolicy policy, final int maxRequestSize) {
+    final RecordConfig recordConfig =
+        RecordConfig.builder(EnumSet.allOf(RecordType.class), "topic")
+            .withOversizedPolicy(policy)
+            .withDeadLetterTopic("dead-letter")
+            .build();
+    return RecordHandler.builder(
+            new RecordsConfig(Map.of(ValueType.VARIABLE, recordConfig), DEFAULT_RECORD_CONFIG),
+            metrics)
+        .withMaxRequestSize(maxRequestSize)
+        .build();
+  }
+
+  private String largeVariableValue() {
+    return "\"" + "a".repeat(MAX_REQUEST_SIZE * 2) + "\"";
+  }
+
+  private Record<VariableRecordValue> buildVariableRecord(final String value) {
+    return ImmutableRecord.<VariableRecordValue>builder()
+        .withValueType(ValueType.VARIABLE)
+        .withRecordType(RecordType.EVENT)
+        .withTimestamp(System.currentTimeMillis())
+        .withIntent(VariableIntent.CREATED)
+        .withValue(ImmutableVariableRecordValue.builder().withName("a").withValue(value).build())
+        .withKey(2)
+        .withPartitionId(1)
+        .withPosition(1)
+        .build();
+  }
+
+  private Record<VariableRecordValue> buildVariableRecord(
+      final String bpmnProcessId, final String tenantId) {
+    return ImmutableRecord.<VariableRecordValue>builder()
+        .withValueType(ValueType.VARIABLE)
+        .withRecordType(RecordType.EVENT)
+        .withIntent(VariableIntent.CREATED)
+        .withValue(
+            ImmutableVariableRecordValue.builder()
+                .withName("a")
+                .withValue("1")
+                .withBpmnProcessId(bpmnProcessId)
+                .withTenantId(tenantId)
+                .build())
+        .withPartitionId(1)
+        .withPosition(1)
+        .build();
+  }
+
+  private Record<ProcessInstanceRecordValue> buildAggregatedRecord(
+      final ProcessInstanceIntent intent, final long key, final long timestamp) {
+    return ImmutableRecord.<ProcessInstanceRecordValue>builder()
+        .withValueType(ValueType.PROCESS_INSTANCE)
+        .withRecordType(RecordType.EVENT)
+        .withIntent(intent)
+        .withKey(key)
+        .withTimestamp(timestamp)
+        .withValue(
+            ImmutableProcessInstanceRecordValue.builder()
+                .withBpmnProcessId("order")
+                .withElementId("task")
+                .withBpmnElementType(BpmnElementType.SERVICE_TASK)
+                .build())
+        .withPartitionId(1)
+        .withPosition(timestamp)
+        .build();
+  }
+
+  private Record<RecordValue> buildSampledRecord(
+      final ValueType valueType, final long processInstanceKey) {
+    final RecordValue value =
+        valueType == ValueType.JOB
+            ? ImmutableJobRecordValue.builder().withProcessInstanceKey(processInstanceKey).build()
+            : ImmutableVariableRecordValue.builder()
+                .withProcessInstanceKey(processInstanceKey)
+                .build();
+    return ImmutableRecord.<RecordValue>builder()
+        .withValueType(valueType)
+        .withRecordType(RecordType.EVENT)
+        .withIntent(valueType == ValueType.JOB ? JobIntent.CREATED : VariableIntent.CREATED)
+        .withValue(value)
+        .withPartitionId(1)
+        .withPosition(1)
+        .build();
+  }
+
+  private static <T extends RecordValue> ImmutableRecord.Builder<T> buildRecord(
+      final ValueType valueType, final Intent intent, final T value) {
+    return ImmutableRecord.<T>builder()
+        .withValueType(valueType)
+        .withRecordType(RecordType.EVENT)
+        .withTimestamp(System.currentTimeMillis())
+        .withIntent(intent)
+        .withValue(value)
+        .withPartitionId(1)
+        .withPosition(1);
+  }
+
+  private Record<Process> buildProcessRecord(final byte[] resource, final long position) {
+    return ImmutableRecord.<Process>builder()
+        .withValueType(ValueType.PROCESS)
+        .withRecordType(RecordType.EVENT)
+        .withIntent(ProcessIntent.CREATED)
+        .withValue(
+            ImmutableProcess.builder()
+                .withBpmnProcessId("process")
+                .withResourceName("process.bpmn")
+                .withResource(resource)
+                .build())
+        .withPartitionId(1)
+        .withPosition(position)
+        .build();
+  }
+
   private ImmutableRecord.Builder buildDeploymentRecord() {
     return ImmutableRecord.builder()
         .withValueType(ValueType.DEPLOYMENT)
@@ -99,4 +788,37 @@ final class RecordHandlerTest {
         .withPartitionId(1)
         .withPosition(1);
   }
+
+  /**
+   * The protocol's immutable copy of a command distribution drops the command's value, unlike the
+   * broker's own records, so the distributed command is kept as is here.
+   */
+  private record DistributedCommand(ValueType valueType, Intent intent, RecordValue commandValue)
+      implements CommandDistributionRecordValue {
+
+    @Override
+    public int getPartitionId() {
+      return 2;
+    }
+
+    @Override
+    public ValueType getValueType() {
+      return valueType;
+    }
+
+    @Override
+    public Intent getIntent() {
+      return intent;
+    }
+
+    @Override
+    public RecordValue getCommandValue() {
+      return commandValue;
+    }
+
+    @Override
+    public String toJson() {
+      throw new UnsupportedOperationException();
+    }
+  }
 }
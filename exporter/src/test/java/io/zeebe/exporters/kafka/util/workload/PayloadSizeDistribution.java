@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.util.workload;
+
+import java.util.Random;
+
+/**
+ * Samples the size in bytes of generated payloads, e.g. variable values. Production payloads are
+ * usually small with a long tail, which {@link #logNormal(int, double, int)} models best.
+ */
+@FunctionalInterface
+public interface PayloadSizeDistribution {
+
+  /**
+   * @param random the source of randomness, seeded by the generator
+   * @return a payload size in bytes, never negative
+   */
+  int sample(final Random random);
+
+  static PayloadSizeDistribution fixed(final int size) {
+    return random -> size;
+  }
+
+  /**
+   * @param min the smallest size, inclusive
+   * @param max the biggest size, inclusive
+   */
+  static PayloadSizeDistribution uniform(final int min, final int max) {
+    return random -> min + random.nextInt(max - min + 1);
+  }
+
+  /**
+   * @param median the size half of the payloads are smaller than
+   * @param sigma the spread of the distribution; around 1 gives a tail of sizes 10x the median
+   * @param max the size at which samples are capped
+   */
+  static PayloadSizeDistribution logNormal(final int median, final double sigma, final int max) {
+    return random ->
+        (int) Math.min(max, Math.round(median * Math.exp(sigma * random.nextGaussian())));
+  }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.util.workload;
+
+import io.camunda.zeebe.protocol.Protocol;
+import io.camunda.zeebe.protocol.record.ImmutableRecord;
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.RecordValue;
+import io.camunda.zeebe.protocol.record.RejectionType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.IncidentIntent;
+import io.camunda.zeebe.protocol.record.intent.Intent;
+import io.camunda.zeebe.protocol.record.intent.JobIntent;
+import io.camunda.zeebe.protocol.record.intent.ProcessInstanceIntent;
+import io.camunda.zeebe.protocol.record.intent.VariableIntent;
+import io.camunda.zeebe.protocol.record.value.BpmnElementType;
+import io.camunda.zeebe.protocol.record.value.BpmnEventType;
+import io.camunda.zeebe.protocol.record.value.ErrorType;
+import io.camunda.zeebe.protocol.record.value.ImmutableIncidentRecordValue;
+import io.camunda.zeebe.protocol.record.value.ImmutableJobRecordValue;
+import io.camunda.zeebe.protocol.record.value.ImmutableProcessInstanceRecordValue;
+import io.camunda.zeebe.protocol.record.value.ImmutableVariableRecordValue;
+import io.camunda.zeebe.protocol.record.value.JobKind;
+import io.camunda.zeebe.protocol.record.value.TenantOwned;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Generates an endless, reproducible stream of records shaped by a {@link WorkloadProfile}. Unlike
+ * {@link io.zeebe.exporters.kafka.util.record.MockRecordStream}, records have realistic values:
+ * each partition runs a number of concurrent process instances, each producing a random number of
+ * records of the configured value types, with correlated keys and payloads of varying sizes.
+ *
+ * <p>Generating is not free, so when measuring the exporter, generate the records up front with
+ * {@link #generate(int)}.
+ */
+public final class WorkloadGenerator implements Iterator<Record<?>> {
+  private static final String BROKER_VERSION = "8.5.6";
+  private static final String JOB_TYPE = "work";
+  private static final ProcessInstanceIntent[] ELEMENT_LIFECYCLE = {
+    ProcessInstanceIntent.ELEMENT_ACTIVATING,
+    ProcessInstanceIntent.ELEMENT_ACTIVATED,
+    ProcessInstanceIntent.ELEMENT_COMPLETING,
+    ProcessInstanceIntent.ELEMENT_COMPLETED
+  };
+  private static final char[] PAYLOAD_ALPHABET =
+      "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+  private final WorkloadProfile profile;
+  private final Random random;
+  private final ValueType[] valueTypes;
+  private final int[] cumulativeWeights;
+  private final PartitionState[] partitions;
+
+  private int currentPartition;
+  private int burstRemaining;
+
+  public WorkloadGenerator(final WorkloadProfile profile) {
+    this.profile = profile;
+    random = new Random(profile.getSeed());
+
+    final var weights = profile.getValueTypeWeights();
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("Expected at least one value type to generate");
+    }
+
+    valueTypes = weights.keySet().toArray(new ValueType[0]);
+    cumulativeWeights = new int[valueTypes.length];
+    int total = 0;
+    for (int i = 0; i < valueTypes.length; i++) {
+      total += weights.get(valueTypes[i]);
+      cumulativeWeights[i] = total;
+    }
+
+    partitions = new PartitionState[profile.getPartitionCount()];
+    for (int i = 0; i < partitions.length; i++) {
+      partitions[i] = new PartitionState(i + 1);
+    }
+    burstRemaining = profile.getPartitionBurst();
+  }
+
+  /** @return an endless stream of records, sharing this generator's state */
+  public Stream<Record<?>> stream() {
+    return Stream.generate(this::next);
+  }
+
+  /**
+   * @param count the number of records to generate
+   * @return the next {@code count} records
+   */
+  public List<Record<?>> generate(final int count) {
+    final List<Record<?>> records = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      records.add(next());
+    }
+
+    return records;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return true;
+  }
+
+  @Override
+  public Record<?> next() {
+    final var partition = nextPartition();
+    final var instance = partition.nextInstance();
+    final var valueType = nextValueType();
+    final var record = partition.newRecord(instance, valueType);
+
+    if (--instance.remainingRecords == 0) {
+      partition.replace(instance);
+    }
+
+    return record;
+  }
+
+  private PartitionState nextPartition() {
+    if (burstRemaining == 0) {
+      currentPartition = (currentPartition + 1) % partitions.length;
+      burstRemaining = profile.getPartitionBurst();
+    }
+
+    burstRemaining--;
+    return partitions[currentPartition];
+  }
+
+  private ValueType nextValueType() {
+    final int sample = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (sample < cumulativeWeights[i]) {
+        return valueTypes[i];
+      }
+    }
+
+    throw new IllegalStateException("Expected the sample to be lower than the total weight");
+  }
+
+  private String newPayload() {
+    final int size = Math.max(0, profile.getPayloadSize().sample(random));
+    final char[] payload = new char[size];
+    for (int i = 0; i < size; i++) {
+      payload[i] = PAYLOAD_ALPHABET[random.nextInt(PAYLOAD_ALPHABET.length)];
+    }
+
+    return new String(payload);
+  }
+
+  private final class PartitionState {
+    private final int partitionId;
+    private final List<InstanceState> instances = new ArrayList<>();
+    private long position;
+    private long keyCounter;
+    private long timestamp = profile.getStartTimestamp();
+
+    private PartitionState(final int partitionId) {
+      this.partitionId = partitionId;
+      for (int i = 0; i < profile.getConcurrentInstances(); i++) {
+        instances.add(newInstance());
+      }
+    }
+
+    private InstanceState nextInstance() {
+      return instances.get(random.nextInt(instances.size()));
+    }
+
+    private void replace(final InstanceState instance) {
+      instances.set(instances.indexOf(instance), newInstance());
+    }
+
+    private InstanceState newInstance() {
+      final int process = random.nextInt(profile.getProcessCount());
+      final int fanOut =
+          profile.getMinFanOut()
+              + random.nextInt(profile.getMaxFanOut() - profile.getMinFanOut() + 1);
+      return new InstanceState(nextKey(), "process-" + process, process + 1L, fanOut);
+    }
+
+    private long nextKey() {
+      return Protocol.encodePartitionId(partitionId, ++keyCounter);
+    }
+
+    private Record<?> newRecord(final InstanceState instance, final ValueType valueType) {
+      position++;
+      timestamp += profile.getRecordIntervalMs();
+
+      switch (valueType) {
+        case PROCESS_INSTANCE:
+          return newProcessInstanceRecord(instance);
+        case JOB:
+          return newJobRecord(instance);
+        case VARIABLE:
+          return newVariableRecord(instance);
+        case INCIDENT:
+          return newIncidentRecord(instance);
+        default:
+          throw new IllegalStateException("Unsupported value type " + valueType);
+      }
+    }
+
+    private Record<?> newProcessInstanceRecord(final InstanceState instance) {
+      final var intent = ELEMENT_LIFECYCLE[instance.lifecycleStep];
+      if (instance.lifecycleStep == 0) {
+        instance.elementInstanceKey = nextKey();
+        instance.elementIndex++;
+      }
+      instance.lifecycleStep = (instance.lifecycleStep + 1) % ELEMENT_LIFECYCLE.length;
+
+      final var value =
+          ImmutableProcessInstanceRecordValue.builder()
+              .withBpmnProcessId(instance.bpmnProcessId)
+              .withVersion(1)
+              .withProcessDefinitionKey(instance.processDefinitionKey)
+              .withProcessInstanceKey(instance.key)
+              .withElementId("task-" + instance.elementIndex)
+              .withFlowScopeKey(instance.key)
+              .withBpmnElementType(BpmnElementType.SERVICE_TASK)
+              .withBpmnEventType(BpmnEventType.UNSPECIFIED)
+              .withParentProcessInstanceKey(-1)
+              .withParentElementInstanceKey(-1)
+              .withTenantId(TenantOwned.DEFAULT_TENANT_IDENTIFIER)
+              .build();
+      return newRecord(instance.elementInstanceKey, intent, ValueType.PROCESS_INSTANCE, value);
+    }
+
+    private Record<?> newJobRecord(final InstanceState instance) {
+      final boolean created = random.nextBoolean();
+      final var value =
+          ImmutableJobRecordValue.builder()
+              .withType(JOB_TYPE)
+              .withWorker(created ? "" : "worker")
+              .withRetries(3)
+              .withDeadline(created ? -1 : timestamp + 300_000)
+              .withVariables(created ? Map.of() : Map.of("result", newPayload()))
+              .withCustomHeaders(Map.of("priority", "normal"))
+              .withElementId("task-" + instance.elementIndex)
+              .withElementInstanceKey(instance.elementInstanceKey)
+              .withBpmnProcessId(instance.bpmnProcessId)
+              .withProcessDefinitionVersion(1)
+              .withProcessDefinitionKey(instance.processDefinitionKey)
+              .withProcessInstanceKey(instance.key)
+              .withJobKind(JobKind.BPMN_ELEMENT)
+              .withTenantId(TenantOwned.DEFAULT_TENANT_IDENTIFIER)
+              .build();
+      return newRecord(
+          nextKey(), created ? JobIntent.CREATED : JobIntent.COMPLETED, ValueType.JOB, value);
+    }
+
+    private Record<?> newVariableRecord(final InstanceState instance) {
+      final boolean created = random.nextBoolean();
+      final var value =
+          ImmutableVariableRecordValue.builder()
+              .withName("var-" + random.nextInt(10))
+              .withValue('"' + newPayload() + '"')
+              .withScopeKey(instance.key)
+              .withProcessInstanceKey(instance.key)
+              .withProcessDefinitionKey(instance.processDefinitionKey)
+              .withBpmnProcessId(instance.bpmnProcessId)
+              .withTenantId(TenantOwned.DEFAULT_TENANT_IDENTIFIER)
+              .build();
+      return newRecord(
+          nextKey(),
+          created ? VariableIntent.CREATED : VariableIntent.UPDATED,
+          ValueType.VARIABLE,
+          value);
+    }
+
+    private Record<?> newIncidentRecord(final InstanceState instance) {
+      final var value =
+          ImmutableIncidentRecordValue.builder()
+              .withErrorType(ErrorType.JOB_NO_RETRIES)
+              .withErrorMessage("No more retries left.")
+              .withBpmnProcessId(instance.bpmnProcessId)
+              .withProcessDefinitionKey(instance.processDefinitionKey)
+              .withProcessInstanceKey(instance.key)
+              .withElementId("task-" + instance.elementIndex)
+              .withElementInstanceKey(instance.elementInstanceKey)
+              .withJobKey(-1)
+              .withVariableScopeKey(instance.elementInstanceKey)
+              .withTenantId(TenantOwned.DEFAULT_TENANT_IDENTIFIER)
+              .build();
+      return newRecord(nextKey(), IncidentIntent.CREATED, ValueType.INCIDENT, value);
+    }
+
+    private Record<?> newRecord(
+        final long key, final Intent intent, final ValueType valueType, final RecordValue value) {
+      return new WorkloadRecord(
+          ImmutableRecord.builder()
+              .withPosition(position)
+              .withSourceRecordPosition(position - 1)
+              .withKey(key)
+              .withTimestamp(timestamp)
+              .withIntent(intent)
+              .withPartitionId(partitionId)
+              .withRecordType(RecordType.EVENT)
+              .withRejectionType(RejectionType.NULL_VAL)
+              .withRejectionReason("")
+              .withBrokerVersion(BROKER_VERSION)
+              .withRecordVersion(1)
+              .withValueType(valueType)
+              .withValue(value)
+              .build());
+    }
+  }
+
+  private static final class InstanceState {
+    private final long key;
+    private final String bpmnProcessId;
+    private final long processDefinitionKey;
+    private int remainingRecords;
+    private int lifecycleStep;
+    private int elementIndex;
+    private long elementInstanceKey;
+
+    private InstanceState(
+        final long key,
+        final String bpmnProcessId,
+        final long processDefinitionKey,
+        final int remainingRecords) {
+      this.key = key;
+      this.bpmnProcessId = bpmnProcessId;
+      this.processDefinitionKey = processDefinitionKey;
+      this.remainingRecords = remainingRecords;
+      elementInstanceKey = key;
+    }
+  }
+}
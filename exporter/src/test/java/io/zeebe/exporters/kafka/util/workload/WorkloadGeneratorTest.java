@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.util.workload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.ValueType;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class WorkloadGeneratorTest {
+
+  @Test
+  void shouldGenerateConfiguredMix() {
+    // given
+    final var profile =
+        new WorkloadProfile()
+            .setValueTypeWeight(ValueType.PROCESS_INSTANCE, 3)
+            .setValueTypeWeight(ValueType.JOB, 1)
+            .setValueTypeWeight(ValueType.VARIABLE, 0)
+            .setValueTypeWeight(ValueType.INCIDENT, 0);
+
+    // when
+    final var records = new WorkloadGenerator(profile).generate(10_000);
+
+    // then
+    final var counts =
+        records.stream()
+            .collect(Collectors.groupingBy(Record::getValueType, Collectors.counting()));
+    assertThat(counts).containsOnlyKeys(ValueType.PROCESS_INSTANCE, ValueType.JOB);
+    assertThat(counts.get(ValueType.PROCESS_INSTANCE))
+        .as("three times as many process instance records as jobs")
+        .isBetween(7_000L, 8_000L);
+  }
+
+  @Test
+  void shouldInterleavePartitions() {
+    // given
+    final var profile = new WorkloadProfile().setPartitions(3, 2);
+
+    // when
+    final var records = new WorkloadGenerator(profile).generate(8);
+
+    // then
+    assertThat(records)
+        .extracting(Record::getPartitionId)
+        .containsExactly(1, 1, 2, 2, 3, 3, 1, 1);
+    assertThat(records)
+        .extracting(Record::getPosition)
+        .as("each partition has its own positions")
+        .containsExactly(1L, 2L, 1L, 2L, 1L, 2L, 3L, 4L);
+  }
+
+  @Test
+  void shouldBeReproducible() {
+    // given
+    final var profile = new WorkloadProfile().setSeed(7);
+
+    // when
+    final var first = new WorkloadGenerator(profile).generate(100);
+    final var second = new WorkloadGenerator(profile).generate(100);
+
+    // then
+    assertThat(first)
+        .extracting(Record::toJson)
+        .containsExactlyElementsOf(
+            second.stream().map(Record::toJson).collect(Collectors.toList()));
+  }
+
+  @Test
+  void shouldReplayWrittenTrace(final @TempDir Path tempDir) {
+    // given
+    final var trace = tempDir.resolve("trace.jsonl");
+    final var records = new WorkloadGenerator(new WorkloadProfile()).generate(100);
+
+    // when
+    WorkloadTrace.write(records, trace);
+
+    // then
+    try (final var replayed = WorkloadTrace.replay(trace)) {
+      assertThat(replayed.map(Record::toJson))
+          .containsExactlyElementsOf(
+              records.stream().map(Record::toJson).collect(Collectors.toList()));
+    }
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.util.workload;
+
+import io.camunda.zeebe.protocol.record.ValueType;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Describes the shape of a generated workload. The defaults roughly follow what a broker running
+ * simple BPMN processes exports: mostly process instance and variable records, jobs for service
+ * tasks, and the occasional incident, with small payloads and a long tail of bigger ones.
+ */
+public final class WorkloadProfile {
+  /** The value types for which realistic values can be generated. */
+  public static final Set<ValueType> SUPPORTED_VALUE_TYPES =
+      Set.of(ValueType.PROCESS_INSTANCE, ValueType.JOB, ValueType.VARIABLE, ValueType.INCIDENT);
+
+  private final Map<ValueType, Integer> valueTypeWeights = new EnumMap<>(ValueType.class);
+  private int minFanOut = 5;
+  private int maxFanOut = 50;
+  private int concurrentInstances = 100;
+  private int processCount = 10;
+  private PayloadSizeDistribution payloadSize = PayloadSizeDistribution.logNormal(256, 1, 65_536);
+  private int partitionCount = 1;
+  private int partitionBurst = 1;
+  private long recordIntervalMs = 1;
+  private long startTimestamp = 1_700_000_000_000L;
+  private long seed = 42;
+
+  public WorkloadProfile() {
+    valueTypeWeights.put(ValueType.PROCESS_INSTANCE, 50);
+    valueTypeWeights.put(ValueType.VARIABLE, 30);
+    valueTypeWeights.put(ValueType.JOB, 15);
+    valueTypeWeights.put(ValueType.INCIDENT, 5);
+  }
+
+  public Map<ValueType, Integer> getValueTypeWeights() {
+    return Collections.unmodifiableMap(valueTypeWeights);
+  }
+
+  /**
+   * Sets how often records of the given type are generated, relative to the other types. A weight
+   * of 0 removes the type from the mix.
+   *
+   * @throws IllegalArgumentException if the type is not one of {@link #SUPPORTED_VALUE_TYPES}
+   */
+  public WorkloadProfile setValueTypeWeight(final ValueType valueType, final int weight) {
+    if (!SUPPORTED_VALUE_TYPES.contains(valueType) || weight < 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected a non-negative weight for one of %s, but got %d for %s",
+              SUPPORTED_VALUE_TYPES, weight, valueType));
+    }
+
+    if (weight == 0) {
+      valueTypeWeights.remove(valueType);
+    } else {
+      valueTypeWeights.put(valueType, weight);
+    }
+
+    return this;
+  }
+
+  public int getMinFanOut() {
+    return minFanOut;
+  }
+
+  public int getMaxFanOut() {
+    return maxFanOut;
+  }
+
+  /** Sets the range of the number of records generated for each process instance. */
+  public WorkloadProfile setFanOut(final int minFanOut, final int maxFanOut) {
+    if (minFanOut < 1 || maxFanOut < minFanOut) {
+      throw new IllegalArgumentException(
+          String.format("Expected a valid fan-out range, but got [%d, %d]", minFanOut, maxFanOut));
+    }
+
+    this.minFanOut = minFanOut;
+    this.maxFanOut = maxFanOut;
+    return this;
+  }
+
+  public int getConcurrentInstances() {
+    return concurrentInstances;
+  }
+
+  /** Sets the number of process instances whose records are interleaved on each partition. */
+  public WorkloadProfile setConcurrentInstances(final int concurrentInstances) {
+    this.concurrentInstances = concurrentInstances;
+    return this;
+  }
+
+  public int getProcessCount() {
+    return processCount;
+  }
+
+  /** Sets the number of distinct processes instances are created from. */
+  public WorkloadProfile setProcessCount(final int processCount) {
+    this.processCount = processCount;
+    return this;
+  }
+
+  public PayloadSizeDistribution getPayloadSize() {
+    return payloadSize;
+  }
+
+  /** Sets the distribution of the size of variable values and job variables. */
+  public WorkloadProfile setPayloadSize(final PayloadSizeDistribution payloadSize) {
+    this.payloadSize = payloadSize;
+    return this;
+  }
+
+  public int getPartitionCount() {
+    return partitionCount;
+  }
+
+  public int getPartitionBurst() {
+    return partitionBurst;
+  }
+
+  /**
+   * Sets the number of partitions records are generated for, and how many consecutive records of
+   * one partition are generated before moving on to the next one.
+   */
+  public WorkloadProfile setPartitions(final int partitionCount, final int partitionBurst) {
+    if (partitionCount < 1 || partitionBurst < 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected at least one partition and burst, but got %d and %d",
+              partitionCount, partitionBurst));
+    }
+
+    this.partitionCount = partitionCount;
+    this.partitionBurst = partitionBurst;
+    return this;
+  }
+
+  public long getRecordIntervalMs() {
+    return recordIntervalMs;
+  }
+
+  /** Sets how far apart, in record time, two consecutive records of a partition are. */
+  public WorkloadProfile setRecordIntervalMs(final long recordIntervalMs) {
+    this.recordIntervalMs = recordIntervalMs;
+    return this;
+  }
+
+  public long getStartTimestamp() {
+    return startTimestamp;
+  }
+
+  public WorkloadProfile setStartTimestamp(final long startTimestamp) {
+    this.startTimestamp = startTimestamp;
+    return this;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  /** Sets the seed of the generator; the same profile and seed always generate the same records. */
+  public WorkloadProfile setSeed(final long seed) {
+    this.seed = seed;
+    return this;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.util.workload;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.camunda.zeebe.protocol.jackson.ZeebeProtocolModule;
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.RecordValue;
+import io.camunda.zeebe.protocol.record.RejectionType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.Intent;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A generated or replayed record. The protocol's immutable records cannot be serialized to JSON on
+ * their own, so this wraps one and serializes it on every call to {@link #toJson()}, as the
+ * broker's own records do, such that the exporter's serialization cost is part of any measurement.
+ */
+public final class WorkloadRecord implements Record<RecordValue> {
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().registerModule(new ZeebeProtocolModule());
+
+  private final Record<RecordValue> delegate;
+
+  @SuppressWarnings("unchecked")
+  public WorkloadRecord(final Record<?> delegate) {
+    this.delegate = (Record<RecordValue>) Objects.requireNonNull(delegate);
+  }
+
+  @Override
+  public long getPosition() {
+    return delegate.getPosition();
+  }
+
+  @Override
+  public long getSourceRecordPosition() {
+    return delegate.getSourceRecordPosition();
+  }
+
+  @Override
+  public long getKey() {
+    return delegate.getKey();
+  }
+
+  @Override
+  public long getTimestamp() {
+    return delegate.getTimestamp();
+  }
+
+  @Override
+  public Intent getIntent() {
+    return delegate.getIntent();
+  }
+
+  @Override
+  public int getPartitionId() {
+    return delegate.getPartitionId();
+  }
+
+  @Override
+  public RecordType getRecordType() {
+    return delegate.getRecordType();
+  }
+
+  @Override
+  public RejectionType getRejectionType() {
+    return delegate.getRejectionType();
+  }
+
+  @Override
+  public String getRejectionReason() {
+    return delegate.getRejectionReason();
+  }
+
+  @Override
+  public String getBrokerVersion() {
+    return delegate.getBrokerVersion();
+  }
+
+  @Override
+  public Map<String, Object> getAuthorizations() {
+    return delegate.getAuthorizations();
+  }
+
+  @Override
+  public int getRecordVersion() {
+    return delegate.getRecordVersion();
+  }
+
+  @Override
+  public ValueType getValueType() {
+    return delegate.getValueType();
+  }
+
+  @Override
+  public RecordValue getValue() {
+    return delegate.getValue();
+  }
+
+  @Override
+  public Record<RecordValue> copyOf() {
+    return this;
+  }
+
+  @Override
+  public String toJson() {
+    try {
+      return MAPPER.writeValueAsString(delegate);
+    } catch (final JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+}
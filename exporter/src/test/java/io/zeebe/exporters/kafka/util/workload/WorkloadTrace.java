@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.util.workload;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.zeebe.exporters.kafka.serde.RecordDeserializer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Captures records exported to real topics into a trace file, and replays them later on, e.g. to
+ * measure the exporter with production data without a broker or Kafka.
+ *
+ * <p>A trace is a file with one record per line, in the JSON format the exporter produces. As JSON
+ * strings escape line breaks, records never span multiple lines.
+ */
+public final class WorkloadTrace {
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+  private WorkloadTrace() {}
+
+  /**
+   * Polls the given consumer, which should already be subscribed to the exporter's topics, and
+   * appends every record's value to the trace.
+   *
+   * @param consumer the consumer to poll
+   * @param trace the trace file, created or truncated
+   * @param maxRecords the number of records after which to stop
+   * @param timeout how long to poll for at most
+   * @return the number of records captured
+   */
+  public static int capture(
+      final Consumer<?, byte[]> consumer,
+      final Path trace,
+      final int maxRecords,
+      final Duration timeout) {
+    final long deadline = System.nanoTime() + timeout.toNanos();
+    int captured = 0;
+
+    try (final BufferedWriter writer = Files.newBufferedWriter(trace, StandardCharsets.UTF_8)) {
+      while (captured < maxRecords && System.nanoTime() < deadline) {
+        for (final ConsumerRecord<?, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+          if (captured == maxRecords) {
+            break;
+          }
+
+          if (record.value() != null) {
+            writer.write(new String(record.value(), StandardCharsets.UTF_8));
+            writer.newLine();
+            captured++;
+          }
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return captured;
+  }
+
+  /**
+   * Writes the given records to a trace, e.g. to keep a generated workload around.
+   *
+   * @param records the records to write
+   * @param trace the trace file, created or truncated
+   */
+  public static void write(final Iterable<? extends Record<?>> records, final Path trace) {
+    try (final BufferedWriter writer = Files.newBufferedWriter(trace, StandardCharsets.UTF_8)) {
+      for (final var record : records) {
+        writer.write(record.toJson());
+        writer.newLine();
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Reads the records of a trace lazily. The stream holds the file open, so it must be closed.
+   *
+   * @param trace the trace file to read
+   * @return a stream of the trace's records, in order
+   */
+  public static Stream<Record<?>> replay(final Path trace) {
+    final var deserializer = new RecordDeserializer();
+    try {
+      return Files.lines(trace, StandardCharsets.UTF_8)
+          .filter(line -> !line.isBlank())
+          .map(
+              line ->
+                  new WorkloadRecord(
+                      deserializer.deserialize(
+                          trace.toString(), line.getBytes(StandardCharsets.UTF_8))));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.qa;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import kafka.testkit.KafkaClusterTestKit;
+import kafka.testkit.TestKitNodes;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+
+/**
+ * A single node Kafka cluster running in KRaft mode within the test JVM, where the node is both
+ * broker and controller. Unlike the containers used by {@link KafkaExporterIT}, there is no network
+ * hop through Docker, so the measured throughput is that of the exporter and the producer, not of
+ * the container runtime.
+ *
+ * <p>NOTE: the node shares the CPU with the exporter, so absolute numbers are only comparable
+ * between runs on the same machine.
+ */
+final class EmbeddedKafka implements AutoCloseable {
+  private final KafkaClusterTestKit cluster;
+
+  private EmbeddedKafka(final KafkaClusterTestKit cluster) {
+    this.cluster = cluster;
+  }
+
+  /** Formats the storage of a new single node cluster, starts it, and waits until it's ready. */
+  static EmbeddedKafka start() throws Exception {
+    final var nodes =
+        new TestKitNodes.Builder()
+            .setCombined(true)
+            .setNumBrokerNodes(1)
+            .setNumControllerNodes(1)
+            .build();
+    final var cluster =
+        new KafkaClusterTestKit.Builder(nodes)
+            // transactions cannot be used until the internal topics can be replicated
+            .setConfigProp("offsets.topic.replication.factor", "1")
+            .setConfigProp("transaction.state.log.replication.factor", "1")
+            .setConfigProp("transaction.state.log.min.isr", "1")
+            .build();
+
+    try {
+      cluster.format();
+      cluster.startup();
+      cluster.waitForReadyBrokers();
+    } catch (final Exception e) {
+      cluster.close();
+      throw e;
+    }
+
+    return new EmbeddedKafka(cluster);
+  }
+
+  String getBootstrapServers() {
+    return cluster.bootstrapServers();
+  }
+
+  void createTopic(final String topic, final int partitions)
+      throws ExecutionException, InterruptedException {
+    try (final Admin admin =
+        Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, getBootstrapServers()))) {
+      admin.createTopics(List.of(new NewTopic(topic, partitions, (short) 1))).all().get();
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    cluster.close();
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.qa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the end-to-end throughput of the exporter against an embedded broker, for every batching
+ * and compression setting below, and logs a summary table once all scenarios ran.
+ *
+ * <p>As a run takes a while and competes with everything else for CPU, it's only enabled when the
+ * number of records to export per scenario is given, e.g.:
+ *
+ * <pre>
+ *   mvn -pl qa verify -Dthroughput.records=2000000
+ * </pre>
+ *
+ * <p>The exporter only ever serializes records as JSON, so the "format" being compared is how the
+ * producer compresses batches on the wire, which is what changes the cost of a record once it's
+ * serialized.
+ */
+@EnabledIfSystemProperty(named = "throughput.records", matches = "[0-9]+")
+@Execution(ExecutionMode.SAME_THREAD)
+final class ExporterThroughputIT {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExporterThroughputIT.class);
+  private static final int OFF_HEAP_POOL_SIZE = 64 * 1024 * 1024;
+  private static final List<ThroughputScenario> SCENARIOS =
+      List.of(
+          new ThroughputScenario("batch-100", 100, "none", 0),
+          new ThroughputScenario("batch-1000", 1_000, "none", 0),
+          new ThroughputScenario("batch-1000-off-heap", 1_000, "none", OFF_HEAP_POOL_SIZE),
+          new ThroughputScenario("batch-1000-lz4", 1_000, "lz4", 0),
+          new ThroughputScenario("batch-1000-zstd", 1_000, "zstd", 0));
+
+  private static final List<ThroughputResult> RESULTS = new CopyOnWriteArrayList<>();
+  private static EmbeddedKafka kafka;
+
+  @BeforeAll
+  static void startKafka() throws Exception {
+    kafka = EmbeddedKafka.start();
+  }
+
+  @AfterAll
+  static void stopKafka() throws Exception {
+    if (!RESULTS.isEmpty()) {
+      final var summary = new StringBuilder(ThroughputResult.HEADER);
+      RESULTS.forEach(result -> summary.append(System.lineSeparator()).append(result.toRow()));
+      LOGGER.info("Throughput summary:{}{}", System.lineSeparator(), summary);
+    }
+
+    if (kafka != null) {
+      kafka.close();
+    }
+  }
+
+  @TestFactory
+  Stream<DynamicTest> shouldMeasureThroughput() {
+    final long recordCount = Long.getLong("throughput.records");
+    final var harness = new ThroughputHarness(kafka);
+
+    return SCENARIOS.stream()
+        .map(
+            scenario ->
+                DynamicTest.dynamicTest(
+                    scenario.getName(),
+                    () -> {
+                      // when
+                      final var result = harness.run(scenario, recordCount);
+
+                      // then
+                      RESULTS.add(result);
+                      assertThat(result.getRecordsPerSecond())
+                          .as("records exported per second for scenario %s", scenario)
+                          .isPositive();
+                    }));
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.qa;
+
+import io.camunda.zeebe.exporter.api.context.Controller;
+import io.camunda.zeebe.exporter.api.context.ScheduledTask;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * A {@link Controller} which runs scheduled tasks once they're due in wall clock time, as the
+ * broker would. Tasks are only ever run on the exporter's thread, when calling {@link
+ * #runDueTasks()}, which keeps the exporter single threaded like it is in the broker.
+ */
+final class RealTimeController implements Controller {
+  private final PriorityQueue<Task> tasks =
+      new PriorityQueue<>(Comparator.comparingLong(task -> task.dueAtNanos));
+  private long position = -1;
+
+  /** Runs every task whose delay has elapsed, in order of due time. */
+  void runDueTasks() {
+    final long now = System.nanoTime();
+    while (!tasks.isEmpty() && tasks.peek().dueAtNanos <= now) {
+      final var task = tasks.poll();
+      if (!task.cancelled) {
+        task.runnable.run();
+      }
+    }
+  }
+
+  @Override
+  public void updateLastExportedRecordPosition(final long position) {
+    this.position = position;
+  }
+
+  @Override
+  public void updateLastExportedRecordPosition(final long position, final byte[] metadata) {
+    this.position = position;
+  }
+
+  @Override
+  public long getLastExportedRecordPosition() {
+    return position;
+  }
+
+  @Override
+  public Optional<byte[]> readMetadata() {
+    return Optional.empty();
+  }
+
+  @Override
+  public ScheduledTask scheduleCancellableTask(final Duration delay, final Runnable runnable) {
+    final var task = new Task(System.nanoTime() + delay.toNanos(), runnable);
+    tasks.add(task);
+    return () -> task.cancelled = true;
+  }
+
+  private static final class Task {
+    private final long dueAtNanos;
+    private final Runnable runnable;
+    private boolean cancelled;
+
+    private Task(final long dueAtNanos, final Runnable runnable) {
+      this.dueAtNanos = dueAtNanos;
+      this.runnable = runnable;
+    }
+  }
+}
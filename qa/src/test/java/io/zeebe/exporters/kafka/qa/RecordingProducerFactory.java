@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.qa;
+
+import io.zeebe.exporters.kafka.config.ProducerConfig;
+import io.zeebe.exporters.kafka.producer.KafkaProducerFactory;
+import io.zeebe.exporters.kafka.serde.RecordId;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.kafka.clients.producer.Producer;
+
+/**
+ * Creates real producers through the default factory, but remembers them, so that their metrics
+ * can be read once the run is over - including those of producers recreated after an error.
+ */
+final class RecordingProducerFactory implements KafkaProducerFactory {
+  private static final String BUFFER_POOL_WAIT_TIME = "bufferpool-wait-time-ns-total";
+
+  private final KafkaProducerFactory delegate = KafkaProducerFactory.defaultFactory();
+  private final List<Producer<RecordId, byte[]>> producers = new CopyOnWriteArrayList<>();
+
+  @Override
+  public Producer<RecordId, byte[]> newProducer(
+      final ProducerConfig config, final String producerId) {
+    final var producer = delegate.newProducer(config, producerId);
+    producers.add(producer);
+    return producer;
+  }
+
+  /**
+   * @return the total time spent by all producers blocked in {@link Producer#send}, waiting for
+   *     buffer memory to be freed, in nanoseconds
+   */
+  long getBufferWaitTimeNanos() {
+    double waitTime = 0;
+    for (final var producer : producers) {
+      for (final var metric : producer.metrics().values()) {
+        if (BUFFER_POOL_WAIT_TIME.equals(metric.metricName().name())) {
+          waitTime += ((Number) metric.metricValue()).doubleValue();
+        }
+      }
+    }
+
+    return (long) waitTime;
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.qa;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.zeebe.exporters.kafka.KafkaExporter;
+import io.zeebe.exporters.kafka.config.parser.RawConfigParser;
+import io.zeebe.exporters.kafka.producer.RecordBatchFactory;
+import io.zeebe.exporters.kafka.record.FullRecordBatchException;
+import io.zeebe.exporters.kafka.util.MockConfiguration;
+import io.zeebe.exporters.kafka.util.MockContext;
+import io.zeebe.exporters.kafka.util.workload.WorkloadGenerator;
+import io.zeebe.exporters.kafka.util.workload.WorkloadProfile;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.agrona.collections.LongArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pushes synthetic records through a real {@link KafkaExporter}, down to an {@link EmbeddedKafka}
+ * broker, and measures how fast they're committed.
+ *
+ * <p>The exporter is driven as the broker would: from a single thread, which also runs the
+ * scheduled flush tasks, and which retries a record whenever the exporter rejects it as its batch
+ * is full. The records are generated in chunks before being exported, so that generating them is
+ * neither timed nor counted as CPU time.
+ *
+ * <p>The following is measured:
+ *
+ * <ul>
+ *   <li>throughput: records exported per second, from the first record until the last one is
+ *       committed
+ *   <li>latency: for every {@link #LATENCY_SAMPLE_RATE}th record, the time from handing it to the
+ *       exporter until the exporter reports its position as exported, i.e. until its transaction
+ *       is committed
+ *   <li>stalls: the time producers were blocked waiting for buffer memory, and the number of times
+ *       the exporter rejected a record as its batch was full
+ *   <li>CPU: the CPU time of the exporter's thread and of the producer's network thread, per record
+ * </ul>
+ *
+ * <p>NOTE: the network thread of a producer recreated after an error is gone by the end of the
+ * run, so its CPU time is not accounted for.
+ */
+final class ThroughputHarness {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ThroughputHarness.class);
+  private static final int CHUNK_SIZE = 10_000;
+  private static final int LATENCY_SAMPLE_RATE = 100;
+  private static final Duration COMMIT_TIMEOUT = Duration.ofMinutes(1);
+  private static final String NETWORK_THREAD_PREFIX = "kafka-producer-network-thread | ";
+
+  private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+  private final EmbeddedKafka kafka;
+
+  ThroughputHarness(final EmbeddedKafka kafka) {
+    this.kafka = kafka;
+  }
+
+  /**
+   * Exports the given number of records with the given scenario's settings, to a topic of its
+   * own, and returns what was measured.
+   */
+  ThroughputResult run(final ThroughputScenario scenario, final long recordCount)
+      throws Exception {
+    kafka.createTopic(scenario.getTopic(), 1);
+
+    final var producerFactory = new RecordingProducerFactory();
+    final var exporter =
+        new KafkaExporter(
+            RecordBatchFactory.defaultFactory(producerFactory),
+            new RawConfigParser(),
+            producerFactory);
+    final var configuration =
+        new MockConfiguration<>(scenario.newConfig(kafka.getBootstrapServers()));
+    configuration.setId("kafka");
+    final var context = new MockContext(LOGGER, configuration);
+    final var controller = new RealTimeController();
+
+    exporter.configure(context);
+    exporter.open(controller);
+    try {
+      return new Run(scenario, exporter, context, controller, producerFactory).execute(recordCount);
+    } finally {
+      exporter.close();
+    }
+  }
+
+  private final class Run {
+    private final ThroughputScenario scenario;
+    private final KafkaExporter exporter;
+    private final MockContext context;
+    private final RealTimeController controller;
+    private final RecordingProducerFactory producerFactory;
+    private final WorkloadGenerator generator = new WorkloadGenerator(new WorkloadProfile());
+    private final Queue<LatencySample> pendingSamples = new ArrayDeque<>();
+    private final LongArrayList latencies = new LongArrayList();
+
+    private long rejections;
+    private long cpuNanos;
+    private long lastPosition = -1;
+
+    private Run(
+        final ThroughputScenario scenario,
+        final KafkaExporter exporter,
+        final MockContext context,
+        final RealTimeController controller,
+        final RecordingProducerFactory producerFactory) {
+      this.scenario = scenario;
+      this.exporter = exporter;
+      this.context = context;
+      this.controller = controller;
+      this.producerFactory = producerFactory;
+    }
+
+    private ThroughputResult execute(final long recordCount)
+        throws InterruptedException, TimeoutException {
+      long exported = 0;
+      final long startedAt = System.nanoTime();
+
+      while (exported < recordCount) {
+        final var chunk = generator.generate((int) Math.min(CHUNK_SIZE, recordCount - exported));
+        final long cpuBefore = threadBean.getCurrentThreadCpuTime();
+        for (final var record : chunk) {
+          if (exported++ % LATENCY_SAMPLE_RATE == 0) {
+            pendingSamples.add(new LatencySample(record.getPosition(), System.nanoTime()));
+          }
+
+          export(record);
+        }
+        cpuNanos += threadBean.getCurrentThreadCpuTime() - cpuBefore;
+      }
+
+      awaitCommitted(lastPosition);
+      final var elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+      cpuNanos += getNetworkThreadsCpuTime();
+      LOGGER.info("Exported {} records for scenario {} in {}", exported, scenario, elapsed);
+
+      final long[] sortedLatencies = latencies.toLongArray();
+      Arrays.sort(sortedLatencies);
+      return new ThroughputResult(
+          scenario,
+          exported,
+          elapsed,
+          Duration.ofNanos(percentile(sortedLatencies, 0.5)),
+          Duration.ofNanos(percentile(sortedLatencies, 0.99)),
+          Duration.ofNanos(producerFactory.getBufferWaitTimeNanos()),
+          rejections,
+          cpuNanos);
+    }
+
+    private void export(final Record<?> record) throws InterruptedException {
+      final var filter = context.getFilter();
+      if (filter != null
+          && !(filter.acceptType(record.getRecordType())
+              && filter.acceptValue(record.getValueType()))) {
+        return;
+      }
+
+      // the broker retries the same record until the exporter accepts it
+      while (true) {
+        controller.runDueTasks();
+        try {
+          exporter.export(record);
+          break;
+        } catch (final FullRecordBatchException e) {
+          rejections++;
+          TimeUnit.MILLISECONDS.sleep(1);
+        }
+      }
+
+      lastPosition = record.getPosition();
+      collectLatencies();
+    }
+
+    private void awaitCommitted(final long position)
+        throws InterruptedException, TimeoutException {
+      final long deadline = System.nanoTime() + COMMIT_TIMEOUT.toNanos();
+      while (controller.getLastExportedRecordPosition() < position) {
+        if (System.nanoTime() > deadline) {
+          throw new TimeoutException(
+              String.format(
+                  "Expected position %d to be committed within %s, but only %d was",
+                  position, COMMIT_TIMEOUT, controller.getLastExportedRecordPosition()));
+        }
+
+        controller.runDueTasks();
+        collectLatencies();
+        TimeUnit.MILLISECONDS.sleep(1);
+      }
+
+      collectLatencies();
+    }
+
+    private void collectLatencies() {
+      final long committedPosition = controller.getLastExportedRecordPosition();
+      final long now = System.nanoTime();
+      while (!pendingSamples.isEmpty() && pendingSamples.peek().position <= committedPosition) {
+        latencies.addLong(now - pendingSamples.poll().exportedAtNanos);
+      }
+    }
+
+    private long getNetworkThreadsCpuTime() {
+      final var prefix = NETWORK_THREAD_PREFIX + scenario.getTopic();
+      long cpuTime = 0;
+      for (final var thread : Thread.getAllStackTraces().keySet()) {
+        if (thread.getName().startsWith(prefix)) {
+          cpuTime += Math.max(0, threadBean.getThreadCpuTime(thread.getId()));
+        }
+      }
+
+      return cpuTime;
+    }
+  }
+
+  private static long percentile(final long[] sortedValues, final double percentile) {
+    if (sortedValues.length == 0) {
+      return 0;
+    }
+
+    final int index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+    return sortedValues[Math.max(0, index)];
+  }
+
+  private record LatencySample(long position, long exportedAtNanos) {}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.qa;
+
+import java.time.Duration;
+
+/** The measurements of a single {@link ThroughputScenario} run. */
+final class ThroughputResult {
+  static final String HEADER =
+      String.format(
+          "%-20s %12s %12s %12s %10s %14s %12s %12s",
+          "scenario",
+          "records",
+          "records/s",
+          "p50 (ms)",
+          "p99 (ms)",
+          "stalls (ms)",
+          "rejections",
+          "cpu (µs/rec)");
+
+  private final ThroughputScenario scenario;
+  private final long records;
+  private final Duration elapsed;
+  private final Duration p50Latency;
+  private final Duration p99Latency;
+  private final Duration bufferStalls;
+  private final long rejections;
+  private final long cpuNanos;
+
+  ThroughputResult(
+      final ThroughputScenario scenario,
+      final long records,
+      final Duration elapsed,
+      final Duration p50Latency,
+      final Duration p99Latency,
+      final Duration bufferStalls,
+      final long rejections,
+      final long cpuNanos) {
+    this.scenario = scenario;
+    this.records = records;
+    this.elapsed = elapsed;
+    this.p50Latency = p50Latency;
+    this.p99Latency = p99Latency;
+    this.bufferStalls = bufferStalls;
+    this.rejections = rejections;
+    this.cpuNanos = cpuNanos;
+  }
+
+  double getRecordsPerSecond() {
+    return records * 1_000_000_000.0 / Math.max(1, elapsed.toNanos());
+  }
+
+  /** @return the CPU time used per record, by the exporter and the producer's I/O threads */
+  double getCpuMicrosPerRecord() {
+    return cpuNanos / 1_000.0 / Math.max(1, records);
+  }
+
+  /** @return the results as a row of the table started by {@link #HEADER} */
+  String toRow() {
+    return String.format(
+        "%-20s %12d %12.0f %12.1f %10.1f %14d %12d %12.2f",
+        scenario.getName(),
+        records,
+        getRecordsPerSecond(),
+        p50Latency.toNanos() / 1_000_000.0,
+        p99Latency.toNanos() / 1_000_000.0,
+        bufferStalls.toMillis(),
+        rejections,
+        getCpuMicrosPerRecord());
+  }
+
+  @Override
+  public String toString() {
+    return toRow();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.qa;
+
+import io.zeebe.exporters.kafka.config.raw.RawConfig;
+import io.zeebe.exporters.kafka.config.raw.RawProducerConfig;
+import io.zeebe.exporters.kafka.config.raw.RawRecordConfig;
+import io.zeebe.exporters.kafka.config.raw.RawRecordsConfig;
+
+/**
+ * One combination of settings measured by the {@link ThroughputHarness}: how records are batched in
+ * the exporter, and how the producer compresses them on the wire.
+ */
+final class ThroughputScenario {
+  private final String name;
+  private final int maxBatchSize;
+  private final String compressionType;
+  private final int offHeapPoolSizeBytes;
+
+  ThroughputScenario(
+      final String name,
+      final int maxBatchSize,
+      final String compressionType,
+      final int offHeapPoolSizeBytes) {
+    this.name = name;
+    this.maxBatchSize = maxBatchSize;
+    this.compressionType = compressionType;
+    this.offHeapPoolSizeBytes = offHeapPoolSizeBytes;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  /** @return the topic the scenario exports to, so that runs don't read each other's records */
+  String getTopic() {
+    return "throughput-" + name;
+  }
+
+  /** @return the exporter configuration for this scenario, exporting to the given servers */
+  RawConfig newConfig(final String servers) {
+    final var config = new RawConfig();
+    config.maxBatchSize = maxBatchSize;
+    config.flushIntervalMs = 1_000L;
+
+    config.producer = new RawProducerConfig();
+    config.producer.servers = servers;
+    config.producer.clientId = getTopic();
+    config.producer.config = "compression.type=" + compressionType;
+    config.producer.offHeapPoolSizeBytes = offHeapPoolSizeBytes;
+
+    config.records = new RawRecordsConfig();
+    config.records.defaults = new RawRecordConfig();
+    config.records.defaults.topic = getTopic();
+
+    return config;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * A {@link BlobStore} holds payloads which were offloaded from Kafka records, also known as the
+ * claim check pattern. Blobs are content addressed: the reference returned by {@link #put(byte[])}
+ * is derived from the content itself, such that storing the same payload twice is idempotent, and
+ * a reference can always be verified against the blob it points to.
+ *
+ * <p>Implementations are expected to be thread safe, and to throw {@link
+ * java.io.UncheckedIOException} on I/O errors.
+ */
+public interface BlobStore {
+  /** Prefix of every reference, which identifies the hash function used to compute it. */
+  String REFERENCE_PREFIX = "sha256:";
+
+  /**
+   * Stores the given content, if not already stored, and returns its reference.
+   *
+   * @param content the content to store
+   * @return the content addressed reference of the blob
+   */
+  String put(final byte[] content);
+
+  /**
+   * Returns the content referenced by the given reference.
+   *
+   * @param reference a reference previously returned by {@link #put(byte[])}
+   * @return the content of the blob
+   * @throws IllegalArgumentException if the reference is malformed
+   */
+  byte[] get(final String reference);
+
+  /**
+   * Computes the content addressed reference of the given content, i.e. {@code sha256:<hex>}.
+   *
+   * @param content the content to compute the reference for
+   * @return the reference of the content
+   */
+  static String referenceOf(final byte[] content) {
+    try {
+      final var digest = MessageDigest.getInstance("SHA-256").digest(content);
+      return REFERENCE_PREFIX + HexFormat.of().formatHex(digest);
+    } catch (final NoSuchAlgorithmException e) {
+      // every JVM is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Returns the hex encoded digest of the given reference, validating it on the way.
+   *
+   * @param reference the reference to parse
+   * @return the hex encoded digest
+   * @throws IllegalArgumentException if the reference is malformed
+   */
+  static String digestOf(final String reference) {
+    if (reference == null || !reference.startsWith(REFERENCE_PREFIX)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected blob reference to start with '%s', but got '%s'",
+              REFERENCE_PREFIX, reference));
+    }
+
+    final var digest = reference.substring(REFERENCE_PREFIX.length());
+    if (digest.length() != 64 || !digest.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+      throw new IllegalArgumentException(
+          String.format("Expected a hex encoded SHA-256 digest, but got '%s'", digest));
+    }
+
+    return digest.toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import io.camunda.zeebe.protocol.record.Record;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * A {@link Deserializer} for records produced with the {@code SPLIT} oversized record policy. The
+ * chunks of a split record, identified by their {@link RecordHeaders#CHUNK_INDEX}, {@link
+ * RecordHeaders#CHUNK_COUNT} and {@link RecordHeaders#CHUNK_RECORD_ID} headers, are buffered until
+ * all of them were received; the reassembled record is then deserialized by the delegate and
+ * returned for the last chunk, while {@code null} is returned for the others. Consumers should thus
+ * skip records with a {@code null} value. Any other record is deserialized as is by the delegate.
+ *
+ * <p>Chunks of different records may be interleaved, e.g. when consuming several partitions. To
+ * bound memory usage, only a limited number of incomplete records is buffered; if more are
+ * pending, the oldest is dropped. As the chunks of a record are produced in order, one after the
+ * other, this only happens if the consumer skips some of them, e.g. when seeking.
+ *
+ * <p>NOTE: as for consumers, instances are not thread safe. The headers are only passed by Kafka
+ * to {@link #deserialize(String, Headers, byte[])}; when calling {@link #deserialize(String,
+ * byte[])} directly, chunks cannot be detected and are passed to the delegate as is.
+ */
+public final class ChunkedRecordDeserializer implements Deserializer<Record<?>> {
+  static final int DEFAULT_MAX_PENDING_RECORDS = 64;
+
+  private final Deserializer<Record<?>> delegate;
+  private final Map<String, PendingRecord> pendingRecords;
+
+  public ChunkedRecordDeserializer() {
+    this(new RecordDeserializer());
+  }
+
+  public ChunkedRecordDeserializer(final Deserializer<Record<?>> delegate) {
+    this(delegate, DEFAULT_MAX_PENDING_RECORDS);
+  }
+
+  public ChunkedRecordDeserializer(
+      final Deserializer<Record<?>> delegate, final int maxPendingRecords) {
+    this.delegate = Objects.requireNonNull(delegate);
+    pendingRecords =
+        new LinkedHashMap<>() {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, PendingRecord> eldest) {
+            return size() > maxPendingRecords;
+          }
+        };
+  }
+
+  @Override
+  public void configure(final Map<String, ?> configs, final boolean isKey) {
+    delegate.configure(configs, isKey);
+  }
+
+  @Override
+  public Record<?> deserialize(final String topic, final byte[] data) {
+    return delegate.deserialize(topic, data);
+  }
+
+  @Override
+  public Record<?> deserialize(final String topic, final Headers headers, final byte[] data) {
+    final var chunkIndex = headers == null ? null : headers.lastHeader(RecordHeaders.CHUNK_INDEX);
+    final var chunkCount = headers == null ? null : headers.lastHeader(RecordHeaders.CHUNK_COUNT);
+    if (chunkIndex == null || chunkCount == null) {
+      return delegate.deserialize(topic, headers, data);
+    }
+
+    final int index = decodeInt(chunkIndex);
+    final int count = decodeInt(chunkCount);
+    if (count <= 1) {
+      return delegate.deserialize(topic, headers, data);
+    }
+
+    final var recordId = headers.lastHeader(RecordHeaders.CHUNK_RECORD_ID);
+    final var id = recordId == null ? topic : topic + "/" + decode(recordId);
+    var pendingRecord = pendingRecords.get(id);
+    if (pendingRecord == null || pendingRecord.chunks.length != count) {
+      pendingRecord = new PendingRecord(count);
+      pendingRecords.put(id, pendingRecord);
+    }
+
+    if (!pendingRecord.add(index, data)) {
+      return null;
+    }
+
+    pendingRecords.remove(id);
+    return delegate.deserialize(topic, headers, pendingRecord.assemble());
+  }
+
+  @Override
+  public void close() {
+    pendingRecords.clear();
+    delegate.close();
+  }
+
+  private static String decode(final Header header) {
+    return new String(header.value(), StandardCharsets.UTF_8);
+  }
+
+  private static int decodeInt(final Header header) {
+    final var value = decode(header);
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException(
+          String.format("Expected header %s to be a number, but got '%s'", header.key(), value),
+          e);
+    }
+  }
+
+  private static final class PendingRecord {
+    private final byte[][] chunks;
+    private int received;
+    private int size;
+
+    private PendingRecord(final int count) {
+      chunks = new byte[count][];
+    }
+
+    /** @return true if all chunks were received */
+    private boolean add(final int index, final byte[] chunk) {
+      if (index < 0 || index >= chunks.length) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected chunk index to be between 0 and %d, but got %d",
+                chunks.length - 1, index));
+      }
+
+      // chunks may be delivered more than once; only count each index once
+      if (chunks[index] == null) {
+        received++;
+      } else {
+        size -= chunks[index].length;
+      }
+
+      chunks[index] = chunk == null ? new byte[0] : chunk;
+      size += chunks[index].length;
+      return received == chunks.length;
+    }
+
+    private byte[] assemble() {
+      final byte[] data = new byte[size];
+      int offset = 0;
+      for (final byte[] chunk : chunks) {
+        System.arraycopy(chunk, 0, data, offset, chunk.length);
+        offset += chunk.length;
+      }
+
+      return data;
+    }
+  }
+}
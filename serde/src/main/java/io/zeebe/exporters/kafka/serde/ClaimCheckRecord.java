@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.RecordValue;
+import io.camunda.zeebe.protocol.record.RejectionType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.Intent;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Record} whose payload was offloaded to a {@link BlobStore} by the exporter. All metadata
+ * is read from the stripped record as found in Kafka, and only {@link #getValue()} (or {@link
+ * #toJson()}) resolves the complete record from the blob store, on first access. This lets
+ * consumers which only care about metadata skip fetching the blob entirely.
+ *
+ * <p>Instances are not thread safe.
+ */
+public final class ClaimCheckRecord implements Record<RecordValue> {
+  private final Record<?> strippedRecord;
+  private final String reference;
+  private final Supplier<Record<?>> resolver;
+
+  private Record<?> resolvedRecord;
+
+  ClaimCheckRecord(
+      final Record<?> strippedRecord,
+      final String reference,
+      final Supplier<Record<?>> resolver) {
+    this.strippedRecord = Objects.requireNonNull(strippedRecord);
+    this.reference = Objects.requireNonNull(reference);
+    this.resolver = Objects.requireNonNull(resolver);
+  }
+
+  /** @return the reference of the blob holding the complete record */
+  public String getReference() {
+    return reference;
+  }
+
+  /** @return true if the complete record was already fetched from the blob store */
+  public boolean isResolved() {
+    return resolvedRecord != null;
+  }
+
+  /**
+   * Returns the record as found in Kafka, i.e. without its payload (e.g. variables), without
+   * resolving it.
+   *
+   * @return the stripped record
+   */
+  public Record<?> getStrippedRecord() {
+    return strippedRecord;
+  }
+
+  /**
+   * Returns the complete record, fetching it from the blob store on first access.
+   *
+   * @return the complete record
+   */
+  public Record<?> resolve() {
+    if (resolvedRecord == null) {
+      resolvedRecord = resolver.get();
+    }
+
+    return resolvedRecord;
+  }
+
+  @Override
+  public long getPosition() {
+    return strippedRecord.getPosition();
+  }
+
+  @Override
+  public long getSourceRecordPosition() {
+    return strippedRecord.getSourceRecordPosition();
+  }
+
+  @Override
+  public long getKey() {
+    return strippedRecord.getKey();
+  }
+
+  @Override
+  public long getTimestamp() {
+    return strippedRecord.getTimestamp();
+  }
+
+  @Override
+  public Intent getIntent() {
+    return strippedRecord.getIntent();
+  }
+
+  @Override
+  public int getPartitionId() {
+    return strippedRecord.getPartitionId();
+  }
+
+  @Override
+  public RecordType getRecordType() {
+    return strippedRecord.getRecordType();
+  }
+
+  @Override
+  public RejectionType getRejectionType() {
+    return strippedRecord.getRejectionType();
+  }
+
+  @Override
+  public String getRejectionReason() {
+    return strippedRecord.getRejectionReason();
+  }
+
+  @Override
+  public String getBrokerVersion() {
+    return strippedRecord.getBrokerVersion();
+  }
+
+  @Override
+  public Map<String, Object> getAuthorizations() {
+    return strippedRecord.getAuthorizations();
+  }
+
+  @Override
+  public int getRecordVersion() {
+    return strippedRecord.getRecordVersion();
+  }
+
+  @Override
+  public ValueType getValueType() {
+    return strippedRecord.getValueType();
+  }
+
+  @Override
+  public RecordValue getValue() {
+    return resolve().getValue();
+  }
+
+  @Override
+  public String toJson() {
+    return resolve().toJson();
+  }
+
+  @Override
+  public String toString() {
+    return "ClaimCheckRecord{"
+        + "reference='"
+        + reference
+        + '\''
+        + ", resolved="
+        + isResolved()
+        + ", record="
+        + (isResolved() ? resolvedRecord : strippedRecord)
+        + '}';
+  }
+}
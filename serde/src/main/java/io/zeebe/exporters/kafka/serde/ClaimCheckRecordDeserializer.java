@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import io.camunda.zeebe.protocol.record.Record;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * A {@link Deserializer} for records produced with claim checks enabled. Records carrying a {@link
+ * RecordHeaders#CLAIM_CHECK} header are returned as {@link ClaimCheckRecord}, which only fetches
+ * the complete record from the {@link BlobStore} when its value is accessed. Any other record is
+ * deserialized as is by the delegate.
+ *
+ * <p>NOTE: the headers are only passed by Kafka to {@link #deserialize(String, Headers, byte[])};
+ * when calling {@link #deserialize(String, byte[])} directly, references cannot be detected and
+ * the stripped record is returned.
+ */
+public final class ClaimCheckRecordDeserializer implements Deserializer<Record<?>> {
+  private final BlobStore blobStore;
+  private final Deserializer<Record<?>> delegate;
+
+  public ClaimCheckRecordDeserializer(final BlobStore blobStore) {
+    this(blobStore, new RecordDeserializer());
+  }
+
+  public ClaimCheckRecordDeserializer(
+      final BlobStore blobStore, final Deserializer<Record<?>> delegate) {
+    this.blobStore = Objects.requireNonNull(blobStore);
+    this.delegate = Objects.requireNonNull(delegate);
+  }
+
+  @Override
+  public void configure(final Map<String, ?> configs, final boolean isKey) {
+    delegate.configure(configs, isKey);
+  }
+
+  @Override
+  public Record<?> deserialize(final String topic, final byte[] data) {
+    return delegate.deserialize(topic, data);
+  }
+
+  @Override
+  public Record<?> deserialize(final String topic, final Headers headers, final byte[] data) {
+    final var header = headers == null ? null : headers.lastHeader(RecordHeaders.CLAIM_CHECK);
+    if (header == null) {
+      return delegate.deserialize(topic, headers, data);
+    }
+
+    final var reference = new String(header.value(), StandardCharsets.UTF_8);
+    final var strippedRecord = delegate.deserialize(topic, headers, data);
+    return new ClaimCheckRecord(
+        strippedRecord, reference, () -> delegate.deserialize(topic, blobStore.get(reference)));
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
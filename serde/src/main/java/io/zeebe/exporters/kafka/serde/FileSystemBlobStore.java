@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * A {@link BlobStore} which stores blobs as files in a local (or mounted) directory. Blobs are
+ * sharded into sub-directories named after the first two characters of their digest, to avoid
+ * having too many files in a single directory.
+ *
+ * <p>Blobs are first written to a temporary file, flushed to disk, and then atomically moved to
+ * their final path, such that readers never observe partially written blobs, and that a blob
+ * survives a crash once the record referencing it may have been committed.
+ */
+public final class FileSystemBlobStore implements BlobStore {
+  private final Path directory;
+
+  public FileSystemBlobStore(final Path directory) {
+    this.directory = Objects.requireNonNull(directory);
+  }
+
+  @Override
+  public String put(final byte[] content) {
+    final var reference = BlobStore.referenceOf(content);
+    final var path = resolve(reference);
+    if (Files.exists(path)) {
+      return reference;
+    }
+
+    try {
+      Files.createDirectories(path.getParent());
+      final var temporaryFile =
+          Files.createTempFile(path.getParent(), path.getFileName() + ".", ".tmp");
+      try {
+        write(temporaryFile, content);
+        Files.move(temporaryFile, path, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(path.getParent());
+      } catch (final FileAlreadyExistsException e) {
+        // concurrently written by someone else; as blobs are content addressed, this is fine
+        Files.deleteIfExists(temporaryFile);
+      } catch (final IOException | RuntimeException e) {
+        Files.deleteIfExists(temporaryFile);
+        throw e;
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(
+          String.format("Failed to store blob %s in %s", reference, directory), e);
+    }
+
+    return reference;
+  }
+
+  @Override
+  public byte[] get(final String reference) {
+    final var path = resolve(reference);
+    try {
+      return Files.readAllBytes(path);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(
+          String.format("Failed to read blob %s from %s", reference, directory), e);
+    }
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  private void write(final Path file, final byte[] content) throws IOException {
+    try (final var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      final var buffer = ByteBuffer.wrap(content);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+
+      channel.force(true);
+    }
+  }
+
+  // persists the rename itself; directories cannot be opened on every platform, e.g. Windows, in
+  // which case the move is only as durable as the file system makes it
+  private void syncDirectory(final Path directory) {
+    try (final var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (final IOException e) {
+      // best effort, see above
+    }
+  }
+
+  private Path resolve(final String reference) {
+    final var digest = BlobStore.digestOf(reference);
+    return directory.resolve(digest.substring(0, 2)).resolve(digest);
+  }
+}
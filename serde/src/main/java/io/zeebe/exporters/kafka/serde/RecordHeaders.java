@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+/**
+ * {@link RecordHeaders} lists the Kafka record headers the exporter may add to the records it
+ * produces, so that consumers can tell when a record was altered on its way to Kafka. All header
+ * values are UTF-8 encoded strings.
+ */
+public final class RecordHeaders {
+  /** Present when the record's variables were dropped; holds the original serialized size. */
+  public static final String TRUNCATED = "zeebe-truncated";
+
+  /** Present on dead letter stubs; holds the reason why the original record was not exported. */
+  public static final String DEAD_LETTER_REASON = "zeebe-dead-letter-reason";
+
+  /** Present on split records; holds the 0-based index of the chunk. */
+  public static final String CHUNK_INDEX = "zeebe-chunk-index";
+
+  /** Present on split records; holds the total number of chunks of the record. */
+  public static final String CHUNK_COUNT = "zeebe-chunk-count";
+
+  /**
+   * Present on split records; identifies the record the chunk belongs to, as {@code
+   * <partitionId>-<position>}. See {@link ChunkedRecordDeserializer} to reassemble them.
+   */
+  public static final String CHUNK_RECORD_ID = "zeebe-chunk-record-id";
+
+  /**
+   * Present when the record's payload was offloaded to a {@link BlobStore}; holds the reference of
+   * the blob, which contains the complete serialized record.
+   */
+  public static final String CLAIM_CHECK = "zeebe-claim-check";
+
+  /** Present on published resources; holds the name of the resource, e.g. "process.bpmn". */
+  public static final String RESOURCE_NAME = "zeebe-resource-name";
+
+  /** Present on enriched records; holds the BPMN process ID of the record's process instance. */
+  public static final String BPMN_PROCESS_ID = "zeebe-bpmn-process-id";
+
+  /** Present on enriched records; holds the version of the record's process. */
+  public static final String PROCESS_VERSION = "zeebe-process-version";
+
+  /** Present on enriched records; holds the tenant of the record's process instance. */
+  public static final String TENANT_ID = "zeebe-tenant-id";
+
+  private RecordHeaders() {}
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32C;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+/**
+ * {@link SegmentFormat} describes the layout of the segment files written by the exporter when
+ * configured to export to a local directory instead of Kafka, and read back by {@link
+ * SegmentReader}.
+ *
+ * <p>A segment starts with a fixed size header: a magic number, the format version, the length of
+ * the segment up to its last committed entry, and the number of committed entries. It is followed
+ * by the entries themselves, each of which is laid out as:
+ *
+ * <ul>
+ *   <li>the length of the entry, excluding this field and the checksum
+ *   <li>a CRC32C checksum of the rest of the entry
+ *   <li>the record ID, i.e. partition ID and position
+ *   <li>the timestamp, or -1 if there is none
+ *   <li>the topic, as a length prefixed UTF-8 string
+ *   <li>the number of headers, followed by each header's key and value, length prefixed
+ *   <li>the value, length prefixed
+ * </ul>
+ *
+ * <p>Null values are encoded with a length of -1. Every segment comes with an index file, which
+ * lists the position and the offset of each committed entry, in order.
+ */
+public final class SegmentFormat {
+  public static final int MAGIC = 0x5A4B4553;
+  public static final int VERSION = 1;
+  public static final int HEADER_LENGTH = 4 * Integer.BYTES;
+  public static final int INDEX_ENTRY_LENGTH = Long.BYTES + Integer.BYTES;
+  public static final String SEGMENT_SUFFIX = ".segment";
+  public static final String INDEX_SUFFIX = ".index";
+
+  private static final int MAGIC_OFFSET = 0;
+  private static final int VERSION_OFFSET = MAGIC_OFFSET + Integer.BYTES;
+  private static final int COMMITTED_LENGTH_OFFSET = VERSION_OFFSET + Integer.BYTES;
+  private static final int COMMITTED_COUNT_OFFSET = COMMITTED_LENGTH_OFFSET + Integer.BYTES;
+
+  // length and checksum
+  private static final int ENTRY_PREFIX_LENGTH = 2 * Integer.BYTES;
+  // partition ID, position, timestamp, topic length, header count and value length
+  private static final int ENTRY_FIXED_LENGTH =
+      Integer.BYTES + 2 * Long.BYTES + Short.BYTES + 2 * Integer.BYTES;
+  private static final int NULL_LENGTH = -1;
+  private static final long NO_TIMESTAMP = -1;
+
+  private SegmentFormat() {}
+
+  /**
+   * @param sequence the sequence number of the segment
+   * @return the file name of the segment, which sorts lexicographically by sequence number
+   */
+  public static String segmentFileName(final long sequence) {
+    return String.format(Locale.ROOT, "%020d%s", sequence, SEGMENT_SUFFIX);
+  }
+
+  /**
+   * @param sequence the sequence number of the segment
+   * @return the file name of the segment's index
+   */
+  public static String indexFileName(final long sequence) {
+    return String.format(Locale.ROOT, "%020d%s", sequence, INDEX_SUFFIX);
+  }
+
+  /**
+   * @param segmentFileName the file name of a segment, see {@link #segmentFileName(long)}
+   * @return the file name of its index
+   */
+  public static String indexFileNameOf(final String segmentFileName) {
+    return segmentFileName.substring(0, segmentFileName.length() - SEGMENT_SUFFIX.length())
+        + INDEX_SUFFIX;
+  }
+
+  /**
+   * Writes the segment header at the start of the given buffer, without changing its position.
+   *
+   * @param buffer the segment's buffer
+   * @param committedLength the length of the segment up to the last committed entry
+   * @param committedCount the number of committed entries
+   */
+  public static void writeHeader(
+      final ByteBuffer buffer, final int committedLength, final int committedCount) {
+    buffer.putInt(MAGIC_OFFSET, MAGIC);
+    buffer.putInt(VERSION_OFFSET, VERSION);
+    buffer.putInt(COMMITTED_LENGTH_OFFSET, committedLength);
+    buffer.putInt(COMMITTED_COUNT_OFFSET, committedCount);
+  }
+
+  /**
+   * Reads the committed length from the header at the start of the given buffer, without changing
+   * its position.
+   *
+   * @param buffer the segment's buffer
+   * @return the length of the segment up to its last committed entry
+   * @throws IllegalStateException if the buffer is not a valid segment
+   */
+  public static int readCommittedLength(final ByteBuffer buffer) {
+    if (buffer.limit() < HEADER_LENGTH || buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+      throw new IllegalStateException("Expected a segment, but no segment header found");
+    }
+
+    final int version = buffer.getInt(VERSION_OFFSET);
+    if (version != VERSION) {
+      throw new IllegalStateException(
+          String.format("Expected segment version %d, but got %d", VERSION, version));
+    }
+
+    final int committedLength = buffer.getInt(COMMITTED_LENGTH_OFFSET);
+    if (committedLength < HEADER_LENGTH || committedLength > buffer.limit()) {
+      throw new IllegalStateException(
+          String.format(
+              "Expected committed length between %d and %d, but got %d",
+              HEADER_LENGTH, buffer.limit(), committedLength));
+    }
+
+    return committedLength;
+  }
+
+  /**
+   * @param buffer the segment's buffer
+   * @return the number of committed entries, as read from the segment header
+   */
+  public static int readCommittedCount(final ByteBuffer buffer) {
+    return buffer.getInt(COMMITTED_COUNT_OFFSET);
+  }
+
+  /**
+   * @param record the record to encode
+   * @return the number of bytes the record takes once encoded, see {@link #encode(ByteBuffer,
+   *     ProducerRecord)}
+   */
+  public static int encodedLength(final ProducerRecord<RecordId, byte[]> record) {
+    int length = ENTRY_PREFIX_LENGTH + ENTRY_FIXED_LENGTH + utf8Length(record.topic());
+    for (final Header header : record.headers()) {
+      length += Short.BYTES + utf8Length(header.key()) + Integer.BYTES + lengthOf(header.value());
+    }
+
+    return length + lengthOf(record.value());
+  }
+
+  /**
+   * Encodes the record at the buffer's current position, and advances it past the entry. The
+   * caller must ensure the buffer has at least {@link #encodedLength(ProducerRecord)} bytes
+   * remaining.
+   *
+   * @param buffer the buffer to write to
+   * @param record the record to encode; its partition, if any, is not encoded
+   */
+  public static void encode(
+      final ByteBuffer buffer, final ProducerRecord<RecordId, byte[]> record) {
+    final int start = buffer.position();
+    final int bodyStart = start + ENTRY_PREFIX_LENGTH;
+    final Long timestamp = record.timestamp();
+
+    buffer.position(bodyStart);
+    buffer.putInt(record.key().getPartitionId());
+    buffer.putLong(record.key().getPosition());
+    buffer.putLong(timestamp == null ? NO_TIMESTAMP : timestamp);
+    putString(buffer, record.topic());
+
+    final int headerCountOffset = buffer.position();
+    int headerCount = 0;
+    buffer.putInt(0);
+    for (final Header header : record.headers()) {
+      putString(buffer, header.key());
+      putBytes(buffer, header.value());
+      headerCount++;
+    }
+    buffer.putInt(headerCountOffset, headerCount);
+    putBytes(buffer, record.value());
+
+    final int end = buffer.position();
+    buffer.putInt(start, end - bodyStart);
+    buffer.putInt(start + Integer.BYTES, checksum(buffer, bodyStart, end));
+  }
+
+  /**
+   * Decodes the entry at the buffer's current position, and advances it past the entry.
+   *
+   * @param buffer the buffer to read from
+   * @return the decoded record
+   * @throws IllegalStateException if the entry is truncated or does not match its checksum
+   */
+  public static ProducerRecord<RecordId, byte[]> decode(final ByteBuffer buffer) {
+    final int start = buffer.position();
+    try {
+      final int length = buffer.getInt();
+      final int expectedChecksum = buffer.getInt();
+      final int bodyStart = buffer.position();
+      if (length < ENTRY_FIXED_LENGTH || length > buffer.remaining()) {
+        throw new IllegalStateException(
+            String.format("Expected a valid entry at offset %d, but got length %d", start, length));
+      }
+
+      final int end = bodyStart + length;
+      if (checksum(buffer, bodyStart, end) != expectedChecksum) {
+        throw new IllegalStateException(
+            String.format("Expected entry at offset %d to match its checksum", start));
+      }
+
+      final RecordId key = new RecordId(buffer.getInt(), buffer.getLong());
+      final long timestamp = buffer.getLong();
+      final String topic = getString(buffer);
+      final int headerCount = buffer.getInt();
+      final List<Header> headers = new ArrayList<>(headerCount);
+      for (int i = 0; i < headerCount; i++) {
+        headers.add(new RecordHeader(getString(buffer), getBytes(buffer)));
+      }
+      final byte[] value = getBytes(buffer);
+
+      return new ProducerRecord<>(
+          topic, null, timestamp == NO_TIMESTAMP ? null : timestamp, key, value, headers);
+    } catch (final BufferUnderflowException | IllegalArgumentException e) {
+      throw new IllegalStateException(
+          String.format("Expected a valid entry at offset %d, but it is truncated", start), e);
+    }
+  }
+
+  private static int checksum(final ByteBuffer buffer, final int start, final int end) {
+    final CRC32C checksum = new CRC32C();
+    checksum.update(buffer.duplicate().limit(end).position(start));
+    return (int) checksum.getValue();
+  }
+
+  private static int utf8Length(final String value) {
+    return value.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  private static int lengthOf(final byte[] value) {
+    return value == null ? 0 : value.length;
+  }
+
+  private static void putString(final ByteBuffer buffer, final String value) {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.putShort((short) bytes.length);
+    buffer.put(bytes);
+  }
+
+  private static String getString(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void putBytes(final ByteBuffer buffer, final byte[] value) {
+    if (value == null) {
+      buffer.putInt(NULL_LENGTH);
+    } else {
+      buffer.putInt(value.length);
+      buffer.put(value);
+    }
+  }
+
+  private static byte[] getBytes(final ByteBuffer buffer) {
+    final int length = buffer.getInt();
+    if (length == NULL_LENGTH) {
+      return null;
+    }
+
+    final byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * Streams back the records written to a directory of segment files, see {@link SegmentFormat}.
+ * Segments are read in order, and only up to their last committed entry, such that entries which
+ * were appended but not yet flushed by the exporter are never observed.
+ *
+ * <p>As with Kafka, records are exported at least once: if the broker restarts before the exporter
+ * could acknowledge a flushed position, the same records are written again to a newer segment.
+ * Consumers which require exactly once semantics should deduplicate records by their {@link
+ * RecordId}, e.g. by skipping records whose position is not greater than the last one read.
+ */
+public final class SegmentReader {
+  private final Path directory;
+
+  public SegmentReader(final Path directory) {
+    this.directory = Objects.requireNonNull(directory);
+  }
+
+  /** @return a lazy stream of all committed records, in the order they were written */
+  public Stream<ProducerRecord<RecordId, byte[]>> stream() {
+    return stream(Long.MIN_VALUE);
+  }
+
+  /**
+   * Returns a lazy stream of the committed records whose position is at least the given one, in
+   * the order they were written. Segments' indexes are used to skip directly to the first such
+   * record.
+   *
+   * @param fromPosition the minimum position of the records to read
+   * @return a lazy stream of the matching records
+   * @throws UncheckedIOException if the directory or one of its segments cannot be read
+   */
+  public Stream<ProducerRecord<RecordId, byte[]>> stream(final long fromPosition) {
+    return listSegments().stream()
+        .flatMap(segment -> readSegment(segment, fromPosition))
+        .filter(record -> record.key().getPosition() >= fromPosition);
+  }
+
+  /** @return the segment files of the directory, ordered by sequence number */
+  public List<Path> listSegments() {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+
+    try (final Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> file.getFileName().toString().endsWith(SegmentFormat.SEGMENT_SUFFIX))
+          .sorted()
+          .collect(Collectors.toList());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(
+          String.format("Failed to list segments of %s", directory), e);
+    }
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  private Stream<ProducerRecord<RecordId, byte[]>> readSegment(
+      final Path segment, final long fromPosition) {
+    final MappedByteBuffer buffer;
+    try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+      buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(String.format("Failed to read segment %s", segment), e);
+    }
+
+    final int committedLength = SegmentFormat.readCommittedLength(buffer);
+    buffer.limit(committedLength);
+    buffer.position(findStartOffset(segment, fromPosition, committedLength));
+
+    final Iterator<ProducerRecord<RecordId, byte[]>> entries = new EntryIterator(buffer);
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            entries, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE),
+        false);
+  }
+
+  /**
+   * Finds the offset of the first indexed entry whose position is at least the given one. If there
+   * is none, e.g. because the index was not completely written, returns the offset of the last
+   * indexed entry, as later entries may be missing from the index. Falls back to reading the whole
+   * segment if there is no usable index.
+   */
+  private int findStartOffset(
+      final Path segment, final long fromPosition, final int committedLength) {
+    if (fromPosition == Long.MIN_VALUE) {
+      return SegmentFormat.HEADER_LENGTH;
+    }
+
+    final Path indexFile =
+        segment.resolveSibling(SegmentFormat.indexFileNameOf(segment.getFileName().toString()));
+    final ByteBuffer index;
+    try {
+      index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+    } catch (final IOException e) {
+      return SegmentFormat.HEADER_LENGTH;
+    }
+
+    int low = 0;
+    int high = index.limit() / SegmentFormat.INDEX_ENTRY_LENGTH - 1;
+    int offset = SegmentFormat.HEADER_LENGTH;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int entry = middle * SegmentFormat.INDEX_ENTRY_LENGTH;
+      final int entryOffset = index.getInt(entry + Long.BYTES);
+      if (entryOffset < SegmentFormat.HEADER_LENGTH || entryOffset >= committedLength) {
+        // only part of the index is usable; search the part written before the last commit
+        high = middle - 1;
+        continue;
+      }
+
+      offset = entryOffset;
+      if (index.getLong(entry) < fromPosition) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+
+    return offset;
+  }
+
+  private static final class EntryIterator implements Iterator<ProducerRecord<RecordId, byte[]>> {
+    private final ByteBuffer buffer;
+
+    private EntryIterator(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return buffer.hasRemaining();
+    }
+
+    @Override
+    public ProducerRecord<RecordId, byte[]> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      return SegmentFormat.decode(buffer);
+    }
+  }
+}
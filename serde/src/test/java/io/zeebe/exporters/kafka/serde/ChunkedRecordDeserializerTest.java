@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.camunda.zeebe.protocol.record.ImmutableRecord;
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.VariableIntent;
+import io.camunda.zeebe.protocol.record.value.ImmutableVariableRecordValue;
+import io.camunda.zeebe.protocol.record.value.VariableRecordValue;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class ChunkedRecordDeserializerTest {
+  private static final String TOPIC = "zeebe";
+  private static final int CHUNK_SIZE = 256;
+
+  private final RecordSerializer serializer = new RecordSerializer();
+  private final ChunkedRecordDeserializer deserializer = new ChunkedRecordDeserializer();
+
+  @Test
+  void shouldReassembleSplitRecord() {
+    // given
+    final Record<VariableRecordValue> record = newVariableRecord(1);
+    final List<Chunk> chunks = split(record);
+
+    // when
+    final List<Record<?>> deserialized = new ArrayList<>();
+    chunks.forEach(chunk -> deserialized.add(chunk.deserializeWith(deserializer)));
+
+    // then
+    assertThat(chunks).hasSizeGreaterThan(1);
+    assertThat(deserialized.subList(0, chunks.size() - 1))
+        .as("nothing is returned until the last chunk is received")
+        .containsOnlyNulls();
+    assertThat(deserialized.get(chunks.size() - 1)).isEqualTo(record);
+  }
+
+  @Test
+  void shouldReassembleInterleavedRecords() {
+    // given
+    final Record<VariableRecordValue> first = newVariableRecord(1);
+    final Record<VariableRecordValue> second = newVariableRecord(2);
+    final List<Chunk> firstChunks = split(first);
+    final List<Chunk> secondChunks = split(second);
+
+    // when
+    final List<Record<?>> deserialized = new ArrayList<>();
+    for (int i = 0; i < firstChunks.size(); i++) {
+      deserialized.add(secondChunks.get(i).deserializeWith(deserializer));
+      deserialized.add(firstChunks.get(i).deserializeWith(deserializer));
+    }
+
+    // then
+    assertThat(deserialized.stream().filter(Objects::nonNull)).containsExactly(second, first);
+  }
+
+  @Test
+  void shouldIgnoreRedeliveredChunk() {
+    // given
+    final Record<VariableRecordValue> record = newVariableRecord(1);
+    final List<Chunk> chunks = split(record);
+
+    // when
+    final List<Record<?>> deserialized = new ArrayList<>();
+    deserialized.add(chunks.get(0).deserializeWith(deserializer));
+    chunks.forEach(chunk -> deserialized.add(chunk.deserializeWith(deserializer)));
+
+    // then
+    assertThat(deserialized.subList(0, chunks.size()))
+        .as("the redelivered chunk does not complete the record early")
+        .containsOnlyNulls();
+    assertThat(deserialized.get(chunks.size())).isEqualTo(record);
+  }
+
+  @Test
+  void shouldDeserializeRecordWithoutChunkHeaders() {
+    // given
+    final Record<VariableRecordValue> record = newVariableRecord(1);
+    final byte[] serialized = serializer.serialize(TOPIC, record);
+
+    // when
+    final Record<?> deserialized = deserializer.deserialize(TOPIC, new RecordHeaders(), serialized);
+
+    // then
+    assertThat(deserialized).isEqualTo(record);
+  }
+
+  private List<Chunk> split(final Record<VariableRecordValue> record) {
+    final byte[] serialized = serializer.serialize(TOPIC, record);
+    final int count = (serialized.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    final String recordId = record.getPartitionId() + "-" + record.getPosition();
+    final List<Chunk> chunks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final int from = i * CHUNK_SIZE;
+      final Headers headers =
+          new RecordHeaders()
+              .add(io.zeebe.exporters.kafka.serde.RecordHeaders.CHUNK_INDEX, encode(i))
+              .add(io.zeebe.exporters.kafka.serde.RecordHeaders.CHUNK_COUNT, encode(count))
+              .add(
+                  io.zeebe.exporters.kafka.serde.RecordHeaders.CHUNK_RECORD_ID,
+                  recordId.getBytes(StandardCharsets.UTF_8));
+      final int to = Math.min(serialized.length, from + CHUNK_SIZE);
+      chunks.add(new Chunk(headers, Arrays.copyOfRange(serialized, from, to)));
+    }
+
+    return chunks;
+  }
+
+  private byte[] encode(final int value) {
+    return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private Record<VariableRecordValue> newVariableRecord(final long position) {
+    return ImmutableRecord.<VariableRecordValue>builder()
+        .withIntent(VariableIntent.CREATED)
+        .withRecordType(RecordType.EVENT)
+        .withValueType(ValueType.VARIABLE)
+        .withPartitionId(1)
+        .withPosition(position)
+        .withKey(position)
+        .withValue(
+            ImmutableVariableRecordValue.builder()
+                .withName("document")
+                .withValue("\"" + "a".repeat(1024) + "\"")
+                .build())
+        .build();
+  }
+
+  private static final class Chunk {
+    private final Headers headers;
+    private final byte[] value;
+
+    private Chunk(final Headers headers, final byte[] value) {
+      this.headers = headers;
+      this.value = value;
+    }
+
+    private Record<?> deserializeWith(final ChunkedRecordDeserializer deserializer) {
+      return deserializer.deserialize(TOPIC, headers, value);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.camunda.zeebe.protocol.record.ImmutableRecord;
+import io.camunda.zeebe.protocol.record.Record;
+import io.camunda.zeebe.protocol.record.RecordType;
+import io.camunda.zeebe.protocol.record.ValueType;
+import io.camunda.zeebe.protocol.record.intent.VariableIntent;
+import io.camunda.zeebe.protocol.record.value.ImmutableVariableRecordValue;
+import io.camunda.zeebe.protocol.record.value.VariableRecordValue;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class ClaimCheckRecordDeserializerTest {
+  private static final String TOPIC = "zeebe";
+
+  private final RecordSerializer serializer = new RecordSerializer();
+  private final InMemoryBlobStore blobStore = new InMemoryBlobStore();
+  private final ClaimCheckRecordDeserializer deserializer =
+      new ClaimCheckRecordDeserializer(blobStore);
+
+  @Test
+  void shouldResolveReferenceLazily() throws Exception {
+    // given
+    final Record<VariableRecordValue> record = newVariableRecord();
+    final byte[] complete = serializer.serialize(TOPIC, record);
+    final String reference = blobStore.put(complete);
+    final Headers headers =
+        new RecordHeaders()
+            .add(
+                io.zeebe.exporters.kafka.serde.RecordHeaders.CLAIM_CHECK,
+                reference.getBytes(StandardCharsets.UTF_8));
+
+    // when
+    final Record<?> deserialized = deserializer.deserialize(TOPIC, headers, strip(complete));
+
+    // then
+    assertThat(deserialized).isInstanceOf(ClaimCheckRecord.class);
+    assertThat(deserialized.getKey()).isEqualTo(record.getKey());
+    assertThat(blobStore.reads).as("metadata is read without fetching the blob").hasValue(0);
+    assertThat(((VariableRecordValue) deserialized.getValue()).getValue())
+        .as("the value is resolved from the blob store")
+        .isEqualTo(record.getValue().getValue());
+    deserialized.getValue();
+    assertThat(blobStore.reads).as("the blob is only fetched once").hasValue(1);
+  }
+
+  @Test
+  void shouldDeserializeRecordWithoutReference() {
+    // given
+    final Record<VariableRecordValue> record = newVariableRecord();
+    final byte[] serialized = serializer.serialize(TOPIC, record);
+
+    // when
+    final Record<?> deserialized = deserializer.deserialize(TOPIC, new RecordHeaders(), serialized);
+
+    // then
+    assertThat(deserialized).isNotInstanceOf(ClaimCheckRecord.class).isEqualTo(record);
+  }
+
+  private byte[] strip(final byte[] serialized) throws Exception {
+    final var mapper = new ObjectMapper();
+    final var tree = mapper.readTree(serialized);
+    ((ObjectNode) tree.get("value")).put("value", "null");
+    return mapper.writeValueAsBytes(tree);
+  }
+
+  private Record<VariableRecordValue> newVariableRecord() {
+    return ImmutableRecord.<VariableRecordValue>builder()
+        .withIntent(VariableIntent.CREATED)
+        .withRecordType(RecordType.EVENT)
+        .withValueType(ValueType.VARIABLE)
+        .withKey(1)
+        .withValue(
+            ImmutableVariableRecordValue.builder()
+                .withName("document")
+                .withValue("\"" + "a".repeat(1024) + "\"")
+                .build())
+        .build();
+  }
+
+  private static final class InMemoryBlobStore implements BlobStore {
+    private final Map<String, byte[]> blobs = new HashMap<>();
+    private final AtomicInteger reads = new AtomicInteger();
+
+    @Override
+    public String put(final byte[] content) {
+      final var reference = BlobStore.referenceOf(content);
+      blobs.put(reference, content);
+      return reference;
+    }
+
+    @Override
+    public byte[] get(final String reference) {
+      reads.incrementAndGet();
+      return blobs.get(reference);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class FileSystemBlobStoreTest {
+  private static final byte[] CONTENT = "{\"foo\":\"bar\"}".getBytes(StandardCharsets.UTF_8);
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldStoreContentAddressedBlob() {
+    // given
+    final FileSystemBlobStore store = new FileSystemBlobStore(directory);
+
+    // when
+    final String reference = store.put(CONTENT);
+
+    // then
+    assertThat(reference)
+        .as("the reference is derived from the content")
+        .isEqualTo(BlobStore.referenceOf(CONTENT))
+        .startsWith(BlobStore.REFERENCE_PREFIX);
+    assertThat(store.get(reference)).isEqualTo(CONTENT);
+  }
+
+  @Test
+  void shouldBeIdempotent() throws Exception {
+    // given
+    final FileSystemBlobStore store = new FileSystemBlobStore(directory);
+    final String reference = store.put(CONTENT);
+
+    // when
+    final String secondReference = store.put(CONTENT);
+
+    // then
+    assertThat(secondReference).isEqualTo(reference);
+    try (final var files = Files.walk(directory)) {
+      assertThat(files.filter(Files::isRegularFile))
+          .as("only a single blob was written, without leftover temporary files")
+          .hasSize(1);
+    }
+  }
+
+  @Test
+  void shouldRejectMalformedReference() {
+    // given
+    final FileSystemBlobStore store = new FileSystemBlobStore(directory);
+
+    // when - then
+    assertThatThrownBy(() -> store.get("md5:abc")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> store.get(BlobStore.REFERENCE_PREFIX + "../../etc/passwd"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
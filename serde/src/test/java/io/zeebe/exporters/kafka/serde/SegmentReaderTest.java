@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2019 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporters.kafka.serde;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+final class SegmentReaderTest {
+  @TempDir Path directory;
+
+  @Test
+  void shouldDecodeEncodedRecord() {
+    // given
+    final ProducerRecord<RecordId, byte[]> record =
+        new ProducerRecord<>(
+            "zeebe-job",
+            null,
+            1234L,
+            new RecordId(1, 5),
+            "{}".getBytes(StandardCharsets.UTF_8),
+            List.of(
+                new RecordHeader("zeebe-value-type", "JOB".getBytes(StandardCharsets.UTF_8)),
+                new RecordHeader("zeebe-empty", null)));
+    final ByteBuffer buffer = ByteBuffer.allocate(SegmentFormat.encodedLength(record));
+
+    // when
+    SegmentFormat.encode(buffer, record);
+    final ProducerRecord<RecordId, byte[]> decoded = SegmentFormat.decode(buffer.flip());
+
+    // then
+    assertThat(buffer.hasRemaining()).as("the whole entry was read").isFalse();
+    assertThat(decoded.topic()).isEqualTo("zeebe-job");
+    assertThat(decoded.timestamp()).isEqualTo(1234L);
+    assertThat(decoded.key()).isEqualTo(new RecordId(1, 5));
+    assertThat(decoded.value()).isEqualTo(record.value());
+    assertThat(decoded.headers().lastHeader("zeebe-value-type").value())
+        .isEqualTo("JOB".getBytes(StandardCharsets.UTF_8));
+    assertThat(decoded.headers().lastHeader("zeebe-empty").value()).isNull();
+  }
+
+  @Test
+  void shouldDecodeRecordWithoutTimestampOrValue() {
+    // given
+    final ProducerRecord<RecordId, byte[]> record =
+        new ProducerRecord<>("zeebe", new RecordId(1, 5), null);
+    final ByteBuffer buffer = ByteBuffer.allocate(SegmentFormat.encodedLength(record));
+
+    // when
+    SegmentFormat.encode(buffer, record);
+    final ProducerRecord<RecordId, byte[]> decoded = SegmentFormat.decode(buffer.flip());
+
+    // then
+    assertThat(decoded.timestamp()).isNull();
+    assertThat(decoded.value()).isNull();
+    assertThat(decoded.headers()).isEmpty();
+  }
+
+  @Test
+  void shouldRejectCorruptedEntry() {
+    // given
+    final ProducerRecord<RecordId, byte[]> record = newRecord(5);
+    final ByteBuffer buffer = ByteBuffer.allocate(SegmentFormat.encodedLength(record));
+    SegmentFormat.encode(buffer, record);
+    buffer.put(buffer.limit() - 1, (byte) '!');
+
+    // when - then
+    assertThatThrownBy(() -> SegmentFormat.decode(buffer.flip()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void shouldOnlyReadCommittedEntries() throws Exception {
+    // given
+    writeSegment(0, List.of(newRecord(1), newRecord(2)), List.of(newRecord(3)));
+
+    // when
+    final List<Long> positions = readPositions(new SegmentReader(directory).stream());
+
+    // then
+    assertThat(positions).as("the uncommitted entry is not read").containsExactly(1L, 2L);
+  }
+
+  @Test
+  void shouldReadSegmentsInOrder() throws Exception {
+    // given
+    writeSegment(1, List.of(newRecord(3), newRecord(4)), List.of());
+    writeSegment(0, List.of(newRecord(1), newRecord(2)), List.of());
+
+    // when
+    final List<Long> positions = readPositions(new SegmentReader(directory).stream());
+
+    // then
+    assertThat(positions).containsExactly(1L, 2L, 3L, 4L);
+  }
+
+  @Test
+  void shouldReadFromPosition() throws Exception {
+    // given
+    writeSegment(0, List.of(newRecord(1), newRecord(2)), List.of());
+    writeSegment(1, List.of(newRecord(3), newRecord(4), newRecord(5)), List.of());
+
+    // when
+    final List<Long> positions = readPositions(new SegmentReader(directory).stream(4));
+
+    // then
+    assertThat(positions).containsExactly(4L, 5L);
+  }
+
+  @Test
+  void shouldReadFromPositionWithoutIndex() throws Exception {
+    // given
+    writeSegment(0, List.of(newRecord(1), newRecord(2), newRecord(3)), List.of());
+    Files.delete(directory.resolve(SegmentFormat.indexFileName(0)));
+
+    // when
+    final List<Long> positions = readPositions(new SegmentReader(directory).stream(2));
+
+    // then
+    assertThat(positions).containsExactly(2L, 3L);
+  }
+
+  @Test
+  void shouldReadNothingFromMissingDirectory() {
+    // given
+    final SegmentReader reader = new SegmentReader(directory.resolve("missing"));
+
+    // when - then
+    assertThat(reader.stream()).isEmpty();
+  }
+
+  private ProducerRecord<RecordId, byte[]> newRecord(final long position) {
+    final byte[] value = ("{\"position\":" + position + "}").getBytes(StandardCharsets.UTF_8);
+    return new ProducerRecord<>("zeebe", new RecordId(1, position), value);
+  }
+
+  private List<Long> readPositions(final Stream<ProducerRecord<RecordId, byte[]>> records) {
+    return records.map(record -> record.key().getPosition()).collect(Collectors.toList());
+  }
+
+  private void writeSegment(
+      final long sequence,
+      final List<ProducerRecord<RecordId, byte[]>> committed,
+      final List<ProducerRecord<RecordId, byte[]>> uncommitted)
+      throws Exception {
+    final ByteBuffer segment = ByteBuffer.allocate(4096);
+    final ByteBuffer index =
+        ByteBuffer.allocate(committed.size() * SegmentFormat.INDEX_ENTRY_LENGTH);
+    segment.position(SegmentFormat.HEADER_LENGTH);
+    for (final ProducerRecord<RecordId, byte[]> record : committed) {
+      index.putLong(record.key().getPosition()).putInt(segment.position());
+      SegmentFormat.encode(segment, record);
+    }
+
+    SegmentFormat.writeHeader(segment, segment.position(), committed.size());
+    uncommitted.forEach(record -> SegmentFormat.encode(segment, record));
+
+    Files.write(directory.resolve(SegmentFormat.segmentFileName(sequence)), segment.array());
+    Files.write(directory.resolve(SegmentFormat.indexFileName(sequence)), index.array());
+  }
+}